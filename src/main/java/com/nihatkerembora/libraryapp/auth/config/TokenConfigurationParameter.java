@@ -15,6 +15,10 @@ public class TokenConfigurationParameter {
     private final String issuer;
     private final int accessTokenExpireMinute;
     private final int refreshTokenExpireDay;
+    private final long verifiedTokenCacheMaxSize;
+    private final long revokedTokenExpectedInsertions;
+    private final double revokedTokenFalsePositiveRate;
+    private final int invalidTokenPurgeBatchSize;
     private final PublicKey publicKey;
     private final PrivateKey privateKey;
 
@@ -31,6 +35,22 @@ public class TokenConfigurationParameter {
                 ConfigurationParameter.AUTH_REFRESH_TOKEN_EXPIRE_DAY.getDefaultValue()
         );
 
+        this.verifiedTokenCacheMaxSize = Long.parseLong(
+                ConfigurationParameter.AUTH_VERIFIED_TOKEN_CACHE_MAX_SIZE.getDefaultValue()
+        );
+
+        this.revokedTokenExpectedInsertions = Long.parseLong(
+                ConfigurationParameter.AUTH_REVOKED_TOKEN_EXPECTED_INSERTIONS.getDefaultValue()
+        );
+
+        this.revokedTokenFalsePositiveRate = Double.parseDouble(
+                ConfigurationParameter.AUTH_REVOKED_TOKEN_FALSE_POSITIVE_RATE.getDefaultValue()
+        );
+
+        this.invalidTokenPurgeBatchSize = Integer.parseInt(
+                ConfigurationParameter.AUTH_INVALID_TOKEN_PURGE_BATCH_SIZE.getDefaultValue()
+        );
+
         this.publicKey = KeyConverter.convertPublicKey(
                 ConfigurationParameter.AUTH_PUBLIC_KEY.getDefaultValue()
         );
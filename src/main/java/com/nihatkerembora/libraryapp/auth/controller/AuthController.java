@@ -9,6 +9,8 @@ import com.nihatkerembora.libraryapp.auth.model.dto.response.TokenResponse;
 import com.nihatkerembora.libraryapp.auth.model.mapper.TokenMapper;
 import com.nihatkerembora.libraryapp.auth.service.AuthService;
 import com.nihatkerembora.libraryapp.common.model.dto.response.CustomResponse;
+import com.nihatkerembora.libraryapp.logging.payload.AuditPayload;
+import com.nihatkerembora.libraryapp.logging.payload.AuditPayloadMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
@@ -64,6 +66,7 @@ public class AuthController {
             }
     )
     @PostMapping("/login")
+    @AuditPayload(AuditPayloadMode.METADATA)
     public CustomResponse<TokenResponse> loginAdmin(@RequestBody @Valid final LoginRequest loginRequest) {
         final Token token = authService.login(loginRequest);
         final TokenResponse tokenResponse = TokenMapper.toDto(token);
@@ -86,6 +89,7 @@ public class AuthController {
             }
     )
     @PostMapping("/refresh-token")
+    @AuditPayload(AuditPayloadMode.METADATA)
     public CustomResponse<TokenResponse> refreshToken(@RequestBody @Valid final TokenRefreshRequest tokenRefreshRequest) {
         final Token token = authService.refreshToken(tokenRefreshRequest);
         final TokenResponse tokenResponse = TokenMapper.toDto(token);
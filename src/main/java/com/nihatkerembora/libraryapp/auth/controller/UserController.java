@@ -7,20 +7,26 @@ import com.nihatkerembora.libraryapp.auth.model.dto.request.UpdateUserRequest;
 import com.nihatkerembora.libraryapp.auth.model.dto.response.UserResponse;
 import com.nihatkerembora.libraryapp.auth.model.mapper.UserMapper;
 import com.nihatkerembora.libraryapp.auth.service.UserService;
+import com.nihatkerembora.libraryapp.common.model.CursorSlice;
+import com.nihatkerembora.libraryapp.common.model.dto.response.CustomCursorResponse;
 import com.nihatkerembora.libraryapp.common.model.dto.response.CustomPagingResponse;
 import com.nihatkerembora.libraryapp.common.model.dto.response.CustomResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 
 @RestController
 @RequestMapping("/api/v1/users")
 @RequiredArgsConstructor
+@Validated
 @Tag(name = "User Management", description = "Handles user management, including creation, updates, and soft-deletion.")
 public class UserController {
 
@@ -55,11 +61,12 @@ public class UserController {
      * @param pageNumber token for pagination
      * @param pageSize token for pagination
      * @param includeDeleted whether to include deleted users
+     * @param withTotals whether the total element and page counts are returned
      * @return a {@link CustomResponse} containing the paginated user list
      */
     @Operation(
             summary = "Get Paginated Users",
-            description = "Retrieves a paginated list of users.",
+            description = "Retrieves a paginated list of users. Pass withTotals=false to skip the totals; they are then null.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Users retrieved successfully")
             }
@@ -69,7 +76,8 @@ public class UserController {
     public CustomResponse<CustomPagingResponse<UserResponse>> listUsers(
             @RequestParam(defaultValue = "0") Integer pageNumber,
             @RequestParam(defaultValue = "20") Integer pageSize,
-            @RequestParam(defaultValue = "false") boolean includeDeleted) {
+            @RequestParam(defaultValue = "false") boolean includeDeleted,
+            @RequestParam(defaultValue = "true") boolean withTotals) {
 
         CustomPaging paging = CustomPaging.builder()
                 .pageNumber(pageNumber)
@@ -80,7 +88,9 @@ public class UserController {
                 .pagination(paging)
                 .build();
 
-        var page = userService.getUsers(pagingRequest, includeDeleted);
+        var page = withTotals
+                ? userService.getUsers(pagingRequest, includeDeleted)
+                : userService.getUsersWithoutTotals(pagingRequest, includeDeleted);
 
         CustomPagingResponse<UserResponse> response = UserMapper.toPagingResponse(page);
 
@@ -88,6 +98,34 @@ public class UserController {
         return CustomResponse.successOf(response);
     }
 
+    /**
+     * Scrolls through users ordered by ID with cursor based pagination.
+     *
+     * @param cursor the next cursor of the previous slice; omit it for the first slice
+     * @param size the maximum number of users to return
+     * @param includeDeleted whether to include deleted users
+     * @return a {@link CustomResponse} containing the user slice
+     */
+    @Operation(
+            summary = "Scroll Users",
+            description = "Retrieves users with an opaque continuation cursor instead of page numbers. No total count is computed.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or size")
+            }
+    )
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    @GetMapping("/scroll")
+    public CustomResponse<CustomCursorResponse<UserResponse>> scrollUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "false") boolean includeDeleted) {
+
+        CursorSlice<User> slice = userService.scrollUsers(includeDeleted, cursor, size);
+
+        return CustomResponse.successOf(CustomCursorResponse.from(slice.map(UserMapper::toDto)));
+    }
+
     /**
      * Updates user information by ID.
      *
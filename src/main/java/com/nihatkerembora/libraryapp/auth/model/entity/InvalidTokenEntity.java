@@ -5,9 +5,12 @@ import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import java.time.LocalDateTime;
+
 /**
  * Entity representing a JWT token that has been invalidated (e.g., due to logout or blacklisting).
- * Stores the unique token ID (jti) to prevent reuse of previously issued tokens.
+ * Stores the unique token ID (jti) to prevent reuse of previously issued tokens,
+ * together with the token's expiry after which the row can be purged.
  */
 @Entity
 @Getter
@@ -16,7 +19,13 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
-@Table(name = "INVALID_TOKEN")
+@Table(
+        name = "INVALID_TOKEN",
+        indexes = {
+                @Index(name = "IDX_INVALID_TOKEN_TOKEN_ID", columnList = "TOKEN_ID"),
+                @Index(name = "IDX_INVALID_TOKEN_EXPIRES_AT", columnList = "EXPIRES_AT")
+        }
+)
 public class InvalidTokenEntity extends BaseEntity {
 
     @Id
@@ -27,4 +36,7 @@ public class InvalidTokenEntity extends BaseEntity {
     @Column(name = "TOKEN_ID")
     private String tokenId;
 
+    @Column(name = "EXPIRES_AT")
+    private LocalDateTime expiresAt;
+
 }
@@ -15,6 +15,10 @@ public enum ConfigurationParameter {
 
     AUTH_ACCESS_TOKEN_EXPIRE_MINUTE("30"),
     AUTH_REFRESH_TOKEN_EXPIRE_DAY("1"),
+    AUTH_VERIFIED_TOKEN_CACHE_MAX_SIZE("10000"),
+    AUTH_REVOKED_TOKEN_EXPECTED_INSERTIONS("100000"),
+    AUTH_REVOKED_TOKEN_FALSE_POSITIVE_RATE("0.01"),
+    AUTH_INVALID_TOKEN_PURGE_BATCH_SIZE("1000"),
     AUTH_PUBLIC_KEY("""
             -----BEGIN PUBLIC KEY-----
             MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEA1HmZ3A379M6Rv9UnMt9R
@@ -82,6 +82,7 @@ public final class UserMapper {
                 .pageSize(page.getPageSize())
                 .totalElementCount(page.getTotalElementCount())
                 .totalPageCount(page.getTotalPageCount())
+                .hasNext(page.getHasNext())
                 .build();
     }
 }
\ No newline at end of file
@@ -1,9 +1,19 @@
 package com.nihatkerembora.libraryapp.auth.repository;
 
 import com.nihatkerembora.libraryapp.auth.model.entity.InvalidTokenEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface InvalidTokenRepository extends JpaRepository<InvalidTokenEntity, String> {
 
@@ -15,4 +25,61 @@ public interface InvalidTokenRepository extends JpaRepository<InvalidTokenEntity
      */
     Optional<InvalidTokenEntity> findByTokenId(final String tokenId);
 
+    /**
+     * Checks whether a token with the given token ID has been invalidated.
+     *
+     * @param tokenId the unique identifier of the JWT token (jti claim)
+     * @return {@code true} if the token has been invalidated; {@code false} otherwise
+     */
+    boolean existsByTokenId(final String tokenId);
+
+    /**
+     * Streams the token IDs of all invalidated tokens.
+     * <p>
+     * Must be consumed inside a transaction and closed afterwards.
+     * </p>
+     *
+     * @return a {@link Stream} of invalidated token IDs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.tokenId from InvalidTokenEntity t")
+    Stream<String> streamAllTokenIds();
+
+    /**
+     * Finds the token IDs of tokens invalidated at or after the given time.
+     *
+     * @param since the lower bound (inclusive) of the invalidation time
+     * @return the token IDs invalidated since the given time
+     */
+    @Query("select t.tokenId from InvalidTokenEntity t where t.createdAt >= :since")
+    List<String> findTokenIdsCreatedSince(@Param("since") final LocalDateTime since);
+
+    /**
+     * Deletes at most {@code batchSize} rows whose token has expired, in its own short transaction.
+     * <p>
+     * Rows already locked by a concurrent purge (e.g. on another instance) are skipped instead of waited for.
+     * Rows created before the expiry column existed are purged once they are older than {@code legacyCutoff}.
+     * </p>
+     *
+     * @param now          the current time; rows expiring before it are deleted
+     * @param legacyCutoff rows without an expiry created before this time are deleted
+     * @param batchSize    the maximum number of rows to delete
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM INVALID_TOKEN
+            WHERE ID IN (
+                SELECT ID FROM INVALID_TOKEN
+                WHERE EXPIRES_AT < :now
+                   OR (EXPIRES_AT IS NULL AND CREATED_AT < :legacyCutoff)
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") final LocalDateTime now,
+                           @Param("legacyCutoff") final LocalDateTime legacyCutoff,
+                           @Param("batchSize") final int batchSize);
+
 }
@@ -3,13 +3,15 @@ package com.nihatkerembora.libraryapp.auth.repository;
 import com.nihatkerembora.libraryapp.auth.model.entity.UserEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<UserEntity, String> {
+public interface UserRepository extends JpaRepository<UserEntity, String>, JpaSpecificationExecutor<UserEntity> {
 
     /**
      * Checks whether a user exists with the given email address.
@@ -34,6 +36,26 @@ public interface UserRepository extends JpaRepository<UserEntity, String> {
 """)
     Page<UserEntity> findAllWithOptionalDeleted(@Param("includeDeleted") boolean includeDeleted, Pageable pageable);
 
+    /**
+     * Retrieves a slice of users without counting them.
+     *
+     * @param includeDeleted whether soft deleted users are included
+     * @param pageable the slice to load
+     * @return the users of the requested slice
+     */
+    @Query("""
+    SELECT u FROM UserEntity u
+    WHERE (:includeDeleted = true OR u.isDeleted = false)
+""")
+    Slice<UserEntity> findSliceWithOptionalDeleted(@Param("includeDeleted") boolean includeDeleted, Pageable pageable);
+
+    /**
+     * Counts the users that are not soft deleted.
+     *
+     * @return the number of active users
+     */
+    long countByIsDeletedFalse();
+
     /**
      * Soft deletes a user by marking them as deleted.
      *
@@ -0,0 +1,77 @@
+package com.nihatkerembora.libraryapp.auth.scheduler;
+
+import com.nihatkerembora.libraryapp.auth.config.TokenConfigurationParameter;
+import com.nihatkerembora.libraryapp.auth.repository.InvalidTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically removes rows from the {@code INVALID_TOKEN} table whose token has already expired.
+ * <p>
+ * An expired token is rejected by signature/expiry verification anyway, so keeping its revocation
+ * record only grows the table. Rows are deleted in small batches, each in its own transaction,
+ * so no long-running lock is held on the table.
+ * </p>
+ * <p>
+ * Exposed metrics: {@code auth.invalid_tokens.purged} (counter) and
+ * {@code auth.invalid_tokens.table_size} (gauge, refreshed after every run).
+ * </p>
+ */
+@Slf4j
+@Component
+public class InvalidTokenPurgeScheduler {
+
+    private final InvalidTokenRepository invalidTokenRepository;
+    private final TokenConfigurationParameter tokenConfigurationParameter;
+    private final Counter purgedCounter;
+    private final AtomicLong tableSize = new AtomicLong();
+
+    public InvalidTokenPurgeScheduler(final InvalidTokenRepository invalidTokenRepository,
+                                      final TokenConfigurationParameter tokenConfigurationParameter,
+                                      final MeterRegistry meterRegistry) {
+
+        this.invalidTokenRepository = invalidTokenRepository;
+        this.tokenConfigurationParameter = tokenConfigurationParameter;
+        this.purgedCounter = meterRegistry.counter("auth.invalid_tokens.purged");
+        meterRegistry.gauge("auth.invalid_tokens.table_size", tableSize);
+    }
+
+    /**
+     * Deletes expired invalid tokens batch by batch until no expired row is left.
+     *
+     * @return the total number of deleted rows
+     */
+    @Scheduled(
+            initialDelayString = "${auth.invalid-token.purge-interval-ms:600000}",
+            fixedDelayString = "${auth.invalid-token.purge-interval-ms:600000}"
+    )
+    public long purgeExpiredTokens() {
+
+        final LocalDateTime now = LocalDateTime.now();
+        final LocalDateTime legacyCutoff = now.minusDays(tokenConfigurationParameter.getRefreshTokenExpireDay());
+        final int batchSize = tokenConfigurationParameter.getInvalidTokenPurgeBatchSize();
+
+        long totalPurged = 0;
+        int purged;
+        do {
+            purged = invalidTokenRepository.deleteExpiredBatch(now, legacyCutoff, batchSize);
+            purgedCounter.increment(purged);
+            totalPurged += purged;
+        } while (purged == batchSize);
+
+        tableSize.set(invalidTokenRepository.count());
+
+        if (totalPurged > 0) {
+            log.info("Purged {} expired invalid tokens, {} remaining", totalPurged, tableSize.get());
+        }
+
+        return totalPurged;
+    }
+
+}
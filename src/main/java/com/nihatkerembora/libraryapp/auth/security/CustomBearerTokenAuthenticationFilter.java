@@ -2,7 +2,6 @@ package com.nihatkerembora.libraryapp.auth.security;
 
 import com.nihatkerembora.libraryapp.auth.model.Token;
 import com.nihatkerembora.libraryapp.auth.service.InvalidTokenService;
-import com.nihatkerembora.libraryapp.auth.service.TokenService;
 import io.micrometer.common.lang.NonNull;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -13,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -23,7 +23,7 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class CustomBearerTokenAuthenticationFilter extends OncePerRequestFilter {
 
-    private final TokenService tokenService;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final InvalidTokenService invalidTokenService;
 
 /**
@@ -31,9 +31,9 @@ public class CustomBearerTokenAuthenticationFilter extends OncePerRequestFilter
  * <p>
  * If the Authorization header contains a valid Bearer token, this method:
  * <ul>
- *     <li>Validates the JWT</li>
+ *     <li>Validates the JWT and builds its authentication details (cached until the token expires)</li>
  *     <li>Checks if the token is invalidated</li>
- *     <li>Builds authentication details and sets them in the SecurityContext</li>
+ *     <li>Sets the authentication details in the SecurityContext</li>
  * </ul>
  * </p>
  *
@@ -56,14 +56,13 @@ public class CustomBearerTokenAuthenticationFilter extends OncePerRequestFilter
 
             final String jwt = Token.getJwt(authorizationHeader);
 
-            tokenService.verifyAndValidate(jwt);
+            final UsernamePasswordAuthenticationToken authentication = verifiedTokenCache
+                    .getAuthentication(jwt);
 
-            final String tokenId = tokenService.getId(jwt);
+            final String tokenId = ((Jwt) authentication.getPrincipal()).getId();
 
             invalidTokenService.checkForInvalidityOfToken(tokenId);
 
-            final UsernamePasswordAuthenticationToken authentication = tokenService
-                    .getAuthentication(jwt);
             SecurityContextHolder.getContext().setAuthentication(authentication);
             log.debug(">> AFTER CONTEXT SET: {}", SecurityContextHolder.getContext().getAuthentication());
 
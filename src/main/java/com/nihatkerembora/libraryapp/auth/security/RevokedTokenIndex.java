@@ -0,0 +1,248 @@
+package com.nihatkerembora.libraryapp.auth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nihatkerembora.libraryapp.auth.config.TokenConfigurationParameter;
+import com.nihatkerembora.libraryapp.auth.repository.InvalidTokenRepository;
+import com.nihatkerembora.libraryapp.auth.utils.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory revocation check layer in front of {@link InvalidTokenRepository}.
+ * <p>
+ * Token IDs of invalidated tokens are kept in a {@link BloomFilter}, so the common
+ * "not revoked" answer never touches the database. Only possible positives are confirmed
+ * against the repository, and confirmed revocations are cached for a short time.
+ * Until the filter has been warmed at startup every check falls back to the database.
+ * </p>
+ * <p>
+ * Tokens invalidated by other application instances are picked up by a periodic incremental
+ * refresh based on the creation time of the {@code INVALID_TOKEN} rows.
+ * </p>
+ * <p>
+ * Bits of purged tokens cannot be removed from a Bloom filter, so the filter is periodically rebuilt from the
+ * remaining rows and swapped in, which keeps its false positive rate near the configured one. Tokens indexed
+ * while a rebuild runs go into both filters.
+ * </p>
+ * <p>
+ * The {@code auth.revoked_tokens.indexed} gauge approximates the number of distinct token IDs in the current
+ * filter: IDs indexed again are not counted.
+ * </p>
+ * <p>
+ * Exposed counters ({@code auth.revoked_tokens.checks}, tagged by {@code result}):
+ * <ul>
+ *     <li>{@code hit} - answered in memory without a database query</li>
+ *     <li>{@code miss} - the database had to be queried</li>
+ *     <li>{@code false_positive} - the database query showed the token was not revoked</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+@Component
+public class RevokedTokenIndex {
+
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+    private static final Duration CONFIRMED_REVOCATION_TTL = Duration.ofMinutes(30);
+    private static final long CONFIRMED_REVOCATION_MAX_SIZE = 10_000L;
+
+    private final InvalidTokenRepository invalidTokenRepository;
+    private final TokenConfigurationParameter tokenConfigurationParameter;
+    private final Cache<String, Boolean> confirmedRevocations;
+    private final AtomicLong indexedTokenCount = new AtomicLong();
+
+    private final Object filterLock = new Object();
+    private volatile BloomFilter bloomFilter;
+    private BloomFilter rebuildingFilter;
+    private final AtomicLong rebuildingTokenCount = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter falsePositiveCounter;
+
+    private volatile boolean warmedUp;
+    private volatile LocalDateTime lastRefreshedAt;
+
+    public RevokedTokenIndex(final InvalidTokenRepository invalidTokenRepository,
+                             final TokenConfigurationParameter tokenConfigurationParameter,
+                             final MeterRegistry meterRegistry) {
+
+        this.invalidTokenRepository = invalidTokenRepository;
+        this.tokenConfigurationParameter = tokenConfigurationParameter;
+        this.bloomFilter = newBloomFilter();
+        this.confirmedRevocations = Caffeine.newBuilder()
+                .maximumSize(CONFIRMED_REVOCATION_MAX_SIZE)
+                .expireAfterWrite(CONFIRMED_REVOCATION_TTL)
+                .build();
+
+        this.hitCounter = meterRegistry.counter("auth.revoked_tokens.checks", "result", "hit");
+        this.missCounter = meterRegistry.counter("auth.revoked_tokens.checks", "result", "miss");
+        this.falsePositiveCounter = meterRegistry.counter("auth.revoked_tokens.checks", "result", "false_positive");
+        meterRegistry.gauge("auth.revoked_tokens.indexed", indexedTokenCount);
+    }
+
+    /**
+     * Loads all invalidated token IDs from the database into the Bloom filter.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+
+        final LocalDateTime startedAt = LocalDateTime.now();
+
+        try (Stream<String> tokenIds = invalidTokenRepository.streamAllTokenIds()) {
+            tokenIds.forEach(this::index);
+        }
+
+        this.lastRefreshedAt = startedAt;
+        this.warmedUp = true;
+        log.info("Revoked token index warmed up with {} token ids", indexedTokenCount.get());
+    }
+
+    /**
+     * Adds token IDs invalidated since the last refresh, including those invalidated by other instances.
+     */
+    @Scheduled(
+            initialDelayString = "${auth.revoked-token.refresh-interval-ms:30000}",
+            fixedDelayString = "${auth.revoked-token.refresh-interval-ms:30000}"
+    )
+    @Transactional(readOnly = true)
+    public void refresh() {
+
+        if (!warmedUp) {
+            return;
+        }
+
+        final LocalDateTime startedAt = LocalDateTime.now();
+
+        invalidTokenRepository
+                .findTokenIdsCreatedSince(lastRefreshedAt.minus(REFRESH_OVERLAP))
+                .forEach(this::index);
+
+        this.lastRefreshedAt = startedAt;
+    }
+
+    /**
+     * Replaces the Bloom filter with a new one built from the token IDs that are still stored, dropping the bits
+     * of purged tokens.
+     */
+    @Scheduled(
+            initialDelayString = "${auth.revoked-token.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${auth.revoked-token.rebuild-interval-ms:3600000}"
+    )
+    @Transactional(readOnly = true)
+    public void rebuild() {
+
+        if (!warmedUp) {
+            return;
+        }
+
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final BloomFilter rebuilt = newBloomFilter();
+        synchronized (filterLock) {
+            rebuildingFilter = rebuilt;
+            rebuildingTokenCount.set(0);
+        }
+
+        try (Stream<String> tokenIds = invalidTokenRepository.streamAllTokenIds()) {
+            tokenIds.forEach(tokenId -> {
+                if (rebuilt.put(tokenId)) {
+                    rebuildingTokenCount.incrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (filterLock) {
+                rebuildingFilter = null;
+            }
+            throw e;
+        }
+
+        // Swapped in the same block that stops the double writes, so no token is indexed into the old filter only
+        synchronized (filterLock) {
+            bloomFilter = rebuilt;
+            rebuildingFilter = null;
+            indexedTokenCount.set(rebuildingTokenCount.get());
+        }
+
+        // Rows inserted by transactions that had not committed when the stream started
+        invalidTokenRepository
+                .findTokenIdsCreatedSince(startedAt.minus(REFRESH_OVERLAP))
+                .forEach(this::index);
+
+        log.info("Revoked token index rebuilt with {} token ids", indexedTokenCount.get());
+    }
+
+    /**
+     * Records newly invalidated token IDs.
+     *
+     * @param tokenIds the invalidated token IDs
+     */
+    public void addAll(final Collection<String> tokenIds) {
+        tokenIds.forEach(tokenId -> {
+            index(tokenId);
+            confirmedRevocations.put(tokenId, Boolean.TRUE);
+        });
+    }
+
+    /**
+     * Checks whether the given token ID has been revoked.
+     *
+     * @param tokenId the token ID (jti claim) to check
+     * @return {@code true} if the token has been revoked; {@code false} otherwise
+     */
+    public boolean isRevoked(final String tokenId) {
+
+        // Checked first so that tokens revoked by this instance are rejected whatever the state of the filter
+        if (confirmedRevocations.getIfPresent(tokenId) != null) {
+            hitCounter.increment();
+            return true;
+        }
+
+        if (warmedUp && !bloomFilter.mightContain(tokenId)) {
+            hitCounter.increment();
+            return false;
+        }
+
+        missCounter.increment();
+        final boolean revoked = invalidTokenRepository.existsByTokenId(tokenId);
+
+        if (revoked) {
+            confirmedRevocations.put(tokenId, Boolean.TRUE);
+        } else if (warmedUp) {
+            falsePositiveCounter.increment();
+        }
+
+        return revoked;
+    }
+
+    private void index(final String tokenId) {
+        synchronized (filterLock) {
+            if (bloomFilter.put(tokenId)) {
+                indexedTokenCount.incrementAndGet();
+            }
+            if (rebuildingFilter != null && rebuildingFilter.put(tokenId)) {
+                rebuildingTokenCount.incrementAndGet();
+            }
+        }
+    }
+
+    private BloomFilter newBloomFilter() {
+        return new BloomFilter(
+                tokenConfigurationParameter.getRevokedTokenExpectedInsertions(),
+                tokenConfigurationParameter.getRevokedTokenFalsePositiveRate()
+        );
+    }
+
+}
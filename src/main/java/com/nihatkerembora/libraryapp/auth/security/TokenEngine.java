@@ -0,0 +1,75 @@
+package com.nihatkerembora.libraryapp.auth.security;
+
+import com.nihatkerembora.libraryapp.auth.config.TokenConfigurationParameter;
+import com.nihatkerembora.libraryapp.auth.model.enums.TokenType;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import org.springframework.stereotype.Component;
+
+import java.security.PrivateKey;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Holds the JWT signing and verification state shared by all token operations.
+ * <p>
+ * The {@link JwtParser} is immutable and thread-safe, so it is built once and reused for every
+ * verification instead of being rebuilt per call. Signing reuses the private key, the issuer and the
+ * explicitly resolved {@code RS256} algorithm, so the builder does not have to inspect the key on every call.
+ * </p>
+ */
+@Component
+public class TokenEngine {
+
+    private static final SignatureAlgorithm SIGNATURE_ALGORITHM = Jwts.SIG.RS256;
+
+    private final JwtParser jwtParser;
+    private final PrivateKey privateKey;
+    private final String issuer;
+
+    public TokenEngine(final TokenConfigurationParameter tokenConfigurationParameter) {
+
+        this.jwtParser = Jwts.parser()
+                .verifyWith(tokenConfigurationParameter.getPublicKey())
+                .build();
+        this.privateKey = tokenConfigurationParameter.getPrivateKey();
+        this.issuer = tokenConfigurationParameter.getIssuer();
+    }
+
+    /**
+     * Verifies the signature and expiration of the given JWT and returns its claims.
+     *
+     * @param jwt the JWT string
+     * @return the verified {@link Jws} with its {@link Claims}
+     */
+    public Jws<Claims> parse(final String jwt) {
+        return jwtParser.parseSignedClaims(jwt);
+    }
+
+    /**
+     * Issues a new signed bearer token with a random token ID.
+     *
+     * @param issuedAt  the issue time of the token
+     * @param expiresAt the expiration time of the token
+     * @param claims    the custom claims to include in the token
+     * @return the compact, signed JWT string
+     */
+    public String issue(final Date issuedAt, final Date expiresAt, final Map<String, ?> claims) {
+        return Jwts.builder()
+                .header()
+                .type(TokenType.BEARER.getValue())
+                .and()
+                .id(UUID.randomUUID().toString())
+                .issuer(issuer)
+                .issuedAt(issuedAt)
+                .expiration(expiresAt)
+                .claims(claims)
+                .signWith(privateKey, SIGNATURE_ALGORITHM)
+                .compact();
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.nihatkerembora.libraryapp.auth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nihatkerembora.libraryapp.auth.config.TokenConfigurationParameter;
+import com.nihatkerembora.libraryapp.auth.service.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Bounded, expiry-aware cache of already verified JWTs.
+ * <p>
+ * Each raw token is verified through {@link TokenService#getAuthentication(String)} only once;
+ * the resulting {@link UsernamePasswordAuthenticationToken} is reused for subsequent requests
+ * carrying the same token and is evicted as soon as the token's {@code exp} is reached.
+ * Revocation is intentionally not cached here and must still be checked per request.
+ * </p>
+ */
+@Component
+public class VerifiedTokenCache {
+
+    static final String CACHE_NAME = "verified_tokens";
+
+    private final TokenService tokenService;
+    private final Cache<String, UsernamePasswordAuthenticationToken> cache;
+
+    public VerifiedTokenCache(final TokenService tokenService,
+                              final TokenConfigurationParameter tokenConfigurationParameter,
+                              final MeterRegistry meterRegistry) {
+
+        this.tokenService = tokenService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tokenConfigurationParameter.getVerifiedTokenCacheMaxSize())
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the authentication for the given JWT, verifying its signature only on a cache miss.
+     *
+     * @param jwt the raw JWT string
+     * @return the {@link UsernamePasswordAuthenticationToken} whose principal is the verified {@link Jwt}
+     */
+    public UsernamePasswordAuthenticationToken getAuthentication(final String jwt) {
+        return cache.get(jwt, tokenService::getAuthentication);
+    }
+
+    /**
+     * Expires every entry at the {@code exp} instant of the token it was built from.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, UsernamePasswordAuthenticationToken> {
+
+        @Override
+        public long expireAfterCreate(final String key,
+                                      final UsernamePasswordAuthenticationToken value,
+                                      final long currentTime) {
+
+            final Instant expiresAt = ((Jwt) value.getPrincipal()).getExpiresAt();
+            if (expiresAt == null) {
+                return 0L;
+            }
+            return Math.max(0L, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key,
+                                      final UsernamePasswordAuthenticationToken value,
+                                      final long currentTime,
+                                      final long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(final String key,
+                                    final UsernamePasswordAuthenticationToken value,
+                                    final long currentTime,
+                                    final long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
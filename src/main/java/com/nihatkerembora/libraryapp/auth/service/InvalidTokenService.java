@@ -1,6 +1,7 @@
 package com.nihatkerembora.libraryapp.auth.service;
 
-import java.util.Set;
+import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * Service interface for managing invalid or revoked JWT tokens.
@@ -10,9 +11,9 @@ public interface InvalidTokenService {
     /**
      * Invalidates a set of JWT token IDs.
      *
-     * @param tokenIds the set of token IDs to invalidate
+     * @param tokenIdsWithExpiry the token IDs to invalidate, mapped to the expiry of their token
      */
-    void invalidateTokens(final Set<String> tokenIds);
+    void invalidateTokens(final Map<String, LocalDateTime> tokenIdsWithExpiry);
 
     /**
      * Checks whether a given token ID has been invalidated.
@@ -32,6 +32,10 @@ public interface TokenService {
 
     /**
      * Extracts Spring Security authentication details from the provided JWT.
+     * <p>
+     * The token is parsed and its signature and expiration are verified exactly once,
+     * so callers do not need to invoke {@link #verifyAndValidate(String)} beforehand.
+     * </p>
      *
      * @param token the JWT token
      * @return an {@link UsernamePasswordAuthenticationToken} containing user credentials and authorities
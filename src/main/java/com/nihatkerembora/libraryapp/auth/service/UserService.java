@@ -5,6 +5,7 @@ import com.nihatkerembora.libraryapp.auth.model.User;
 import com.nihatkerembora.libraryapp.auth.model.dto.request.CustomPagingRequest;
 import com.nihatkerembora.libraryapp.auth.model.dto.request.UpdateUserRequest;
 
+import com.nihatkerembora.libraryapp.common.model.CursorSlice;
 import com.nihatkerembora.libraryapp.common.model.CustomPage;
 import org.springframework.data.domain.Page;
 
@@ -32,6 +33,25 @@ public interface UserService {
      */
     CustomPage<User> getUsers(CustomPagingRequest pagingRequest, boolean includeDeleted);
 
+    /**
+     * Retrieves a page of users without counting all users; the totals of the result are null.
+     *
+     * @param pagingRequest The number of users per page.
+     * @param includeDeleted If true, includes deleted users in the response.
+     * @return A page of users that tells whether a next page exists.
+     */
+    CustomPage<User> getUsersWithoutTotals(CustomPagingRequest pagingRequest, boolean includeDeleted);
+
+    /**
+     * Retrieves users ordered by ID with cursor based pagination, without counting all users.
+     *
+     * @param includeDeleted If true, includes deleted users in the response.
+     * @param cursor The next cursor of the previous slice, or null for the first slice.
+     * @param size The maximum number of users to return.
+     * @return A slice of users with the cursor of the next slice.
+     */
+    CursorSlice<User> scrollUsers(boolean includeDeleted, String cursor, int size);
+
     /**
      * Updates the details of an existing user.
      *
@@ -20,10 +20,15 @@ import com.nihatkerembora.libraryapp.auth.repository.UserRepository;
 import com.nihatkerembora.libraryapp.auth.service.AuthService;
 import com.nihatkerembora.libraryapp.auth.service.InvalidTokenService;
 import com.nihatkerembora.libraryapp.auth.service.TokenService;
+import com.nihatkerembora.libraryapp.common.cache.ListingCountCache;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
 import java.util.Set;
 
 
@@ -35,6 +40,7 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final TokenService tokenService;
     private final InvalidTokenService invalidTokenService;
+    private final ListingCountCache countCache;
 
 
 
@@ -77,20 +83,23 @@ public class AuthServiceImpl implements AuthService {
                 )
         );
 
-        final String accessTokenId = tokenService
-                .getPayload(tokenInvalidateRequest.getAccessToken())
-                .getId();
+        final Claims accessTokenClaims = tokenService
+                .getPayload(tokenInvalidateRequest.getAccessToken());
 
-        invalidTokenService.checkForInvalidityOfToken(accessTokenId);
+        invalidTokenService.checkForInvalidityOfToken(accessTokenClaims.getId());
 
 
-        final String refreshTokenId = tokenService
-                .getPayload(tokenInvalidateRequest.getRefreshToken())
-                .getId();
+        final Claims refreshTokenClaims = tokenService
+                .getPayload(tokenInvalidateRequest.getRefreshToken());
 
-        invalidTokenService.checkForInvalidityOfToken(refreshTokenId);
+        invalidTokenService.checkForInvalidityOfToken(refreshTokenClaims.getId());
 
-        invalidTokenService.invalidateTokens(Set.of(accessTokenId,refreshTokenId));
+        invalidTokenService.invalidateTokens(
+                Map.of(
+                        accessTokenClaims.getId(), getExpiry(accessTokenClaims),
+                        refreshTokenClaims.getId(), getExpiry(refreshTokenClaims)
+                )
+        );
 
     }
     /**
@@ -140,10 +149,16 @@ public class AuthServiceImpl implements AuthService {
         userEntityToBeSaved.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
 
         final UserEntity savedUserEntity = userRepository.save(userEntityToBeSaved);
+        countCache.adjust(UserServiceImpl.ACTIVE_USERS_LISTING, 1);
+        countCache.adjust(UserServiceImpl.ALL_USERS_LISTING, 1);
 
         return UserMapper.toDomain(savedUserEntity);
 
     }
+    private LocalDateTime getExpiry(final Claims claims) {
+        return LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+    }
+
     private void validateAdminStatus(final UserEntity userEntity) {
         if (!(UserStatus.ACTIVE.equals(userEntity.getUserStatus()))) {
             throw new UserStatusNotValidException("UserStatus = " + userEntity.getUserStatus());
@@ -3,10 +3,13 @@ package com.nihatkerembora.libraryapp.auth.service.impl;
 import com.nihatkerembora.libraryapp.auth.exception.TokenAlreadyInvalidatedException;
 import com.nihatkerembora.libraryapp.auth.model.entity.InvalidTokenEntity;
 import com.nihatkerembora.libraryapp.auth.repository.InvalidTokenRepository;
+import com.nihatkerembora.libraryapp.auth.security.RevokedTokenIndex;
 import com.nihatkerembora.libraryapp.auth.service.InvalidTokenService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -18,33 +21,41 @@ import java.util.stream.Collectors;
 public class InvalidTokenServiceImpl implements InvalidTokenService {
 
     private final InvalidTokenRepository invalidTokenRepository;
+    private final RevokedTokenIndex revokedTokenIndex;
 
     /**
      * Invalidates a set of JWT token IDs.
      *
-     * @param tokenIds the set of token IDs to invalidate
+     * @param tokenIdsWithExpiry the token IDs to invalidate, mapped to the expiry of their token
      */
     @Override
-    public void invalidateTokens(Set<String> tokenIds) {
+    public void invalidateTokens(Map<String, LocalDateTime> tokenIdsWithExpiry) {
 
-        final Set<InvalidTokenEntity> invalidTokenEntities = tokenIds.stream()
-                .map(tokenId -> InvalidTokenEntity.builder()
-                        .tokenId(tokenId)
+        final Set<InvalidTokenEntity> invalidTokenEntities = tokenIdsWithExpiry.entrySet().stream()
+                .map(tokenIdWithExpiry -> InvalidTokenEntity.builder()
+                        .tokenId(tokenIdWithExpiry.getKey())
+                        .expiresAt(tokenIdWithExpiry.getValue())
                         .build()
                 )
                 .collect(Collectors.toSet());
 
         invalidTokenRepository.saveAll(invalidTokenEntities);
+        revokedTokenIndex.addAll(tokenIdsWithExpiry.keySet());
     }
+
     /**
      * Checks whether a given token ID has been invalidated.
+     * <p>
+     * The check is answered by {@link RevokedTokenIndex}, which only queries the database
+     * when its in-memory Bloom filter reports a possible revocation.
+     * </p>
      *
      * @param tokenId the token ID to check
      */
     @Override
     public void checkForInvalidityOfToken(String tokenId) {
 
-        final boolean isTokenInvalid = invalidTokenRepository.findByTokenId(tokenId).isPresent();
+        final boolean isTokenInvalid = revokedTokenIndex.isRevoked(tokenId);
 
         if (isTokenInvalid) {
             throw new TokenAlreadyInvalidatedException(tokenId);
@@ -2,16 +2,14 @@ package com.nihatkerembora.libraryapp.auth.service.impl;
 
 import com.nihatkerembora.libraryapp.auth.config.TokenConfigurationParameter;
 import com.nihatkerembora.libraryapp.auth.model.Token;
-import com.nihatkerembora.libraryapp.auth.model.enums.ConfigurationParameter;
 import com.nihatkerembora.libraryapp.auth.model.enums.TokenClaims;
-import com.nihatkerembora.libraryapp.auth.model.enums.TokenType;
 import com.nihatkerembora.libraryapp.auth.model.enums.UserType;
+import com.nihatkerembora.libraryapp.auth.security.TokenEngine;
 import com.nihatkerembora.libraryapp.auth.service.InvalidTokenService;
 import com.nihatkerembora.libraryapp.auth.service.TokenService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwsHeader;
-import io.jsonwebtoken.Jwts;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.time.DateUtils;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -24,6 +22,7 @@ import java.util.*;
 
 /**
  * Service implementation for handling JWT token operations such as generation, validation, and parsing.
+ * Signing and verification are delegated to the shared, pre-built {@link TokenEngine}.
  */
 @Service
 @RequiredArgsConstructor
@@ -31,6 +30,7 @@ public class TokenServiceImpl implements TokenService {
 
     private final TokenConfigurationParameter tokenConfigurationParameter;
     private final InvalidTokenService invalidTokenService;
+    private final TokenEngine tokenEngine;
 
     /**
      * Generates a new {@link Token} using the provided claims.
@@ -50,34 +50,18 @@ public class TokenServiceImpl implements TokenService {
                 tokenConfigurationParameter.getAccessTokenExpireMinute()
         );
 
-        final String accessToken = Jwts.builder()
-                .header()
-                .type(TokenType.BEARER.getValue())
-                .and()
-                .id(UUID.randomUUID().toString())
-                .issuer(ConfigurationParameter.ISSUER.getDefaultValue())
-                .issuedAt(tokenIssuedAt)
-                .expiration(accessTokenExpiresAt)
-                .signWith(tokenConfigurationParameter.getPrivateKey())
-                .claims(claims)
-                .compact();
+        final String accessToken = tokenEngine.issue(tokenIssuedAt, accessTokenExpiresAt, claims);
 
         final Date refreshTokenExpiresAt = DateUtils.addDays(
                 new Date(currentTimeMillis),
                 tokenConfigurationParameter.getRefreshTokenExpireDay()
         );
 
-        final String refreshToken = Jwts.builder()
-                .header()
-                .type(TokenType.BEARER.getValue())
-                .and()
-                .id(UUID.randomUUID().toString())
-                .issuer(tokenConfigurationParameter.getIssuer())
-                .issuedAt(tokenIssuedAt)
-                .expiration(refreshTokenExpiresAt)
-                .signWith(tokenConfigurationParameter.getPrivateKey())
-                .claim(TokenClaims.USER_ID.getValue(), claims.get(TokenClaims.USER_ID.getValue()))
-                .compact();
+        final String refreshToken = tokenEngine.issue(
+                tokenIssuedAt,
+                refreshTokenExpiresAt,
+                Map.of(TokenClaims.USER_ID.getValue(), claims.get(TokenClaims.USER_ID.getValue()))
+        );
 
         return Token.builder()
                 .accessToken(accessToken)
@@ -109,17 +93,7 @@ public class TokenServiceImpl implements TokenService {
                 tokenConfigurationParameter.getAccessTokenExpireMinute()
         );
 
-        final String accessToken = Jwts.builder()
-                .header()
-                .type(TokenType.BEARER.getValue())
-                .and()
-                .id(UUID.randomUUID().toString())
-                .issuer(tokenConfigurationParameter.getIssuer())
-                .issuedAt(accessTokenIssuedAt)
-                .expiration(accessTokenExpiresAt)
-                .signWith(tokenConfigurationParameter.getPrivateKey())
-                .claims(claims)
-                .compact();
+        final String accessToken = tokenEngine.issue(accessTokenIssuedAt, accessTokenExpiresAt, claims);
 
         return Token.builder()
                 .accessToken(accessToken)
@@ -130,6 +104,10 @@ public class TokenServiceImpl implements TokenService {
 
     /**
      * Extracts Spring Security authentication details from the provided JWT.
+     * <p>
+     * The token is parsed and its signature and expiration are verified exactly once,
+     * so callers do not need to invoke {@link #verifyAndValidate(String)} beforehand.
+     * </p>
      *
      * @param token the JWT token
      * @return an {@link UsernamePasswordAuthenticationToken} containing user credentials and authorities
@@ -137,10 +115,7 @@ public class TokenServiceImpl implements TokenService {
     @Override
     public UsernamePasswordAuthenticationToken getAuthentication(String token) {
 
-        final Jws<Claims> claimsJws = Jwts.parser()
-                .verifyWith(tokenConfigurationParameter.getPublicKey())
-                .build()
-                .parseSignedClaims(token);
+        final Jws<Claims> claimsJws = tokenEngine.parse(token);
 
         final JwsHeader jwsHeader = claimsJws.getHeader();
         final Claims payload = claimsJws.getPayload();
@@ -173,10 +148,7 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public void verifyAndValidate(String jwt) {
-        Jwts.parser()
-                .verifyWith(tokenConfigurationParameter.getPublicKey())
-                .build()
-                .parseSignedClaims(jwt);
+        tokenEngine.parse(jwt);
     }
 
     /**
@@ -197,10 +169,7 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public Jws<Claims> getClaims(String jwt) {
-        return Jwts.parser()
-                .verifyWith(tokenConfigurationParameter.getPublicKey())
-                .build()
-                .parseSignedClaims(jwt);
+        return tokenEngine.parse(jwt);
     }
 
     /**
@@ -211,10 +180,7 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public Claims getPayload(String jwt) {
-        return Jwts.parser()
-                .verifyWith(tokenConfigurationParameter.getPublicKey())
-                .build()
-                .parseSignedClaims(jwt)
+        return tokenEngine.parse(jwt)
                 .getPayload();
     }
 
@@ -226,10 +192,7 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public String getId(String jwt) {
-        return Jwts.parser()
-                .verifyWith(tokenConfigurationParameter.getPublicKey())
-                .build()
-                .parseSignedClaims(jwt)
+        return tokenEngine.parse(jwt)
                 .getPayload()
                 .getId();
     }
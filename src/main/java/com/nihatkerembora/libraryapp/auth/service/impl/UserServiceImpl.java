@@ -10,12 +10,21 @@ import com.nihatkerembora.libraryapp.auth.model.entity.UserEntity;
 import com.nihatkerembora.libraryapp.auth.model.mapper.UserMapper;
 import com.nihatkerembora.libraryapp.auth.repository.UserRepository;
 import com.nihatkerembora.libraryapp.auth.service.UserService;
+import com.nihatkerembora.libraryapp.common.cache.ListingCountCache;
+import com.nihatkerembora.libraryapp.common.model.CursorSlice;
 import com.nihatkerembora.libraryapp.common.model.CustomPage;
+import com.nihatkerembora.libraryapp.common.model.KeysetCursor;
+import com.nihatkerembora.libraryapp.common.utils.KeysetSpecifications;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
 import java.util.HashSet;
@@ -26,7 +35,12 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    static final String ACTIVE_USERS_LISTING = "users";
+    static final String ALL_USERS_LISTING = "users.all";
+    private static final String SCROLL_SORT_KEY = "users.id";
+
     private final UserRepository userRepository;
+    private final ListingCountCache countCache;
 
     @Override
     public User getUserById(String id, boolean includeDeleted) {
@@ -39,13 +53,53 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public CustomPage<User> getUsers(CustomPagingRequest pagingRequest, boolean includeDeleted) {
-        Page<UserEntity> userPage = userRepository.findAllWithOptionalDeleted(includeDeleted, pagingRequest.toPageable());
+        Pageable pageable = pagingRequest.toPageable();
+        Slice<UserEntity> userSlice = userRepository.findSliceWithOptionalDeleted(includeDeleted, pageable);
+
+        // The total comes from the count cache instead of a count query per page
+        Page<UserEntity> userPage = PageableExecutionUtils.getPage(userSlice.getContent(), pageable, () -> includeDeleted
+                ? countCache.get(ALL_USERS_LISTING, userRepository::count)
+                : countCache.get(ACTIVE_USERS_LISTING, userRepository::countByIsDeletedFalse));
 
         final List<User> users = UserMapper.toDomainList(userPage.getContent());
 
         return CustomPage.of(users, userPage);
     }
 
+    @Override
+    public CustomPage<User> getUsersWithoutTotals(CustomPagingRequest pagingRequest, boolean includeDeleted) {
+        Slice<UserEntity> userSlice = userRepository.findSliceWithOptionalDeleted(includeDeleted, pagingRequest.toPageable());
+
+        final List<User> users = UserMapper.toDomainList(userSlice.getContent());
+
+        return CustomPage.of(users, userSlice);
+    }
+
+    @Override
+    public CursorSlice<User> scrollUsers(boolean includeDeleted, String cursor, int size) {
+        Specification<UserEntity> spec = Specification.where(null);
+        if (!includeDeleted) {
+            spec = spec.and((root, query, cb) -> cb.isFalse(root.get("isDeleted")));
+        }
+        if (cursor != null) {
+            KeysetCursor position = KeysetCursor.decode(cursor, SCROLL_SORT_KEY);
+            spec = spec.and(KeysetSpecifications.after("id", position.id(), position.id(), Sort.Direction.ASC));
+        }
+
+        // size + 1 rows tell whether another page exists without a count query
+        List<UserEntity> userEntities = userRepository.findBy(spec, query -> query
+                .sortBy(KeysetSpecifications.sort("id", Sort.Direction.ASC))
+                .limit(size + 1)
+                .all());
+
+        return CursorSlice.of(
+                userEntities,
+                size,
+                userEntity -> new KeysetCursor(SCROLL_SORT_KEY, userEntity.getId(), userEntity.getId()),
+                UserMapper::toDomain
+        );
+    }
+
     @Override
     public User update(String id, UpdateUserRequest request) {
         UserEntity userEntity = userRepository.findById(id)
@@ -70,6 +124,7 @@ public class UserServiceImpl implements UserService {
         userEntity.setDeleted(true);
 
         userRepository.save(userEntity);
+        countCache.adjust(ACTIVE_USERS_LISTING, -1);
     }
 
     private static String[] getNullPropertyNames(Object source) {
@@ -0,0 +1,114 @@
+package com.nihatkerembora.libraryapp.auth.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe, lock-free Bloom filter for {@link String} values.
+ * <p>
+ * A negative answer from {@link #mightContain(String)} is always correct, while a positive answer
+ * may be a false positive with roughly the configured probability as long as the number of inserted
+ * values stays below the expected insertions the filter was sized for.
+ * </p>
+ */
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctionCount;
+
+    /**
+     * Creates a Bloom filter sized for the given number of insertions and false positive rate.
+     *
+     * @param expectedInsertions the number of values the filter is expected to hold
+     * @param falsePositiveRate  the desired false positive probability, between 0 and 1 (exclusive)
+     */
+    public BloomFilter(final long expectedInsertions, final double falsePositiveRate) {
+
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+
+        final long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+        final int words = Math.toIntExact((optimalBits + Long.SIZE - 1) / Long.SIZE);
+
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words * Long.SIZE;
+        this.hashFunctionCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * LN2));
+    }
+
+    /**
+     * Records the given value in the filter.
+     *
+     * @param value the value to add
+     * @return {@code true} if the value was definitely not in the filter before; {@code false} if it might
+     * have been, which is always the case when it is added again
+     */
+    public boolean put(final String value) {
+        final long hash1 = fnv1a64(value);
+        final long hash2 = mix64(hash1);
+
+        boolean changed = false;
+        long combinedHash = hash1;
+        for (int i = 0; i < hashFunctionCount; i++) {
+            changed |= setBit((combinedHash & Long.MAX_VALUE) % bitSize);
+            combinedHash += hash2;
+        }
+        return changed;
+    }
+
+    /**
+     * Checks whether the given value may have been added to the filter.
+     *
+     * @param value the value to check
+     * @return {@code false} if the value was definitely never added; {@code true} if it might have been
+     */
+    public boolean mightContain(final String value) {
+        final long hash1 = fnv1a64(value);
+        final long hash2 = mix64(hash1);
+
+        long combinedHash = hash1;
+        for (int i = 0; i < hashFunctionCount; i++) {
+            if (!getBit((combinedHash & Long.MAX_VALUE) % bitSize)) {
+                return false;
+            }
+            combinedHash += hash2;
+        }
+        return true;
+    }
+
+    private boolean setBit(final long index) {
+        final int word = (int) (index >>> 6);
+        final long mask = 1L << index;
+        return (bits.getAndAccumulate(word, mask, (current, bit) -> current | bit) & mask) == 0;
+    }
+
+    private boolean getBit(final long index) {
+        return (bits.get((int) (index >>> 6)) & (1L << index)) != 0;
+    }
+
+    private static long fnv1a64(final String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (final byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix64(final long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash | 1L;
+    }
+
+}
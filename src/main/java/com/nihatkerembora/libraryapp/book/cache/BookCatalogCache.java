@@ -0,0 +1,137 @@
+package com.nihatkerembora.libraryapp.book.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nihatkerembora.libraryapp.book.config.BookCacheConfigurationParameter;
+import com.nihatkerembora.libraryapp.book.model.dto.response.BookResponse;
+import com.nihatkerembora.libraryapp.book.model.dto.response.GenreResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of mapped {@link BookResponse} and {@link GenreResponse} objects.
+ * <p>
+ * Responses are cached after mapping, so a hit needs neither the book row nor its lazily loaded genres.
+ * Writers evict the affected entries right away and once more after their transaction commits,
+ * which keeps a concurrent reader from re-caching the state that is being replaced.
+ * A book response embeds the names of its genres, so evicting a genre evicts every cached book.
+ * Entries also expire after {@code book.cache.ttl-ms} to bound the staleness caused by writes
+ * that bypass the services. The cache is local to each instance; availability changes made by other
+ * instances arrive through the {@code AvailabilityPublisher}, which evicts the affected books.
+ * </p>
+ * <p>
+ * Cached responses are shared between callers and must not be modified.
+ * Hit and miss counts are exposed as {@code cache.gets{cache=books|genres,result=hit|miss}}.
+ * </p>
+ */
+@Component
+public class BookCatalogCache {
+
+    static final String BOOK_CACHE_NAME = "books";
+    static final String GENRE_CACHE_NAME = "genres";
+
+    private final Cache<String, BookResponse> books;
+    private final Cache<String, GenreResponse> genres;
+
+    public BookCatalogCache(final BookCacheConfigurationParameter configurationParameter,
+                            final MeterRegistry meterRegistry) {
+
+        this.books = Caffeine.newBuilder()
+                .maximumSize(configurationParameter.getBookMaxSize())
+                .expireAfterWrite(configurationParameter.getTimeToLive())
+                .recordStats()
+                .build();
+        this.genres = Caffeine.newBuilder()
+                .maximumSize(configurationParameter.getGenreMaxSize())
+                .expireAfterWrite(configurationParameter.getTimeToLive())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, books, BOOK_CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, genres, GENRE_CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached response of the given book, loading it on a miss.
+     * Exceptions thrown by the loader are propagated and nothing is cached.
+     *
+     * @param id     the ID of the book
+     * @param loader loads the response from the database
+     * @return the book response
+     */
+    public BookResponse getBook(final String id, final Function<String, BookResponse> loader) {
+        return books.get(id, loader);
+    }
+
+    /**
+     * Returns the cached response of the given genre, loading it on a miss.
+     * Exceptions thrown by the loader are propagated and nothing is cached.
+     *
+     * @param id     the ID of the genre
+     * @param loader loads the response from the database
+     * @return the genre response
+     */
+    public GenreResponse getGenre(final String id, final Function<String, GenreResponse> loader) {
+        return genres.get(id, loader);
+    }
+
+    /**
+     * Evicts the given book now and again after the current transaction commits.
+     *
+     * @param id the ID of the book
+     */
+    public void evictBook(final String id) {
+        runNowAndAfterCommit(() -> books.invalidate(id));
+    }
+
+    /**
+     * Evicts the given books now and again after the current transaction commits.
+     *
+     * @param ids the IDs of the books
+     */
+    public void evictBooks(final Collection<String> ids) {
+        final List<String> snapshot = List.copyOf(ids);
+        runNowAndAfterCommit(() -> books.invalidateAll(snapshot));
+    }
+
+    /**
+     * Evicts every cached book.
+     */
+    public void evictAllBooks() {
+        books.invalidateAll();
+    }
+
+    /**
+     * Evicts the given genre and every cached book now and again after the current transaction commits.
+     *
+     * @param id the ID of the genre
+     */
+    public void evictGenre(final String id) {
+        runNowAndAfterCommit(() -> {
+            genres.invalidate(id);
+            books.invalidateAll();
+        });
+    }
+
+    private static void runNowAndAfterCommit(final Runnable eviction) {
+
+        eviction.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.nihatkerembora.libraryapp.book.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nihatkerembora.libraryapp.book.publisher.AvailabilityEventBus;
+import com.nihatkerembora.libraryapp.book.publisher.LocalAvailabilityEventBus;
+import com.nihatkerembora.libraryapp.book.publisher.PostgresAvailabilityEventBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Creates the {@link AvailabilityEventBus} selected by {@code book.availability.bus.type}.
+ */
+@Configuration
+public class AvailabilityEventBusConfig {
+
+    @Bean
+    public AvailabilityEventBus availabilityEventBus(final AvailabilityStreamConfigurationParameter configurationParameter,
+                                                     final DataSource dataSource,
+                                                     final DataSourceProperties dataSourceProperties,
+                                                     final ObjectMapper objectMapper,
+                                                     final MeterRegistry meterRegistry) {
+
+        return switch (configurationParameter.getBusType()) {
+            case LOCAL -> new LocalAvailabilityEventBus();
+            // LISTEN holds its connection for good, so it gets one outside of the pool
+            case POSTGRES -> new PostgresAvailabilityEventBus(dataSource,
+                    dataSourceProperties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build(),
+                    objectMapper, configurationParameter, meterRegistry);
+        };
+    }
+
+}
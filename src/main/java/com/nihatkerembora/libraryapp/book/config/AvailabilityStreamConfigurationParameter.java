@@ -0,0 +1,39 @@
+package com.nihatkerembora.libraryapp.book.config;
+
+import com.nihatkerembora.libraryapp.book.publisher.AvailabilityEventBusType;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration parameters of the book availability stream.
+ * Every value can be overridden through the corresponding {@code book.availability.*} application property.
+ */
+@Getter
+@Configuration
+public class AvailabilityStreamConfigurationParameter {
+
+    private final int subscriberBufferSize;
+    private final int replaySize;
+    private final AvailabilityEventBusType busType;
+    private final String busChannel;
+    private final int busBatchSize;
+    private final long busFlushIntervalMillis;
+
+    public AvailabilityStreamConfigurationParameter(
+            @Value("${book.availability.subscriber-buffer-size:1024}") final int subscriberBufferSize,
+            @Value("${book.availability.replay-size:4096}") final int replaySize,
+            @Value("${book.availability.bus.type:LOCAL}") final AvailabilityEventBusType busType,
+            @Value("${book.availability.bus.channel:book_availability}") final String busChannel,
+            @Value("${book.availability.bus.batch-size:100}") final int busBatchSize,
+            @Value("${book.availability.bus.flush-interval-ms:50}") final long busFlushIntervalMillis) {
+
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.replaySize = replaySize;
+        this.busType = busType;
+        this.busChannel = busChannel;
+        this.busBatchSize = busBatchSize;
+        this.busFlushIntervalMillis = busFlushIntervalMillis;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.nihatkerembora.libraryapp.book.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration parameters of the book and genre read cache.
+ * Every value can be overridden through the corresponding {@code book.cache.*} application property.
+ */
+@Getter
+@Configuration
+public class BookCacheConfigurationParameter {
+
+    private final long bookMaxSize;
+    private final long genreMaxSize;
+    private final Duration timeToLive;
+
+    public BookCacheConfigurationParameter(
+            @Value("${book.cache.book-max-size:10000}") final long bookMaxSize,
+            @Value("${book.cache.genre-max-size:1000}") final long genreMaxSize,
+            @Value("${book.cache.ttl-ms:600000}") final long timeToLiveMillis) {
+
+        this.bookMaxSize = bookMaxSize;
+        this.genreMaxSize = genreMaxSize;
+        this.timeToLive = Duration.ofMillis(timeToLiveMillis);
+    }
+
+}
@@ -5,21 +5,34 @@ import com.nihatkerembora.libraryapp.book.model.dto.request.BookCreateRequest;
 import com.nihatkerembora.libraryapp.book.model.dto.request.BookUpdateRequest;
 import com.nihatkerembora.libraryapp.book.model.dto.response.BookResponse;
 import com.nihatkerembora.libraryapp.book.service.BookService;
+import com.nihatkerembora.libraryapp.common.export.ExportFormat;
+import com.nihatkerembora.libraryapp.common.model.CursorSlice;
+import com.nihatkerembora.libraryapp.common.model.dto.response.CustomCursorResponse;
 import com.nihatkerembora.libraryapp.common.model.dto.response.CustomPagingResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping(value = "/api/v1/books",
@@ -86,12 +99,14 @@ public class BookController {
      * @param author  (Optional) Author of the book.
      * @param isbn    (Optional) ISBN of the book.
      * @param genre   (Optional) Genre name to filter books.
+     * @param withTotals Whether the total element and page counts are computed.
      * @param pageable Pagination and sorting information.
      * @return A paginated {@link ResponseEntity<CustomPagingResponse<BookResponse>>} containing search results.
      */
     @Operation(
             summary = "Search books",
-            description = "Searches books with optional filters like title, author, ISBN and genre name.",
+            description = "Searches books with optional filters like title, author, ISBN and genre name. "
+                    + "Pass withTotals=false to skip counting the matching books; the totals are then null.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Books found matching the search criteria")
             }
@@ -102,9 +117,108 @@ public class BookController {
             @RequestParam(required = false) String author,
             @RequestParam(required = false) String isbn,
             @RequestParam(required = false) String genre,
+            @RequestParam(defaultValue = "true") boolean withTotals,
             @PageableDefault(size = 20, sort = "title") Pageable pageable) {
 
-        Page<BookResponse> page = bookService.search(title, author, isbn, genre, pageable);
+        Slice<BookResponse> page = withTotals
+                ? bookService.search(title, author, isbn, genre, pageable)
+                : bookService.searchSlice(title, author, isbn, genre, pageable);
+        CustomPagingResponse<BookResponse> response = CustomPagingResponse.from(page);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint to scroll through books with filters using cursor based pagination.
+     *
+     * @param title   (Optional) Title of the book.
+     * @param author  (Optional) Author of the book.
+     * @param isbn    (Optional) ISBN of the book.
+     * @param genre   (Optional) Genre name to filter books.
+     * @param cursor  (Optional) The {@code nextCursor} of the previous slice; omit it for the first slice.
+     * @param size    Maximum number of books to return.
+     * @return A {@link ResponseEntity<CustomCursorResponse<BookResponse>>} ordered by title.
+     */
+    @Operation(
+            summary = "Scroll books",
+            description = "Searches books with the same filters as the search endpoint, ordered by title, "
+                    + "using an opaque continuation cursor instead of page numbers. No total count is computed.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Books found matching the search criteria"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or size")
+            }
+    )
+    @GetMapping("/scroll")
+    public ResponseEntity<CustomCursorResponse<BookResponse>> scroll(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String isbn,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+
+        CursorSlice<BookResponse> slice = bookService.scroll(title, author, isbn, genre, cursor, size);
+        return ResponseEntity.ok(CustomCursorResponse.from(slice));
+    }
+
+    /**
+     * Endpoint to export all books matching the search filters, ordered by title.
+     *
+     * @param title    (Optional) Title of the book.
+     * @param author   (Optional) Author of the book.
+     * @param isbn     (Optional) ISBN of the book.
+     * @param genre    (Optional) Genre name to filter books.
+     * @param format   Output format, NDJSON, CSV, PDF or XLSX.
+     * @param response The response the books are streamed to.
+     * @throws IOException if writing the response fails.
+     */
+    @Operation(
+            summary = "Export books",
+            description = "Streams all books matching the search filters as NDJSON, CSV, PDF or XLSX without paging.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Books exported")
+            }
+    )
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    @GetMapping(value = "/export", produces = MediaType.ALL_VALUE)
+    public void export(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String isbn,
+            @RequestParam(required = false) String genre,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletResponse response) throws IOException {
+
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("books." + format.getFileExtension())
+                .build()
+                .toString());
+
+        bookService.export(title, author, isbn, genre, format, response.getOutputStream());
+    }
+
+    /**
+     * Endpoint to search books by free text, ranked by relevance.
+     *
+     * @param q        Free text matched against title, author and genre names, with prefix and typo tolerance.
+     * @param pageable Pagination information; results are always ordered by relevance.
+     * @return A paginated {@link ResponseEntity<CustomPagingResponse<BookResponse>>} of the best matching books.
+     */
+    @Operation(
+            summary = "Full-text search books",
+            description = "Searches books by free text over title, author and genre names and ranks them by relevance.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Books found matching the query"),
+                    @ApiResponse(responseCode = "400", description = "Missing or too long query")
+            }
+    )
+    @GetMapping("/full-text")
+    public ResponseEntity<CustomPagingResponse<BookResponse>> fullTextSearch(
+            @RequestParam @NotBlank @Size(max = 200) String q,
+            @PageableDefault(size = 20) Pageable pageable) {
+
+        Page<BookResponse> page = bookService.fullTextSearch(q, pageable);
         CustomPagingResponse<BookResponse> response = CustomPagingResponse.from(page);
         return ResponseEntity.ok(response);
     }
@@ -2,16 +2,24 @@ package com.nihatkerembora.libraryapp.book.controller;
 
 
 import com.nihatkerembora.libraryapp.book.model.dto.event.AvailabilityEvent;
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
+import com.nihatkerembora.libraryapp.book.publisher.AvailabilityFilter;
 import com.nihatkerembora.libraryapp.book.service.ReactiveBookService;
+import com.nihatkerembora.libraryapp.logging.sampling.AuditSampling;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 
+import java.util.Set;
+
 
 @RestController
 @RequestMapping("/api/v1/books")
@@ -26,20 +34,37 @@ public class BookReactiveController {
      *
      * Initially emits all current books and their status,
      * then continues to emit only availability changes in real-time.
+     * A reconnecting client that sends {@code Last-Event-ID} only receives the changes it missed,
+     * unless too many changes happened in the meantime.
+     * The stream can be narrowed down to given books, a genre and statuses; all given criteria must match.
      *
+     * @param lastEventId the ID of the last event received before reconnecting
+     * @param bookIds     the IDs of the books of interest, all books if absent
+     * @param genreId     the ID of the genre of interest, all genres if absent
+     * @param statuses    the statuses of interest, all statuses if absent
      * @return A Flux stream of {@link AvailabilityEvent} containing book availability info.
      */
     @Operation(
             summary = "Stream book availability status",
-            description = "Streams all books' current availability status on connection and continues streaming status changes in real-time.",
+            description = "Streams all books' current availability status on connection and continues streaming status changes in real-time. "
+                    + "Reconnecting clients that send Last-Event-ID only receive the changes they missed, "
+                    + "or the full status again if too many changes were missed. "
+                    + "Optional bookId, genreId and status parameters narrow the stream down to matching books; "
+                    + "a change is sent when a book enters or leaves one of the requested statuses.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Streaming availability events as Server-Sent Events"),
                     @ApiResponse(responseCode = "500", description = "Internal server error")
             }
     )
     @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<AvailabilityEvent> streamAvailability() {
-        return reactiveBookService.streamAvailability();
+    @AuditSampling(0.01)
+    public Flux<ServerSentEvent<AvailabilityEvent>> streamAvailability(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(value = "bookId", required = false) Set<String> bookIds,
+            @RequestParam(value = "genreId", required = false) String genreId,
+            @RequestParam(value = "status", required = false) Set<Status> statuses) {
+        return reactiveBookService.streamAvailability(lastEventId,
+                new AvailabilityFilter(bookIds, genreId, statuses));
     }
 
 }
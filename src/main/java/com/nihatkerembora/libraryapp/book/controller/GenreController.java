@@ -5,15 +5,20 @@ import com.nihatkerembora.libraryapp.book.model.dto.request.GenreCreateRequest;
 import com.nihatkerembora.libraryapp.book.model.dto.request.GenreUpdateRequest;
 import com.nihatkerembora.libraryapp.book.model.dto.response.GenreResponse;
 import com.nihatkerembora.libraryapp.book.service.GenreService;
+import com.nihatkerembora.libraryapp.common.model.CursorSlice;
+import com.nihatkerembora.libraryapp.common.model.dto.response.CustomCursorResponse;
 import com.nihatkerembora.libraryapp.common.model.dto.response.CustomPagingResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
@@ -21,6 +26,7 @@ import java.net.URI;
 @RestController
 @RequestMapping("/api/v1/genres")
 @RequiredArgsConstructor
+@Validated
 public class GenreController {
     private final GenreService genreService;
 
@@ -72,23 +78,51 @@ public class GenreController {
     /**
      * Lists all genres with pagination.
      *
+     * @param withTotals Whether the total element and page counts are returned.
      * @param pageable Pagination details.
      * @return A page of {@link GenreResponse}.
      */
     @Operation(
             summary = "List genres",
-            description = "Lists all genres with pagination support.",
+            description = "Lists all genres with pagination support. "
+                    + "Pass withTotals=false to skip the totals; they are then null.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Genres listed successfully")
             }
     )
     @GetMapping
-    public ResponseEntity<CustomPagingResponse<GenreResponse>> listGenres(Pageable pageable) {
-        Page<GenreResponse> page = genreService.list(pageable);
+    public ResponseEntity<CustomPagingResponse<GenreResponse>> listGenres(
+            @RequestParam(defaultValue = "true") boolean withTotals,
+            Pageable pageable) {
+        Slice<GenreResponse> page = withTotals ? genreService.list(pageable) : genreService.listSlice(pageable);
         CustomPagingResponse<GenreResponse> response = CustomPagingResponse.from(page);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Lists genres ordered by name with cursor based pagination.
+     *
+     * @param cursor The {@code nextCursor} of the previous page; omit it for the first page.
+     * @param size Maximum number of genres to return.
+     * @return A slice of {@link GenreResponse} with the cursor of the next slice.
+     */
+    @Operation(
+            summary = "Scroll genres",
+            description = "Lists genres ordered by name using an opaque continuation cursor instead of page numbers. "
+                    + "No total count is computed.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Genres listed successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or size")
+            }
+    )
+    @GetMapping("/scroll")
+    public ResponseEntity<CustomCursorResponse<GenreResponse>> scrollGenres(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        CursorSlice<GenreResponse> slice = genreService.scroll(cursor, size);
+        return ResponseEntity.ok(CustomCursorResponse.from(slice));
+    }
+
     /**
      * Updates an existing genre.
      *
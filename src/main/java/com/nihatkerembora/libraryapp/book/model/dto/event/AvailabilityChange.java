@@ -0,0 +1,34 @@
+package com.nihatkerembora.libraryapp.book.model.dto.event;
+
+
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
+
+import java.util.Set;
+
+/**
+ * A committed availability change of a book as exchanged between application instances.
+ *
+ * @param bookId   the ID of the book
+ * @param title    the title of the book
+ * @param status   the new status of the book
+ * @param genreIds the current genre IDs of the book, or {@code null} if they did not change
+ */
+public record AvailabilityChange(
+        String bookId,
+        String title,
+        Status status,
+        Set<String> genreIds
+) {
+
+    public AvailabilityEvent toEvent() {
+        return new AvailabilityEvent(bookId, title, status);
+    }
+
+    /**
+     * Combines this change with a later one of the same book, keeping the genres if the later one leaves them
+     * unchanged.
+     */
+    public AvailabilityChange mergeWith(AvailabilityChange later) {
+        return later.genreIds() != null ? later : new AvailabilityChange(bookId, later.title(), later.status(), genreIds);
+    }
+}
@@ -3,8 +3,27 @@ package com.nihatkerembora.libraryapp.book.model.dto.event;
 
 import com.nihatkerembora.libraryapp.book.model.enums.Status;
 
+/**
+ * Current availability of a book.
+ *
+ * @param bookId  the ID of the book
+ * @param title   the title of the book
+ * @param status  the status of the book
+ * @param version the position of this change in the availability stream, assigned on publishing;
+ *                0 for events that have not been published yet
+ */
 public record AvailabilityEvent(
         String bookId,
         String title,
-        Status status
-) {}
+        Status status,
+        long version
+) {
+
+    public AvailabilityEvent(String bookId, String title, Status status) {
+        this(bookId, title, status, 0);
+    }
+
+    public AvailabilityEvent withVersion(long version) {
+        return new AvailabilityEvent(bookId, title, status, version);
+    }
+}
@@ -0,0 +1,10 @@
+package com.nihatkerembora.libraryapp.book.model.dto.projection;
+
+/**
+ * Projection of a single book-genre association by ID.
+ *
+ * @param bookId  the ID of the book
+ * @param genreId the ID of one of the book's genres
+ */
+public record BookGenreId(String bookId, String genreId) {
+}
@@ -0,0 +1,10 @@
+package com.nihatkerembora.libraryapp.book.model.dto.projection;
+
+/**
+ * Projection of a single book-genre association, carrying only what a {@code BookResponse} needs.
+ *
+ * @param bookId    the ID of the book
+ * @param genreName the name of one of the book's genres
+ */
+public record BookGenreName(String bookId, String genreName) {
+}
@@ -0,0 +1,11 @@
+package com.nihatkerembora.libraryapp.book.model.dto.projection;
+
+/**
+ * Projection of the searchable fields of a book, without its genres.
+ *
+ * @param id     the ID of the book
+ * @param title  the title of the book
+ * @param author the author of the book
+ */
+public record BookSearchFields(String id, String title, String author) {
+}
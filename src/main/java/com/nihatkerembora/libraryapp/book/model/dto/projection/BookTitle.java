@@ -0,0 +1,10 @@
+package com.nihatkerembora.libraryapp.book.model.dto.projection;
+
+/**
+ * Projection of a book's ID and title, e.g. as returned by a bulk status transition.
+ *
+ * @param id    the ID of the book
+ * @param title the title of the book
+ */
+public record BookTitle(String id, String title) {
+}
@@ -19,7 +19,10 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
-@Table(name = "BOOKS")
+@Table(
+        name = "BOOKS",
+        indexes = @Index(name = "IDX_BOOKS_TITLE_ID", columnList = "TITLE, ID")
+)
 public class Book extends BaseEntity {
 
     @Id
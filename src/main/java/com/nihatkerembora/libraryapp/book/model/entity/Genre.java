@@ -15,7 +15,10 @@ import lombok.experimental.SuperBuilder;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "GENRES")
+@Table(
+        name = "GENRES",
+        indexes = @Index(name = "IDX_GENRES_NAME_ID", columnList = "NAME, ID")
+)
 public class Genre extends BaseEntity {
 
     @Id
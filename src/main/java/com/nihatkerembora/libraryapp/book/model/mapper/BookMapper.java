@@ -9,6 +9,7 @@ import com.nihatkerembora.libraryapp.book.model.entity.Genre;
 import com.nihatkerembora.libraryapp.book.model.enums.Status;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -27,15 +28,22 @@ public class BookMapper {
     }
 
     public BookResponse toDto(Book book) {
+        return toDto(book, book.getGenres().stream()
+                .map(Genre::getName)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Entity -> Response DTO with already loaded genre names, so the lazy genres collection is not touched.
+     */
+    public BookResponse toDto(Book book, List<String> genreNames) {
         BookResponse resp = new BookResponse();
         resp.setId(book.getId());
         resp.setTitle(book.getTitle());
         resp.setAuthor(book.getAuthor());
         resp.setIsbn(book.getIsbn());
         resp.setPublicationDate(book.getPublicationDate());
-        resp.setGenres(book.getGenres().stream()
-                .map(Genre::getName)
-                .collect(Collectors.toList()));
+        resp.setGenres(genreNames);
         resp.setStatus(book.getStatus().name());
         return resp;
     }
@@ -1,9 +1,10 @@
 package com.nihatkerembora.libraryapp.book.port.in;
 
 
+import com.nihatkerembora.libraryapp.book.cache.BookCatalogCache;
 import com.nihatkerembora.libraryapp.book.exception.BookNotFoundException;
 import com.nihatkerembora.libraryapp.book.model.dto.event.AvailabilityEvent;
-import com.nihatkerembora.libraryapp.book.model.entity.Book;
+import com.nihatkerembora.libraryapp.book.model.dto.projection.BookTitle;
 import com.nihatkerembora.libraryapp.book.model.enums.Status;
 import com.nihatkerembora.libraryapp.book.publisher.AvailabilityPublisher;
 import com.nihatkerembora.libraryapp.book.repository.BookRepository;
@@ -13,12 +14,19 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 
 @Component
 @RequiredArgsConstructor
 class BookAvailabilityAdapter implements BookAvailabilityPort {
     private final BookRepository bookRepo;
     private final AvailabilityPublisher publisher;
+    private final BookCatalogCache cache;
 
     @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isAvailable(String id) {
@@ -27,21 +35,58 @@ class BookAvailabilityAdapter implements BookAvailabilityPort {
 
     @Transactional
     public boolean markBorrowed(String id) {
-        Book book = bookRepo.findById(id)
-                .orElseThrow(() -> new BookNotFoundException(id));
-        bookRepo.updateStatus(id, Status.BORROWED);
-        publisher.publish(new AvailabilityEvent(id, book.getTitle(), Status.BORROWED));
-
-        return true;
+        return transition(id, Status.AVAILABLE, Status.BORROWED);
     }
 
     @Transactional
     public boolean markAvailable(String id) {
-        Book book = bookRepo.findById(id)
-                .orElseThrow(() -> new BookNotFoundException(id));
-        bookRepo.updateStatus(id, Status.AVAILABLE);
-        publisher.publish(new AvailabilityEvent(id, book.getTitle(), Status.AVAILABLE));
+        return transition(id, Status.BORROWED, Status.AVAILABLE);
+    }
+
+    @Transactional
+    public Set<String> markAllBorrowed(Collection<String> ids) {
+        return transitionAll(ids, Status.AVAILABLE, Status.BORROWED);
+    }
+
+    @Transactional
+    public Set<String> markAllAvailable(Collection<String> ids) {
+        return transitionAll(ids, Status.BORROWED, Status.AVAILABLE);
+    }
+
+    /**
+     * Applies the transition with a single conditional statement that also returns the title, so that of several
+     * concurrent callers only one succeeds and the books table is hit once on success. The event is published
+     * once the surrounding transaction has committed.
+     */
+    private boolean transition(String id, Status from, Status to) {
+        Optional<String> title = bookRepo.transitionStatus(id, from, to);
+        if (title.isEmpty()) {
+            if (!bookRepo.existsById(id)) {
+                throw new BookNotFoundException(id);
+            }
+            return false;
+        }
+
+        cache.evictBook(id);
+        publisher.publishAfterCommit(new AvailabilityEvent(id, title.get(), to));
 
         return true;
     }
+
+    /**
+     * Applies the transition to all books with a single conditional statement and publishes the events of the
+     * moved books together once the surrounding transaction has committed.
+     */
+    private Set<String> transitionAll(Collection<String> ids, Status from, Status to) {
+        List<BookTitle> books = bookRepo.transitionStatuses(ids, from, to);
+        if (books.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<String> moved = books.stream().map(BookTitle::id).collect(Collectors.toUnmodifiableSet());
+        cache.evictBooks(moved);
+        books.forEach(book -> publisher.publishAfterCommit(new AvailabilityEvent(book.id(), book.title(), to)));
+
+        return moved;
+    }
 }
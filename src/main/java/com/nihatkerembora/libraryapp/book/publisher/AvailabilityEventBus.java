@@ -0,0 +1,40 @@
+package com.nihatkerembora.libraryapp.book.publisher;
+
+import com.nihatkerembora.libraryapp.book.model.dto.event.AvailabilityChange;
+
+/**
+ * Carries the availability changes committed on one application instance to the {@link AvailabilityPublisher}
+ * of every other instance, so that stream subscribers see changes regardless of the instance they are
+ * connected to.
+ */
+public interface AvailabilityEventBus {
+
+    /**
+     * Hands a committed change over for delivery to the other instances, without waiting for it.
+     *
+     * @param change the committed change
+     */
+    void send(AvailabilityChange change);
+
+    /**
+     * Registers the receiver of the changes sent by other instances. Changes sent by this instance are not
+     * delivered back to it.
+     *
+     * @param listener the receiver
+     */
+    void subscribe(Listener listener);
+
+    interface Listener {
+
+        /**
+         * Called for every change sent by another instance.
+         */
+        void onChange(AvailabilityChange change);
+
+        /**
+         * Called after the bus had to reconnect, when changes of other instances may have been missed.
+         */
+        void onReconnect();
+    }
+
+}
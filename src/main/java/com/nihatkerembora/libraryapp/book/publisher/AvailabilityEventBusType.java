@@ -0,0 +1,18 @@
+package com.nihatkerembora.libraryapp.book.publisher;
+
+/**
+ * The {@link AvailabilityEventBus} implementation used by the application.
+ */
+public enum AvailabilityEventBusType {
+
+    /**
+     * Keep changes within the instance; for a single instance.
+     */
+    LOCAL,
+
+    /**
+     * Fan changes out to every instance through PostgreSQL {@code LISTEN}/{@code NOTIFY}.
+     */
+    POSTGRES
+
+}
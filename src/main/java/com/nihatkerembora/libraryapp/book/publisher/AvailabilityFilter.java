@@ -0,0 +1,35 @@
+package com.nihatkerembora.libraryapp.book.publisher;
+
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
+
+import java.util.Set;
+
+/**
+ * Narrows an availability subscription down to the books a client cares about. Every non-empty criterion must
+ * match; an empty filter matches every book.
+ *
+ * @param bookIds  the IDs of the books of interest, or empty for any book
+ * @param genreId  the ID of the genre the books must belong to, or {@code null} for any genre
+ * @param statuses the statuses of interest, or empty for any status. A change matches if the book enters or
+ *                 leaves one of them, so that clients also learn about books that no longer qualify.
+ */
+public record AvailabilityFilter(Set<String> bookIds, String genreId, Set<Status> statuses) {
+
+    public static final AvailabilityFilter ALL = new AvailabilityFilter(Set.of(), null, Set.of());
+
+    public AvailabilityFilter {
+        bookIds = bookIds == null ? Set.of() : Set.copyOf(bookIds);
+        genreId = genreId == null || genreId.isBlank() ? null : genreId;
+        statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+    }
+
+    boolean matchesBook(final String bookId, final Set<String> genreIds) {
+        return (bookIds.isEmpty() || bookIds.contains(bookId))
+                && (genreId == null || genreIds.contains(genreId));
+    }
+
+    boolean matchesStatus(final Status status, final Status previousStatus) {
+        return statuses.isEmpty() || statuses.contains(status)
+                || (previousStatus != null && statuses.contains(previousStatus));
+    }
+}
@@ -1,21 +1,588 @@
 package com.nihatkerembora.libraryapp.book.publisher;
 
 
+import com.nihatkerembora.libraryapp.book.cache.BookCatalogCache;
+import com.nihatkerembora.libraryapp.book.config.AvailabilityStreamConfigurationParameter;
+import com.nihatkerembora.libraryapp.book.model.dto.event.AvailabilityChange;
 import com.nihatkerembora.libraryapp.book.model.dto.event.AvailabilityEvent;
+import com.nihatkerembora.libraryapp.book.model.dto.projection.BookGenreId;
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
+import com.nihatkerembora.libraryapp.book.repository.BookRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Sinks;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a versioned, in-memory snapshot of the availability of every book and fans changes out to every
+ * subscriber of {@link #getFlux(Long)} as server-sent events.
+ * <p>
+ * Every published event is stamped with the next version and applied to the snapshot. The snapshot is loaded
+ * from the database by the first subscriber only, with a projection that does not load book entities; later
+ * subscribers get a copy of it without a database hit, followed by exactly the changes with a higher version.
+ * Publishing before the snapshot is loaded only advances the version, since the load reads the committed
+ * state anyway. Versions start at the current time in microseconds, so they keep increasing across restarts
+ * and an ID handed out by a previous instance is never mistaken for a current one.
+ * </p>
+ * <p>
+ * The version is sent as the event ID. The last {@code book.availability.replay-size} events are kept in a ring
+ * buffer, so a client that reconnects with the {@code Last-Event-ID} of an event still covered by it receives only
+ * the events it missed. Any other client receives the full snapshot, whose events carry no ID except the last
+ * one; a client that is cut off while receiving the snapshot therefore starts over with a new snapshot.
+ * </p>
+ * <p>
+ * Each subscriber has its own queue that holds at most one pending event per book: a newer event for a book
+ * that is still queued replaces the older one and moves to the end of the queue, so a lagging subscriber
+ * receives the current status of every changed book instead of a growing backlog, still in version order. The queue holds at most
+ * {@code book.availability.subscriber-buffer-size} books; a subscriber that falls further behind is terminated
+ * with a {@link SubscriberOverflowException} and is expected to reconnect, which restarts it from a fresh snapshot.
+ * Publishing never blocks on a subscriber and a slow subscriber never delays the others.
+ * </p>
+ * <p>
+ * A subscriber may narrow its stream down with an {@link AvailabilityFilter}. Subscribers are indexed by their
+ * book IDs, else by their genre, so a change is only matched against the subscribers that may be interested in
+ * the book instead of against every subscriber. The genres of every book are loaded along with the snapshot
+ * and kept current by {@link #publish(AvailabilityEvent, Collection)}.
+ * </p>
+ * <p>
+ * Published events are also sent to the other application instances through the {@link AvailabilityEventBus},
+ * and the changes received from them are dispatched like local ones. Versions, and therefore event IDs, are
+ * assigned by each instance on its own. A received change also evicts the book from this instance's
+ * {@link BookCatalogCache}, and a reconnect of the bus evicts every cached book, since changes may have been
+ * missed in the meantime.
+ * </p>
+ * <p>
+ * Exposed metrics:
+ * <ul>
+ *     <li>{@code availability.subscribers} - number of active subscribers</li>
+ *     <li>{@code availability.subscribers.lag} - pending events of the most lagging subscriber</li>
+ *     <li>{@code availability.events.published} - events handed to the publisher</li>
+ *     <li>{@code availability.events.conflated} - queued events replaced by a newer event for the same book</li>
+ *     <li>{@code availability.events.failed} - events that could not be queued for a subscriber, tagged by
+ *     {@code reason}</li>
+ *     <li>{@code availability.snapshot.loads} - snapshot loads from the database</li>
+ *     <li>{@code availability.snapshot.resynced} - comparisons of the snapshot with the database after the
+ *     {@link AvailabilityEventBus} reconnected</li>
+ *     <li>{@code availability.subscriptions.resumed} - subscriptions served from the replay buffer instead of
+ *     the snapshot</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
 @Component
 public class AvailabilityPublisher {
-    private final Sinks.Many<AvailabilityEvent> sink =
-            Sinks.many().multicast().onBackpressureBuffer();
 
+    private final BookRepository bookRepository;
+    private final AvailabilityEventBus eventBus;
+    private final BookCatalogCache cache;
+    private final int bufferSize;
+    private final int replaySize;
+    private final Set<ConflatingSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final Object lock = new Object();
+    private Map<String, AvailabilityEvent> snapshot;
+    private Map<String, Set<String>> genresByBook;
+    private final Deque<Change> replay = new ArrayDeque<>();
+    private long version;
+
+    private final Map<String, Set<ConflatingSubscriber>> subscribersByBook = new HashMap<>();
+    private final Map<String, Set<ConflatingSubscriber>> subscribersByGenre = new HashMap<>();
+    private final Set<ConflatingSubscriber> unindexedSubscribers = new HashSet<>();
+
+    private final Counter publishedCounter;
+    private final Counter conflatedCounter;
+    private final Counter overflowCounter;
+    private final Counter snapshotLoadCounter;
+    private final Counter resumedCounter;
+    private final Counter resyncedCounter;
+
+    public AvailabilityPublisher(final BookRepository bookRepository,
+                                 final AvailabilityEventBus eventBus,
+                                 final BookCatalogCache cache,
+                                 final AvailabilityStreamConfigurationParameter configurationParameter,
+                                 final MeterRegistry meterRegistry) {
+
+        this(bookRepository, eventBus, cache, configurationParameter, meterRegistry, System.currentTimeMillis() * 1000);
+    }
+
+    AvailabilityPublisher(final BookRepository bookRepository,
+                          final AvailabilityEventBus eventBus,
+                          final BookCatalogCache cache,
+                          final AvailabilityStreamConfigurationParameter configurationParameter,
+                          final MeterRegistry meterRegistry,
+                          final long initialVersion) {
+
+        this.bookRepository = bookRepository;
+        this.eventBus = eventBus;
+        this.cache = cache;
+        this.bufferSize = configurationParameter.getSubscriberBufferSize();
+        this.replaySize = configurationParameter.getReplaySize();
+        this.version = initialVersion;
+
+        this.publishedCounter = meterRegistry.counter("availability.events.published");
+        this.conflatedCounter = meterRegistry.counter("availability.events.conflated");
+        this.overflowCounter = meterRegistry.counter("availability.events.failed", "reason", "overflow");
+        this.snapshotLoadCounter = meterRegistry.counter("availability.snapshot.loads");
+        this.resumedCounter = meterRegistry.counter("availability.subscriptions.resumed");
+        this.resyncedCounter = meterRegistry.counter("availability.snapshot.resynced");
+
+        Gauge.builder("availability.subscribers", subscribers, Set::size)
+                .register(meterRegistry);
+        Gauge.builder("availability.subscribers.lag", this, AvailabilityPublisher::maxLag)
+                .register(meterRegistry);
+
+        eventBus.subscribe(new AvailabilityEventBus.Listener() {
+            @Override
+            public void onChange(final AvailabilityChange change) {
+                cache.evictBook(change.bookId());
+                dispatch(change.toEvent(), change.genreIds());
+            }
+
+            @Override
+            public void onReconnect() {
+                cache.evictAllBooks();
+                resync();
+            }
+        });
+    }
+
+    /**
+     * Stamps the event with the next version, applies it to the snapshot and queues it for every subscriber
+     * whose filter matches, then sends it to the other instances. The genres of the book are left unchanged.
+     *
+     * @param event the changed availability of a book
+     */
     public void publish(AvailabilityEvent event) {
-        sink.tryEmitNext(event);
+        publish(event, null);
+    }
+
+    /**
+     * Like {@link #publish(AvailabilityEvent)}, for a book that was created or whose genres may have changed.
+     *
+     * @param event    the changed availability of a book
+     * @param genreIds the current genre IDs of the book, or {@code null} if they did not change
+     */
+    public void publish(AvailabilityEvent event, Collection<String> genreIds) {
+        dispatch(event, genreIds);
+        eventBus.send(new AvailabilityChange(event.bookId(), event.title(), event.status(),
+                genreIds == null ? null : Set.copyOf(genreIds)));
+    }
+
+    /**
+     * Applies a change of this or another instance to the snapshot and queues it for the matching subscribers.
+     */
+    private void dispatch(final AvailabilityEvent event, final Collection<String> genreIds) {
+        publishedCounter.increment();
+        List<ConflatingSubscriber> recipients = new ArrayList<>();
+        synchronized (lock) {
+            AvailabilityEvent versioned = event.withVersion(++version);
+            AvailabilityEvent previous = snapshot == null ? null : snapshot.put(versioned.bookId(), versioned);
+            Status previousStatus = previous == null ? null : previous.status();
+
+            Set<String> bookGenres = genresOf(versioned.bookId());
+            if (genreIds != null && genresByBook != null) {
+                genresByBook.put(versioned.bookId(), Set.copyOf(genreIds));
+                // Subscribers of a genre the book just left learn about it as well
+                bookGenres = union(bookGenres, genreIds);
+            }
+
+            if (replaySize > 0) {
+                if (replay.size() == replaySize) {
+                    replay.removeFirst();
+                }
+                replay.addLast(new Change(versioned, previousStatus));
+            }
+
+            for (ConflatingSubscriber subscriber : candidatesFor(versioned.bookId(), bookGenres)) {
+                if (subscriber.filter.matchesBook(versioned.bookId(), bookGenres)
+                        && subscriber.filter.matchesStatus(versioned.status(), previousStatus)) {
+                    subscriber.offer(versioned);
+                    recipients.add(subscriber);
+                }
+            }
+        }
+        // Delivery happens outside the lock, so a subscriber writing to a slow connection holds up nobody
+        for (ConflatingSubscriber subscriber : recipients) {
+            subscriber.drain();
+        }
+    }
+
+    /**
+     * Publishes the event once the current transaction has committed, or right away without a transaction.
+     *
+     * @param event the changed availability of a book
+     */
+    public void publishAfterCommit(AvailabilityEvent event) {
+        publishAfterCommit(event, null);
+    }
+
+    /**
+     * Publishes the event once the current transaction has committed, or right away without a transaction.
+     *
+     * @param event    the changed availability of a book
+     * @param genreIds the current genre IDs of the book, or {@code null} if they did not change
+     */
+    public void publishAfterCommit(AvailabilityEvent event, Collection<String> genreIds) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(event, genreIds);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(event, genreIds);
+            }
+        });
+    }
+
+    /**
+     * Same as {@link #getFlux(Long, AvailabilityFilter)} without a filter.
+     */
+    public Flux<ServerSentEvent<AvailabilityEvent>> getFlux(Long lastEventId) {
+        return getFlux(lastEventId, AvailabilityFilter.ALL);
+    }
+
+    /**
+     * Streams the matching events missed since {@code lastEventId} if the replay buffer still covers them,
+     * or else the matching part of the snapshot in no particular order; followed by every later matching
+     * change in version order.
+     *
+     * @param lastEventId the ID of the last event the client received, or {@code null} for a new client
+     * @param filter      the books the client is interested in
+     * @return a {@link Flux} of server-sent availability events
+     */
+    public Flux<ServerSentEvent<AvailabilityEvent>> getFlux(Long lastEventId, AvailabilityFilter filter) {
+        return Flux.defer(() -> {
+                    ConflatingSubscriber subscriber = new ConflatingSubscriber(filter);
+                    Flux<ServerSentEvent<AvailabilityEvent>> head;
+                    synchronized (lock) {
+                        // Dispatching by genre and status needs the current genres and statuses of every book
+                        if (snapshot == null) {
+                            loadSnapshot();
+                        }
+                        if (lastEventId != null && canResumeFrom(lastEventId)) {
+                            resumedCounter.increment();
+                            head = Flux.fromIterable(replayedAfter(lastEventId, filter))
+                                    .map(AvailabilityPublisher::toSse);
+                        } else {
+                            head = snapshotEvents(snapshotMatching(filter), version);
+                        }
+                        register(subscriber);
+                    }
+                    return head
+                            .concatWith(Flux.create(subscriber::attach).map(AvailabilityPublisher::toSse))
+                            .doFinally(signal -> unregister(subscriber));
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Indexes the subscriber by its most selective criterion: its book IDs, else its genre. Subscribers without
+     * either are offered every event. Must hold the lock.
+     */
+    private void register(final ConflatingSubscriber subscriber) {
+        AvailabilityFilter filter = subscriber.filter;
+        if (!filter.bookIds().isEmpty()) {
+            filter.bookIds().forEach(bookId ->
+                    subscribersByBook.computeIfAbsent(bookId, key -> new HashSet<>()).add(subscriber));
+        } else if (filter.genreId() != null) {
+            subscribersByGenre.computeIfAbsent(filter.genreId(), key -> new HashSet<>()).add(subscriber);
+        } else {
+            unindexedSubscribers.add(subscriber);
+        }
+        subscribers.add(subscriber);
+    }
+
+    private void unregister(final ConflatingSubscriber subscriber) {
+        synchronized (lock) {
+            AvailabilityFilter filter = subscriber.filter;
+            filter.bookIds().forEach(bookId -> removeFromIndex(subscribersByBook, bookId, subscriber));
+            if (filter.genreId() != null) {
+                removeFromIndex(subscribersByGenre, filter.genreId(), subscriber);
+            }
+            unindexedSubscribers.remove(subscriber);
+            subscribers.remove(subscriber);
+        }
+    }
+
+    private static void removeFromIndex(final Map<String, Set<ConflatingSubscriber>> index, final String key,
+                                        final ConflatingSubscriber subscriber) {
+        Set<ConflatingSubscriber> indexed = index.get(key);
+        if (indexed != null && indexed.remove(subscriber) && indexed.isEmpty()) {
+            index.remove(key);
+        }
     }
 
-    public Flux<AvailabilityEvent> getFlux() {
-        return sink.asFlux();
+    /**
+     * Looks up the subscribers that may be interested in a change of the given book. Must hold the lock.
+     */
+    private Set<ConflatingSubscriber> candidatesFor(final String bookId, final Set<String> bookGenres) {
+        Set<ConflatingSubscriber> candidates = new HashSet<>(unindexedSubscribers);
+        candidates.addAll(subscribersByBook.getOrDefault(bookId, Set.of()));
+        for (String genreId : bookGenres) {
+            candidates.addAll(subscribersByGenre.getOrDefault(genreId, Set.of()));
+        }
+        return candidates;
+    }
+
+    /**
+     * Whether every event after the given version is still in the replay buffer. Must hold the lock.
+     */
+    private boolean canResumeFrom(final long lastEventId) {
+        long replayFrom = replay.isEmpty() ? version : replay.getFirst().event().version() - 1;
+        return lastEventId >= replayFrom && lastEventId <= version;
+    }
+
+    /**
+     * Copies the buffered events after the given version that match the filter. Must hold the lock.
+     */
+    private List<AvailabilityEvent> replayedAfter(final long lastEventId, final AvailabilityFilter filter) {
+        List<AvailabilityEvent> missed = new ArrayList<>();
+        Iterator<Change> iterator = replay.descendingIterator();
+        while (iterator.hasNext()) {
+            Change change = iterator.next();
+            if (change.event().version() <= lastEventId) {
+                break;
+            }
+            if (filter.matchesBook(change.event().bookId(), genresOf(change.event().bookId()))
+                    && filter.matchesStatus(change.event().status(), change.previousStatus())) {
+                missed.add(change.event());
+            }
+        }
+        return missed.reversed();
+    }
+
+    /**
+     * Copies the books of the snapshot that match the filter, by their current status. Must hold the lock.
+     */
+    private List<AvailabilityEvent> snapshotMatching(final AvailabilityFilter filter) {
+        if (filter.bookIds().isEmpty()) {
+            return snapshot.values().stream()
+                    .filter(event -> filter.matchesBook(event.bookId(), genresOf(event.bookId()))
+                            && filter.matchesStatus(event.status(), null))
+                    .toList();
+        }
+        return filter.bookIds().stream()
+                .map(snapshot::get)
+                .filter(Objects::nonNull)
+                .filter(event -> filter.matchesBook(event.bookId(), genresOf(event.bookId()))
+                        && filter.matchesStatus(event.status(), null))
+                .toList();
+    }
+
+    /**
+     * Only the last snapshot event carries an ID, the version the snapshot was taken at, so that a client only
+     * resumes after it has received the whole snapshot.
+     */
+    private static Flux<ServerSentEvent<AvailabilityEvent>> snapshotEvents(final List<AvailabilityEvent> events,
+                                                                           final long snapshotVersion) {
+        return Flux.range(0, events.size())
+                .map(i -> i < events.size() - 1
+                        ? ServerSentEvent.builder(events.get(i)).build()
+                        : ServerSentEvent.builder(events.get(i)).id(Long.toString(snapshotVersion)).build());
+    }
+
+    private static ServerSentEvent<AvailabilityEvent> toSse(final AvailabilityEvent event) {
+        return ServerSentEvent.builder(event).id(Long.toString(event.version())).build();
+    }
+
+    /**
+     * Loads the status and genres of every book. Must hold the lock.
+     */
+    private void loadSnapshot() {
+        snapshotLoadCounter.increment();
+        Map<String, AvailabilityEvent> loaded = new HashMap<>();
+        for (AvailabilityEvent event : bookRepository.findAllAvailability()) {
+            loaded.put(event.bookId(), event.withVersion(version));
+        }
+        snapshot = loaded;
+        genresByBook = loadGenres();
+    }
+
+    private Map<String, Set<String>> loadGenres() {
+        Map<String, Set<String>> genres = new HashMap<>();
+        for (BookGenreId bookGenre : bookRepository.findAllGenreIds()) {
+            genres.computeIfAbsent(bookGenre.bookId(), key -> new HashSet<>()).add(bookGenre.genreId());
+        }
+        return genres;
+    }
+
+    /**
+     * Compares the snapshot with the database after changes of other instances may have been missed, and
+     * dispatches every difference as a change. Nothing to do before the snapshot is loaded.
+     */
+    private void resync() {
+        synchronized (lock) {
+            if (snapshot == null) {
+                return;
+            }
+        }
+        resyncedCounter.increment();
+        List<AvailabilityEvent> current = bookRepository.findAllAvailability();
+        Map<String, Set<String>> genres = loadGenres();
+        for (AvailabilityEvent event : current) {
+            Set<String> bookGenres = genres.getOrDefault(event.bookId(), Set.of());
+            boolean changed;
+            synchronized (lock) {
+                AvailabilityEvent known = snapshot.get(event.bookId());
+                changed = known == null
+                        || known.status() != event.status()
+                        || !Objects.equals(known.title(), event.title())
+                        || !genresOf(event.bookId()).equals(bookGenres);
+            }
+            if (changed) {
+                dispatch(event, bookGenres);
+            }
+        }
+    }
+
+    private Set<String> genresOf(final String bookId) {
+        return genresByBook == null ? Set.of() : genresByBook.getOrDefault(bookId, Set.of());
+    }
+
+    private static Set<String> union(final Set<String> first, final Collection<String> second) {
+        Set<String> union = new HashSet<>(first);
+        union.addAll(second);
+        return union;
+    }
+
+    private int maxLag() {
+        int max = 0;
+        for (ConflatingSubscriber subscriber : subscribers) {
+            max = Math.max(max, subscriber.pending());
+        }
+        return max;
+    }
+
+    /**
+     * A buffered event together with the status the book had before it, needed to match status filters.
+     */
+    private record Change(AvailabilityEvent event, Status previousStatus) {
+    }
+
+    /**
+     * Signalled to a subscriber whose queue was full when an event for another book arrived.
+     */
+    public static class SubscriberOverflowException extends IllegalStateException {
+
+        public SubscriberOverflowException(final int bufferSize) {
+            super("Availability subscriber fell more than " + bufferSize + " books behind");
+        }
+    }
+
+    /**
+     * Per-subscriber queue, keyed by book ID in version order of the pending events.
+     * Changes are queued from the moment the snapshot copy is taken, and only leave the queue once the sink is
+     * attached and the subscriber has requested them; {@link #drain()} is serialized with a work-in-progress
+     * counter so that the sink is never signalled concurrently.
+     */
+    private final class ConflatingSubscriber {
+
+        private final AvailabilityFilter filter;
+        private final Map<String, AvailabilityEvent> queue = new LinkedHashMap<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile FluxSink<AvailabilityEvent> sink;
+        private boolean overflowed;
+
+        private ConflatingSubscriber(final AvailabilityFilter filter) {
+            this.filter = filter;
+        }
+
+        private void attach(final FluxSink<AvailabilityEvent> sink) {
+            this.sink = sink;
+            sink.onRequest(n -> drain());
+        }
+
+        private void offer(final AvailabilityEvent event) {
+            synchronized (queue) {
+                if (overflowed) {
+                    return;
+                }
+                if (queue.remove(event.bookId()) != null) {
+                    queue.put(event.bookId(), event);
+                    conflatedCounter.increment();
+                } else if (queue.size() < bufferSize) {
+                    queue.put(event.bookId(), event);
+                } else {
+                    overflowed = true;
+                    queue.clear();
+                }
+            }
+        }
+
+        private int pending() {
+            synchronized (queue) {
+                return queue.size();
+            }
+        }
+
+        private void drain() {
+            final FluxSink<AvailabilityEvent> sink = this.sink;
+            if (sink == null || wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (sink.isCancelled()) {
+                    return;
+                }
+                while (sink.requestedFromDownstream() > 0) {
+                    AvailabilityEvent next = poll();
+                    if (next == null) {
+                        break;
+                    }
+                    sink.next(next);
+                }
+                if (isOverflowed()) {
+                    overflowCounter.increment();
+                    log.warn("Disconnecting availability subscriber that fell more than {} books behind", bufferSize);
+                    sink.error(new SubscriberOverflowException(bufferSize));
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private AvailabilityEvent poll() {
+            synchronized (queue) {
+                Iterator<AvailabilityEvent> iterator = queue.values().iterator();
+                if (!iterator.hasNext()) {
+                    return null;
+                }
+                AvailabilityEvent next = iterator.next();
+                iterator.remove();
+                return next;
+            }
+        }
+
+        private boolean isOverflowed() {
+            synchronized (queue) {
+                return overflowed;
+            }
+        }
     }
 }
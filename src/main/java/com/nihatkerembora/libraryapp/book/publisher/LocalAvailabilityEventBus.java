@@ -0,0 +1,20 @@
+package com.nihatkerembora.libraryapp.book.publisher;
+
+import com.nihatkerembora.libraryapp.book.model.dto.event.AvailabilityChange;
+
+/**
+ * {@link AvailabilityEventBus} of a single instance, which has no other instances to deliver changes to.
+ */
+public class LocalAvailabilityEventBus implements AvailabilityEventBus {
+
+    @Override
+    public void send(final AvailabilityChange change) {
+        // The local publisher has already dispatched the change
+    }
+
+    @Override
+    public void subscribe(final Listener listener) {
+        // No other instance ever sends a change
+    }
+
+}
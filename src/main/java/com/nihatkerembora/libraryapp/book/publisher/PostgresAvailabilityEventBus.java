@@ -0,0 +1,377 @@
+package com.nihatkerembora.libraryapp.book.publisher;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nihatkerembora.libraryapp.book.config.AvailabilityStreamConfigurationParameter;
+import com.nihatkerembora.libraryapp.book.model.dto.event.AvailabilityChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * {@link AvailabilityEventBus} on top of PostgreSQL {@code LISTEN}/{@code NOTIFY}, so that instances sharing a
+ * database share availability changes without a message broker.
+ * <p>
+ * Sent changes are collected by a background thread and published with a single {@code pg_notify} per batch
+ * as soon as either {@code book.availability.bus.batch-size} books changed or
+ * {@code book.availability.bus.flush-interval-ms} has elapsed. A batch holds at most one change per book: a
+ * later change of a book that is still pending replaces the earlier one, since receivers only need the current
+ * status. Batches larger than the notification payload limit are split. A batch that cannot be sent, e.g.
+ * because no pooled connection became available in time, is put back in front of the pending changes and
+ * retried with exponential backoff; receivers only apply the current status, so sending a change twice is
+ * harmless.
+ * </p>
+ * <p>
+ * A second background thread keeps a dedicated connection listening on {@code book.availability.bus.channel}.
+ * It is opened from a separate, non-pooled data source, so it neither occupies a slot of the application's
+ * connection pool nor is subject to its connection lifetime.
+ * Every notification carries the ID of the sending instance, so an instance skips its own changes, which its
+ * publisher has already dispatched. After a lost connection it reconnects and reports the reconnect to the
+ * listener, since notifications sent in the meantime are lost.
+ * </p>
+ * <p>
+ * Exposed metrics:
+ * <ul>
+ *     <li>{@code availability.bus.sent} - notifications sent</li>
+ *     <li>{@code availability.bus.deduplicated} - pending changes replaced by a later change of the same book</li>
+ *     <li>{@code availability.bus.received} - changes received from other instances</li>
+ *     <li>{@code availability.bus.retried} - changes put back for another attempt after a failed send</li>
+ *     <li>{@code availability.bus.failed} - changes that could not be sent or received, tagged by
+ *     {@code reason}</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+public class PostgresAvailabilityEventBus implements AvailabilityEventBus {
+
+    /**
+     * PostgreSQL rejects payloads of 8000 bytes and more.
+     */
+    static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+    private static final long MIN_RETRY_DELAY_MILLIS = 100;
+    private static final long MAX_RETRY_DELAY_MILLIS = 30_000;
+
+    private final DataSource dataSource;
+    private final DataSource listenerDataSource;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final String origin = UUID.randomUUID().toString();
+
+    private final Object lock = new Object();
+    private final Map<String, AvailabilityChange> pending = new LinkedHashMap<>();
+    private volatile Listener listener;
+
+    private final Counter sentCounter;
+    private final Counter deduplicatedCounter;
+    private final Counter receivedCounter;
+    private final Counter retriedCounter;
+    private final Counter sendFailedCounter;
+    private final Counter tooLargeCounter;
+    private final Counter receiveFailedCounter;
+
+    private Thread senderThread;
+    private Thread listenerThread;
+    private volatile boolean running;
+
+    /**
+     * @param dataSource         the pooled data source notifications are sent through
+     * @param listenerDataSource the non-pooled data source the listening connection is opened from
+     */
+    public PostgresAvailabilityEventBus(final DataSource dataSource,
+                                        final DataSource listenerDataSource,
+                                        final ObjectMapper objectMapper,
+                                        final AvailabilityStreamConfigurationParameter configurationParameter,
+                                        final MeterRegistry meterRegistry) {
+
+        if (!CHANNEL_PATTERN.matcher(configurationParameter.getBusChannel()).matches()) {
+            throw new IllegalArgumentException("Invalid availability bus channel: " + configurationParameter.getBusChannel());
+        }
+
+        this.dataSource = dataSource;
+        this.listenerDataSource = listenerDataSource;
+        this.objectMapper = objectMapper;
+        this.channel = configurationParameter.getBusChannel();
+        this.batchSize = configurationParameter.getBusBatchSize();
+        this.flushIntervalMillis = configurationParameter.getBusFlushIntervalMillis();
+
+        this.sentCounter = meterRegistry.counter("availability.bus.sent");
+        this.deduplicatedCounter = meterRegistry.counter("availability.bus.deduplicated");
+        this.receivedCounter = meterRegistry.counter("availability.bus.received");
+        this.retriedCounter = meterRegistry.counter("availability.bus.retried");
+        this.sendFailedCounter = meterRegistry.counter("availability.bus.failed", "reason", "send");
+        this.tooLargeCounter = meterRegistry.counter("availability.bus.failed", "reason", "too_large");
+        this.receiveFailedCounter = meterRegistry.counter("availability.bus.failed", "reason", "receive");
+    }
+
+    /**
+     * Starts the background sender and listener threads.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        senderThread = Thread.ofPlatform()
+                .name("availability-bus-sender")
+                .daemon(true)
+                .start(this::runSender);
+        listenerThread = Thread.ofPlatform()
+                .name("availability-bus-listener")
+                .daemon(true)
+                .start(this::runListener);
+    }
+
+    /**
+     * Stops the background threads after the pending changes have been sent.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Thread thread : new Thread[]{senderThread, listenerThread}) {
+            if (thread == null) {
+                continue;
+            }
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void send(final AvailabilityChange change) {
+        synchronized (lock) {
+            AvailabilityChange earlier = pending.remove(change.bookId());
+            if (earlier != null) {
+                deduplicatedCounter.increment();
+            }
+            pending.put(change.bookId(), earlier == null ? change : earlier.mergeWith(change));
+            if (pending.size() == 1 || pending.size() >= batchSize) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(final Listener listener) {
+        this.listener = listener;
+    }
+
+    private void runSender() {
+
+        long retryDelayMillis = MIN_RETRY_DELAY_MILLIS;
+        while (running) {
+            try {
+                final List<AvailabilityChange> batch = awaitBatch();
+                if (sendNotifications(batch)) {
+                    retryDelayMillis = MIN_RETRY_DELAY_MILLIS;
+                } else {
+                    requeue(batch);
+                    Thread.sleep(retryDelayMillis);
+                    retryDelayMillis = Math.min(retryDelayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                // stop() was called, the remaining changes are sent below
+            }
+        }
+        final List<AvailabilityChange> remaining;
+        synchronized (lock) {
+            remaining = drainPending();
+        }
+        if (!sendNotifications(remaining)) {
+            sendFailedCounter.increment(remaining.size());
+        }
+
+        log.info("Availability bus sender stopped");
+    }
+
+    /**
+     * Waits for the first pending change, then until the batch is full or the flush interval has elapsed.
+     */
+    private List<AvailabilityChange> awaitBatch() throws InterruptedException {
+        synchronized (lock) {
+            while (pending.isEmpty()) {
+                lock.wait();
+            }
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+            long remaining;
+            while (pending.size() < batchSize && (remaining = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            }
+            return drainPending();
+        }
+    }
+
+    private List<AvailabilityChange> drainPending() {
+        final List<AvailabilityChange> batch = new ArrayList<>(pending.values());
+        pending.clear();
+        return batch;
+    }
+
+    /**
+     * Puts a batch that could not be sent back in front of the changes that were sent in the meantime. A change
+     * sent in the meantime supersedes the one of the batch for the same book.
+     */
+    private void requeue(final List<AvailabilityChange> batch) {
+        synchronized (lock) {
+            final Map<String, AvailabilityChange> requeued = new LinkedHashMap<>();
+            for (AvailabilityChange change : batch) {
+                final AvailabilityChange later = pending.remove(change.bookId());
+                requeued.put(change.bookId(), later == null ? change : change.mergeWith(later));
+            }
+            requeued.putAll(pending);
+            pending.clear();
+            pending.putAll(requeued);
+        }
+    }
+
+    /**
+     * Sends the batch, or returns {@code false} if it could not be sent and should be retried.
+     */
+    private boolean sendNotifications(final List<AvailabilityChange> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        final List<String> payloads = new ArrayList<>();
+        collectPayloads(batch, payloads);
+        if (payloads.isEmpty()) {
+            return true;
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            for (String payload : payloads) {
+                statement.setString(1, channel);
+                statement.setString(2, payload);
+                statement.execute();
+                sentCounter.increment();
+            }
+            return true;
+        } catch (SQLException e) {
+            log.warn("Availability bus batch of {} changes could not be sent, retrying: {}", batch.size(), e.getMessage());
+            retriedCounter.increment(batch.size());
+            return false;
+        }
+    }
+
+    /**
+     * Serializes the changes into as few payloads as possible, halving a batch until its payload fits.
+     */
+    private void collectPayloads(final List<AvailabilityChange> changes, final List<String> payloads) {
+        final String payload;
+        try {
+            payload = objectMapper.writeValueAsString(new Notification(origin, changes));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Availability changes could not be serialized", e);
+        }
+
+        if (payload.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES) {
+            payloads.add(payload);
+        } else if (changes.size() == 1) {
+            log.error("Availability change of book {} exceeds the notification payload limit", changes.getFirst().bookId());
+            tooLargeCounter.increment();
+        } else {
+            final int half = changes.size() / 2;
+            collectPayloads(changes.subList(0, half), payloads);
+            collectPayloads(changes.subList(half, changes.size()), payloads);
+        }
+    }
+
+    private void runListener() {
+
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = listenerDataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for availability changes on channel {}", channel);
+                if (connectedBefore && listener != null) {
+                    listener.onReconnect();
+                }
+                connectedBefore = true;
+
+                final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    final PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Availability bus connection lost, reconnecting: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+            }
+        }
+
+        log.info("Availability bus listener stopped");
+    }
+
+    private void receive(final String payload) {
+        final Notification notification;
+        try {
+            notification = objectMapper.readValue(payload, Notification.class);
+        } catch (JsonProcessingException e) {
+            log.error("Availability bus notification could not be read: {}", e.getMessage());
+            receiveFailedCounter.increment();
+            return;
+        }
+
+        final Listener current = listener;
+        if (origin.equals(notification.origin()) || current == null) {
+            return;
+        }
+        for (AvailabilityChange change : notification.changes()) {
+            try {
+                current.onChange(change);
+                receivedCounter.increment();
+            } catch (RuntimeException e) {
+                log.error("Availability change of book {} could not be dispatched: {}", change.bookId(), e.getMessage());
+                receiveFailedCounter.increment();
+            }
+        }
+    }
+
+    /**
+     * The payload of one notification.
+     *
+     * @param origin  the ID of the sending instance
+     * @param changes the changes of distinct books, in the order they were sent
+     */
+    record Notification(String origin, List<AvailabilityChange> changes) {
+    }
+
+}
@@ -1,8 +1,14 @@
 package com.nihatkerembora.libraryapp.book.repository;
 
 
+import com.nihatkerembora.libraryapp.book.model.dto.event.AvailabilityEvent;
+import com.nihatkerembora.libraryapp.book.model.dto.projection.BookGenreId;
+import com.nihatkerembora.libraryapp.book.model.dto.projection.BookGenreName;
+import com.nihatkerembora.libraryapp.book.model.dto.projection.BookSearchFields;
 import com.nihatkerembora.libraryapp.book.model.entity.Book;
 import com.nihatkerembora.libraryapp.book.model.enums.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -10,10 +16,15 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, String>, JpaSpecificationExecutor<Book> {
+public interface BookRepository extends JpaRepository<Book, String>, JpaSpecificationExecutor<Book>,
+        BookStatusTransitionRepository {
 
     /**
      * Checks if a book with the given ISBN exists and is not marked as deleted.
@@ -59,4 +70,100 @@ public interface BookRepository extends JpaRepository<Book, String>, JpaSpecific
      * @return true if any book uses this genre, false otherwise.
      */
     boolean existsByGenres_Id(String genreId);
+
+    /**
+     * Loads the genre names of the given books in a single query.
+     *
+     * @param bookIds the IDs of the books.
+     * @return one {@link BookGenreName} per book-genre association.
+     */
+    @Query("""
+            select new com.nihatkerembora.libraryapp.book.model.dto.projection.BookGenreName(b.id, g.name)
+            from Book b join b.genres g
+            where b.id in :bookIds
+            """)
+    List<BookGenreName> findGenreNamesByBookIds(@Param("bookIds") Collection<String> bookIds);
+
+    /**
+     * Loads the genre names of the given books in a single query, grouped by book ID.
+     *
+     * @param bookIds the IDs of the books.
+     * @return the genre names of each book; books without genres are absent.
+     */
+    default Map<String, List<String>> findGenreNamesGroupedByBookId(Collection<String> bookIds) {
+        if (bookIds.isEmpty()) {
+            return Map.of();
+        }
+        return findGenreNamesByBookIds(bookIds).stream()
+                .collect(Collectors.groupingBy(
+                        BookGenreName::bookId,
+                        Collectors.mapping(BookGenreName::genreName, Collectors.toList())));
+    }
+
+    /**
+     * Loads the availability of every book, without loading the book entities or their genres.
+     *
+     * @return one unversioned {@link AvailabilityEvent} per book.
+     */
+    @Query("""
+            select new com.nihatkerembora.libraryapp.book.model.dto.event.AvailabilityEvent(b.id, b.title, b.status)
+            from Book b
+            """)
+    List<AvailabilityEvent> findAllAvailability();
+
+    /**
+     * Loads every book-genre association by ID in a single query.
+     *
+     * @return one {@link BookGenreId} per book-genre association.
+     */
+    @Query("""
+            select new com.nihatkerembora.libraryapp.book.model.dto.projection.BookGenreId(b.id, g.id)
+            from Book b join b.genres g
+            """)
+    List<BookGenreId> findAllGenreIds();
+
+    /**
+     * Loads the searchable fields of the next books by ID whose status differs from the given one, without
+     * loading book entities.
+     *
+     * @param afterId the ID after which to continue, or an empty string to start at the first book.
+     * @param status the status to exclude.
+     * @param pageable the maximum number of books to load; its offset must be 0.
+     * @return the next books in ID order.
+     */
+    @Query("""
+            select new com.nihatkerembora.libraryapp.book.model.dto.projection.BookSearchFields(b.id, b.title, b.author)
+            from Book b
+            where b.status <> :status and b.id > :afterId
+            order by b.id
+            """)
+    List<BookSearchFields> findSearchFieldsAfter(@Param("afterId") String afterId,
+                                                 @Param("status") Status status,
+                                                 Pageable pageable);
+
+    /**
+     * Finds a slice of books whose status differs from the given one.
+     *
+     * @param status the status to exclude.
+     * @param pageable the slice to load.
+     * @return the books of the requested slice.
+     */
+    Slice<Book> findByStatusNot(Status status, Pageable pageable);
+
+    /**
+     * Counts the books whose status differs from the given one.
+     *
+     * @param status the status to exclude.
+     * @return the number of matching books.
+     */
+    long countByStatusNot(Status status);
+
+    /**
+     * Finds all books associated with the given genre ID whose status differs from the given one.
+     *
+     * @param genreId the ID of the genre.
+     * @param status the status to exclude.
+     * @return the matching books using this genre.
+     */
+    List<Book> findAllByGenres_IdAndStatusNot(String genreId, Status status);
 }
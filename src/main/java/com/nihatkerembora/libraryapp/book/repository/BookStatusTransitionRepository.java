@@ -0,0 +1,38 @@
+package com.nihatkerembora.libraryapp.book.repository;
+
+import com.nihatkerembora.libraryapp.book.model.dto.projection.BookTitle;
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Custom {@link BookRepository} fragment for status transitions on the borrow and return hot path.
+ */
+public interface BookStatusTransitionRepository {
+
+    /**
+     * Moves a book from one status to another in a single conditional statement and returns its title.
+     * The row lock taken by the update makes concurrent transitions of the same book serialize, while
+     * other books are unaffected.
+     *
+     * @param id the ID of the book.
+     * @param from the status the book must currently have.
+     * @param to the new status to set.
+     * @return the title of the book, or empty if the book does not exist or does not have status {@code from}.
+     */
+    Optional<String> transitionStatus(String id, Status from, Status to);
+
+    /**
+     * Moves every given book that currently has status {@code from} to status {@code to} in a single
+     * conditional statement. Books that do not exist or have another status are left untouched.
+     *
+     * @param ids the IDs of the books.
+     * @param from the status the books must currently have.
+     * @param to the new status to set.
+     * @return the ID and title of every book that was moved, in no particular order.
+     */
+    List<BookTitle> transitionStatuses(Collection<String> ids, Status from, Status to);
+
+}
@@ -0,0 +1,139 @@
+package com.nihatkerembora.libraryapp.book.repository;
+
+import com.nihatkerembora.libraryapp.book.model.dto.projection.BookTitle;
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Implements {@link BookStatusTransitionRepository} with one round trip to the {@code BOOKS} table:
+ * {@code UPDATE ... RETURNING} on PostgreSQL and a data change delta table on H2. Other databases fall back
+ * to a conditional update followed by a title lookup.
+ */
+@RequiredArgsConstructor
+class BookStatusTransitionRepositoryImpl implements BookStatusTransitionRepository {
+
+    private static final String UPDATE_RETURNING_SQL = """
+            UPDATE books SET status = :to WHERE id = :id AND status = :from RETURNING title
+            """;
+
+    private static final String FINAL_TABLE_SQL = """
+            SELECT title FROM FINAL TABLE (UPDATE books SET status = :to WHERE id = :id AND status = :from)
+            """;
+
+    private static final String BULK_UPDATE_RETURNING_SQL = """
+            UPDATE books SET status = :to WHERE id IN (:ids) AND status = :from RETURNING id, title
+            """;
+
+    private static final String BULK_FINAL_TABLE_SQL = """
+            SELECT id, title FROM FINAL TABLE (UPDATE books SET status = :to WHERE id IN (:ids) AND status = :from)
+            """;
+
+    private final EntityManager entityManager;
+
+    private volatile String databaseProductName;
+
+    @Override
+    public Optional<String> transitionStatus(final String id, final Status from, final Status to) {
+        return switch (databaseProductName()) {
+            case "postgresql" -> singleStatement(UPDATE_RETURNING_SQL, id, from, to);
+            case "h2" -> singleStatement(FINAL_TABLE_SQL, id, from, to);
+            default -> updateThenSelect(id, from, to);
+        };
+    }
+
+    @Override
+    public List<BookTitle> transitionStatuses(final Collection<String> ids, final Status from, final Status to) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return switch (databaseProductName()) {
+            case "postgresql" -> singleBulkStatement(BULK_UPDATE_RETURNING_SQL, ids, from, to);
+            case "h2" -> singleBulkStatement(BULK_FINAL_TABLE_SQL, ids, from, to);
+            default -> lockThenUpdate(ids, from, to);
+        };
+    }
+
+    private Optional<String> singleStatement(final String sql, final String id, final Status from, final Status to) {
+        final List<?> titles = entityManager.createNativeQuery(sql, String.class)
+                .setParameter("id", id)
+                .setParameter("from", from.name())
+                .setParameter("to", to.name())
+                .getResultList();
+        return titles.stream().map(String.class::cast).findFirst();
+    }
+
+    private List<BookTitle> singleBulkStatement(final String sql, final Collection<String> ids,
+                                                final Status from, final Status to) {
+        final List<?> rows = entityManager.createNativeQuery(sql)
+                .setParameter("ids", ids)
+                .setParameter("from", from.name())
+                .setParameter("to", to.name())
+                .getResultList();
+        return rows.stream()
+                .map(Object[].class::cast)
+                .map(row -> new BookTitle((String) row[0], (String) row[1]))
+                .toList();
+    }
+
+    private Optional<String> updateThenSelect(final String id, final Status from, final Status to) {
+        final int updated = entityManager
+                .createQuery("update Book b set b.status = :to where b.id = :id and b.status = :from")
+                .setParameter("id", id)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .executeUpdate();
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        return entityManager.createQuery("select b.title from Book b where b.id = :id", String.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Locks the matching rows before updating them, so that the books reported as moved are exactly the ones
+     * the update changes.
+     */
+    private List<BookTitle> lockThenUpdate(final Collection<String> ids, final Status from, final Status to) {
+        final List<BookTitle> books = entityManager.createQuery("""
+                        select new com.nihatkerembora.libraryapp.book.model.dto.projection.BookTitle(b.id, b.title)
+                        from Book b
+                        where b.id in :ids and b.status = :from
+                        """, BookTitle.class)
+                .setParameter("ids", ids)
+                .setParameter("from", from)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        if (books.isEmpty()) {
+            return books;
+        }
+        entityManager.createQuery("update Book b set b.status = :to where b.id in :ids")
+                .setParameter("ids", books.stream().map(BookTitle::id).toList())
+                .setParameter("to", to)
+                .executeUpdate();
+        return books;
+    }
+
+    /**
+     * The configured Hibernate dialect does not necessarily match the database, e.g. in tests running on H2,
+     * so the product name is read from the JDBC metadata once.
+     */
+    private String databaseProductName() {
+        if (databaseProductName == null) {
+            databaseProductName = entityManager.unwrap(Session.class)
+                    .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName())
+                    .toLowerCase(Locale.ROOT);
+        }
+        return databaseProductName;
+    }
+
+}
@@ -1,10 +1,21 @@
 package com.nihatkerembora.libraryapp.book.repository;
 
 import com.nihatkerembora.libraryapp.book.model.entity.Genre;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface GenreRepository extends JpaRepository<Genre, String> {
+public interface GenreRepository extends JpaRepository<Genre, String>, JpaSpecificationExecutor<Genre> {
+
+    /**
+     * Finds a slice of all genres without counting them.
+     *
+     * @param pageable the slice to load.
+     * @return the genres of the requested slice.
+     */
+    Slice<Genre> findAllBy(Pageable pageable);
 
 }
@@ -0,0 +1,15 @@
+package com.nihatkerembora.libraryapp.book.search;
+
+import java.util.List;
+
+/**
+ * Snapshot of the searchable fields of a book, taken while the book is still attached
+ * so that it can be indexed after the surrounding transaction has committed.
+ *
+ * @param id         the ID of the book
+ * @param title      the title of the book
+ * @param author     the author of the book
+ * @param genreNames the names of the book's genres
+ */
+public record BookSearchDocument(String id, String title, String author, List<String> genreNames) {
+}
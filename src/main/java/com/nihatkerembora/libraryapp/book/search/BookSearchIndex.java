@@ -0,0 +1,358 @@
+package com.nihatkerembora.libraryapp.book.search;
+
+import com.nihatkerembora.libraryapp.book.model.dto.projection.BookSearchFields;
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
+import com.nihatkerembora.libraryapp.book.repository.BookRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the title, author and genre names of all books that are not deleted.
+ * <p>
+ * Every query term is matched against the indexed terms exactly, as a prefix and, for longer terms,
+ * fuzzily within one or two edits. A book matches a query only if every query term matches one of its
+ * terms. Matches are ranked by the field the term was found in (title over author over genre), by the
+ * kind of match (exact over prefix over fuzzy) and by how rare the matched term is.
+ * </p>
+ * <p>
+ * The index is filled once the application is ready and afterwards kept up to date by the book and
+ * genre services, which re-index the affected books after their transaction commits. Writes made by
+ * other application instances are picked up by a full rebuild every
+ * {@code book.search.index.rebuild-interval-ms}. A rebuild loads a projection of the books in ID order
+ * into a new index, applies the local writes that happened meanwhile and then swaps it in, so searches
+ * keep using the old index until then.
+ * </p>
+ * <p>
+ * Exposed gauges: {@code book.search.index.books} and {@code book.search.index.terms}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class BookSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int GENRE_WEIGHT = 1;
+
+    private static final double EXACT_MATCH = 1.0;
+    private static final double PREFIX_MATCH = 0.6;
+    private static final double FUZZY_MATCH = 0.3;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int TWO_EDITS_MIN_LENGTH = 8;
+
+    private static final int WARM_UP_BATCH_SIZE = 500;
+
+    private final BookRepository bookRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private NavigableMap<String, Map<String, Integer>> postings = new TreeMap<>();
+    private Map<String, Set<String>> termsByBook = new HashMap<>();
+    // Local writes during a rebuild, by book ID; empty for a removed book. Null while no rebuild runs.
+    private Map<String, Optional<BookSearchDocument>> changedDuringRebuild;
+
+    private final AtomicInteger indexedBookCount = new AtomicInteger();
+    private final AtomicInteger indexedTermCount = new AtomicInteger();
+
+    /**
+     * A book matching a query together with its relevance score.
+     *
+     * @param bookId the ID of the matching book
+     * @param score  the relevance score, higher is better
+     */
+    public record Hit(String bookId, double score) {
+    }
+
+    public BookSearchIndex(final BookRepository bookRepository,
+                           final MeterRegistry meterRegistry) {
+
+        this.bookRepository = bookRepository;
+        meterRegistry.gauge("book.search.index.books", indexedBookCount);
+        meterRegistry.gauge("book.search.index.terms", indexedTermCount);
+    }
+
+    /**
+     * Indexes all books that are not deleted once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+        log.info("Book search index warmed up with {} books and {} terms",
+                indexedBookCount.get(), indexedTermCount.get());
+    }
+
+    /**
+     * Replaces the index with a new one built from all books that are not deleted, batch by batch.
+     */
+    @Scheduled(
+            initialDelayString = "${book.search.index.rebuild-interval-ms:900000}",
+            fixedDelayString = "${book.search.index.rebuild-interval-ms:900000}"
+    )
+    public synchronized void rebuild() {
+
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        final NavigableMap<String, Map<String, Integer>> newPostings = new TreeMap<>();
+        final Map<String, Set<String>> newTermsByBook = new HashMap<>();
+        try {
+            final Pageable batch = PageRequest.of(0, WARM_UP_BATCH_SIZE);
+            List<BookSearchFields> books;
+            String afterId = "";
+            do {
+                books = bookRepository.findSearchFieldsAfter(afterId, Status.DELETED, batch);
+                final Map<String, List<String>> genreNamesByBookId = bookRepository.findGenreNamesGroupedByBookId(
+                        books.stream().map(BookSearchFields::id).toList()
+                );
+                for (final BookSearchFields book : books) {
+                    addTerms(newPostings, newTermsByBook, book.id(), termWeights(new BookSearchDocument(
+                            book.id(),
+                            book.title(),
+                            book.author(),
+                            genreNamesByBookId.getOrDefault(book.id(), List.of())
+                    )));
+                }
+                afterId = books.isEmpty() ? afterId : books.getLast().id();
+            } while (books.size() == WARM_UP_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild.forEach((bookId, document) -> {
+                removeTerms(newPostings, newTermsByBook, bookId);
+                document.ifPresent(indexed ->
+                        addTerms(newPostings, newTermsByBook, bookId, termWeights(indexed)));
+            });
+            changedDuringRebuild = null;
+            postings = newPostings;
+            termsByBook = newTermsByBook;
+            updateCounts();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the given book to the index, replacing any previously indexed version of it.
+     *
+     * @param document the searchable fields of the book
+     */
+    public void index(final BookSearchDocument document) {
+
+        final Map<String, Integer> termWeights = termWeights(document);
+
+        lock.writeLock().lock();
+        try {
+            removeTerms(postings, termsByBook, document.id());
+            addTerms(postings, termsByBook, document.id(), termWeights);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(document.id(), Optional.of(document));
+            }
+            updateCounts();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the given book from the index.
+     *
+     * @param bookId the ID of the book
+     */
+    public void remove(final String bookId) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(postings, termsByBook, bookId);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(bookId, Optional.empty());
+            }
+            updateCounts();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the given book once the current transaction has committed, or right away without a transaction.
+     *
+     * @param document the searchable fields of the book
+     */
+    public void indexAfterCommit(final BookSearchDocument document) {
+        afterCommit(() -> index(document));
+    }
+
+    /**
+     * Removes the given book once the current transaction has committed, or right away without a transaction.
+     *
+     * @param bookId the ID of the book
+     */
+    public void removeAfterCommit(final String bookId) {
+        afterCommit(() -> remove(bookId));
+    }
+
+    /**
+     * Finds the books matching every term of the given query, most relevant first.
+     *
+     * @param query the free text query
+     * @return the matching books with their scores
+     */
+    public List<Hit> search(final String query) {
+
+        final List<String> queryTerms = SearchTokenizer.tokenize(query).stream().distinct().toList();
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<String, Double> scores = null;
+            for (final String queryTerm : queryTerms) {
+                final Map<String, Double> termScores = scoreTerm(queryTerm);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((bookId, score) -> score + termScores.get(bookId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .map(entry -> new Hit(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::bookId))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Double> scoreTerm(final String queryTerm) {
+
+        final Map<String, Double> scores = new HashMap<>();
+
+        addMatches(scores, postings.get(queryTerm), EXACT_MATCH);
+
+        if (queryTerm.length() >= MIN_PREFIX_LENGTH) {
+            postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false)
+                    .values()
+                    .forEach(bookWeights -> addMatches(scores, bookWeights, PREFIX_MATCH));
+        }
+
+        if (queryTerm.length() >= MIN_FUZZY_LENGTH) {
+            final int maxEdits = queryTerm.length() >= TWO_EDITS_MIN_LENGTH ? 2 : 1;
+            final String firstCharacter = queryTerm.substring(0, 1);
+            postings.subMap(firstCharacter, true, firstCharacter + Character.MAX_VALUE, false)
+                    .forEach((term, bookWeights) -> {
+                        if (!term.startsWith(queryTerm)
+                                && SearchTokenizer.editDistance(queryTerm, term, maxEdits) <= maxEdits) {
+                            addMatches(scores, bookWeights, FUZZY_MATCH);
+                        }
+                    });
+        }
+
+        return scores;
+    }
+
+    private void addMatches(final Map<String, Double> scores,
+                            final Map<String, Integer> bookWeights,
+                            final double matchQuality) {
+
+        if (bookWeights == null) {
+            return;
+        }
+
+        final double inverseDocumentFrequency = Math.log(1.0 + (double) termsByBook.size() / bookWeights.size());
+        bookWeights.forEach((bookId, weight) ->
+                scores.merge(bookId, matchQuality * weight * inverseDocumentFrequency, Math::max));
+    }
+
+    private static Map<String, Integer> termWeights(final BookSearchDocument document) {
+        final Map<String, Integer> termWeights = new HashMap<>();
+        addTerms(termWeights, document.title(), TITLE_WEIGHT);
+        addTerms(termWeights, document.author(), AUTHOR_WEIGHT);
+        document.genreNames().forEach(genreName -> addTerms(termWeights, genreName, GENRE_WEIGHT));
+        return termWeights;
+    }
+
+    private static void addTerms(final Map<String, Integer> termWeights, final String text, final int weight) {
+        SearchTokenizer.tokenize(text).stream()
+                .distinct()
+                .forEach(term -> termWeights.merge(term, weight, Integer::sum));
+    }
+
+    private static void addTerms(final NavigableMap<String, Map<String, Integer>> postings,
+                                 final Map<String, Set<String>> termsByBook,
+                                 final String bookId,
+                                 final Map<String, Integer> termWeights) {
+        termWeights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(bookId, weight));
+        termsByBook.put(bookId, termWeights.keySet());
+    }
+
+    private static void removeTerms(final NavigableMap<String, Map<String, Integer>> postings,
+                                    final Map<String, Set<String>> termsByBook,
+                                    final String bookId) {
+
+        final Set<String> terms = termsByBook.remove(bookId);
+        if (terms == null) {
+            return;
+        }
+
+        terms.forEach(term -> {
+            final Map<String, Integer> bookWeights = postings.get(term);
+            bookWeights.remove(bookId);
+            if (bookWeights.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+    }
+
+    private void updateCounts() {
+        indexedBookCount.set(termsByBook.size());
+        indexedTermCount.set(postings.size());
+    }
+
+    private static void afterCommit(final Runnable action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+}
@@ -5,8 +5,14 @@ package com.nihatkerembora.libraryapp.book.service;
 import com.nihatkerembora.libraryapp.book.model.dto.request.BookCreateRequest;
 import com.nihatkerembora.libraryapp.book.model.dto.request.BookUpdateRequest;
 import com.nihatkerembora.libraryapp.book.model.dto.response.BookResponse;
+import com.nihatkerembora.libraryapp.common.export.ExportFormat;
+import com.nihatkerembora.libraryapp.common.model.CursorSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * Service interface for managing books in the library system.
@@ -43,6 +49,58 @@ public interface BookService {
      */
     Page<BookResponse> search(String title, String author, String isbn, String genre, Pageable pageable);
 
+    /**
+     * Searches for books like {@link #search} but without counting the matching books.
+     *
+     * @param title the title of the book (optional).
+     * @param author the author of the book (optional).
+     * @param isbn the ISBN of the book (optional).
+     * @param genre the genre name of the book (optional).
+     * @param pageable the pagination and sorting information.
+     * @return a {@link Slice} of {@link BookResponse} matching the search criteria.
+     */
+    Slice<BookResponse> searchSlice(String title, String author, String isbn, String genre, Pageable pageable);
+
+    /**
+     * Lists books matching the same filters as {@link #search} using keyset pagination ordered by title.
+     * Each page costs the same regardless of its position and no total count is computed.
+     *
+     * @param title the title of the book (optional).
+     * @param author the author of the book (optional).
+     * @param isbn the ISBN of the book (optional).
+     * @param genre the genre name of the book (optional).
+     * @param cursor the {@code nextCursor} of the previous page, or {@code null} for the first page.
+     * @param size the maximum number of books to return.
+     * @return a {@link CursorSlice} of {@link BookResponse}.
+     */
+    CursorSlice<BookResponse> scroll(String title, String author, String isbn, String genre, String cursor, int size);
+
+    /**
+     * Writes all books matching the same filters as {@link #search} to the given stream, ordered by title.
+     * Rows are read through a database cursor and written as they arrive, so memory use does not depend
+     * on the number of books.
+     *
+     * @param title the title of the book (optional).
+     * @param author the author of the book (optional).
+     * @param isbn the ISBN of the book (optional).
+     * @param genre the genre name of the book (optional).
+     * @param format the output format.
+     * @param outputStream the stream to write to; it is flushed but not closed.
+     * @throws IOException if writing to the stream fails.
+     */
+    void export(String title, String author, String isbn, String genre, ExportFormat format, OutputStream outputStream)
+            throws IOException;
+
+    /**
+     * Searches books by free text over title, author and genre names, most relevant first.
+     * Supports prefix and typo-tolerant matches; every query term must match.
+     *
+     * @param query the free text query.
+     * @param pageable the pagination information; sorting is ignored in favour of relevance.
+     * @return a {@link Page} of {@link BookResponse} ordered by relevance.
+     */
+    Page<BookResponse> fullTextSearch(String query, Pageable pageable);
+
     /**
      * Updates an existing book's details.
      *
@@ -69,18 +127,19 @@ public interface BookService {
     boolean isAvailable(String id);
 
     /**
-     * Marks a book as borrowed, making it unavailable for others.
+     * Marks a book as borrowed, making it unavailable for others. The book is only marked if it is currently
+     * available; of several concurrent calls for the same book at most one succeeds.
      *
      * @param id the ID of the book.
-     * @return true if the book was successfully marked as borrowed, false otherwise.
+     * @return true if the book was successfully marked as borrowed, false if it was not available.
      */
     boolean markBorrowed(String id);
 
     /**
-     * Marks a book as available, making it borrowable again.
+     * Marks a book as available, making it borrowable again. The book is only marked if it is currently borrowed.
      *
      * @param id the ID of the book.
-     * @return true if the book was successfully marked as available, false otherwise.
+     * @return true if the book was successfully marked as available, false if it was not borrowed.
      */
     boolean markAvailable(String id);
 }
@@ -3,8 +3,10 @@ package com.nihatkerembora.libraryapp.book.service;
 import com.nihatkerembora.libraryapp.book.model.dto.request.GenreCreateRequest;
 import com.nihatkerembora.libraryapp.book.model.dto.request.GenreUpdateRequest;
 import com.nihatkerembora.libraryapp.book.model.dto.response.GenreResponse;
+import com.nihatkerembora.libraryapp.common.model.CursorSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 /**
  * Service interface for managing genres in the library system.
@@ -36,6 +38,23 @@ public interface GenreService {
      */
     Page<GenreResponse> list(Pageable pageable);
 
+    /**
+     * Lists genres like {@link #list} but without counting them.
+     *
+     * @param pageable the pagination and sorting information.
+     * @return a {@link Slice} of {@link GenreResponse} containing the genres.
+     */
+    Slice<GenreResponse> listSlice(Pageable pageable);
+
+    /**
+     * Lists genres ordered by name using keyset pagination, without computing a total count.
+     *
+     * @param cursor the {@code nextCursor} of the previous page, or {@code null} for the first page.
+     * @param size the maximum number of genres to return.
+     * @return a {@link CursorSlice} of {@link GenreResponse}.
+     */
+    CursorSlice<GenreResponse> scroll(String cursor, int size);
+
     /**
      * Updates an existing genre's details.
      *
@@ -1,6 +1,8 @@
 package com.nihatkerembora.libraryapp.book.service;
 
 import com.nihatkerembora.libraryapp.book.model.dto.event.AvailabilityEvent;
+import com.nihatkerembora.libraryapp.book.publisher.AvailabilityFilter;
+import org.springframework.http.codec.ServerSentEvent;
 import reactor.core.publisher.Flux;
 
 
@@ -8,16 +10,24 @@ import reactor.core.publisher.Flux;
 public interface ReactiveBookService {
 
     /**
-     * Streams availability events for all books.
+     * Streams availability events for the books matching the given filter.
      * <p>
      * This stream includes:
      * <ul>
-     *   <li>An initial snapshot of all existing books and their availability status</li>
-     *   <li>Subsequent real-time updates emitted via a reactive publisher</li>
+     *   <li>An initial snapshot of all existing books and their availability status, served from memory</li>
+     *   <li>Subsequent real-time updates emitted via a reactive publisher, each with a higher version than
+     *   the snapshot</li>
      * </ul>
-     * It is intended to be consumed via Server-Sent Events (SSE) or other reactive mechanisms.
+     * Every event carries its version as the SSE event ID. A client that reconnects with the ID of the last
+     * event it received gets only the events it missed, as long as they are still buffered; otherwise, and for
+     * new clients, the stream starts with the snapshot.
+     * <p>
+     * The snapshot only contains the books matching the filter in their current status; a change is sent if
+     * the book matches and either its new or its previous status is of interest.
      *
-     * @return a {@link Flux} emitting {@link AvailabilityEvent} instances
+     * @param lastEventId the value of the {@code Last-Event-ID} header, or {@code null} for a new client
+     * @param filter      the books of interest, {@link AvailabilityFilter#ALL} for every book
+     * @return a {@link Flux} emitting {@link AvailabilityEvent} instances as server-sent events
      */
-    Flux<AvailabilityEvent> streamAvailability();
+    Flux<ServerSentEvent<AvailabilityEvent>> streamAvailability(String lastEventId, AvailabilityFilter filter);
 }
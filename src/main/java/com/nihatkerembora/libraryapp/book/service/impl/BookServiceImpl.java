@@ -1,6 +1,8 @@
 package com.nihatkerembora.libraryapp.book.service.impl;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nihatkerembora.libraryapp.book.cache.BookCatalogCache;
 import com.nihatkerembora.libraryapp.book.exception.BookAlreadyExistException;
 import com.nihatkerembora.libraryapp.book.exception.BookNotFoundException;
 import com.nihatkerembora.libraryapp.book.exception.GenreNotFoundException;
@@ -16,21 +18,42 @@ import com.nihatkerembora.libraryapp.book.model.mapper.BookMapper;
 import com.nihatkerembora.libraryapp.book.publisher.AvailabilityPublisher;
 import com.nihatkerembora.libraryapp.book.repository.BookRepository;
 import com.nihatkerembora.libraryapp.book.repository.GenreRepository;
+import com.nihatkerembora.libraryapp.book.search.BookSearchDocument;
+import com.nihatkerembora.libraryapp.book.search.BookSearchIndex;
 import com.nihatkerembora.libraryapp.book.service.BookService;
+import com.nihatkerembora.libraryapp.borrowing.port.out.BookAvailabilityPort;
+import com.nihatkerembora.libraryapp.common.cache.ListingCountCache;
+import com.nihatkerembora.libraryapp.common.export.ExportFormat;
+import com.nihatkerembora.libraryapp.common.export.ExportWriter;
+import com.nihatkerembora.libraryapp.common.model.CursorSlice;
+import com.nihatkerembora.libraryapp.common.model.KeysetCursor;
+import com.nihatkerembora.libraryapp.common.repository.SliceQueryRepository;
+import com.nihatkerembora.libraryapp.common.repository.StreamQueryRepository;
+import com.nihatkerembora.libraryapp.common.utils.KeysetSpecifications;
+import com.nihatkerembora.libraryapp.common.utils.ReportColumn;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,10 +61,30 @@ import java.util.stream.Collectors;
 @Transactional  // default: Propagation.REQUIRED
 public class BookServiceImpl implements BookService {
 
+    private static final String SCROLL_SORT_KEY = "books.title";
+    private static final String COUNT_LISTING = "books";
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    private static final List<ReportColumn<BookResponse>> EXPORT_COLUMNS = List.of(
+            new ReportColumn<>("id", BookResponse::getId),
+            new ReportColumn<>("title", BookResponse::getTitle),
+            new ReportColumn<>("author", BookResponse::getAuthor),
+            new ReportColumn<>("isbn", BookResponse::getIsbn),
+            new ReportColumn<>("publicationDate", book -> Objects.toString(book.getPublicationDate(), null)),
+            new ReportColumn<>("genres", book -> String.join(";", book.getGenres())),
+            new ReportColumn<>("status", BookResponse::getStatus)
+    );
+
     private final BookRepository bookRepo;
     private final GenreRepository genreRepo;
     private final BookMapper mapper;
     private final AvailabilityPublisher publisher;
+    private final BookCatalogCache cache;
+    private final BookSearchIndex searchIndex;
+    private final SliceQueryRepository sliceQueryRepository;
+    private final ListingCountCache countCache;
+    private final StreamQueryRepository streamQueryRepository;
+    private final ObjectMapper objectMapper;
+    private final BookAvailabilityPort bookAvailabilityPort;
 
     @Override
     public BookResponse add(BookCreateRequest req) {
@@ -66,15 +109,21 @@ public class BookServiceImpl implements BookService {
         // Map to entity and save
         Book book = mapper.toEntity(req, genres);
         Book saved = bookRepo.save(book);
+        countCache.adjust(COUNT_LISTING, 1);
+        searchIndex.indexAfterCommit(toSearchDocument(saved.getId(), req.getTitle(), req.getAuthor(), genres));
+        publisher.publishAfterCommit(new AvailabilityEvent(saved.getId(), saved.getTitle(), saved.getStatus()),
+                req.getGenreIds());
         return mapper.toDto(saved);
     }
 
     @Override
     @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BookResponse get(String id) {
-        Book book = bookRepo.findByIdAndStatusNot(id, Status.DELETED)
-                .orElseThrow(() -> new BookNotFoundException(id.toString()));
-        return mapper.toDto(book);
+        return cache.getBook(id, bookId -> {
+            Book book = bookRepo.findByIdAndStatusNot(bookId, Status.DELETED)
+                    .orElseThrow(() -> new BookNotFoundException(bookId));
+            return mapper.toDto(book);
+        });
     }
 
     @Override
@@ -84,32 +133,117 @@ public class BookServiceImpl implements BookService {
                                      String isbn,
                                      String genreName,
                                      Pageable pageable) {
-        Specification<Book> spec = (root, query, cb) ->
-                cb.notEqual(root.get("status"), Status.DELETED);
-
-        if (StringUtils.hasText(title)) {
-            spec = spec.and((r, q, c) ->
-                    c.like(c.lower(r.get("title")), "%" + title.toLowerCase() + "%"));
+        // The unfiltered catalog takes its total from the count cache instead of a count query per page
+        Page<Book> books;
+        if (isUnfiltered(title, author, isbn, genreName)) {
+            Slice<Book> slice = bookRepo.findByStatusNot(Status.DELETED, pageable);
+            books = PageableExecutionUtils.getPage(slice.getContent(), pageable,
+                    () -> countCache.get(COUNT_LISTING, () -> bookRepo.countByStatusNot(Status.DELETED)));
+        } else {
+            books = bookRepo.findAll(searchSpec(title, author, isbn, genreName), pageable);
         }
 
-        if (StringUtils.hasText(author)) {
-            spec = spec.and((r, q, c) ->
-                    c.like(c.lower(r.get("author")), "%" + author.toLowerCase() + "%"));
+        Map<String, List<String>> genreNamesByBookId = genreNamesOf(books);
+        return books.map(book ->
+                mapper.toDto(book, genreNamesByBookId.getOrDefault(book.getId(), List.of())));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<BookResponse> searchSlice(String title,
+                                           String author,
+                                           String isbn,
+                                           String genreName,
+                                           Pageable pageable) {
+        Specification<Book> spec = searchSpec(title, author, isbn, genreName);
+        Slice<Book> books = sliceQueryRepository.findSlice(Book.class, spec, pageable);
+
+        Map<String, List<String>> genreNamesByBookId = genreNamesOf(books);
+        return books.map(book ->
+                mapper.toDto(book, genreNamesByBookId.getOrDefault(book.getId(), List.of())));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public CursorSlice<BookResponse> scroll(String title,
+                                            String author,
+                                            String isbn,
+                                            String genreName,
+                                            String cursor,
+                                            int size) {
+        Specification<Book> spec = searchSpec(title, author, isbn, genreName);
+        if (cursor != null) {
+            KeysetCursor position = KeysetCursor.decode(cursor, SCROLL_SORT_KEY);
+            spec = spec.and(KeysetSpecifications.after("title", position.value(), position.id(), Sort.Direction.ASC));
         }
 
-        if (StringUtils.hasText(isbn)) {
-            spec = spec.and((r, q, c) -> c.equal(r.get("isbn"), isbn));
+        // size + 1 rows tell whether another page exists without a count query
+        List<Book> books = bookRepo.findBy(spec, query -> query
+                .sortBy(KeysetSpecifications.sort("title", Sort.Direction.ASC))
+                .limit(size + 1)
+                .all());
+        Map<String, List<String>> genreNamesByBookId =
+                bookRepo.findGenreNamesGroupedByBookId(books.stream().map(Book::getId).toList());
+
+        return CursorSlice.of(
+                books,
+                size,
+                book -> new KeysetCursor(SCROLL_SORT_KEY, book.getTitle(), book.getId()),
+                book -> mapper.toDto(book, genreNamesByBookId.getOrDefault(book.getId(), List.of()))
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(String title,
+                       String author,
+                       String isbn,
+                       String genreName,
+                       ExportFormat format,
+                       OutputStream outputStream) throws IOException {
+        Specification<Book> spec = searchSpec(title, author, isbn, genreName);
+
+        try (ExportWriter<BookResponse> writer =
+                     ExportWriter.open(format, outputStream, EXPORT_COLUMNS, objectMapper)) {
+            // One genre name query per chunk instead of one per book
+            streamQueryRepository.forEachChunk(Book.class, spec, KeysetSpecifications.sort("title", Sort.Direction.ASC),
+                    EXPORT_CHUNK_SIZE, books -> {
+                        Map<String, List<String>> genreNamesByBookId =
+                                bookRepo.findGenreNamesGroupedByBookId(books.stream().map(Book::getId).toList());
+                        for (Book book : books) {
+                            writer.write(mapper.toDto(book, genreNamesByBookId.getOrDefault(book.getId(), List.of())));
+                        }
+                    });
+            writer.complete();
         }
+    }
 
-        if (StringUtils.hasText(genreName)) {
-            spec = spec.and((r, q, c) -> {
-                Join<Book, Genre> join = r.join("genres", JoinType.INNER);
-                return c.like(c.lower(join.get("name")), "%" + genreName.toLowerCase() + "%");
-            });
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Page<BookResponse> fullTextSearch(String query, Pageable pageable) {
+        List<BookSearchIndex.Hit> hits = searchIndex.search(query);
+
+        List<String> pageIds = hits.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(BookSearchIndex.Hit::bookId)
+                .toList();
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.size());
         }
 
-        return bookRepo.findAll(spec, pageable)
-                .map(mapper::toDto);
+        // Keep the relevance order of the index, which findAllById does not preserve
+        Map<String, Book> booksById = bookRepo.findAllById(pageIds).stream()
+                .filter(book -> book.getStatus() != Status.DELETED)
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        Map<String, List<String>> genreNamesByBookId = bookRepo.findGenreNamesGroupedByBookId(booksById.keySet());
+
+        List<BookResponse> content = pageIds.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .map(book -> mapper.toDto(book, genreNamesByBookId.getOrDefault(book.getId(), List.of())))
+                .toList();
+        return new PageImpl<>(content, pageable, hits.size());
     }
 
     @Override
@@ -140,6 +274,9 @@ public class BookServiceImpl implements BookService {
         updatedEntity.setStatus(existing.getStatus());
 
         Book saved = bookRepo.save(updatedEntity);
+        cache.evictBook(id);
+        searchIndex.indexAfterCommit(toSearchDocument(id, req.getTitle(), req.getAuthor(), genres));
+        publisher.publishAfterCommit(new AvailabilityEvent(id, saved.getTitle(), saved.getStatus()), req.getGenreIds());
         return mapper.toDto(saved);
     }
 
@@ -149,6 +286,10 @@ public class BookServiceImpl implements BookService {
                 .orElseThrow(() -> new BookNotFoundException(id));
         book.setStatus(Status.DELETED);
         bookRepo.save(book);
+        countCache.adjust(COUNT_LISTING, -1);
+        cache.evictBook(id);
+        searchIndex.removeAfterCommit(id);
+        publisher.publishAfterCommit(new AvailabilityEvent(id, book.getTitle(), Status.DELETED));
     }
 
     @Override
@@ -161,22 +302,58 @@ public class BookServiceImpl implements BookService {
     @Override
     @Transactional
     public boolean markBorrowed(String id) {
-        Book book = bookRepo.findById(id)
-                .orElseThrow(() -> new BookNotFoundException(id.toString()));
-        bookRepo.updateStatus(id, Status.BORROWED);
-        publisher.publish(new AvailabilityEvent(id.toString(), book.getTitle(), Status.BORROWED));
-
-        return true;
+        return bookAvailabilityPort.markBorrowed(id);
     }
 
     @Override
     @Transactional
     public boolean markAvailable(String id) {
-        Book book = bookRepo.findById(id)
-                .orElseThrow(() -> new BookNotFoundException(id.toString()));
-        bookRepo.updateStatus(id, Status.AVAILABLE);
-        publisher.publish(new AvailabilityEvent(id.toString(), book.getTitle(), Status.AVAILABLE));
+        return bookAvailabilityPort.markAvailable(id);
+    }
 
-        return true;
+    /**
+     * Loads the genre names of all books on the page with a single query.
+     */
+    private Map<String, List<String>> genreNamesOf(Slice<Book> books) {
+        return bookRepo.findGenreNamesGroupedByBookId(books.map(Book::getId).getContent());
+    }
+
+    private static boolean isUnfiltered(String title, String author, String isbn, String genreName) {
+        return !StringUtils.hasText(title)
+                && !StringUtils.hasText(author)
+                && !StringUtils.hasText(isbn)
+                && !StringUtils.hasText(genreName);
+    }
+
+    private static BookSearchDocument toSearchDocument(String id, String title, String author, Set<Genre> genres) {
+        return new BookSearchDocument(id, title, author, genres.stream().map(Genre::getName).toList());
+    }
+
+    private static Specification<Book> searchSpec(String title, String author, String isbn, String genreName) {
+        Specification<Book> spec = (root, query, cb) ->
+                cb.notEqual(root.get("status"), Status.DELETED);
+
+        if (StringUtils.hasText(title)) {
+            spec = spec.and((r, q, c) ->
+                    c.like(c.lower(r.get("title")), "%" + title.toLowerCase() + "%"));
+        }
+
+        if (StringUtils.hasText(author)) {
+            spec = spec.and((r, q, c) ->
+                    c.like(c.lower(r.get("author")), "%" + author.toLowerCase() + "%"));
+        }
+
+        if (StringUtils.hasText(isbn)) {
+            spec = spec.and((r, q, c) -> c.equal(r.get("isbn"), isbn));
+        }
+
+        if (StringUtils.hasText(genreName)) {
+            spec = spec.and((r, q, c) -> {
+                Join<Book, Genre> join = r.join("genres", JoinType.INNER);
+                return c.like(c.lower(join.get("name")), "%" + genreName.toLowerCase() + "%");
+            });
+        }
+
+        return spec;
     }
-}
\ No newline at end of file
+}
@@ -1,60 +1,119 @@
 package com.nihatkerembora.libraryapp.book.service.impl;
 
 
+import com.nihatkerembora.libraryapp.book.cache.BookCatalogCache;
 import com.nihatkerembora.libraryapp.book.exception.GenreInUseException;
 import com.nihatkerembora.libraryapp.book.exception.GenreNotFoundException;
 import com.nihatkerembora.libraryapp.book.model.dto.request.GenreCreateRequest;
 import com.nihatkerembora.libraryapp.book.model.dto.request.GenreUpdateRequest;
 import com.nihatkerembora.libraryapp.book.model.dto.response.GenreResponse;
+import com.nihatkerembora.libraryapp.book.model.entity.Book;
 import com.nihatkerembora.libraryapp.book.model.entity.Genre;
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
 import com.nihatkerembora.libraryapp.book.model.mapper.GenreMapper;
 import com.nihatkerembora.libraryapp.book.repository.BookRepository;
 import com.nihatkerembora.libraryapp.book.repository.GenreRepository;
+import com.nihatkerembora.libraryapp.book.search.BookSearchDocument;
+import com.nihatkerembora.libraryapp.book.search.BookSearchIndex;
 import com.nihatkerembora.libraryapp.book.service.GenreService;
+import com.nihatkerembora.libraryapp.common.cache.ListingCountCache;
+import com.nihatkerembora.libraryapp.common.model.CursorSlice;
+import com.nihatkerembora.libraryapp.common.model.KeysetCursor;
+import com.nihatkerembora.libraryapp.common.utils.KeysetSpecifications;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class GenreServiceImpl implements GenreService {
+    private static final String SCROLL_SORT_KEY = "genres.name";
+    private static final String COUNT_LISTING = "genres";
+
     private final GenreRepository repository;
     private final GenreMapper mapper;
     private final BookRepository bookRepo;
+    private final BookCatalogCache cache;
+    private final BookSearchIndex searchIndex;
+    private final ListingCountCache countCache;
 
     @Override
     public GenreResponse create(GenreCreateRequest request) {
         Genre genre = mapper.toEntity(request);
         Genre saved = repository.save(genre);
+        countCache.adjust(COUNT_LISTING, 1);
         return mapper.toDto(saved);
     }
 
     @Override
     @Transactional(readOnly = true)
     public GenreResponse get(String id) {
-        Genre genre = repository.findById(id)
-                .orElseThrow(() -> new GenreNotFoundException(id));
-        return mapper.toDto(genre);
+        return cache.getGenre(id, genreId -> {
+            Genre genre = repository.findById(genreId)
+                    .orElseThrow(() -> new GenreNotFoundException(genreId));
+            return mapper.toDto(genre);
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<GenreResponse> list(Pageable pageable) {
-        return repository.findAll(pageable)
+        // The total comes from the count cache instead of a count query per page
+        Slice<Genre> genres = repository.findAllBy(pageable);
+        return PageableExecutionUtils.getPage(genres.getContent(), pageable,
+                        () -> countCache.get(COUNT_LISTING, repository::count))
                 .map(mapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<GenreResponse> listSlice(Pageable pageable) {
+        return repository.findAllBy(pageable)
+                .map(mapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<GenreResponse> scroll(String cursor, int size) {
+        Specification<Genre> spec = Specification.where(null);
+        if (cursor != null) {
+            KeysetCursor position = KeysetCursor.decode(cursor, SCROLL_SORT_KEY);
+            spec = KeysetSpecifications.after("name", position.value(), position.id(), Sort.Direction.ASC);
+        }
+
+        // size + 1 rows tell whether another page exists without a count query
+        List<Genre> genres = repository.findBy(spec, query -> query
+                .sortBy(KeysetSpecifications.sort("name", Sort.Direction.ASC))
+                .limit(size + 1)
+                .all());
+
+        return CursorSlice.of(
+                genres,
+                size,
+                genre -> new KeysetCursor(SCROLL_SORT_KEY, genre.getName(), genre.getId()),
+                mapper::toDto
+        );
+    }
+
     @Override
     public GenreResponse update(String id, GenreUpdateRequest request) {
         Genre genre = repository.findById(id)
                 .orElseThrow(() -> new GenreNotFoundException(id));
         mapper.updateEntity(genre, request);
         Genre saved = repository.save(genre);
+        cache.evictGenre(id);
+        reindexBooksOf(id);
         return mapper.toDto(saved);
     }
 
@@ -66,5 +125,23 @@ public class GenreServiceImpl implements GenreService {
             throw new GenreInUseException(id);
         }
         repository.delete(genre);
+        countCache.adjust(COUNT_LISTING, -1);
+        cache.evictGenre(id);
+    }
+
+    /**
+     * Re-indexes the books of the given genre so that full-text search matches the new genre name.
+     * Deleted books are not in the index and must not be added back.
+     */
+    private void reindexBooksOf(String genreId) {
+        List<Book> books = bookRepo.findAllByGenres_IdAndStatusNot(genreId, Status.DELETED);
+        Map<String, List<String>> genreNamesByBookId =
+                bookRepo.findGenreNamesGroupedByBookId(books.stream().map(Book::getId).toList());
+        books.forEach(book -> searchIndex.indexAfterCommit(new BookSearchDocument(
+                book.getId(),
+                book.getTitle(),
+                book.getAuthor(),
+                genreNamesByBookId.getOrDefault(book.getId(), List.of())
+        )));
     }
 }
@@ -1,35 +1,36 @@
 package com.nihatkerembora.libraryapp.book.service.impl;
 
 import com.nihatkerembora.libraryapp.book.model.dto.event.AvailabilityEvent;
+import com.nihatkerembora.libraryapp.book.publisher.AvailabilityFilter;
 import com.nihatkerembora.libraryapp.book.publisher.AvailabilityPublisher;
-import com.nihatkerembora.libraryapp.book.repository.BookRepository;
 import com.nihatkerembora.libraryapp.book.service.ReactiveBookService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 @Service
 @RequiredArgsConstructor
 public class ReactiveBookServiceImpl implements ReactiveBookService {
 
-    private final BookRepository bookRepo;
     private final AvailabilityPublisher publisher;
 
-    public Flux<AvailabilityEvent> streamAvailability() {
-        Flux<AvailabilityEvent> initialBooksStream = Mono
-                .fromCallable(bookRepo::findAll)
-                .subscribeOn(Schedulers.boundedElastic())
-                .flatMapMany(Flux::fromIterable)
-                .map(book -> new AvailabilityEvent(
-                        book.getId().toString(),
-                        book.getTitle(),
-                        book.getStatus()
-                ));
-
-        Flux<AvailabilityEvent> changeStream = publisher.getFlux();
+    public Flux<ServerSentEvent<AvailabilityEvent>> streamAvailability(String lastEventId, AvailabilityFilter filter) {
+        // The snapshot is shared by all subscribers and kept current by the publisher, so no query per subscriber
+        return publisher.getFlux(parseEventId(lastEventId), filter);
+    }
 
-        return Flux.concat(initialBooksStream, changeStream);
+    /**
+     * Event IDs are versions; anything else is treated like a new client and answered with the snapshot.
+     */
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 }
@@ -2,38 +2,54 @@ package com.nihatkerembora.libraryapp.borrowing.controller;
 
 
 import com.nihatkerembora.libraryapp.borrowing.model.dto.request.BorrowRequest;
+import com.nihatkerembora.libraryapp.borrowing.model.dto.request.BulkBorrowRequest;
+import com.nihatkerembora.libraryapp.borrowing.model.dto.request.BulkReturnRequest;
 import com.nihatkerembora.libraryapp.borrowing.model.dto.response.BorrowingDto;
+import com.nihatkerembora.libraryapp.borrowing.model.dto.response.BulkItemResult;
 import com.nihatkerembora.libraryapp.borrowing.model.enums.BorrowStatus;
 import com.nihatkerembora.libraryapp.borrowing.service.BorrowService;
+import com.nihatkerembora.libraryapp.common.export.ExportFormat;
+import com.nihatkerembora.libraryapp.common.model.CursorSlice;
+import com.nihatkerembora.libraryapp.common.model.dto.response.CustomCursorResponse;
 import com.nihatkerembora.libraryapp.common.model.dto.response.CustomPagingResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * REST controller for managing borrow operations.
  * <p>
- * Provides endpoints to borrow and return books, search/filter borrow records,
+ * Provides endpoints to borrow and return books, one at a time or in bulk, search/filter borrow records,
  * and download a PDF report of overdue borrowings.
  * </p>
  */
 @RestController
 @RequestMapping("/api/v1/borrowings")
 @RequiredArgsConstructor
+@Validated
 public class BorrowingController {
 
     private final BorrowService service;
@@ -95,6 +111,61 @@ public class BorrowingController {
     }
 
 
+    /**
+     * Borrows several books in one request.
+     *
+     * @param request the IDs of the books to borrow
+     * @return one {@link BulkItemResult} per distinct book ID, in request order
+     */
+    @Operation(
+            summary = "Borrow several books",
+            description = "Borrows up to " + BulkBorrowRequest.MAX_ITEMS + " books in one transaction. "
+                    + "Books that are not found or not available are skipped and reported as failed items.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Per-book results",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = BulkItemResult.class))
+                            )
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Invalid request data or inactive user")
+            }
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<List<BulkItemResult>> borrowBooks(@Valid @RequestBody BulkBorrowRequest request) {
+        return ResponseEntity.ok(service.borrowBooks(request.bookIds()));
+    }
+
+    /**
+     * Returns several borrowed books in one request.
+     *
+     * @param request the IDs of the borrowing records to return
+     * @return one {@link BulkItemResult} per distinct borrowing ID, in request order
+     */
+    @Operation(
+            summary = "Return several books",
+            description = "Returns up to " + BulkBorrowRequest.MAX_ITEMS + " borrowing records in one transaction. "
+                    + "Records that are not found, not owned by the caller or already returned are skipped "
+                    + "and reported as failed items.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Per-record results",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = BulkItemResult.class))
+                            )
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Invalid request data")
+            }
+    )
+    @PutMapping("/batch/return")
+    public ResponseEntity<List<BulkItemResult>> returnBooks(@Valid @RequestBody BulkReturnRequest request) {
+        return ResponseEntity.ok(service.returnBooks(request.borrowingIds()));
+    }
+
     /**
      * Searches and filters borrowing records.
      *
@@ -104,12 +175,14 @@ public class BorrowingController {
      * @param borrowedTo   optional upper bound for borrow timestamp (inclusive)
      * @param dueFrom      optional lower bound for due timestamp (inclusive)
      * @param dueTo        optional upper bound for due timestamp (inclusive)
+     * @param withTotals   whether the total element and page counts are computed
      * @param pageable     pagination and sorting parameters
      * @return a paginated {@link CustomPagingResponse} of {@link BorrowingDto}
      */
     @Operation(
             summary = "List borrowings",
-            description = "Retrieves a pageable list of borrowing records with optional filters.",
+            description = "Retrieves a pageable list of borrowing records with optional filters. "
+                    + "Pass withTotals=false to skip counting the matching records; the totals are then null.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -133,23 +206,124 @@ public class BorrowingController {
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+            @RequestParam(defaultValue = "true") boolean withTotals,
             Pageable pageable
     ) {
-        Page<BorrowingDto> page = service.searchBorrowings(
+        Slice<BorrowingDto> page = withTotals
+                ? service.searchBorrowings(bookId, status, borrowedFrom, borrowedTo, dueFrom, dueTo, pageable)
+                : service.searchBorrowingsSlice(bookId, status, borrowedFrom, borrowedTo, dueFrom, dueTo, pageable);
+        CustomPagingResponse<BorrowingDto> response = CustomPagingResponse.from(page);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Scrolls through borrowing records, newest first, with cursor based pagination.
+     *
+     * @param bookId       optional book ID to filter by
+     * @param status       optional borrowing status to filter by
+     * @param borrowedFrom optional lower bound for borrow timestamp (inclusive)
+     * @param borrowedTo   optional upper bound for borrow timestamp (inclusive)
+     * @param dueFrom      optional lower bound for due timestamp (inclusive)
+     * @param dueTo        optional upper bound for due timestamp (inclusive)
+     * @param cursor       optional {@code nextCursor} of the previous slice; omit it for the first slice
+     * @param size         maximum number of records to return
+     * @return a {@link CustomCursorResponse} of {@link BorrowingDto}
+     */
+    @Operation(
+            summary = "Scroll borrowings",
+            description = "Retrieves borrowing records newest first with the same filters as the list endpoint, "
+                    + "using an opaque continuation cursor instead of page numbers. No total count is computed.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Borrowing records retrieved",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CustomCursorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or size")
+            }
+    )
+    @GetMapping("/scroll")
+    public ResponseEntity<CustomCursorResponse<BorrowingDto>> scrollBorrowings(
+            @RequestParam(required = false) String bookId,
+            @RequestParam(required = false) BorrowStatus status,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime borrowedFrom,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime borrowedTo,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size
+    ) {
+        CursorSlice<BorrowingDto> slice = service.scrollBorrowings(
                 bookId, status,
                 borrowedFrom, borrowedTo,
                 dueFrom, dueTo,
-                pageable
+                cursor, size
+        );
+        return ResponseEntity.ok(CustomCursorResponse.from(slice));
+    }
+
+    /**
+     * Exports all borrowing records matching the filters, newest first, without paging.
+     *
+     * @param bookId       optional book ID to filter by
+     * @param status       optional borrowing status to filter by
+     * @param borrowedFrom optional lower bound for borrow timestamp (inclusive)
+     * @param borrowedTo   optional upper bound for borrow timestamp (inclusive)
+     * @param dueFrom      optional lower bound for due timestamp (inclusive)
+     * @param dueTo        optional upper bound for due timestamp (inclusive)
+     * @param format       output format, NDJSON, CSV, PDF or XLSX
+     * @param response     the response the records are streamed to
+     * @throws IOException if writing the response fails
+     */
+    @Operation(
+            summary = "Export borrowings",
+            description = "Streams all borrowing records matching the same filters as the list endpoint as NDJSON, CSV, PDF or XLSX.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Borrowing records exported")
+            }
+    )
+    @GetMapping("/export")
+    public void exportBorrowings(
+            @RequestParam(required = false) String bookId,
+            @RequestParam(required = false) BorrowStatus status,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime borrowedFrom,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime borrowedTo,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("borrowings." + format.getFileExtension())
+                .build()
+                .toString());
+
+        service.exportBorrowings(
+                bookId, status,
+                borrowedFrom, borrowedTo,
+                dueFrom, dueTo,
+                format, response.getOutputStream()
         );
-        CustomPagingResponse<BorrowingDto> response = CustomPagingResponse.from(page);
-        return ResponseEntity.ok(response);
     }
 
     /**
-     * Generates and downloads a PDF report of overdue borrowings.
+     * Generates a PDF report of all overdue borrowings and streams it as a download.
+     * Use {@code POST /api/v1/reports/OVERDUE_BORROWINGS} to generate it in the background instead.
      *
-     * @param pageable paging for the list used in the report
-     * @return a PDF file as {@code application/pdf} attachment
+     * @param response the response the PDF is streamed to
      * @throws IOException if PDF generation fails
      */
     @Operation(
@@ -166,12 +340,10 @@ public class BorrowingController {
     )
     @PreAuthorize("hasAnyAuthority('ADMIN')")
     @GetMapping("/overdue")
-    public ResponseEntity<byte[]> getOverduePdf(Pageable pageable) throws IOException {
-        byte[] pdf = service.getOverdueBorrowingsPdf(pageable);
+    public void getOverduePdf(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=overdue_borrowings.pdf");
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=overdue_borrowings.pdf")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(pdf);
+        service.writeOverdueBorrowingsPdf(response.getOutputStream());
     }
 }
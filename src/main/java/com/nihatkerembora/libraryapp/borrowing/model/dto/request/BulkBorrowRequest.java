@@ -0,0 +1,13 @@
+package com.nihatkerembora.libraryapp.borrowing.model.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkBorrowRequest(
+        @NotEmpty @Size(max = BulkBorrowRequest.MAX_ITEMS) List<@NotBlank String> bookIds
+) {
+    public static final int MAX_ITEMS = 100;
+}
@@ -0,0 +1,11 @@
+package com.nihatkerembora.libraryapp.borrowing.model.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkReturnRequest(
+        @NotEmpty @Size(max = BulkBorrowRequest.MAX_ITEMS) List<@NotBlank String> borrowingIds
+) {}
@@ -0,0 +1,31 @@
+package com.nihatkerembora.libraryapp.borrowing.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single item of a bulk borrow or return request.
+ * {@code id} is the requested book ID (borrow) or borrowing ID (return); on success {@code borrowing} holds the
+ * created or returned record, otherwise {@code error} tells why the item was skipped.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemResult {
+
+    private String id;
+    private boolean success;
+    private BorrowingDto borrowing;
+    private String error;
+
+    public static BulkItemResult success(String id, BorrowingDto borrowing) {
+        return new BulkItemResult(id, true, borrowing, null);
+    }
+
+    public static BulkItemResult failure(String id, String error) {
+        return new BulkItemResult(id, false, null, error);
+    }
+}
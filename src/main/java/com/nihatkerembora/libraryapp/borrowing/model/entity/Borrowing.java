@@ -19,7 +19,10 @@ import java.time.LocalDateTime;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "BORROWINGS")
+@Table(
+        name = "BORROWINGS",
+        indexes = @Index(name = "IDX_BORROWINGS_BORROWED_AT_ID", columnList = "BORROWED_AT, ID")
+)
 public class Borrowing extends BaseEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
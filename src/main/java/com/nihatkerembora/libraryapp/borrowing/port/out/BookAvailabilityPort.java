@@ -1,5 +1,8 @@
 package com.nihatkerembora.libraryapp.borrowing.port.out;
 
+import java.util.Collection;
+import java.util.Set;
+
 public interface BookAvailabilityPort {
 
     /**
@@ -11,18 +14,37 @@ public interface BookAvailabilityPort {
     boolean isAvailable(String bookId);
 
     /**
-     * Marks a book as borrowed, making it unavailable for others.
+     * Marks a book as borrowed, making it unavailable for others. The book is only marked if it is currently
+     * available; of several concurrent calls for the same book at most one succeeds.
      *
      * @param bookId the ID of the book.
-     * @return true if the book was successfully marked as borrowed, false otherwise.
+     * @return true if the book was successfully marked as borrowed, false if it was not available.
      */
     boolean markBorrowed(String bookId);
 
     /**
-     * Marks a book as available, making it borrowable again.
+     * Marks a book as available, making it borrowable again. The book is only marked if it is currently borrowed.
      *
      * @param bookId the ID of the book.
-     * @return true if the book was successfully marked as available, false otherwise.
+     * @return true if the book was successfully marked as available, false if it was not borrowed.
      */
     boolean markAvailable(String bookId);
+
+    /**
+     * Marks every given book that is currently available as borrowed, with a single statement.
+     * Books that do not exist or are not available are skipped.
+     *
+     * @param bookIds the IDs of the books.
+     * @return the IDs of the books that were marked as borrowed.
+     */
+    Set<String> markAllBorrowed(Collection<String> bookIds);
+
+    /**
+     * Marks every given book that is currently borrowed as available, with a single statement.
+     * Books that do not exist or are not borrowed are skipped.
+     *
+     * @param bookIds the IDs of the books.
+     * @return the IDs of the books that were marked as available.
+     */
+    Set<String> markAllAvailable(Collection<String> bookIds);
 }
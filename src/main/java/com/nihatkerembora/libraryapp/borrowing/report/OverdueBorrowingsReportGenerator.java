@@ -0,0 +1,31 @@
+package com.nihatkerembora.libraryapp.borrowing.report;
+
+import com.nihatkerembora.libraryapp.borrowing.service.BorrowService;
+import com.nihatkerembora.libraryapp.report.generator.ReportGenerator;
+import com.nihatkerembora.libraryapp.report.model.enums.ReportType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Gecikmiş ödünç kayıtları PDF raporunu arka plan rapor işleri için üretir.
+ */
+@Component
+@RequiredArgsConstructor
+public class OverdueBorrowingsReportGenerator implements ReportGenerator {
+
+    private final BorrowService borrowService;
+
+    @Override
+    public ReportType getType() {
+        return ReportType.OVERDUE_BORROWINGS;
+    }
+
+    @Override
+    public void generate(OutputStream outputStream) throws IOException {
+        borrowService.writeOverdueBorrowingsPdf(outputStream);
+    }
+
+}
@@ -7,7 +7,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -31,14 +30,6 @@ public interface BorrowingRepository extends JpaRepository<Borrowing, String>, J
 
     Page<Borrowing> findByDueAtBeforeAndStatus(LocalDateTime due, BorrowStatus status, Pageable pageable);
 
-    @Query("""
-    SELECT b FROM Borrowing b
-    WHERE 
-        (b.status = 'BORROWED' AND b.dueAt < CURRENT_TIMESTAMP)
-        OR (b.status = 'RETURNED' AND b.returnedAt > b.dueAt)
-""")
-    Page<Borrowing> findAllOverdue(Pageable pageable);
-
 }
 
 
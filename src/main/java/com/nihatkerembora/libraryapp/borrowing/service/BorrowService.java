@@ -1,11 +1,18 @@
 package com.nihatkerembora.libraryapp.borrowing.service;
 
 import com.nihatkerembora.libraryapp.borrowing.model.dto.response.BorrowingDto;
+import com.nihatkerembora.libraryapp.borrowing.model.dto.response.BulkItemResult;
 import com.nihatkerembora.libraryapp.borrowing.model.enums.BorrowStatus;
+import com.nihatkerembora.libraryapp.common.export.ExportFormat;
+import com.nihatkerembora.libraryapp.common.model.CursorSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface BorrowService {
     /**
@@ -18,6 +25,19 @@ public interface BorrowService {
      */
     BorrowingDto returnBook(String borrowingId);
 
+    /**
+     * JWT içinden patronId alarak birden çok kitabı tek işlemde ödünç alır.
+     * Kullanıcı bir kez doğrulanır; müsaitlik kontrolü ve durum güncellemesi tek sorguda yapılır.
+     * Tekrarlanan ID'ler bir kez işlenir; sonuçlar istek sırasıyla, kitap başına bir tane döner.
+     */
+    List<BulkItemResult> borrowBooks(List<String> bookIds);
+
+    /**
+     * JWT içinden patronId alarak birden çok ödünç kaydını tek işlemde iade eder.
+     * Tekrarlanan ID'ler bir kez işlenir; sonuçlar istek sırasıyla, kayıt başına bir tane döner.
+     */
+    List<BulkItemResult> returnBooks(List<String> borrowingIds);
+
     /**
      * Dinamik filtreli arama.
      * - NORMAL USER yalnızca kendi kayıtlarını,
@@ -34,5 +54,52 @@ public interface BorrowService {
             Pageable pageable
     );
 
-    byte[]  getOverdueBorrowingsPdf(Pageable pageable);
+    /**
+     * {@link #searchBorrowings} ile aynı filtreler; eşleşen kayıtlar sayılmaz (COUNT sorgusu yok).
+     */
+    Slice<BorrowingDto> searchBorrowingsSlice(
+            String bookId,
+            BorrowStatus status,
+            LocalDateTime borrowedFrom,
+            LocalDateTime borrowedTo,
+            LocalDateTime dueFrom,
+            LocalDateTime dueTo,
+            Pageable pageable
+    );
+
+    /**
+     * Aynı filtrelerle, borrowedAt'e göre yeniden eskiye keyset (cursor) sayfalama.
+     * Toplam kayıt sayısı hesaplanmaz; her sayfanın maliyeti konumundan bağımsızdır.
+     */
+    CursorSlice<BorrowingDto> scrollBorrowings(
+            String bookId,
+            BorrowStatus status,
+            LocalDateTime borrowedFrom,
+            LocalDateTime borrowedTo,
+            LocalDateTime dueFrom,
+            LocalDateTime dueTo,
+            String cursor,
+            int size
+    );
+
+    /**
+     * {@link #searchBorrowings} ile aynı filtrelere uyan tüm kayıtları, borrowedAt'e göre yeniden eskiye,
+     * veritabanı imleciyle okuyarak doğrudan verilen akışa yazar. Bellek kullanımı kayıt sayısından bağımsızdır.
+     */
+    void exportBorrowings(
+            String bookId,
+            BorrowStatus status,
+            LocalDateTime borrowedFrom,
+            LocalDateTime borrowedTo,
+            LocalDateTime dueFrom,
+            LocalDateTime dueTo,
+            ExportFormat format,
+            OutputStream outputStream
+    ) throws IOException;
+
+    /**
+     * Tüm gecikmiş kayıtların PDF raporunu veritabanı imleciyle okuyarak verilen akışa yazar.
+     * Rapor sayfalanmaz; bellek kullanımı kayıt sayısından bağımsızdır.
+     */
+    void writeOverdueBorrowingsPdf(OutputStream outputStream) throws IOException;
 }
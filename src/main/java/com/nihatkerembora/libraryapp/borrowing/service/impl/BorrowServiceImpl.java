@@ -1,6 +1,8 @@
 package com.nihatkerembora.libraryapp.borrowing.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nihatkerembora.libraryapp.borrowing.model.dto.response.BorrowingDto;
+import com.nihatkerembora.libraryapp.borrowing.model.dto.response.BulkItemResult;
 import com.nihatkerembora.libraryapp.borrowing.model.entity.Borrowing;
 import com.nihatkerembora.libraryapp.borrowing.model.enums.BorrowStatus;
 import com.nihatkerembora.libraryapp.borrowing.model.mapper.BorrowingMapper;
@@ -8,11 +10,20 @@ import com.nihatkerembora.libraryapp.borrowing.port.out.BookAvailabilityPort;
 import com.nihatkerembora.libraryapp.borrowing.port.out.UserStatusPort;
 import com.nihatkerembora.libraryapp.borrowing.repository.BorrowingRepository;
 import com.nihatkerembora.libraryapp.borrowing.service.BorrowService;
-import com.nihatkerembora.libraryapp.common.utils.PdfUtil;
+import com.nihatkerembora.libraryapp.common.exception.CursorNotValidException;
+import com.nihatkerembora.libraryapp.common.export.ExportFormat;
+import com.nihatkerembora.libraryapp.common.export.ExportWriter;
+import com.nihatkerembora.libraryapp.common.model.CursorSlice;
+import com.nihatkerembora.libraryapp.common.model.KeysetCursor;
+import com.nihatkerembora.libraryapp.common.repository.SliceQueryRepository;
+import com.nihatkerembora.libraryapp.common.repository.StreamQueryRepository;
+import com.nihatkerembora.libraryapp.common.utils.KeysetSpecifications;
 import com.nihatkerembora.libraryapp.common.utils.ReportColumn;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,18 +31,43 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class BorrowServiceImpl implements BorrowService {
 
+    private static final String SCROLL_SORT_KEY = "borrowings.borrowedAt";
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    private static final List<ReportColumn<BorrowingDto>> EXPORT_COLUMNS = List.of(
+            new ReportColumn<>("id", BorrowingDto::getId),
+            new ReportColumn<>("bookId", BorrowingDto::getBookId),
+            new ReportColumn<>("patronId", BorrowingDto::getPatronId),
+            new ReportColumn<>("borrowedAt", borrowing -> Objects.toString(borrowing.getBorrowedAt(), null)),
+            new ReportColumn<>("dueAt", borrowing -> Objects.toString(borrowing.getDueAt(), null)),
+            new ReportColumn<>("returnedAt", borrowing -> Objects.toString(borrowing.getReturnedAt(), null)),
+            new ReportColumn<>("status", BorrowingDto::getStatus)
+    );
+
     private final BorrowingRepository borrowingRepository;
     private final BookAvailabilityPort bookAvailabilityPort;
     private final UserStatusPort userStatusPort;
+    private final SliceQueryRepository sliceQueryRepository;
+    private final StreamQueryRepository streamQueryRepository;
+    private final ObjectMapper objectMapper;
 
     @Override
     public BorrowingDto borrowBook(String bookId) {
@@ -41,7 +77,9 @@ public class BorrowServiceImpl implements BorrowService {
         if (!userStatusPort.isActive(patronId)) {
             throw new IllegalStateException("User is not active");
         }
-        if (!bookAvailabilityPort.isAvailable(bookId)) {
+        // Kitap tek bir koşullu güncelleme ile ödünç alınmış olarak işaretlenir; eşzamanlı isteklerden
+        // yalnızca biri başarılı olur. Kayıt kaydedilemezse işlem geri alınır ve kitap yeniden müsait olur.
+        if (!bookAvailabilityPort.markBorrowed(bookId)) {
             throw new IllegalStateException("Book is not available");
         }
 
@@ -53,7 +91,6 @@ public class BorrowServiceImpl implements BorrowService {
                 .status(BorrowStatus.BORROWED)
                 .build();
         Borrowing saved = borrowingRepository.save(borrowing);
-        bookAvailabilityPort.markBorrowed(bookId);
         return BorrowingMapper.toDto(saved);
     }
 
@@ -79,6 +116,76 @@ public class BorrowServiceImpl implements BorrowService {
         return BorrowingMapper.toDto(saved);
     }
 
+    @Override
+    public List<BulkItemResult> borrowBooks(List<String> bookIds) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String patronId = ((Jwt)auth.getPrincipal()).getClaim("userId");
+
+        if (!userStatusPort.isActive(patronId)) {
+            throw new IllegalStateException("User is not active");
+        }
+
+        // Tüm kitaplar tek bir koşullu güncelleme ile işaretlenir; yalnızca işaretlenenler için kayıt açılır.
+        Set<String> requested = new LinkedHashSet<>(bookIds);
+        Set<String> marked = bookAvailabilityPort.markAllBorrowed(requested);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Borrowing> borrowings = requested.stream()
+                .filter(marked::contains)
+                .<Borrowing>map(bookId -> Borrowing.builder()
+                        .bookId(bookId)
+                        .patronId(patronId)
+                        .borrowedAt(now)
+                        .dueAt(now.plusWeeks(2))
+                        .status(BorrowStatus.BORROWED)
+                        .build())
+                .toList();
+        // Kayıtlar JDBC batch olarak eklenir (hibernate.jdbc.batch_size)
+        Map<String, Borrowing> savedByBookId = borrowingRepository.saveAll(borrowings).stream()
+                .collect(Collectors.toMap(Borrowing::getBookId, Function.identity()));
+
+        return requested.stream()
+                .map(bookId -> savedByBookId.containsKey(bookId)
+                        ? BulkItemResult.success(bookId, BorrowingMapper.toDto(savedByBookId.get(bookId)))
+                        : BulkItemResult.failure(bookId, "Book not found or not available"))
+                .toList();
+    }
+
+    @Override
+    public List<BulkItemResult> returnBooks(List<String> borrowingIds) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String patronId = ((Jwt)auth.getPrincipal()).getClaim("userId");
+
+        Set<String> requested = new LinkedHashSet<>(borrowingIds);
+        Map<String, Borrowing> found = borrowingRepository.findAllById(requested).stream()
+                .collect(Collectors.toMap(Borrowing::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BulkItemResult> results = new ArrayList<>(requested.size());
+        List<Borrowing> returned = new ArrayList<>();
+        for (String borrowingId : requested) {
+            Borrowing borrowing = found.get(borrowingId);
+            if (borrowing == null) {
+                results.add(BulkItemResult.failure(borrowingId, "Borrowing not found"));
+            } else if (!borrowing.getPatronId().equals(patronId)) {
+                results.add(BulkItemResult.failure(borrowingId, "Not owner of this borrowing"));
+            } else if (borrowing.getStatus() == BorrowStatus.RETURNED) {
+                results.add(BulkItemResult.failure(borrowingId, "Already returned"));
+            } else {
+                borrowing.setReturnedAt(now);
+                borrowing.setStatus(BorrowStatus.RETURNED);
+                returned.add(borrowing);
+                results.add(BulkItemResult.success(borrowingId, BorrowingMapper.toDto(borrowing)));
+            }
+        }
+
+        if (!returned.isEmpty()) {
+            borrowingRepository.saveAll(returned);
+            bookAvailabilityPort.markAllAvailable(returned.stream().map(Borrowing::getBookId).toList());
+        }
+        return results;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<BorrowingDto> searchBorrowings(
@@ -89,6 +196,101 @@ public class BorrowServiceImpl implements BorrowService {
             LocalDateTime dueFrom,
             LocalDateTime dueTo,
             Pageable pageable
+    ) {
+        Specification<Borrowing> spec = searchSpec(bookId, status, borrowedFrom, borrowedTo, dueFrom, dueTo);
+
+        return borrowingRepository.findAll(spec, pageable)
+                .map(BorrowingMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<BorrowingDto> searchBorrowingsSlice(
+            String bookId,
+            BorrowStatus status,
+            LocalDateTime borrowedFrom,
+            LocalDateTime borrowedTo,
+            LocalDateTime dueFrom,
+            LocalDateTime dueTo,
+            Pageable pageable
+    ) {
+        Specification<Borrowing> spec = searchSpec(bookId, status, borrowedFrom, borrowedTo, dueFrom, dueTo);
+
+        return sliceQueryRepository.findSlice(Borrowing.class, spec, pageable)
+                .map(BorrowingMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<BorrowingDto> scrollBorrowings(
+            String bookId,
+            BorrowStatus status,
+            LocalDateTime borrowedFrom,
+            LocalDateTime borrowedTo,
+            LocalDateTime dueFrom,
+            LocalDateTime dueTo,
+            String cursor,
+            int size
+    ) {
+        Specification<Borrowing> spec = searchSpec(bookId, status, borrowedFrom, borrowedTo, dueFrom, dueTo);
+        if (cursor != null) {
+            KeysetCursor position = KeysetCursor.decode(cursor, SCROLL_SORT_KEY);
+            spec = spec.and(KeysetSpecifications.after(
+                    "borrowedAt", parseBorrowedAt(position.value()), position.id(), Sort.Direction.DESC));
+        }
+
+        // Newest first; size + 1 rows tell whether another page exists without a count query
+        List<Borrowing> borrowings = borrowingRepository.findBy(spec, query -> query
+                .sortBy(KeysetSpecifications.sort("borrowedAt", Sort.Direction.DESC))
+                .limit(size + 1)
+                .all());
+
+        return CursorSlice.of(
+                borrowings,
+                size,
+                borrowing -> new KeysetCursor(SCROLL_SORT_KEY, borrowing.getBorrowedAt().toString(), borrowing.getId()),
+                BorrowingMapper::toDto
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBorrowings(
+            String bookId,
+            BorrowStatus status,
+            LocalDateTime borrowedFrom,
+            LocalDateTime borrowedTo,
+            LocalDateTime dueFrom,
+            LocalDateTime dueTo,
+            ExportFormat format,
+            OutputStream outputStream
+    ) throws IOException {
+        Specification<Borrowing> spec = searchSpec(bookId, status, borrowedFrom, borrowedTo, dueFrom, dueTo);
+
+        try (ExportWriter<BorrowingDto> writer =
+                     ExportWriter.open(format, outputStream, EXPORT_COLUMNS, objectMapper)) {
+            streamQueryRepository.forEachChunk(Borrowing.class, spec,
+                    KeysetSpecifications.sort("borrowedAt", Sort.Direction.DESC), EXPORT_CHUNK_SIZE, borrowings -> {
+                        for (Borrowing borrowing : borrowings) {
+                            writer.write(BorrowingMapper.toDto(borrowing));
+                        }
+                    });
+            writer.complete();
+        }
+    }
+
+    /**
+     * Dinamik filtre.
+     * - NORMAL USER yalnızca kendi kayıtlarını,
+     * - ADMIN ise tümünü görür.
+     */
+    private Specification<Borrowing> searchSpec(
+            String bookId,
+            BorrowStatus status,
+            LocalDateTime borrowedFrom,
+            LocalDateTime borrowedTo,
+            LocalDateTime dueFrom,
+            LocalDateTime dueTo
     ) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         Jwt jwt = (Jwt) auth.getPrincipal();
@@ -122,25 +324,51 @@ public class BorrowServiceImpl implements BorrowService {
             spec = spec.and((r, q, cb) -> cb.lessThanOrEqualTo(r.get("dueAt"), dueTo));
         }
 
-        return borrowingRepository.findAll(spec, pageable)
-                .map(BorrowingMapper::toDto);
+        return spec;
+    }
+
+    private static LocalDateTime parseBorrowedAt(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new CursorNotValidException("Malformed cursor");
+        }
     }
 
 
     @Override
     @Transactional(readOnly = true)
-    public byte[] getOverdueBorrowingsPdf(Pageable pageable){
-        Page<BorrowingDto> page = borrowingRepository
-                .findAllOverdue(pageable)
-                .map(BorrowingMapper::toDto);
-
-        List<BorrowingDto> list = page.getContent();
-
+    public void writeOverdueBorrowingsPdf(OutputStream outputStream) throws IOException {
         List<ReportColumn<BorrowingDto>> columns = List.of(
                 new ReportColumn<>("User ID",  BorrowingDto::getPatronId),
                 new ReportColumn<>("Book ID",  BorrowingDto::getBookId)
         );
 
-        return PdfUtil.generatePdf("Overdue Borrowings Report", columns, list);
+        try (ExportWriter<BorrowingDto> writer = ExportWriter.open(
+                ExportFormat.PDF, outputStream, "Overdue Borrowings Report", columns, objectMapper)) {
+            streamQueryRepository.forEachChunk(Borrowing.class, overdueSpec(),
+                    KeysetSpecifications.sort("dueAt", Sort.Direction.ASC), EXPORT_CHUNK_SIZE, borrowings -> {
+                        for (Borrowing borrowing : borrowings) {
+                            writer.write(BorrowingMapper.toDto(borrowing));
+                        }
+                    });
+            writer.complete();
+        }
+    }
+
+    /**
+     * Gecikmiş kayıtlar: süresi geçmiş ve hâlâ ödünçte olanlar ile geç iade edilenler.
+     */
+    private static Specification<Borrowing> overdueSpec() {
+        return (r, q, cb) -> cb.or(
+                cb.and(
+                        cb.equal(r.get("status"), BorrowStatus.BORROWED),
+                        cb.lessThan(r.get("dueAt"), cb.localDateTime())
+                ),
+                cb.and(
+                        cb.equal(r.get("status"), BorrowStatus.RETURNED),
+                        cb.greaterThan(r.get("returnedAt"), r.<LocalDateTime>get("dueAt"))
+                )
+        );
     }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.nihatkerembora.libraryapp.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the total row counts of unfiltered listings, so paging through them does not run a
+ * {@code COUNT} query for every page.
+ * <p>
+ * A count is loaded with a real {@code COUNT} query on first use and afterwards adjusted by the services
+ * that create or delete rows, once their transaction commits. Writes that bypass the services and adjustments
+ * racing with the initial load make the counts approximate, so all of them are dropped every
+ * {@code paging.count-cache.resync-interval-ms} and reloaded on the next read.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ListingCountCache {
+
+    private final Map<String, AtomicLong> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached count of the given listing, loading it on a miss.
+     *
+     * @param listing the name of the listing
+     * @param counter runs the {@code COUNT} query of the listing
+     * @return the number of rows in the listing
+     */
+    public long get(final String listing, final LongSupplier counter) {
+        return counts.computeIfAbsent(listing, key -> new AtomicLong(counter.getAsLong())).get();
+    }
+
+    /**
+     * Adds the given delta to the count of the given listing after the current transaction commits,
+     * or right away outside a transaction. Counts that are not loaded yet are left alone.
+     *
+     * @param listing the name of the listing
+     * @param delta   the number of rows added, negative for removed rows
+     */
+    public void adjust(final String listing, final long delta) {
+
+        final Runnable adjustment = () -> {
+            final AtomicLong count = counts.get(listing);
+            if (count != null) {
+                count.updateAndGet(value -> Math.max(0, value + delta));
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    adjustment.run();
+                }
+            });
+        } else {
+            adjustment.run();
+        }
+    }
+
+    /**
+     * Drops all counts, so drift accumulated since the last resync is corrected by the next read.
+     */
+    @Scheduled(
+            initialDelayString = "${paging.count-cache.resync-interval-ms:300000}",
+            fixedDelayString = "${paging.count-cache.resync-interval-ms:300000}"
+    )
+    public void resync() {
+        counts.clear();
+        log.debug("Listing counts dropped for resync");
+    }
+
+}
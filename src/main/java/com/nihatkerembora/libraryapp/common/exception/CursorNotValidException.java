@@ -0,0 +1,20 @@
+package com.nihatkerembora.libraryapp.common.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class CursorNotValidException extends RuntimeException {
+
+    public static final HttpStatus STATUS = HttpStatus.BAD_REQUEST;
+
+    private static final String DEFAULT_MESSAGE = """
+            Cursor is not valid!
+            """;
+
+    public CursorNotValidException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    public CursorNotValidException(final String message) {
+        super(DEFAULT_MESSAGE + " " + message);
+    }
+}
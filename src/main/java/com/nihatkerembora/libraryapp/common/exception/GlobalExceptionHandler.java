@@ -9,6 +9,9 @@ import com.nihatkerembora.libraryapp.borrowing.exception.AlreadyReturnedExceptio
 import com.nihatkerembora.libraryapp.borrowing.exception.BookNotAvailableException;
 import com.nihatkerembora.libraryapp.borrowing.exception.BorrowingNotFoundException;
 import com.nihatkerembora.libraryapp.common.model.CustomError;
+import com.nihatkerembora.libraryapp.logging.exception.LogQueryWindowNotValidException;
+import com.nihatkerembora.libraryapp.report.exception.ReportJobNotFoundException;
+import com.nihatkerembora.libraryapp.report.exception.ReportNotReadyException;
 import jakarta.validation.ConstraintViolationException;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpStatus;
@@ -264,5 +267,49 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, GenreInUseException.STATUS);
     }
 
+    @ExceptionHandler(LogQueryWindowNotValidException.class)
+    protected ResponseEntity<CustomError> handleLogQueryWindowNotValid(final LogQueryWindowNotValidException ex) {
+        CustomError error = CustomError.builder()
+                .httpStatus(LogQueryWindowNotValidException.STATUS)
+                .header(CustomError.Header.VALIDATION_ERROR.getName())
+                .message(ex.getMessage())
+                .isSuccess(false)
+                .build();
+        return new ResponseEntity<>(error, LogQueryWindowNotValidException.STATUS);
+    }
+
+    @ExceptionHandler(CursorNotValidException.class)
+    protected ResponseEntity<CustomError> handleCursorNotValid(final CursorNotValidException ex) {
+        CustomError error = CustomError.builder()
+                .httpStatus(CursorNotValidException.STATUS)
+                .header(CustomError.Header.VALIDATION_ERROR.getName())
+                .message(ex.getMessage())
+                .isSuccess(false)
+                .build();
+        return new ResponseEntity<>(error, CursorNotValidException.STATUS);
+    }
+
+    @ExceptionHandler(ReportJobNotFoundException.class)
+    protected ResponseEntity<CustomError> handleReportJobNotFound(final ReportJobNotFoundException ex) {
+        CustomError error = CustomError.builder()
+                .httpStatus(ReportJobNotFoundException.STATUS)
+                .header(CustomError.Header.NOT_FOUND.getName())
+                .message(ex.getMessage())
+                .isSuccess(false)
+                .build();
+        return new ResponseEntity<>(error, ReportJobNotFoundException.STATUS);
+    }
+
+    @ExceptionHandler(ReportNotReadyException.class)
+    protected ResponseEntity<CustomError> handleReportNotReady(final ReportNotReadyException ex) {
+        CustomError error = CustomError.builder()
+                .httpStatus(ReportNotReadyException.STATUS)
+                .header(CustomError.Header.PROCESS_ERROR.getName())
+                .message(ex.getMessage())
+                .isSuccess(false)
+                .build();
+        return new ResponseEntity<>(error, ReportNotReadyException.STATUS);
+    }
+
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package com.nihatkerembora.libraryapp.common.export;
+
+import com.nihatkerembora.libraryapp.common.utils.ReportColumn;
+
+import java.util.List;
+
+/**
+ * Column widths, in characters, estimated from the header and a sample of the rows instead of a full pass.
+ * Every width is clamped to {@code [MIN_CHARACTERS, MAX_CHARACTERS]} so that a single long value in the
+ * sample cannot squeeze the other columns.
+ */
+final class ColumnWidths {
+
+    static final int MIN_CHARACTERS = 4;
+    static final int MAX_CHARACTERS = 60;
+
+    private final int[] characters;
+    private final int total;
+
+    private ColumnWidths(final int[] characters) {
+        this.characters = characters;
+        int sum = 0;
+        for (int width : characters) {
+            sum += width;
+        }
+        this.total = sum;
+    }
+
+    static <T> ColumnWidths fromSample(final List<ReportColumn<T>> columns, final List<String[]> sample) {
+
+        final int[] characters = new int[columns.size()];
+        for (int i = 0; i < characters.length; i++) {
+            int width = columns.get(i).getHeader().length();
+            for (String[] cells : sample) {
+                if (cells[i] != null) {
+                    width = Math.max(width, cells[i].length());
+                }
+            }
+            characters[i] = Math.clamp(width, MIN_CHARACTERS, MAX_CHARACTERS);
+        }
+        return new ColumnWidths(characters);
+    }
+
+    int size() {
+        return characters.length;
+    }
+
+    int characters(final int column) {
+        return characters[column];
+    }
+
+    /**
+     * @return the share of the total width taken by the given column
+     */
+    float fraction(final int column) {
+        return (float) characters[column] / total;
+    }
+
+}
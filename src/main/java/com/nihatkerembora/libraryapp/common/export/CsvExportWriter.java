@@ -0,0 +1,75 @@
+package com.nihatkerembora.libraryapp.common.export;
+
+import com.nihatkerembora.libraryapp.common.utils.ReportColumn;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * {@link ExportWriter} that writes a header row and one line per row, quoting values as described in RFC 4180.
+ */
+class CsvExportWriter<T> implements ExportWriter<T> {
+
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private final Writer writer;
+    private final List<ReportColumn<T>> columns;
+
+    CsvExportWriter(final OutputStream outputStream, final List<ReportColumn<T>> columns) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.columns = columns;
+
+        for (int i = 0; i < columns.size(); i++) {
+            writeValue(i, columns.get(i).getHeader());
+        }
+        writer.write(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void write(final T row) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            writeValue(i, columns.get(i).extract(row));
+        }
+        writer.write(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void writeValue(final int index, final String value) throws IOException {
+
+        if (index > 0) {
+            writer.write(',');
+        }
+        if (value == null) {
+            return;
+        }
+
+        if (!needsQuoting(value)) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static boolean needsQuoting(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
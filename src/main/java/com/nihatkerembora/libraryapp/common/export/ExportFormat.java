@@ -0,0 +1,36 @@
+package com.nihatkerembora.libraryapp.common.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Output formats of the streaming exports and reports.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    /**
+     * One JSON object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma separated values with a header row, quoted as described in RFC 4180.
+     */
+    CSV("text/csv", "csv"),
+
+    /**
+     * A paginated table with repeated column headers.
+     */
+    PDF("application/pdf", "pdf"),
+
+    /**
+     * A single-sheet Office Open XML workbook.
+     */
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+    private final String fileExtension;
+
+}
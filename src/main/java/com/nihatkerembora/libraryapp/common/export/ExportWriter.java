@@ -0,0 +1,112 @@
+package com.nihatkerembora.libraryapp.common.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nihatkerembora.libraryapp.common.utils.ReportColumn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes exported rows one by one to an output stream, keeping at most a small buffer in memory.
+ * {@link #close()} flushes the remaining output but leaves the underlying stream open. Callers mark a successful
+ * export with {@link #complete()}; formats that are only rendered on {@link #close()} are not written at all if
+ * the export failed before that.
+ * <p>
+ * The tabular formats are driven by a {@link ReportColumn} schema; layouts that need column widths
+ * estimate them from the first rows, see {@link SampledExportWriter}.
+ * </p>
+ *
+ * @param <T> the type of the exported rows
+ */
+public interface ExportWriter<T> extends Closeable {
+
+    /**
+     * Writes a single row.
+     *
+     * @param row the row to write
+     * @throws IOException if the output stream fails
+     */
+    void write(T row) throws IOException;
+
+    /**
+     * Marks that every row has been written, so {@link #close()} may finish the output. Rows written by the
+     * streaming formats are already on the output stream, so they ignore it.
+     */
+    default void complete() {
+    }
+
+    /**
+     * Writes all remaining rows of the given iterator.
+     *
+     * @param rows the rows to write
+     * @return the number of rows written
+     * @throws IOException if the output stream fails
+     */
+    default long writeAll(final Iterator<? extends T> rows) throws IOException {
+        long count = 0;
+        while (rows.hasNext()) {
+            write(rows.next());
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Writes all rows of the given stream, consuming it.
+     *
+     * @param rows the rows to write
+     * @return the number of rows written
+     * @throws IOException if the output stream fails
+     */
+    default long writeAll(final Stream<? extends T> rows) throws IOException {
+        return writeAll(rows.iterator());
+    }
+
+    /**
+     * Opens a writer of the given format.
+     *
+     * @param format       the output format
+     * @param outputStream the stream to write to
+     * @param columns      the columns written in every format but {@link ExportFormat#NDJSON}
+     * @param objectMapper serializes the rows in {@link ExportFormat#NDJSON} format
+     * @param <T>          the type of the exported rows
+     * @return the writer
+     * @throws IOException if the output stream fails
+     */
+    static <T> ExportWriter<T> open(final ExportFormat format,
+                                    final OutputStream outputStream,
+                                    final List<ReportColumn<T>> columns,
+                                    final ObjectMapper objectMapper) throws IOException {
+        return open(format, outputStream, null, columns, objectMapper);
+    }
+
+    /**
+     * Opens a writer of the given format.
+     *
+     * @param format       the output format
+     * @param outputStream the stream to write to
+     * @param title        the title shown above the table in {@link ExportFormat#PDF} format, may be {@code null}
+     * @param columns      the columns written in every format but {@link ExportFormat#NDJSON}
+     * @param objectMapper serializes the rows in {@link ExportFormat#NDJSON} format
+     * @param <T>          the type of the exported rows
+     * @return the writer
+     * @throws IOException if the output stream fails
+     */
+    static <T> ExportWriter<T> open(final ExportFormat format,
+                                    final OutputStream outputStream,
+                                    final String title,
+                                    final List<ReportColumn<T>> columns,
+                                    final ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonExportWriter<>(outputStream, objectMapper);
+            case CSV -> new CsvExportWriter<>(outputStream, columns);
+            case PDF -> new PdfExportWriter<>(outputStream, title, columns);
+            case XLSX -> new XlsxExportWriter<>(outputStream, columns);
+        };
+    }
+
+}
@@ -0,0 +1,212 @@
+package com.nihatkerembora.libraryapp.common.export;
+
+import com.nihatkerembora.libraryapp.common.utils.ReportColumn;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.Normalizer;
+import java.util.List;
+
+/**
+ * {@link ExportWriter} that renders the rows as a table in a PDF document.
+ * <p>
+ * Rows are appended to a single content stream per page; a new page repeating the column headers is started
+ * once the current one is full. Column widths are proportional to the sampled {@link ColumnWidths} and longer
+ * values are cut to fit. The document is backed by PDFBox scratch storage that keeps at most
+ * {@link #MAIN_MEMORY_BYTES} on the heap and spills the rest to a temporary file, so the heap does not grow
+ * with the number of rows. {@link #close()} writes the document to the output stream.
+ * </p>
+ * <p>
+ * The standard Helvetica fonts only cover the WinAnsi character set. Control characters such as line breaks
+ * are printed as spaces, other characters outside the set as their base letter where one exists (e.g.
+ * {@code ş} as {@code s}) and as {@code ?} otherwise, so free text never fails the export.
+ * </p>
+ */
+class PdfExportWriter<T> extends SampledExportWriter<T> {
+
+    static final long MAIN_MEMORY_BYTES = 1024 * 1024;
+
+    private static final float MARGIN_X = 50f;
+    private static final float TITLE_Y_POSITION = 800f;
+    private static final float HEADER_Y_POSITION = 770f;
+    private static final float FOOTER_Y_POSITION = 30f;
+    private static final float ROW_HEIGHT = 20f;
+    private static final float PAGE_BOTTOM_MARGIN = 50f;
+    private static final float CONTENT_WIDTH = 510f;
+    private static final float COLUMN_GAP = 8f;
+    private static final float AVERAGE_CHARACTER_WIDTH_EM = 0.5f;
+    private static final String CUT_MARKER = "...";
+
+    private static final int FONT_TITLE_SIZE = 16;
+    private static final int FONT_HEADER_SIZE = 12;
+    private static final int FONT_ROW_SIZE = 11;
+    private static final int FONT_FOOTER_SIZE = 9;
+
+    private final String title;
+    private final OutputStream outputStream;
+    private final PDDocument document;
+
+    private float[] columnOffsets;
+    private int[] columnCapacities;
+    private PDPageContentStream contentStream;
+    private int pageCount;
+    private float y;
+
+    PdfExportWriter(final OutputStream outputStream, final String title, final List<ReportColumn<T>> columns) {
+        super(columns);
+        this.title = title;
+        this.outputStream = outputStream;
+        this.document = new PDDocument(MemoryUsageSetting.setupMixed(MAIN_MEMORY_BYTES));
+    }
+
+    @Override
+    protected void begin(final ColumnWidths widths) throws IOException {
+
+        columnOffsets = new float[widths.size()];
+        columnCapacities = new int[widths.size()];
+
+        float x = MARGIN_X;
+        for (int i = 0; i < widths.size(); i++) {
+            final float width = CONTENT_WIDTH * widths.fraction(i);
+            columnOffsets[i] = x;
+            columnCapacities[i] = Math.max(1, (int) ((width - COLUMN_GAP) / (FONT_ROW_SIZE * AVERAGE_CHARACTER_WIDTH_EM)));
+            x += width;
+        }
+
+        startPage();
+    }
+
+    @Override
+    protected void writeCells(final String[] cells) throws IOException {
+
+        if (y < PAGE_BOTTOM_MARGIN) {
+            finishPage();
+            startPage();
+        }
+
+        writeRow(PDType1Font.HELVETICA, FONT_ROW_SIZE, cells);
+        y -= ROW_HEIGHT;
+    }
+
+    /**
+     * Finishes the last page and writes the document to the output stream if the export was completed, then
+     * releases its scratch storage.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            document.close();
+        }
+    }
+
+    @Override
+    protected void finish() throws IOException {
+        finishPage();
+        // PDFBox closes the stream it saves to; the caller owns it.
+        document.save(StreamUtils.nonClosing(outputStream));
+    }
+
+    private void startPage() throws IOException {
+
+        final PDPage page = new PDPage();
+        document.addPage(page);
+        contentStream = new PDPageContentStream(document, page);
+        pageCount++;
+
+        y = TITLE_Y_POSITION;
+        if (pageCount == 1 && title != null) {
+            writeText(PDType1Font.HELVETICA_BOLD, FONT_TITLE_SIZE, MARGIN_X, TITLE_Y_POSITION, title);
+            y = HEADER_Y_POSITION;
+        }
+
+        writeRow(PDType1Font.HELVETICA_BOLD, FONT_HEADER_SIZE, columns.stream().map(ReportColumn::getHeader).toArray(String[]::new));
+        y -= ROW_HEIGHT;
+    }
+
+    private void finishPage() throws IOException {
+        if (contentStream == null) {
+            return;
+        }
+        writeText(PDType1Font.HELVETICA, FONT_FOOTER_SIZE, MARGIN_X, FOOTER_Y_POSITION, "Page " + pageCount);
+        contentStream.close();
+        contentStream = null;
+    }
+
+    private void writeRow(final PDFont font, final int fontSize, final String[] cells) throws IOException {
+        contentStream.setFont(font, fontSize);
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == null || cells[i].isEmpty()) {
+                continue;
+            }
+            contentStream.beginText();
+            contentStream.newLineAtOffset(columnOffsets[i], y);
+            contentStream.showText(fit(printable(font, cells[i]), columnCapacities[i]));
+            contentStream.endText();
+        }
+    }
+
+    private void writeText(final PDFont font, final int fontSize, final float x, final float textY, final String text)
+            throws IOException {
+        contentStream.setFont(font, fontSize);
+        contentStream.beginText();
+        contentStream.newLineAtOffset(x, textY);
+        contentStream.showText(printable(font, text));
+        contentStream.endText();
+    }
+
+    /**
+     * Replaces every character the font cannot encode, see the class comment.
+     */
+    static String printable(final PDFont font, final String value) {
+        if (value.chars().allMatch(c -> c >= ' ' && c <= '~')) {
+            return value;
+        }
+        final StringBuilder printable = new StringBuilder(value.length());
+        value.codePoints().forEach(codePoint -> printable.append(printable(font, codePoint)));
+        return printable.toString();
+    }
+
+    private static String printable(final PDFont font, final int codePoint) {
+        if (Character.isISOControl(codePoint) || Character.getType(codePoint) == Character.LINE_SEPARATOR
+                || Character.getType(codePoint) == Character.PARAGRAPH_SEPARATOR) {
+            return " ";
+        }
+        final String character = Character.toString(codePoint);
+        if (canEncode(font, character)) {
+            return character;
+        }
+        // Dotless i has no decomposition
+        final String base = codePoint == 'ı'
+                ? "i"
+                : Normalizer.normalize(character, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return !base.isEmpty() && !base.equals(character) && canEncode(font, base) ? base : "?";
+    }
+
+    private static boolean canEncode(final PDFont font, final String text) {
+        try {
+            font.encode(text);
+            return true;
+        } catch (IllegalArgumentException | IOException e) {
+            return false;
+        }
+    }
+
+    private static String fit(final String value, final int capacity) {
+        if (value.length() <= capacity) {
+            return value;
+        }
+        return capacity <= CUT_MARKER.length()
+                ? value.substring(0, capacity)
+                : value.substring(0, capacity - CUT_MARKER.length()) + CUT_MARKER;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.nihatkerembora.libraryapp.common.export;
+
+import com.nihatkerembora.libraryapp.common.utils.ReportColumn;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base of the {@link ExportWriter}s whose layout depends on the column widths.
+ * <p>
+ * The cells of the first {@link #SAMPLE_SIZE} rows are buffered to estimate the {@link ColumnWidths};
+ * after that every row is rendered as soon as it is written. Reports shorter than the sample are laid
+ * out on {@link #close()}, which writes nothing unless the export was {@link #complete() completed}, so a failed
+ * export does not end in a well-formed but truncated document.
+ * </p>
+ */
+abstract class SampledExportWriter<T> implements ExportWriter<T> {
+
+    static final int SAMPLE_SIZE = 100;
+
+    protected final List<ReportColumn<T>> columns;
+
+    private List<String[]> sample = new ArrayList<>(SAMPLE_SIZE);
+    private boolean completed;
+
+    SampledExportWriter(final List<ReportColumn<T>> columns) {
+        this.columns = columns;
+    }
+
+    @Override
+    public void write(final T row) throws IOException {
+
+        final String[] cells = new String[columns.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = columns.get(i).extract(row);
+        }
+
+        if (sample == null) {
+            writeCells(cells);
+            return;
+        }
+
+        sample.add(cells);
+        if (sample.size() == SAMPLE_SIZE) {
+            flushSample();
+        }
+    }
+
+    @Override
+    public void complete() {
+        completed = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!completed) {
+            return;
+        }
+        if (sample != null) {
+            flushSample();
+        }
+        finish();
+    }
+
+    /**
+     * Writes everything that precedes the first row, once the column widths are known.
+     */
+    protected abstract void begin(ColumnWidths widths) throws IOException;
+
+    protected abstract void writeCells(String[] cells) throws IOException;
+
+    /**
+     * Writes everything that follows the last row. Must not close the underlying stream.
+     */
+    protected abstract void finish() throws IOException;
+
+    private void flushSample() throws IOException {
+
+        final List<String[]> sampled = sample;
+        sample = null;
+
+        begin(ColumnWidths.fromSample(columns, sampled));
+        for (String[] cells : sampled) {
+            writeCells(cells);
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.nihatkerembora.libraryapp.common.export;
+
+import com.nihatkerembora.libraryapp.common.utils.ReportColumn;
+import org.springframework.util.StreamUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * {@link ExportWriter} that writes a single-sheet Office Open XML workbook.
+ * <p>
+ * The package parts are static except for the worksheet, which is streamed into the zip entry row by row
+ * using inline strings, so no shared string table has to be kept in memory. The sheet's column widths are
+ * taken from the sampled {@link ColumnWidths} because they have to precede the rows.
+ * </p>
+ */
+class XlsxExportWriter<T> extends SampledExportWriter<T> {
+
+    private static final String CONTENT_TYPES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+            <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+            <Default Extension="xml" ContentType="application/xml"/>\
+            <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+            <Override PartName="/xl/worksheets/sheet1.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+            <Override PartName="/xl/styles.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml"/>\
+            </Types>""";
+
+    private static final String ROOT_RELATIONSHIPS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>\
+            </Relationships>""";
+
+    private static final String WORKBOOK = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+            xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+            <sheets><sheet name="Report" sheetId="1" r:id="rId1"/></sheets>\
+            </workbook>""";
+
+    private static final String WORKBOOK_RELATIONSHIPS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" Target="worksheets/sheet1.xml"/>\
+            <Relationship Id="rId2" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles" Target="styles.xml"/>\
+            </Relationships>""";
+
+    /**
+     * Style 0 is the default, style 1 the bold header.
+     */
+    private static final String STYLES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <styleSheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">\
+            <fonts count="2"><font><sz val="11"/><name val="Calibri"/></font><font><b/><sz val="11"/><name val="Calibri"/></font></fonts>\
+            <fills count="2"><fill><patternFill patternType="none"/></fill><fill><patternFill patternType="gray125"/></fill></fills>\
+            <borders count="1"><border><left/><right/><top/><bottom/><diagonal/></border></borders>\
+            <cellStyleXfs count="1"><xf numFmtId="0" fontId="0" fillId="0" borderId="0"/></cellStyleXfs>\
+            <cellXfs count="2"><xf numFmtId="0" fontId="0" fillId="0" borderId="0" xfId="0"/>\
+            <xf numFmtId="0" fontId="1" fillId="0" borderId="0" xfId="0" applyFont="1"/></cellXfs>\
+            </styleSheet>""";
+
+    /**
+     * Excel widths are measured in characters of the default font; the padding leaves room for the cell margins.
+     */
+    private static final int WIDTH_PADDING = 2;
+
+    private final ZipOutputStream zipOutputStream;
+    private final Writer writer;
+
+    XlsxExportWriter(final OutputStream outputStream, final List<ReportColumn<T>> columns) {
+        super(columns);
+        this.zipOutputStream = new ZipOutputStream(StreamUtils.nonClosing(outputStream), StandardCharsets.UTF_8);
+        this.writer = new BufferedWriter(new OutputStreamWriter(zipOutputStream, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected void begin(final ColumnWidths widths) throws IOException {
+
+        writePart("[Content_Types].xml", CONTENT_TYPES);
+        writePart("_rels/.rels", ROOT_RELATIONSHIPS);
+        writePart("xl/workbook.xml", WORKBOOK);
+        writePart("xl/_rels/workbook.xml.rels", WORKBOOK_RELATIONSHIPS);
+        writePart("xl/styles.xml", STYLES);
+
+        zipOutputStream.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        writer.write("""
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><cols>""");
+        for (int i = 0; i < widths.size(); i++) {
+            writer.write("<col min=\"" + (i + 1) + "\" max=\"" + (i + 1) + "\" width=\""
+                    + (widths.characters(i) + WIDTH_PADDING) + "\" customWidth=\"1\"/>");
+        }
+        writer.write("</cols><sheetData>");
+
+        writer.write("<row>");
+        for (ReportColumn<T> column : columns) {
+            writeCell(column.getHeader(), " s=\"1\"");
+        }
+        writer.write("</row>");
+    }
+
+    @Override
+    protected void writeCells(final String[] cells) throws IOException {
+        writer.write("<row>");
+        for (String cell : cells) {
+            writeCell(cell, "");
+        }
+        writer.write("</row>");
+    }
+
+    @Override
+    protected void finish() throws IOException {
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zipOutputStream.closeEntry();
+        zipOutputStream.finish();
+        zipOutputStream.flush();
+    }
+
+    private void writePart(final String name, final String content) throws IOException {
+        zipOutputStream.putNextEntry(new ZipEntry(name));
+        zipOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        zipOutputStream.closeEntry();
+    }
+
+    /**
+     * Cells are written without a reference, so empty cells still have to be emitted to keep the columns aligned.
+     */
+    private void writeCell(final String value, final String style) throws IOException {
+
+        if (value == null || value.isEmpty()) {
+            writer.write("<c" + style + "/>");
+            return;
+        }
+
+        writer.write("<c t=\"inlineStr\"");
+        writer.write(style);
+        writer.write("><is><t");
+        if (Character.isWhitespace(value.charAt(0)) || Character.isWhitespace(value.charAt(value.length() - 1))) {
+            writer.write(" xml:space=\"preserve\"");
+        }
+        writer.write('>');
+        writeEscaped(value);
+        writer.write("</t></is></c>");
+    }
+
+    private void writeEscaped(final String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '\t', '\n', '\r' -> writer.write(c);
+                default -> {
+                    // Other control characters are not allowed in XML 1.0.
+                    if (c >= 0x20) {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.nihatkerembora.libraryapp.common.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset paginated listing. Unlike {@link CustomPage} it carries no totals,
+ * so producing it never requires a {@code COUNT} query.
+ *
+ * @param <T> the type of content in the slice
+ */
+@Getter
+@Builder
+public class CursorSlice<T> {
+
+    private List<T> content;
+
+    private Integer pageSize;
+
+    private String nextCursor;
+
+    private boolean hasNext;
+
+    /**
+     * Builds a slice from rows fetched with a limit of {@code pageSize + 1}; the extra row only signals
+     * that another page exists and is not returned.
+     *
+     * @param rows     the fetched rows, at most {@code pageSize + 1}
+     * @param pageSize the requested page size
+     * @param cursorOf creates the cursor pointing at a row
+     * @param mapper   maps a row to the returned content
+     * @param <C>      the type of the returned content
+     * @param <X>      the type of the fetched rows
+     * @return a {@link CursorSlice} instance
+     */
+    public static <C, X> CursorSlice<C> of(final List<X> rows,
+                                           final int pageSize,
+                                           final Function<X, KeysetCursor> cursorOf,
+                                           final Function<X, C> mapper) {
+
+        final boolean hasNext = rows.size() > pageSize;
+        final List<X> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return CursorSlice.<C>builder()
+                .content(pageRows.stream().map(mapper).toList())
+                .pageSize(pageSize)
+                .nextCursor(hasNext ? cursorOf.apply(pageRows.getLast()).encode() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * Maps the content of this slice while keeping its cursor.
+     *
+     * @param mapper maps an element of the content
+     * @param <C>    the type of the mapped content
+     * @return a new {@link CursorSlice} with the mapped content
+     */
+    public <C> CursorSlice<C> map(final Function<T, C> mapper) {
+        return CursorSlice.<C>builder()
+                .content(content.stream().map(mapper).toList())
+                .pageSize(pageSize)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+}
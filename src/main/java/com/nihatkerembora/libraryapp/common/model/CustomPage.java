@@ -4,6 +4,7 @@ package com.nihatkerembora.libraryapp.common.model;
 import lombok.Builder;
 import lombok.Getter;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -26,6 +27,8 @@ public class CustomPage<T> {
 
     private Integer totalPageCount;
 
+    private Boolean hasNext;
+
     /**
      * Converts a Spring {@link Page} into a {@link CustomPage}, preserving pagination metadata.
      *
@@ -42,6 +45,28 @@ public class CustomPage<T> {
                 .pageSize(page.getSize())
                 .totalPageCount(page.getTotalPages())
                 .totalElementCount(page.getTotalElements())
+                .hasNext(page.hasNext())
+                .build();
+    }
+
+    /**
+     * Converts a Spring {@link Slice} into a {@link CustomPage} without totals.
+     *
+     * @param domainModels the content to be returned
+     * @param slice the source Spring slice object
+     * @param <C> the type of the response content
+     * @param <X> the type of the original slice content
+     * @return a {@link CustomPage} instance
+     */
+    public static <C, X> CustomPage<C> of(final List<C> domainModels, final Slice<X> slice) {
+        if (slice instanceof Page<X> page) {
+            return of(domainModels, page);
+        }
+        return CustomPage.<C>builder()
+                .content(domainModels)
+                .pageNumber(slice.getNumber() + 1)
+                .pageSize(slice.getSize())
+                .hasNext(slice.hasNext())
                 .build();
     }
 
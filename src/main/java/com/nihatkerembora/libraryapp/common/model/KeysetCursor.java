@@ -0,0 +1,67 @@
+package com.nihatkerembora.libraryapp.common.model;
+
+import com.nihatkerembora.libraryapp.common.exception.CursorNotValidException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page: the value of the sort key and the ID of that row.
+ * <p>
+ * It is handed to clients as an opaque, URL-safe token that also names the sort key,
+ * so a cursor issued by one listing cannot be replayed against another.
+ * </p>
+ *
+ * @param sortKey the name of the sort key the cursor was issued for
+ * @param value   the sort key value of the last row
+ * @param id      the ID of the last row
+ */
+public record KeysetCursor(String sortKey, String value, String id) {
+
+    private static final char SEPARATOR = '\u001f';
+
+    /**
+     * Encodes this cursor into an opaque token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        final String raw = sortKey + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token issued for the given sort key.
+     *
+     * @param token           the token received from the client
+     * @param expectedSortKey the sort key of the listing the token is used for
+     * @return the decoded cursor
+     * @throws CursorNotValidException if the token is malformed or was issued for another sort key
+     */
+    public static KeysetCursor decode(final String token, final String expectedSortKey) {
+
+        final String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new CursorNotValidException("Malformed cursor");
+        }
+
+        final int first = raw.indexOf(SEPARATOR);
+        final int last = raw.lastIndexOf(SEPARATOR);
+        if (first < 0 || first == last) {
+            throw new CursorNotValidException("Malformed cursor");
+        }
+
+        final KeysetCursor cursor = new KeysetCursor(
+                raw.substring(0, first),
+                raw.substring(first + 1, last),
+                raw.substring(last + 1)
+        );
+        if (!cursor.sortKey().equals(expectedSortKey)) {
+            throw new CursorNotValidException("Cursor was issued for another listing");
+        }
+        return cursor;
+    }
+
+}
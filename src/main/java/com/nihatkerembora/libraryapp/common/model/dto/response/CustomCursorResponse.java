@@ -0,0 +1,36 @@
+package com.nihatkerembora.libraryapp.common.model.dto.response;
+
+import com.nihatkerembora.libraryapp.common.model.CursorSlice;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Represents a generic response object for keyset paginated data.
+ * The next page is requested by passing {@code nextCursor} back as the {@code cursor} parameter.
+ *
+ * @param <T> the type of content contained in the page
+ */
+@Getter
+@Builder
+public class CustomCursorResponse<T> {
+
+    private List<T> content;
+
+    private Integer pageSize;
+
+    private String nextCursor;
+
+    private boolean hasNext;
+
+    public static <T> CustomCursorResponse<T> from(final CursorSlice<T> slice) {
+        return CustomCursorResponse.<T>builder()
+                .content(slice.getContent())
+                .pageSize(slice.getPageSize())
+                .nextCursor(slice.getNextCursor())
+                .hasNext(slice.isHasNext())
+                .build();
+    }
+
+}
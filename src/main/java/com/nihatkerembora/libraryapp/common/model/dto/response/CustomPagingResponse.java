@@ -4,11 +4,13 @@ import com.nihatkerembora.libraryapp.common.model.CustomPage;
 import lombok.Builder;
 import lombok.Getter;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 /**
  * Represents a generic response object for paginated data.
+ * The totals are {@code null} when the page was fetched without counting the matching rows.
  *
  * @param <T> the type of content contained in the page
  */
@@ -26,6 +28,8 @@ public class CustomPagingResponse<T> {
 
     private Integer totalPageCount;
 
+    private Boolean hasNext;
+
     /**
      * Builder class for {@link CustomPagingResponse}.
      *
@@ -45,7 +49,8 @@ public class CustomPagingResponse<T> {
                     .pageNumber(customPage.getPageNumber())
                     .pageSize(customPage.getPageSize())
                     .totalElementCount(customPage.getTotalElementCount())
-                    .totalPageCount(customPage.getTotalPageCount());
+                    .totalPageCount(customPage.getTotalPageCount())
+                    .hasNext(customPage.getHasNext());
         }
 
     }
@@ -57,6 +62,26 @@ public class CustomPagingResponse<T> {
                 .pageSize(page.getSize())
                 .totalElementCount(page.getTotalElements())
                 .totalPageCount(page.getTotalPages())
+                .hasNext(page.hasNext())
+                .build();
+    }
+
+    /**
+     * Creates a response without totals from a {@link Slice}, whose query did not count the matching rows.
+     *
+     * @param slice the source slice
+     * @param <T>   the type of content in the slice
+     * @return the response
+     */
+    public static <T> CustomPagingResponse<T> from(final Slice<T> slice) {
+        if (slice instanceof Page<T> page) {
+            return from(page);
+        }
+        return CustomPagingResponse.<T>builder()
+                .content(slice.getContent())
+                .pageNumber(slice.getNumber())
+                .pageSize(slice.getSize())
+                .hasNext(slice.hasNext())
                 .build();
     }
 
@@ -67,6 +92,7 @@ public class CustomPagingResponse<T> {
                 .pageSize(customPage.getPageSize())
                 .totalElementCount(customPage.getTotalElementCount())
                 .totalPageCount(customPage.getTotalPageCount())
+                .hasNext(customPage.getHasNext())
                 .build();
     }
 
@@ -0,0 +1,67 @@
+package com.nihatkerembora.libraryapp.common.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Runs {@link Specification} queries as a {@link Slice}. Unlike
+ * {@link org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(Specification, Pageable)}
+ * it never issues a {@code COUNT} query: one extra row is fetched to tell whether a next page exists.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SliceQueryRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Returns the requested page of the entities matching the given specification, without totals.
+     *
+     * @param domainClass the entity type
+     * @param spec        the filter, may be {@code null}
+     * @param pageable    the page and sort to fetch
+     * @param <T>         the entity type
+     * @return the slice
+     */
+    public <T> Slice<T> findSlice(final Class<T> domainClass, final Specification<T> spec, final Pageable pageable) {
+
+        final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<T> criteriaQuery = criteriaBuilder.createQuery(domainClass);
+        final Root<T> root = criteriaQuery.from(domainClass);
+
+        if (spec != null) {
+            final Predicate predicate = spec.toPredicate(root, criteriaQuery, criteriaBuilder);
+            if (predicate != null) {
+                criteriaQuery.where(predicate);
+            }
+        }
+        criteriaQuery.select(root).orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+
+        final TypedQuery<T> query = entityManager.createQuery(criteriaQuery);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+
+        final List<T> rows = query
+                .setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        final boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+}
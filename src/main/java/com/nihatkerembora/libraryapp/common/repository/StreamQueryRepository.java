@@ -0,0 +1,105 @@
+package com.nihatkerembora.libraryapp.common.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reads all entities matching a {@link Specification} through a forward-only database cursor,
+ * handing them over in fixed size chunks.
+ * <p>
+ * The JDBC driver fetches {@code chunkSize} rows per round trip and the persistence context is cleared
+ * after every chunk, so memory use does not grow with the number of rows. Must be called inside a transaction,
+ * which PostgreSQL requires to fetch with a cursor instead of loading the whole result.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class StreamQueryRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Consumer of one chunk of rows.
+     *
+     * @param <T> the entity type
+     */
+    @FunctionalInterface
+    public interface ChunkConsumer<T> {
+
+        /**
+         * Processes a chunk; the entities are detached once this method returns.
+         *
+         * @param chunk the rows of the chunk
+         * @throws IOException if writing the rows fails
+         */
+        void accept(List<T> chunk) throws IOException;
+
+    }
+
+    /**
+     * Streams the entities matching the given specification in the given order.
+     *
+     * @param domainClass the entity type
+     * @param spec        the filter, may be {@code null}
+     * @param sort        the order of the rows
+     * @param chunkSize   the JDBC fetch size and number of rows handed over at once
+     * @param consumer    processes the chunks
+     * @param <T>         the entity type
+     * @return the number of rows read
+     * @throws IOException if the consumer fails
+     */
+    public <T> long forEachChunk(final Class<T> domainClass,
+                                 final Specification<T> spec,
+                                 final Sort sort,
+                                 final int chunkSize,
+                                 final ChunkConsumer<T> consumer) throws IOException {
+
+        final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<T> criteriaQuery = criteriaBuilder.createQuery(domainClass);
+        final Root<T> root = criteriaQuery.from(domainClass);
+
+        if (spec != null) {
+            final Predicate predicate = spec.toPredicate(root, criteriaQuery, criteriaBuilder);
+            if (predicate != null) {
+                criteriaQuery.where(predicate);
+            }
+        }
+        criteriaQuery.select(root).orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        long rowCount = 0;
+        try (Stream<T> rows = entityManager.createQuery(criteriaQuery)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, chunkSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+
+            final Iterator<T> iterator = rows.iterator();
+            final List<T> chunk = new ArrayList<>(chunkSize);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    consumer.accept(chunk);
+                    rowCount += chunk.size();
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+        return rowCount;
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.nihatkerembora.libraryapp.common.utils;
+
+import jakarta.persistence.criteria.Path;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Builds the predicate and ordering of keyset ("seek") pagination over a sort attribute plus the
+ * {@code id} tie-breaker, so that every page is a bounded index range scan instead of an offset scan.
+ */
+@UtilityClass
+public class KeysetSpecifications {
+
+    private static final String ID = "id";
+
+    /**
+     * Returns the ordering that matches {@link #after}: the sort attribute, then the ID, both in the given direction.
+     *
+     * @param sortAttribute the entity attribute to sort by
+     * @param direction     the sort direction
+     * @return the sort
+     */
+    public static Sort sort(final String sortAttribute, final Sort.Direction direction) {
+        return sortAttribute.equals(ID)
+                ? Sort.by(direction, ID)
+                : Sort.by(direction, sortAttribute).and(Sort.by(direction, ID));
+    }
+
+    /**
+     * Restricts to the rows positioned after the given row in {@link #sort} order.
+     *
+     * @param sortAttribute the entity attribute to sort by; must not be nullable
+     * @param value         the sort attribute value of the last returned row
+     * @param id            the ID of the last returned row
+     * @param direction     the sort direction
+     * @param <T>           the entity type
+     * @param <V>           the type of the sort attribute
+     * @return the specification
+     */
+    public static <T, V extends Comparable<? super V>> Specification<T> after(final String sortAttribute,
+                                                                             final V value,
+                                                                             final String id,
+                                                                             final Sort.Direction direction) {
+        return (root, query, cb) -> {
+            final Path<String> idPath = root.get(ID);
+            final boolean ascending = direction.isAscending();
+
+            if (sortAttribute.equals(ID)) {
+                return ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+            }
+
+            final Path<V> sortPath = root.get(sortAttribute);
+            return cb.or(
+                    ascending ? cb.greaterThan(sortPath, value) : cb.lessThan(sortPath, value),
+                    cb.and(
+                            cb.equal(sortPath, value),
+                            ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id)
+                    )
+            );
+        };
+    }
+
+}
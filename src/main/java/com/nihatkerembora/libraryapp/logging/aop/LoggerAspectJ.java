@@ -1,12 +1,12 @@
 package com.nihatkerembora.libraryapp.logging.aop;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nihatkerembora.libraryapp.auth.exception.*;
 import com.nihatkerembora.libraryapp.borrowing.exception.AlreadyReturnedException;
 import com.nihatkerembora.libraryapp.borrowing.exception.BookNotAvailableException;
 import com.nihatkerembora.libraryapp.borrowing.exception.BorrowingNotFoundException;
 import com.nihatkerembora.libraryapp.logging.entity.LogEntity;
+import com.nihatkerembora.libraryapp.logging.payload.AuditPayloadPolicy;
+import com.nihatkerembora.libraryapp.logging.sampling.AuditSampler;
 import com.nihatkerembora.libraryapp.logging.service.LogService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -25,7 +25,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.io.IOException;
 import java.util.Optional;
 
 /**
@@ -44,6 +43,8 @@ import java.util.Optional;
 public class LoggerAspectJ {
 
     private final LogService logService;
+    private final AuditPayloadPolicy auditPayloadPolicy;
+    private final AuditSampler auditSampler;
 
     /**
      * Pointcut expression targeting all classes annotated with {@code @RestController}.
@@ -102,13 +103,14 @@ public class LoggerAspectJ {
     /**
      * Advice that logs successful executions of controller methods.
      * Builds and stores a {@link LogEntity} after the method returns.
+     * The stored response payload is bounded by the {@link AuditPayloadPolicy} of the invoked endpoint,
+     * and read requests are only logged when selected by the {@link AuditSampler}.
      *
      * @param joinPoint the join point representing the executed controller method
      * @param result    the result returned from the method
-     * @throws IOException if JSON serialization fails
      */
     @AfterReturning(value = "restControllerPointcut()", returning = "result")
-    public void logAfterReturning(JoinPoint joinPoint, Object result) throws IOException {
+    public void logAfterReturning(JoinPoint joinPoint, Object result) {
 
         Optional<ServletRequestAttributes> requestAttributes = Optional.ofNullable(
                 (ServletRequestAttributes) RequestContextHolder.getRequestAttributes()
@@ -119,23 +121,18 @@ public class LoggerAspectJ {
             final HttpServletRequest request = requestAttributes.get().getRequest();
             final HttpServletResponse response = requestAttributes.get().getResponse();
 
-            String responseObject = "";
+            if (!auditSampler.shouldAudit(joinPoint, request.getMethod())) {
+                return;
+            }
 
             LogEntity logEntity = LogEntity.builder()
                     .endpoint(request.getRequestURL().toString())
                     .method(request.getMethod())
                     .operation(joinPoint.getSignature().getName())
+                    .message(auditPayloadPolicy.describe(result))
+                    .response(auditPayloadPolicy.capture(joinPoint, result))
                     .build();
 
-            if (result instanceof JsonNode) {
-                ObjectMapper objectMapper = new ObjectMapper();
-                responseObject = objectMapper.writeValueAsString(result);
-            } else {
-                responseObject = result.toString();
-            }
-
-            logEntity.setResponse(responseObject);
-            logEntity.setMessage(responseObject);
             Optional.ofNullable(response).ifPresent(
                     httpServletResponse -> logEntity.setStatus(
                             HttpStatus.valueOf(httpServletResponse.getStatus()
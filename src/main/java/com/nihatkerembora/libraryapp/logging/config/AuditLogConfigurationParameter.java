@@ -0,0 +1,66 @@
+package com.nihatkerembora.libraryapp.logging.config;
+
+import com.nihatkerembora.libraryapp.logging.payload.AuditPayloadMode;
+import com.nihatkerembora.libraryapp.logging.writer.AuditOverflowPolicy;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration parameters of the asynchronous audit log pipeline.
+ * Every value can be overridden through the corresponding {@code audit.*} application property.
+ */
+@Getter
+@Configuration
+public class AuditLogConfigurationParameter {
+
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final Path spillFile;
+    private final AuditPayloadMode payloadDefaultMode;
+    private final int payloadMaxSize;
+    private final double readSampleRate;
+    private final double readRateLimitPerSecond;
+    private final int retentionDays;
+    private final boolean exportEnabled;
+    private final Path exportDirectory;
+    private final int queryMaxWindowDays;
+
+    public AuditLogConfigurationParameter(
+            @Value("${audit.writer.queue-capacity:10000}") final int queueCapacity,
+            @Value("${audit.writer.batch-size:500}") final int batchSize,
+            @Value("${audit.writer.flush-interval-ms:1000}") final long flushIntervalMillis,
+            @Value("${audit.writer.overflow-policy:DROP}") final AuditOverflowPolicy overflowPolicy,
+            @Value("${audit.writer.block-timeout-ms:50}") final long blockTimeoutMillis,
+            @Value("${audit.writer.spill-file:logs/audit-spill.ndjson}") final String spillFile,
+            @Value("${audit.payload.default-mode:TRUNCATED}") final AuditPayloadMode payloadDefaultMode,
+            @Value("${audit.payload.max-size:2048}") final int payloadMaxSize,
+            @Value("${audit.sampling.read-rate:0.1}") final double readSampleRate,
+            @Value("${audit.sampling.read-rate-limit-per-second:100}") final double readRateLimitPerSecond,
+            @Value("${audit.storage.retention-days:30}") final int retentionDays,
+            @Value("${audit.storage.export-enabled:false}") final boolean exportEnabled,
+            @Value("${audit.storage.export-directory:logs/archive}") final String exportDirectory,
+            @Value("${audit.query.max-window-days:7}") final int queryMaxWindowDays) {
+
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.spillFile = Path.of(spillFile);
+        this.payloadDefaultMode = payloadDefaultMode;
+        this.payloadMaxSize = payloadMaxSize;
+        this.readSampleRate = readSampleRate;
+        this.readRateLimitPerSecond = readRateLimitPerSecond;
+        this.retentionDays = retentionDays;
+        this.exportEnabled = exportEnabled;
+        this.exportDirectory = Path.of(exportDirectory);
+        this.queryMaxWindowDays = queryMaxWindowDays;
+    }
+
+}
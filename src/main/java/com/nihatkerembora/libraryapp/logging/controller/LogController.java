@@ -0,0 +1,79 @@
+package com.nihatkerembora.libraryapp.logging.controller;
+
+import com.nihatkerembora.libraryapp.common.model.dto.response.CustomResponse;
+import com.nihatkerembora.libraryapp.logging.model.dto.response.LogResponse;
+import com.nihatkerembora.libraryapp.logging.model.mapper.LogMapper;
+import com.nihatkerembora.libraryapp.logging.service.LogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST controller for querying audit logs.
+ * <p>
+ * Serves the most recent records of a bounded time window straight from the daily bucket tables.
+ * </p>
+ */
+@Validated
+@RestController
+@RequestMapping("/api/v1/admin/logs")
+@RequiredArgsConstructor
+@Tag(name = "Audit Logs", description = "Queries recent audit log records.")
+public class LogController {
+
+    private static final int DEFAULT_WINDOW_HOURS = 1;
+
+    private final LogService logService;
+
+    /**
+     * Retrieves the most recent audit log records, newest first.
+     *
+     * @param from     optional inclusive lower bound of the record time, defaults to one hour before {@code to}
+     * @param to       optional exclusive upper bound of the record time, defaults to now
+     * @param status   optional HTTP status to filter by
+     * @param userInfo optional user info to filter by
+     * @param limit    the maximum number of records to return
+     * @return a {@link CustomResponse} containing the log records
+     */
+    @Operation(
+            summary = "List recent audit logs",
+            description = "Retrieves the most recent audit log records of a bounded time window.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Audit logs retrieved"),
+                    @ApiResponse(responseCode = "400", description = "Invalid time window or limit")
+            }
+    )
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    @GetMapping
+    public CustomResponse<List<LogResponse>> getRecentLogs(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) HttpStatus status,
+            @RequestParam(required = false) String userInfo,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+
+        final LocalDateTime windowEnd = Optional.ofNullable(to).orElseGet(LocalDateTime::now);
+        final LocalDateTime windowStart = Optional.ofNullable(from).orElseGet(() -> windowEnd.minusHours(DEFAULT_WINDOW_HOURS));
+
+        final List<LogResponse> logResponses = logService.getRecentLogs(windowStart, windowEnd, status, userInfo, limit)
+                .stream()
+                .map(LogMapper::toDto)
+                .toList();
+        return CustomResponse.successOf(logResponses);
+    }
+
+}
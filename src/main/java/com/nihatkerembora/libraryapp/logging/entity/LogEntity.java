@@ -13,6 +13,8 @@ import java.time.LocalDateTime;
  * Entity representing a log record in the system.
  * Logs are typically captured by AOP for auditing requests, responses, exceptions,
  * and user operations across the application.
+ * The {@code LOGS} table itself serves as the template of the daily {@code LOGS_yyyyMMdd} buckets
+ * the records are actually written to.
  */
 @Entity
 @Getter
@@ -21,7 +23,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
-@Table(name = "LOGS")
+@Table(
+        name = "LOGS",
+        indexes = @Index(name = "IDX_LOGS_TIME", columnList = "time")
+)
 public class LogEntity extends BaseEntity {
 
     @Id
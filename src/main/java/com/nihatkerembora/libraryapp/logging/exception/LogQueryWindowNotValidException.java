@@ -0,0 +1,20 @@
+package com.nihatkerembora.libraryapp.logging.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class LogQueryWindowNotValidException extends RuntimeException {
+
+    public static final HttpStatus STATUS = HttpStatus.BAD_REQUEST;
+
+    private static final String DEFAULT_MESSAGE = """
+            Log query window is not valid!
+            """;
+
+    public LogQueryWindowNotValidException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    public LogQueryWindowNotValidException(final String message) {
+        super(DEFAULT_MESSAGE + " " + message);
+    }
+}
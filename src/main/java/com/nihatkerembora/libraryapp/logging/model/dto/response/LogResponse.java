@@ -0,0 +1,27 @@
+package com.nihatkerembora.libraryapp.logging.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LogResponse {
+
+    private String id;
+    private String message;
+    private String endpoint;
+    private String method;
+    private String status;
+    private String userInfo;
+    private String errorType;
+    private String response;
+    private String operation;
+    private LocalDateTime time;
+}
@@ -0,0 +1,22 @@
+package com.nihatkerembora.libraryapp.logging.model.mapper;
+
+
+import com.nihatkerembora.libraryapp.logging.entity.LogEntity;
+import com.nihatkerembora.libraryapp.logging.model.dto.response.LogResponse;
+
+public class LogMapper {
+    public static LogResponse toDto(LogEntity l) {
+        return new LogResponse(
+                l.getId(),
+                l.getMessage(),
+                l.getEndpoint(),
+                l.getMethod(),
+                l.getStatus() == null ? null : l.getStatus().name(),
+                l.getUserInfo(),
+                l.getErrorType(),
+                l.getResponse(),
+                l.getOperation(),
+                l.getTime()
+        );
+    }
+}
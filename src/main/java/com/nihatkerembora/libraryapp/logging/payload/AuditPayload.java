@@ -0,0 +1,24 @@
+package com.nihatkerembora.libraryapp.logging.payload;
+
+import java.lang.annotation.*;
+
+/**
+ * Overrides the audit payload capture mode for a controller method or for all methods of a controller.
+ * A method level annotation takes precedence over a class level one.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AuditPayload {
+
+    /**
+     * @return the capture mode of the response payload
+     */
+    AuditPayloadMode value();
+
+    /**
+     * @return the maximum payload size in characters; a negative value uses the configured default
+     */
+    int maxSize() default -1;
+
+}
@@ -0,0 +1,33 @@
+package com.nihatkerembora.libraryapp.logging.payload;
+
+/**
+ * Defines how much of a controller's response is captured into an audit log record.
+ */
+public enum AuditPayloadMode {
+
+    /**
+     * Nothing of the response is stored.
+     */
+    NONE,
+
+    /**
+     * Only the response type and its size (where cheaply known) are stored.
+     */
+    METADATA,
+
+    /**
+     * The serialized response is stored up to the configured maximum payload size.
+     */
+    TRUNCATED,
+
+    /**
+     * Only a SHA-256 digest of the serialized response is stored.
+     */
+    HASHED,
+
+    /**
+     * The complete serialized response is stored.
+     */
+    FULL
+
+}
@@ -0,0 +1,73 @@
+package com.nihatkerembora.libraryapp.logging.payload;
+
+import com.nihatkerembora.libraryapp.logging.config.AuditLogConfigurationParameter;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+/**
+ * Decides how much of a controller response is captured into the audit log.
+ * <p>
+ * The capture mode and maximum size are taken from an {@link AuditPayload} annotation on the invoked
+ * controller method or its class, falling back to the configured defaults.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditPayloadPolicy {
+
+    private final AuditPayloadSerializer auditPayloadSerializer;
+    private final AuditLogConfigurationParameter configurationParameter;
+
+    /**
+     * Captures the result of the given controller invocation according to its payload policy.
+     *
+     * @param joinPoint the controller invocation
+     * @param result    the value returned from the controller method
+     * @return the captured payload, or {@code null} if nothing should be stored
+     */
+    public String capture(final JoinPoint joinPoint, final Object result) {
+
+        final Optional<AuditPayload> auditPayload = findAuditPayload(joinPoint);
+
+        final AuditPayloadMode mode = auditPayload
+                .map(AuditPayload::value)
+                .orElse(configurationParameter.getPayloadDefaultMode());
+
+        final int maxSize = auditPayload
+                .map(AuditPayload::maxSize)
+                .filter(size -> size >= 0)
+                .orElse(configurationParameter.getPayloadMaxSize());
+
+        return auditPayloadSerializer.serialize(result, mode, maxSize);
+    }
+
+    /**
+     * Describes the result of a controller invocation without serializing it.
+     *
+     * @param result the value returned from the controller method
+     * @return the response type and, where cheaply known, its size
+     */
+    public String describe(final Object result) {
+        return auditPayloadSerializer.describe(result);
+    }
+
+    private Optional<AuditPayload> findAuditPayload(final JoinPoint joinPoint) {
+
+        if (!(joinPoint.getSignature() instanceof MethodSignature methodSignature)) {
+            return Optional.empty();
+        }
+
+        final Method method = methodSignature.getMethod();
+        return Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(method, AuditPayload.class))
+                .or(() -> Optional.ofNullable(
+                        AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), AuditPayload.class)
+                ));
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.nihatkerembora.libraryapp.logging.payload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.http.HttpEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Converts controller results into bounded audit payload strings according to an {@link AuditPayloadMode}.
+ * <p>
+ * Objects are serialized with Jackson straight into a size-limited {@link Writer} or into a digest,
+ * so the complete serialized response is never materialized for the truncated and hashed modes.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditPayloadSerializer {
+
+    static final String TRUNCATION_MARKER = "...(truncated)";
+    private static final String HASH_PREFIX = "sha256:";
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Captures the given controller result.
+     *
+     * @param result  the value returned from the controller method
+     * @param mode    the capture mode
+     * @param maxSize the maximum number of characters stored in {@link AuditPayloadMode#TRUNCATED} mode
+     * @return the captured payload, or {@code null} if nothing should be stored
+     */
+    public String serialize(final Object result, final AuditPayloadMode mode, final int maxSize) {
+
+        final Object body = result instanceof HttpEntity<?> httpEntity ? httpEntity.getBody() : result;
+
+        if (body == null || mode == AuditPayloadMode.NONE) {
+            return null;
+        }
+
+        if (body instanceof Publisher<?>) {
+            return describe(body);
+        }
+
+        return switch (mode) {
+            case METADATA -> describe(body);
+            case TRUNCATED -> truncate(body, maxSize);
+            case HASHED -> hash(body);
+            case FULL -> full(body);
+            case NONE -> null;
+        };
+    }
+
+    /**
+     * Returns a short description of the given value: its type and, where cheaply known, its size.
+     *
+     * @param value the value to describe
+     * @return the description
+     */
+    public String describe(final Object value) {
+
+        final Object body = value instanceof HttpEntity<?> httpEntity ? httpEntity.getBody() : value;
+
+        if (body == null) {
+            return null;
+        }
+
+        final String type = body.getClass().getSimpleName();
+        return switch (body) {
+            case byte[] bytes -> type + "[length=" + bytes.length + "]";
+            case CharSequence charSequence -> type + "[length=" + charSequence.length() + "]";
+            case Collection<?> collection -> type + "[size=" + collection.size() + "]";
+            case Map<?, ?> map -> type + "[size=" + map.size() + "]";
+            default -> type;
+        };
+    }
+
+    private String truncate(final Object body, final int maxSize) {
+
+        if (body instanceof byte[]) {
+            return describe(body);
+        }
+
+        if (body instanceof CharSequence charSequence) {
+            return charSequence.length() <= maxSize
+                    ? charSequence.toString()
+                    : charSequence.subSequence(0, maxSize) + TRUNCATION_MARKER;
+        }
+
+        final BoundedWriter writer = new BoundedWriter(maxSize);
+        try {
+            objectMapper.writeValue(writer, body);
+        } catch (IOException e) {
+            if (!writer.isLimitReached()) {
+                return describe(body);
+            }
+        }
+        return writer.isLimitReached() ? writer + TRUNCATION_MARKER : writer.toString();
+    }
+
+    private String hash(final Object body) {
+
+        final MessageDigest messageDigest = sha256();
+
+        if (body instanceof byte[] bytes) {
+            messageDigest.update(bytes);
+        } else if (body instanceof CharSequence charSequence) {
+            messageDigest.update(charSequence.toString().getBytes(StandardCharsets.UTF_8));
+        } else {
+            try (DigestOutputStream digestOutputStream = new DigestOutputStream(OutputStream.nullOutputStream(), messageDigest)) {
+                objectMapper.writeValue(digestOutputStream, body);
+            } catch (IOException e) {
+                return describe(body);
+            }
+        }
+
+        return HASH_PREFIX + HexFormat.of().formatHex(messageDigest.digest());
+    }
+
+    private String full(final Object body) {
+
+        if (body instanceof CharSequence charSequence) {
+            return charSequence.toString();
+        }
+
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            return describe(body);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * {@link Writer} that keeps at most {@code limit} characters and aborts the serialization once it is exceeded.
+     */
+    private static final class BoundedWriter extends Writer {
+
+        private final StringBuilder buffer;
+        private final int limit;
+        private boolean limitReached;
+
+        private BoundedWriter(final int limit) {
+            this.limit = Math.max(0, limit);
+            this.buffer = new StringBuilder(Math.min(this.limit, 1024));
+        }
+
+        @Override
+        public void write(final char[] chars, final int offset, final int length) throws IOException {
+
+            if (limitReached) {
+                throw new IOException("Audit payload limit reached");
+            }
+
+            final int remaining = limit - buffer.length();
+            if (length > remaining) {
+                buffer.append(chars, offset, remaining);
+                limitReached = true;
+                throw new IOException("Audit payload limit reached");
+            }
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private boolean isLimitReached() {
+            return limitReached;
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+
+    }
+
+}
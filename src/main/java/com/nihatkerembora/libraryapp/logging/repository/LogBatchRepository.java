@@ -0,0 +1,84 @@
+package com.nihatkerembora.libraryapp.logging.repository;
+
+import com.nihatkerembora.libraryapp.logging.entity.LogEntity;
+import com.nihatkerembora.libraryapp.logging.storage.LogBucketManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC based repository that inserts {@link LogEntity} records into the daily {@code LOGS_yyyyMMdd}
+ * bucket tables in batches. Bypasses the persistence context so that many records can be written
+ * with a single round trip per bucket. Records whose ID already exists in the bucket are skipped, so a batch
+ * can be written again after a partial failure.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LogBatchRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO %s (ID, MESSAGE, ENDPOINT, METHOD, STATUS, USER_INFO, ERROR_TYPE, RESPONSE,
+                            OPERATION, TIME, CREATED_AT, CREATED_BY)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (ID) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LogBucketManager logBucketManager;
+
+    /**
+     * Inserts the given log records using one JDBC batch per daily bucket, creating buckets as needed.
+     * Records without an ID are given one, which they keep if they have to be written again.
+     *
+     * @param logEntities the log records to insert
+     */
+    public void insertAll(final List<LogEntity> logEntities) {
+
+        logEntities.stream()
+                .filter(logEntity -> logEntity.getId() == null)
+                .forEach(logEntity -> logEntity.setId(UUID.randomUUID().toString()));
+
+        final Map<LocalDate, List<LogEntity>> logEntitiesByDay = logEntities.stream()
+                .collect(Collectors.groupingBy(LogBatchRepository::bucketDay, TreeMap::new, Collectors.toList()));
+
+        logEntitiesByDay.forEach((day, dayLogEntities) -> insertAll(logBucketManager.ensureBucket(day), dayLogEntities));
+    }
+
+    private void insertAll(final String tableName, final List<LogEntity> logEntities) {
+        jdbcTemplate.batchUpdate(INSERT_SQL.formatted(tableName), logEntities, logEntities.size(), (ps, logEntity) -> {
+            ps.setString(1, logEntity.getId());
+            ps.setString(2, logEntity.getMessage());
+            ps.setString(3, logEntity.getEndpoint());
+            ps.setString(4, logEntity.getMethod());
+            ps.setString(5, logEntity.getStatus() == null ? null : logEntity.getStatus().name());
+            ps.setString(6, logEntity.getUserInfo());
+            ps.setString(7, logEntity.getErrorType());
+            ps.setString(8, logEntity.getResponse());
+            ps.setString(9, logEntity.getOperation());
+            ps.setTimestamp(10, toTimestamp(logEntity.getTime()));
+            ps.setTimestamp(11, toTimestamp(logEntity.getCreatedAt()));
+            ps.setString(12, logEntity.getCreatedBy());
+        });
+    }
+
+    private static LocalDate bucketDay(final LogEntity logEntity) {
+        return Optional.ofNullable(logEntity.getTime())
+                .map(LocalDateTime::toLocalDate)
+                .orElseGet(LocalDate::now);
+    }
+
+    private static Timestamp toTimestamp(final LocalDateTime localDateTime) {
+        return localDateTime == null ? null : Timestamp.valueOf(localDateTime);
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.nihatkerembora.libraryapp.logging.repository;
+
+import com.nihatkerembora.libraryapp.logging.entity.LogEntity;
+import com.nihatkerembora.libraryapp.logging.storage.LogBucketManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC based repository that reads {@link LogEntity} records from the daily {@code LOGS_yyyyMMdd} bucket tables.
+ * <p>
+ * Only the buckets overlapping the requested window are queried. Each bucket contributes at most
+ * {@code limit} rows selected through its {@code TIME} index, and the partial results are merged
+ * with a single {@code UNION ALL}.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class LogQueryRepository {
+
+    private static final String COLUMNS = """
+            ID, MESSAGE, ENDPOINT, METHOD, STATUS, USER_INFO, ERROR_TYPE, RESPONSE, OPERATION, TIME, CREATED_AT, CREATED_BY\
+            """;
+
+    private static final RowMapper<LogEntity> ROW_MAPPER = (resultSet, rowNum) -> {
+        final LogEntity logEntity = LogEntity.builder()
+                .id(resultSet.getString("ID"))
+                .message(resultSet.getString("MESSAGE"))
+                .endpoint(resultSet.getString("ENDPOINT"))
+                .method(resultSet.getString("METHOD"))
+                .status(resultSet.getString("STATUS") == null ? null : HttpStatus.valueOf(resultSet.getString("STATUS")))
+                .userInfo(resultSet.getString("USER_INFO"))
+                .errorType(resultSet.getString("ERROR_TYPE"))
+                .response(resultSet.getString("RESPONSE"))
+                .operation(resultSet.getString("OPERATION"))
+                .time(toLocalDateTime(resultSet.getTimestamp("TIME")))
+                .build();
+        logEntity.setCreatedAt(toLocalDateTime(resultSet.getTimestamp("CREATED_AT")));
+        logEntity.setCreatedBy(resultSet.getString("CREATED_BY"));
+        return logEntity;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LogBucketManager logBucketManager;
+
+    /**
+     * Finds the most recent log records in the given time window, newest first.
+     *
+     * @param from     the inclusive lower bound of the record time
+     * @param to       the exclusive upper bound of the record time
+     * @param status   optional HTTP status to filter by
+     * @param userInfo optional user info to filter by
+     * @param limit    the maximum number of records to return
+     * @return the matching log records
+     */
+    public List<LogEntity> findRecent(final LocalDateTime from,
+                                      final LocalDateTime to,
+                                      final HttpStatus status,
+                                      final String userInfo,
+                                      final int limit) {
+
+        final LocalDate firstDay = from.toLocalDate();
+        final LocalDate lastDay = to.toLocalDate();
+        final List<String> tableNames = logBucketManager.findBucketDays().stream()
+                .filter(day -> !day.isBefore(firstDay) && !day.isAfter(lastDay))
+                .map(logBucketManager::tableName)
+                .toList();
+
+        if (tableNames.isEmpty()) {
+            return List.of();
+        }
+
+        final StringBuilder filter = new StringBuilder("TIME >= ? AND TIME < ?");
+        final List<Object> filterArguments = new ArrayList<>(List.of(Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        if (status != null) {
+            filter.append(" AND STATUS = ?");
+            filterArguments.add(status.name());
+        }
+        if (userInfo != null) {
+            filter.append(" AND USER_INFO = ?");
+            filterArguments.add(userInfo);
+        }
+
+        final String bucketQueries = tableNames.stream()
+                .map(tableName -> "(SELECT " + COLUMNS + " FROM " + tableName
+                        + " WHERE " + filter + " ORDER BY TIME DESC LIMIT ?)")
+                .collect(Collectors.joining(" UNION ALL "));
+
+        final List<Object> arguments = new ArrayList<>();
+        tableNames.forEach(tableName -> {
+            arguments.addAll(filterArguments);
+            arguments.add(limit);
+        });
+        arguments.add(limit);
+
+        return jdbcTemplate.query(
+                "SELECT * FROM (" + bucketQueries + ") RECENT_LOGS ORDER BY TIME DESC LIMIT ?",
+                ROW_MAPPER,
+                arguments.toArray()
+        );
+    }
+
+    private static LocalDateTime toLocalDateTime(final Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.nihatkerembora.libraryapp.logging.sampling;
+
+import com.nihatkerembora.libraryapp.logging.config.AuditLogConfigurationParameter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a successful controller invocation is written to the audit log.
+ * <p>
+ * Write requests ({@code POST}, {@code PUT}, {@code PATCH}, {@code DELETE}) are always audited, as are
+ * failures, which do not pass through this sampler. Read requests are sampled at the rate given by an
+ * {@link AuditSampling} annotation or the configured default, and the sampled reads are additionally
+ * capped by a {@link TokenBucketRateLimiter} so a traffic spike cannot turn into a write storm on {@code LOGS}.
+ * </p>
+ * <p>
+ * Skipped reads are counted in {@code audit.log.skipped}, tagged by {@code reason}
+ * ({@code sampled_out} or {@code rate_limited}).
+ * </p>
+ */
+@Component
+public class AuditSampler {
+
+    private static final Set<String> READ_METHODS = Set.of(
+            HttpMethod.GET.name(),
+            HttpMethod.HEAD.name(),
+            HttpMethod.OPTIONS.name()
+    );
+
+    private final double defaultReadSampleRate;
+    private final TokenBucketRateLimiter readRateLimiter;
+    private final Counter sampledOutCounter;
+    private final Counter rateLimitedCounter;
+
+    public AuditSampler(final AuditLogConfigurationParameter configurationParameter,
+                        final MeterRegistry meterRegistry) {
+
+        this.defaultReadSampleRate = configurationParameter.getReadSampleRate();
+        this.readRateLimiter = new TokenBucketRateLimiter(
+                configurationParameter.getReadRateLimitPerSecond(),
+                configurationParameter.getReadRateLimitPerSecond()
+        );
+        this.sampledOutCounter = meterRegistry.counter("audit.log.skipped", "reason", "sampled_out");
+        this.rateLimitedCounter = meterRegistry.counter("audit.log.skipped", "reason", "rate_limited");
+    }
+
+    /**
+     * Decides whether the successful invocation should be audited.
+     *
+     * @param joinPoint  the controller invocation
+     * @param httpMethod the HTTP method of the request
+     * @return {@code true} if the invocation should be written to the audit log
+     */
+    public boolean shouldAudit(final JoinPoint joinPoint, final String httpMethod) {
+
+        if (!READ_METHODS.contains(httpMethod)) {
+            return true;
+        }
+
+        final double sampleRate = findAuditSampling(joinPoint)
+                .map(AuditSampling::value)
+                .orElse(defaultReadSampleRate);
+
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOutCounter.increment();
+            return false;
+        }
+
+        if (!readRateLimiter.tryAcquire()) {
+            rateLimitedCounter.increment();
+            return false;
+        }
+
+        return true;
+    }
+
+    private Optional<AuditSampling> findAuditSampling(final JoinPoint joinPoint) {
+
+        if (!(joinPoint.getSignature() instanceof MethodSignature methodSignature)) {
+            return Optional.empty();
+        }
+
+        final Method method = methodSignature.getMethod();
+        return Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(method, AuditSampling.class))
+                .or(() -> Optional.ofNullable(
+                        AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), AuditSampling.class)
+                ));
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.nihatkerembora.libraryapp.logging.sampling;
+
+import java.lang.annotation.*;
+
+/**
+ * Overrides the audit sampling rate of successful read requests for a controller method or for all
+ * methods of a controller. A method level annotation takes precedence over a class level one.
+ * Write requests and failed requests are always audited regardless of this annotation.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AuditSampling {
+
+    /**
+     * @return the fraction of successful read requests to audit, between {@code 0.0} (none) and {@code 1.0} (all)
+     */
+    double value();
+
+}
@@ -0,0 +1,61 @@
+package com.nihatkerembora.libraryapp.logging.sampling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe token bucket allowing a sustained number of permits per second with a bounded burst.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double permitsPerSecond;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+
+    private double availablePermits;
+    private long lastRefillNanos;
+
+    /**
+     * Creates a rate limiter that starts with a full bucket.
+     *
+     * @param permitsPerSecond the sustained rate of permits
+     * @param burst            the maximum number of permits that can be taken at once
+     */
+    public TokenBucketRateLimiter(final double permitsPerSecond, final double burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(final double permitsPerSecond, final double burst, final LongSupplier nanoClock) {
+
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive and burst at least 1");
+        }
+
+        this.permitsPerSecond = permitsPerSecond;
+        this.capacity = burst;
+        this.nanoClock = nanoClock;
+        this.availablePermits = burst;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a permit if one is available without waiting.
+     *
+     * @return {@code true} if a permit was taken; {@code false} if the rate is currently exceeded
+     */
+    public synchronized boolean tryAcquire() {
+
+        final long now = nanoClock.getAsLong();
+        availablePermits = Math.min(capacity, availablePermits + (now - lastRefillNanos) * permitsPerSecond / NANOS_PER_SECOND);
+        lastRefillNanos = now;
+
+        if (availablePermits < 1) {
+            return false;
+        }
+        availablePermits--;
+        return true;
+    }
+
+}
@@ -1,6 +1,10 @@
 package com.nihatkerembora.libraryapp.logging.service;
 
 import com.nihatkerembora.libraryapp.logging.entity.LogEntity;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Service interface for handling log-related operations.
@@ -9,9 +13,26 @@ public interface LogService {
 
     /**
      * Saves the provided {@link LogEntity} to the database.
+     * The record is persisted asynchronously, so this method does not wait for the insert.
      *
      * @param logEntity the log entity to persist
      */
     void saveLogToDatabase(final LogEntity logEntity);
 
+    /**
+     * Retrieves the most recent log records within the given time window, newest first.
+     *
+     * @param from     the inclusive lower bound of the record time
+     * @param to       the exclusive upper bound of the record time
+     * @param status   optional HTTP status to filter by
+     * @param userInfo optional user info to filter by
+     * @param limit    the maximum number of records to return
+     * @return the matching log records
+     */
+    List<LogEntity> getRecentLogs(final LocalDateTime from,
+                                  final LocalDateTime to,
+                                  final HttpStatus status,
+                                  final String userInfo,
+                                  final int limit);
+
 }
@@ -1,32 +1,79 @@
 package com.nihatkerembora.libraryapp.logging.service.impl;
 
+import com.nihatkerembora.libraryapp.logging.config.AuditLogConfigurationParameter;
 import com.nihatkerembora.libraryapp.logging.entity.LogEntity;
-import com.nihatkerembora.libraryapp.logging.repository.LogRepository;
+import com.nihatkerembora.libraryapp.logging.exception.LogQueryWindowNotValidException;
+import com.nihatkerembora.libraryapp.logging.repository.LogQueryRepository;
 import com.nihatkerembora.libraryapp.logging.service.LogService;
+import com.nihatkerembora.libraryapp.logging.writer.AuditLogWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Implementation of the {@link LogService} interface.
- * Handles persistence of log entries to the database.
+ * Hands log entries over to the asynchronous {@link AuditLogWriter}, which persists them in batches,
+ * and reads recent entries back from the daily bucket tables.
  */
 @Service
 @RequiredArgsConstructor
 public class LogServiceImpl implements LogService {
 
-    private final LogRepository logRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final LogQueryRepository logQueryRepository;
+    private final AuditLogConfigurationParameter configurationParameter;
 
     /**
-     * Saves the given {@link LogEntity} to the database with a current timestamp.
+     * Stamps the given {@link LogEntity} with the current timestamp and queues it for persistence.
+     * <p>
+     * The auditing fields are filled here because the current user is only known on the request thread.
+     * </p>
      *
      * @param logEntity the log to persist
      */
     @Override
     public void saveLogToDatabase(final LogEntity logEntity) {
         logEntity.setTime(LocalDateTime.now());
-        logRepository.save(logEntity);
+        logEntity.prePersist();
+        auditLogWriter.enqueue(logEntity);
+    }
+
+    /**
+     * Retrieves the most recent log records within the given time window.
+     * <p>
+     * The window is limited to {@code audit.query.max-window-days} so that a query only ever touches
+     * a bounded number of daily buckets.
+     * </p>
+     *
+     * @param from     the inclusive lower bound of the record time
+     * @param to       the exclusive upper bound of the record time
+     * @param status   optional HTTP status to filter by
+     * @param userInfo optional user info to filter by
+     * @param limit    the maximum number of records to return
+     * @return the matching log records
+     * @throws LogQueryWindowNotValidException if the window is empty or longer than allowed
+     */
+    @Override
+    public List<LogEntity> getRecentLogs(final LocalDateTime from,
+                                         final LocalDateTime to,
+                                         final HttpStatus status,
+                                         final String userInfo,
+                                         final int limit) {
+
+        if (!from.isBefore(to)) {
+            throw new LogQueryWindowNotValidException("'from' must be before 'to'");
+        }
+
+        final int maxWindowDays = configurationParameter.getQueryMaxWindowDays();
+        if (Duration.between(from, to).compareTo(Duration.ofDays(maxWindowDays)) > 0) {
+            throw new LogQueryWindowNotValidException("Window must not exceed " + maxWindowDays + " days");
+        }
+
+        return logQueryRepository.findRecent(from, to, status, userInfo, limit);
     }
 
 }
@@ -0,0 +1,105 @@
+package com.nihatkerembora.libraryapp.logging.storage;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nihatkerembora.libraryapp.logging.config.AuditLogConfigurationParameter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports a daily audit log bucket to a gzip compressed, newline-delimited JSON file on local disk.
+ * <p>
+ * Rows are streamed from the database with a cursor and written straight into the compressed file,
+ * so the bucket is never held in memory.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class LogBucketExporter {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final LogBucketManager logBucketManager;
+    private final AuditLogConfigurationParameter configurationParameter;
+
+    /**
+     * Writes all records of the bucket of the given day to {@code <export-directory>/LOGS_yyyyMMdd.ndjson.gz}.
+     *
+     * @param day the day of the bucket
+     * @return the path of the written archive
+     */
+    @Transactional(readOnly = true)
+    public Path export(final LocalDate day) {
+
+        final String tableName = logBucketManager.tableName(day);
+        final Path target = configurationParameter.getExportDirectory().resolve(tableName + ".ndjson.gz");
+        final Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try {
+            Files.createDirectories(target.getParent());
+
+            try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(temporary));
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+
+                generator.setPrettyPrinter(new MinimalPrettyPrinter(System.lineSeparator()));
+
+                jdbcTemplate.query(
+                        connection -> {
+                            final PreparedStatement statement = connection.prepareStatement(
+                                    "SELECT * FROM " + tableName + " ORDER BY TIME",
+                                    ResultSet.TYPE_FORWARD_ONLY,
+                                    ResultSet.CONCUR_READ_ONLY
+                            );
+                            statement.setFetchSize(FETCH_SIZE);
+                            return statement;
+                        },
+                        resultSet -> {
+                            try {
+                                writeRow(generator, resultSet);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+                );
+            }
+
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return target;
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeRow(final JsonGenerator generator, final ResultSet resultSet) throws IOException {
+        try {
+            final ResultSetMetaData metaData = resultSet.getMetaData();
+            generator.writeStartObject();
+            for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                generator.writeStringField(metaData.getColumnLabel(column), resultSet.getString(column));
+            }
+            generator.writeEndObject();
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+}
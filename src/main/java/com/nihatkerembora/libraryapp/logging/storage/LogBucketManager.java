@@ -0,0 +1,92 @@
+package com.nihatkerembora.libraryapp.logging.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manages the daily {@code LOGS_yyyyMMdd} bucket tables audit log records are written to.
+ * <p>
+ * Each bucket is created on first use as a copy of the {@code LOGS} template table including its
+ * indexes, so removing a whole day of records is a single {@code DROP TABLE} instead of a mass delete.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LogBucketManager {
+
+    private static final String TEMPLATE_TABLE = "LOGS";
+    private static final String BUCKET_PREFIX = TEMPLATE_TABLE + "_";
+    private static final DateTimeFormatter BUCKET_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<LocalDate, String> createdBuckets = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the bucket table name of the given day.
+     *
+     * @param day the day of the bucket
+     * @return the bucket table name
+     */
+    public String tableName(final LocalDate day) {
+        return BUCKET_PREFIX + day.format(BUCKET_SUFFIX);
+    }
+
+    /**
+     * Creates the bucket table of the given day unless it already exists.
+     *
+     * @param day the day of the bucket
+     * @return the bucket table name
+     */
+    public String ensureBucket(final LocalDate day) {
+        return createdBuckets.computeIfAbsent(day, bucketDay -> {
+            final String tableName = tableName(bucketDay);
+            jdbcTemplate.execute(
+                    "CREATE TABLE IF NOT EXISTS " + tableName + " (LIKE " + TEMPLATE_TABLE + " INCLUDING ALL)"
+            );
+            return tableName;
+        });
+    }
+
+    /**
+     * Lists the days of all existing bucket tables, oldest first.
+     *
+     * @return the days that have a bucket table
+     */
+    public List<LocalDate> findBucketDays() {
+        return jdbcTemplate.queryForList("""
+                        SELECT table_name FROM information_schema.tables
+                        WHERE table_schema = current_schema() AND upper(table_name) LIKE ?
+                        """,
+                        String.class,
+                        BUCKET_PREFIX.replace("_", "\\_") + "%"
+                )
+                .stream()
+                .map(tableName -> tableName.toUpperCase(Locale.ROOT).substring(BUCKET_PREFIX.length()))
+                .filter(suffix -> suffix.matches("\\d{8}"))
+                .map(suffix -> LocalDate.parse(suffix, BUCKET_SUFFIX))
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Drops the bucket table of the given day with all of its records.
+     *
+     * @param day the day of the bucket
+     */
+    public void dropBucket(final LocalDate day) {
+        createdBuckets.remove(day);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + tableName(day));
+        log.info("Dropped audit log bucket {}", tableName(day));
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.nihatkerembora.libraryapp.logging.storage;
+
+import com.nihatkerembora.libraryapp.logging.config.AuditLogConfigurationParameter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Enforces the audit log retention window by dropping whole daily bucket tables.
+ * <p>
+ * Buckets older than {@code audit.storage.retention-days} are removed with a single {@code DROP TABLE},
+ * which takes constant time regardless of the number of records. When archival is enabled, each bucket
+ * is exported first and kept if the export fails, so no records are lost silently.
+ * </p>
+ * <p>
+ * Exposed metrics: {@code audit.log.buckets.dropped} and {@code audit.log.buckets.exported} (counters).
+ * </p>
+ */
+@Slf4j
+@Component
+public class LogRetentionScheduler {
+
+    private final LogBucketManager logBucketManager;
+    private final LogBucketExporter logBucketExporter;
+    private final AuditLogConfigurationParameter configurationParameter;
+    private final Counter droppedCounter;
+    private final Counter exportedCounter;
+
+    public LogRetentionScheduler(final LogBucketManager logBucketManager,
+                                 final LogBucketExporter logBucketExporter,
+                                 final AuditLogConfigurationParameter configurationParameter,
+                                 final MeterRegistry meterRegistry) {
+
+        this.logBucketManager = logBucketManager;
+        this.logBucketExporter = logBucketExporter;
+        this.configurationParameter = configurationParameter;
+        this.droppedCounter = meterRegistry.counter("audit.log.buckets.dropped");
+        this.exportedCounter = meterRegistry.counter("audit.log.buckets.exported");
+    }
+
+    /**
+     * Drops every bucket that is older than the retention window, exporting it beforehand if enabled.
+     *
+     * @return the number of dropped buckets
+     */
+    @Scheduled(cron = "${audit.storage.retention-cron:0 15 0 * * *}")
+    public int dropExpiredBuckets() {
+
+        final LocalDate oldestRetainedDay = LocalDate.now().minusDays(configurationParameter.getRetentionDays());
+        final List<LocalDate> expiredDays = logBucketManager.findBucketDays().stream()
+                .filter(day -> day.isBefore(oldestRetainedDay))
+                .toList();
+
+        int dropped = 0;
+        for (final LocalDate day : expiredDays) {
+
+            if (configurationParameter.isExportEnabled()) {
+                try {
+                    log.info("Exported audit log bucket {} to {}", day, logBucketExporter.export(day));
+                    exportedCounter.increment();
+                } catch (RuntimeException e) {
+                    log.error("Audit log bucket {} could not be exported, keeping it: {}", day, e.getMessage());
+                    continue;
+                }
+            }
+
+            logBucketManager.dropBucket(day);
+            droppedCounter.increment();
+            dropped++;
+        }
+
+        return dropped;
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.nihatkerembora.libraryapp.logging.writer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nihatkerembora.libraryapp.logging.entity.LogEntity;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Local newline-delimited JSON file that receives audit log records the in-memory queue could not hold.
+ * <p>
+ * Records are appended by request threads and drained by the writer thread. Draining first moves the
+ * file aside, so new records can keep being appended while the old ones are written to the database.
+ * </p>
+ * <p>
+ * A failed drain is retried from the start of the moved file, so every record is given its ID before it is
+ * spilled and batches that were already written are skipped by the idempotent insert.
+ * </p>
+ */
+@Slf4j
+class AuditLogSpillFile {
+
+    private final Path file;
+    private final Path drainingFile;
+    private final ObjectMapper objectMapper;
+
+    AuditLogSpillFile(final Path file, final ObjectMapper objectMapper) {
+        this.file = file;
+        this.drainingFile = file.resolveSibling(file.getFileName() + ".draining");
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Appends a single record to the spill file, assigning its ID first if it has none yet.
+     *
+     * @param logEntity the record to append
+     */
+    synchronized void append(final LogEntity logEntity) {
+        if (logEntity.getId() == null) {
+            logEntity.setId(UUID.randomUUID().toString());
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(
+                    file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(objectMapper.writeValueAsString(logEntity));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads all spilled records in batches and hands them to the given consumer.
+     * The spilled records are deleted only after every batch has been consumed successfully.
+     *
+     * @param batchSize     the maximum number of records per batch
+     * @param batchConsumer the consumer writing a batch to its destination
+     * @return the number of drained records
+     */
+    int drain(final int batchSize, final Consumer<List<LogEntity>> batchConsumer) {
+
+        try {
+            synchronized (this) {
+                if (Files.notExists(drainingFile)) {
+                    if (Files.notExists(file)) {
+                        return 0;
+                    }
+                    Files.move(file, drainingFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+
+            int drained = 0;
+            try (BufferedReader reader = Files.newBufferedReader(drainingFile, StandardCharsets.UTF_8)) {
+                final List<LogEntity> batch = new ArrayList<>(batchSize);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    batch.add(objectMapper.readValue(line, LogEntity.class));
+                    if (batch.size() == batchSize) {
+                        batchConsumer.accept(batch);
+                        drained += batch.size();
+                        batch.clear();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    batchConsumer.accept(batch);
+                    drained += batch.size();
+                }
+            }
+
+            Files.delete(drainingFile);
+            return drained;
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.nihatkerembora.libraryapp.logging.writer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nihatkerembora.libraryapp.logging.config.AuditLogConfigurationParameter;
+import com.nihatkerembora.libraryapp.logging.entity.LogEntity;
+import com.nihatkerembora.libraryapp.logging.repository.LogBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous, batching writer for audit {@link LogEntity} records.
+ * <p>
+ * Request threads only enqueue records into a bounded ring buffer; a single background thread drains it
+ * and writes the records with JDBC batch inserts as soon as either {@code batchSize} records are available
+ * or {@code flushIntervalMillis} has elapsed. When the buffer is full, the configured
+ * {@link AuditOverflowPolicy} decides whether the record is dropped, the caller briefly blocks,
+ * or the record is spilled to a local file that is written to the database once the writer is idle.
+ * </p>
+ * <p>
+ * Exposed metrics:
+ * <ul>
+ *     <li>{@code audit.log.queue.depth} - number of records waiting in the buffer</li>
+ *     <li>{@code audit.log.flush} - latency of a single batch insert</li>
+ *     <li>{@code audit.log.written} - records written to the database</li>
+ *     <li>{@code audit.log.dropped} - records lost, tagged by {@code reason} ({@code overflow} or {@code flush_failed})</li>
+ *     <li>{@code audit.log.spilled} - records written to the spill file</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    private final LogBatchRepository logBatchRepository;
+    private final AuditLogConfigurationParameter configurationParameter;
+    private final BlockingQueue<LogEntity> queue;
+    private final AuditLogSpillFile spillFile;
+
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter overflowDroppedCounter;
+    private final Counter flushFailedDroppedCounter;
+    private final Counter spilledCounter;
+
+    private Thread writerThread;
+    private volatile boolean running;
+
+    public AuditLogWriter(final LogBatchRepository logBatchRepository,
+                          final AuditLogConfigurationParameter configurationParameter,
+                          final ObjectMapper objectMapper,
+                          final MeterRegistry meterRegistry) {
+
+        this.logBatchRepository = logBatchRepository;
+        this.configurationParameter = configurationParameter;
+        this.queue = new ArrayBlockingQueue<>(configurationParameter.getQueueCapacity());
+        this.spillFile = new AuditLogSpillFile(configurationParameter.getSpillFile(), objectMapper);
+
+        meterRegistry.gaugeCollectionSize("audit.log.queue.depth", List.of(), queue);
+        this.flushTimer = meterRegistry.timer("audit.log.flush");
+        this.writtenCounter = meterRegistry.counter("audit.log.written");
+        this.overflowDroppedCounter = meterRegistry.counter("audit.log.dropped", "reason", "overflow");
+        this.flushFailedDroppedCounter = meterRegistry.counter("audit.log.dropped", "reason", "flush_failed");
+        this.spilledCounter = meterRegistry.counter("audit.log.spilled");
+    }
+
+    /**
+     * Starts the background writer thread.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = Thread.ofPlatform()
+                .name("audit-log-writer")
+                .daemon(true)
+                .start(this::run);
+    }
+
+    /**
+     * Stops the background writer thread after the remaining buffered records have been written.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Hands a record over to the writer without waiting for it to be persisted.
+     *
+     * @param logEntity the record to write
+     */
+    public void enqueue(final LogEntity logEntity) {
+
+        if (queue.offer(logEntity)) {
+            return;
+        }
+
+        switch (configurationParameter.getOverflowPolicy()) {
+            case DROP -> overflowDroppedCounter.increment();
+            case BLOCK -> blockUntilEnqueued(logEntity);
+            case SPILL -> spill(logEntity);
+        }
+    }
+
+    private void blockUntilEnqueued(final LogEntity logEntity) {
+        try {
+            if (!queue.offer(logEntity, configurationParameter.getBlockTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                overflowDroppedCounter.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            overflowDroppedCounter.increment();
+        }
+    }
+
+    private void spill(final LogEntity logEntity) {
+        try {
+            spillFile.append(logEntity);
+            spilledCounter.increment();
+        } catch (RuntimeException e) {
+            log.error("Audit log record could not be spilled: {}", e.getMessage());
+            overflowDroppedCounter.increment();
+        }
+    }
+
+    private void run() {
+
+        while (running || !queue.isEmpty()) {
+
+            final List<LogEntity> batch = new ArrayList<>(configurationParameter.getBatchSize());
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                queue.drainTo(batch, configurationParameter.getBatchSize() - batch.size());
+            }
+
+            if (batch.isEmpty()) {
+                drainSpillFile();
+            } else {
+                flush(batch);
+            }
+        }
+
+        log.info("Audit log writer stopped");
+    }
+
+    /**
+     * Fills the batch until it is full or the flush interval has elapsed since the first poll.
+     */
+    private void collectBatch(final List<LogEntity> batch) throws InterruptedException {
+
+        final int batchSize = configurationParameter.getBatchSize();
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(configurationParameter.getFlushIntervalMillis());
+
+        while (batch.size() < batchSize) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            final LogEntity logEntity = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (logEntity == null) {
+                return;
+            }
+            batch.add(logEntity);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void flush(final List<LogEntity> batch) {
+        try {
+            flushTimer.record(() -> logBatchRepository.insertAll(batch));
+            writtenCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            log.error("Audit log batch of {} records could not be written: {}", batch.size(), e.getMessage());
+            if (configurationParameter.getOverflowPolicy() == AuditOverflowPolicy.SPILL) {
+                batch.forEach(this::spill);
+            } else {
+                flushFailedDroppedCounter.increment(batch.size());
+            }
+        }
+    }
+
+    private void drainSpillFile() {
+        if (configurationParameter.getOverflowPolicy() != AuditOverflowPolicy.SPILL) {
+            return;
+        }
+        try {
+            final int drained = spillFile.drain(configurationParameter.getBatchSize(), batch -> {
+                flushTimer.record(() -> logBatchRepository.insertAll(batch));
+                writtenCounter.increment(batch.size());
+            });
+            if (drained > 0) {
+                log.info("Wrote {} spilled audit log records", drained);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Spilled audit log records could not be written yet: {}", e.getMessage());
+        }
+    }
+
+}
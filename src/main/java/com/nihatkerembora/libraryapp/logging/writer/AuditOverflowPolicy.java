@@ -0,0 +1,23 @@
+package com.nihatkerembora.libraryapp.logging.writer;
+
+/**
+ * Strategy applied by {@link AuditLogWriter} when its queue is full.
+ */
+public enum AuditOverflowPolicy {
+
+    /**
+     * Discard the new log record immediately.
+     */
+    DROP,
+
+    /**
+     * Wait up to the configured block timeout for free space, then discard the record.
+     */
+    BLOCK,
+
+    /**
+     * Append the record to a local spill file, which is written to the database once the writer is idle.
+     */
+    SPILL
+
+}
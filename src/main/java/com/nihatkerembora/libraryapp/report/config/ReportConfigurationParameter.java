@@ -0,0 +1,32 @@
+package com.nihatkerembora.libraryapp.report.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration parameters of the background report jobs.
+ * Every value can be overridden through the corresponding {@code report.*} application property.
+ */
+@Getter
+@Configuration
+public class ReportConfigurationParameter {
+
+    private final Path storageDirectory;
+    private final Duration timeToLive;
+    private final int workerThreads;
+
+    public ReportConfigurationParameter(
+            @Value("${report.storage.directory:reports}") final String storageDirectory,
+            @Value("${report.cache.ttl-ms:600000}") final long timeToLiveMillis,
+            @Value("${report.worker.threads:2}") final int workerThreads) {
+
+        this.storageDirectory = Path.of(storageDirectory);
+        this.timeToLive = Duration.ofMillis(timeToLiveMillis);
+        this.workerThreads = workerThreads;
+    }
+
+}
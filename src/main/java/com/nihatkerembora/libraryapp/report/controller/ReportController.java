@@ -0,0 +1,138 @@
+package com.nihatkerembora.libraryapp.report.controller;
+
+import com.nihatkerembora.libraryapp.logging.payload.AuditPayload;
+import com.nihatkerembora.libraryapp.logging.payload.AuditPayloadMode;
+import com.nihatkerembora.libraryapp.report.model.ReportJob;
+import com.nihatkerembora.libraryapp.report.model.dto.response.ReportJobResponse;
+import com.nihatkerembora.libraryapp.report.model.enums.ReportType;
+import com.nihatkerembora.libraryapp.report.model.mapper.ReportJobMapper;
+import com.nihatkerembora.libraryapp.report.service.ReportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+
+/**
+ * REST controller for background report jobs.
+ * <p>
+ * A report is requested with a {@code POST}, which answers immediately with the job. The job can then be
+ * polled, or watched as Server-Sent Events until it finishes, and its artifact downloaded from local storage.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/reports")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyAuthority('ADMIN')")
+@Tag(name = "Reports", description = "Generates reports in the background.")
+public class ReportController {
+
+    private final ReportJobService reportJobService;
+
+    /**
+     * Requests a report. Identical in-flight or recently generated reports are reused.
+     *
+     * @param type the report to generate
+     * @return the job producing the report
+     */
+    @Operation(
+            summary = "Request a report",
+            description = "Starts generating the report in the background, or returns the job of an identical report that is in progress or still cached.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Report job accepted"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden")
+            }
+    )
+    @PostMapping("/{type}")
+    public ResponseEntity<ReportJobResponse> submit(@PathVariable ReportType type) {
+        ReportJob job = reportJobService.submit(type);
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/v1/reports/" + job.getId()))
+                .body(ReportJobMapper.toDto(job));
+    }
+
+    /**
+     * Retrieves the state of a report job.
+     *
+     * @param jobId the id of the job
+     * @return the job
+     */
+    @Operation(
+            summary = "Get report job",
+            description = "Retrieves the current state of a report job.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Report job found"),
+                    @ApiResponse(responseCode = "404", description = "Report job not found or expired")
+            }
+    )
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ReportJobResponse> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(ReportJobMapper.toDto(reportJobService.getJob(jobId)));
+    }
+
+    /**
+     * Streams the state of a report job: the current state right away and the final state once the job finishes.
+     *
+     * @param jobId the id of the job
+     * @return a Flux of {@link ReportJobResponse} sent as Server-Sent Events
+     */
+    @Operation(
+            summary = "Watch report job",
+            description = "Streams the current state of a report job and completes after sending its final state.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Streaming report job states as Server-Sent Events"),
+                    @ApiResponse(responseCode = "404", description = "Report job not found or expired")
+            }
+    )
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @AuditPayload(AuditPayloadMode.METADATA)
+    public Flux<ReportJobResponse> watchJob(@PathVariable String jobId) {
+        ReportJob job = reportJobService.getJob(jobId);
+        if (!job.isInProgress()) {
+            return Flux.just(ReportJobMapper.toDto(job));
+        }
+        return Flux.concat(
+                Flux.just(ReportJobMapper.toDto(job)),
+                reportJobService.awaitCompletion(jobId).map(ReportJobMapper::toDto)
+        );
+    }
+
+    /**
+     * Downloads the artifact of a completed report job.
+     *
+     * @param jobId the id of the job
+     * @return the report file as an attachment
+     */
+    @Operation(
+            summary = "Download report",
+            description = "Downloads the artifact of a completed report job.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Report downloaded"),
+                    @ApiResponse(responseCode = "404", description = "Report job not found or expired"),
+                    @ApiResponse(responseCode = "409", description = "Report is not completed yet or failed")
+            }
+    )
+    @GetMapping("/{jobId}/file")
+    @AuditPayload(AuditPayloadMode.METADATA)
+    public ResponseEntity<Resource> download(@PathVariable String jobId) {
+        ReportJob job = reportJobService.getCompletedJob(jobId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(job.getType().getFileName()).build().toString())
+                .contentType(job.getType().getContentType())
+                .contentLength(job.getSize())
+                .body(new FileSystemResource(job.getFile()));
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.nihatkerembora.libraryapp.report.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ReportJobNotFoundException extends RuntimeException {
+
+    public static final HttpStatus STATUS = HttpStatus.NOT_FOUND;
+
+    private static final String DEFAULT_MESSAGE = """
+            Report job not found!
+            """;
+
+    public ReportJobNotFoundException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    public ReportJobNotFoundException(final String message) {
+        super(DEFAULT_MESSAGE + " " + message);
+    }
+}
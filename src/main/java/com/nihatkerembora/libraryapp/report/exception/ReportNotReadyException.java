@@ -0,0 +1,20 @@
+package com.nihatkerembora.libraryapp.report.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ReportNotReadyException extends RuntimeException {
+
+    public static final HttpStatus STATUS = HttpStatus.CONFLICT;
+
+    private static final String DEFAULT_MESSAGE = """
+            Report is not ready!
+            """;
+
+    public ReportNotReadyException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    public ReportNotReadyException(final String message) {
+        super(DEFAULT_MESSAGE + " " + message);
+    }
+}
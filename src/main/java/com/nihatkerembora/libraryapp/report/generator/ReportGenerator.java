@@ -0,0 +1,27 @@
+package com.nihatkerembora.libraryapp.report.generator;
+
+import com.nihatkerembora.libraryapp.report.model.enums.ReportType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Renders one {@link ReportType}. Implementations are picked up as beans and run on the report worker threads,
+ * without the security context of the user who requested the report.
+ */
+public interface ReportGenerator {
+
+    /**
+     * @return the report type rendered by this generator
+     */
+    ReportType getType();
+
+    /**
+     * Writes the report to the given stream without closing it.
+     *
+     * @param outputStream the stream the report is written to
+     * @throws IOException if the report cannot be written
+     */
+    void generate(OutputStream outputStream) throws IOException;
+
+}
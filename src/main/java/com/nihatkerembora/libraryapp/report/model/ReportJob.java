@@ -0,0 +1,75 @@
+package com.nihatkerembora.libraryapp.report.model;
+
+import com.nihatkerembora.libraryapp.report.model.enums.ReportJobStatus;
+import com.nihatkerembora.libraryapp.report.model.enums.ReportType;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-memory state of a single report job.
+ * <p>
+ * A job is written by exactly one worker thread and read by any number of request threads; its
+ * {@link #getCompletion() completion} future is completed once the job is {@link ReportJobStatus#COMPLETED}
+ * or {@link ReportJobStatus#FAILED}.
+ * </p>
+ */
+@Getter
+public class ReportJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final ReportType type;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final CompletableFuture<ReportJob> completion = new CompletableFuture<>();
+
+    private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+    private volatile LocalDateTime completedAt;
+    private volatile LocalDateTime expiresAt;
+    private volatile Path file;
+    private volatile long size;
+    private volatile String error;
+
+    public ReportJob(final ReportType type) {
+        this.type = type;
+    }
+
+    public void markRunning() {
+        this.status = ReportJobStatus.RUNNING;
+    }
+
+    public void complete(final Path file, final long size, final LocalDateTime expiresAt) {
+        this.file = file;
+        this.size = size;
+        this.completedAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+        this.status = ReportJobStatus.COMPLETED;
+        completion.complete(this);
+    }
+
+    public void fail(final String error, final LocalDateTime expiresAt) {
+        this.error = error;
+        this.completedAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+        this.status = ReportJobStatus.FAILED;
+        completion.complete(this);
+    }
+
+    /**
+     * @return {@code true} while the job is queued or running
+     */
+    public boolean isInProgress() {
+        return status == ReportJobStatus.QUEUED || status == ReportJobStatus.RUNNING;
+    }
+
+    /**
+     * @param now the current time
+     * @return {@code true} if the job has finished and its retention period is over
+     */
+    public boolean isExpired(final LocalDateTime now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+}
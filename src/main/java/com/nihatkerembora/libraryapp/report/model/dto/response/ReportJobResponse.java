@@ -0,0 +1,26 @@
+package com.nihatkerembora.libraryapp.report.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.nihatkerembora.libraryapp.report.model.enums.ReportJobStatus;
+import com.nihatkerembora.libraryapp.report.model.enums.ReportType;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReportJobResponse {
+
+    private String id;
+    private ReportType type;
+    private ReportJobStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+    private Long size;
+    private String error;
+    private String downloadUrl;
+
+}
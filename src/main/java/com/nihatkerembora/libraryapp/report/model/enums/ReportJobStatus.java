@@ -0,0 +1,8 @@
+package com.nihatkerembora.libraryapp.report.model.enums;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
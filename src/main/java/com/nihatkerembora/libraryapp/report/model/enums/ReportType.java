@@ -0,0 +1,19 @@
+package com.nihatkerembora.libraryapp.report.model.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+/**
+ * Reports that can be generated in the background, with the file name and content type of their artifact.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ReportType {
+
+    OVERDUE_BORROWINGS("overdue_borrowings.pdf", MediaType.APPLICATION_PDF);
+
+    private final String fileName;
+    private final MediaType contentType;
+
+}
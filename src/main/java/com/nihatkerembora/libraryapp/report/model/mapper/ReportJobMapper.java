@@ -0,0 +1,23 @@
+package com.nihatkerembora.libraryapp.report.model.mapper;
+
+import com.nihatkerembora.libraryapp.report.model.ReportJob;
+import com.nihatkerembora.libraryapp.report.model.dto.response.ReportJobResponse;
+import com.nihatkerembora.libraryapp.report.model.enums.ReportJobStatus;
+
+public class ReportJobMapper {
+
+    public static ReportJobResponse toDto(ReportJob job) {
+        boolean completed = job.getStatus() == ReportJobStatus.COMPLETED;
+        return ReportJobResponse.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .createdAt(job.getCreatedAt())
+                .completedAt(job.getCompletedAt())
+                .expiresAt(job.getExpiresAt())
+                .size(completed ? job.getSize() : null)
+                .error(job.getError())
+                .downloadUrl(completed ? "/api/v1/reports/" + job.getId() + "/file" : null)
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.nihatkerembora.libraryapp.report.service;
+
+import com.nihatkerembora.libraryapp.report.model.ReportJob;
+import com.nihatkerembora.libraryapp.report.model.enums.ReportType;
+import reactor.core.publisher.Mono;
+
+public interface ReportJobService {
+
+    /**
+     * Requests a report. An identical report that is still being generated, or whose artifact has not
+     * expired yet, is returned instead of starting a new job.
+     *
+     * @param type the report to generate
+     * @return the job producing the report
+     */
+    ReportJob submit(ReportType type);
+
+    /**
+     * @param jobId the id of the job
+     * @return the job
+     * @throws com.nihatkerembora.libraryapp.report.exception.ReportJobNotFoundException if the job does not exist or has expired
+     */
+    ReportJob getJob(String jobId);
+
+    /**
+     * @param jobId the id of the job
+     * @return a {@link Mono} emitting the job once it has completed or failed
+     */
+    Mono<ReportJob> awaitCompletion(String jobId);
+
+    /**
+     * @param jobId the id of the job
+     * @return the completed job whose artifact can be downloaded
+     * @throws com.nihatkerembora.libraryapp.report.exception.ReportNotReadyException if the job has not completed successfully
+     */
+    ReportJob getCompletedJob(String jobId);
+
+}
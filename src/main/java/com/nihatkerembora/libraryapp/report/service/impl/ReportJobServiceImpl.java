@@ -0,0 +1,184 @@
+package com.nihatkerembora.libraryapp.report.service.impl;
+
+import com.nihatkerembora.libraryapp.report.config.ReportConfigurationParameter;
+import com.nihatkerembora.libraryapp.report.exception.ReportJobNotFoundException;
+import com.nihatkerembora.libraryapp.report.exception.ReportNotReadyException;
+import com.nihatkerembora.libraryapp.report.generator.ReportGenerator;
+import com.nihatkerembora.libraryapp.report.model.ReportJob;
+import com.nihatkerembora.libraryapp.report.model.enums.ReportJobStatus;
+import com.nihatkerembora.libraryapp.report.model.enums.ReportType;
+import com.nihatkerembora.libraryapp.report.service.ReportJobService;
+import com.nihatkerembora.libraryapp.report.storage.ReportFileStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs report jobs on a small, dedicated worker pool and keeps their artifacts on local disk for a limited time.
+ * <p>
+ * At most one job per {@link ReportType} is reused at a time: concurrent identical requests join the job
+ * that is already queued or running, and later requests are served from its artifact until it expires.
+ * Failed jobs are not reused, so the next request retries. Expired jobs and their artifacts are evicted
+ * periodically.
+ * </p>
+ * <p>
+ * Exposed metrics:
+ * <ul>
+ *     <li>{@code report.requests} - report requests, tagged by {@code result} ({@code started}, {@code joined} or {@code cached})</li>
+ *     <li>{@code report.generation} - generation latency, tagged by {@code type} and {@code outcome}</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+@Service
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private final Map<ReportType, ReportGenerator> generators = new EnumMap<>(ReportType.class);
+    private final ReportFileStore reportFileStore;
+    private final ReportConfigurationParameter configurationParameter;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<ReportType, ReportJob> currentJobs = new ConcurrentHashMap<>();
+
+    private final Counter startedCounter;
+    private final Counter joinedCounter;
+    private final Counter cachedCounter;
+
+    public ReportJobServiceImpl(final List<ReportGenerator> generators,
+                                final ReportFileStore reportFileStore,
+                                final ReportConfigurationParameter configurationParameter,
+                                final MeterRegistry meterRegistry) {
+
+        generators.forEach(generator -> this.generators.put(generator.getType(), generator));
+        this.reportFileStore = reportFileStore;
+        this.configurationParameter = configurationParameter;
+        this.meterRegistry = meterRegistry;
+        this.executor = Executors.newFixedThreadPool(
+                configurationParameter.getWorkerThreads(),
+                Thread.ofPlatform().name("report-worker-", 0).daemon(true).factory()
+        );
+
+        this.startedCounter = meterRegistry.counter("report.requests", "result", "started");
+        this.joinedCounter = meterRegistry.counter("report.requests", "result", "joined");
+        this.cachedCounter = meterRegistry.counter("report.requests", "result", "cached");
+    }
+
+    /**
+     * Stops the worker pool; jobs that are still running are interrupted.
+     */
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public ReportJob submit(final ReportType type) {
+
+        if (!generators.containsKey(type)) {
+            throw new IllegalArgumentException("No generator registered for report " + type);
+        }
+
+        final LocalDateTime now = LocalDateTime.now();
+        final ReportJob[] started = new ReportJob[1];
+
+        final ReportJob job = currentJobs.compute(type, (key, current) -> {
+            if (current != null && current.getStatus() != ReportJobStatus.FAILED && !current.isExpired(now)) {
+                return current;
+            }
+            started[0] = new ReportJob(key);
+            return started[0];
+        });
+
+        if (started[0] == null) {
+            (job.isInProgress() ? joinedCounter : cachedCounter).increment();
+            return job;
+        }
+
+        jobs.put(job.getId(), job);
+        startedCounter.increment();
+        executor.execute(() -> run(job));
+        return job;
+    }
+
+    @Override
+    public ReportJob getJob(final String jobId) {
+        return Optional.ofNullable(jobs.get(jobId))
+                .filter(job -> !job.isExpired(LocalDateTime.now()))
+                .orElseThrow(() -> new ReportJobNotFoundException("With given jobId = " + jobId));
+    }
+
+    @Override
+    public Mono<ReportJob> awaitCompletion(final String jobId) {
+        return Mono.fromFuture(getJob(jobId).getCompletion(), true);
+    }
+
+    @Override
+    public ReportJob getCompletedJob(final String jobId) {
+
+        final ReportJob job = getJob(jobId);
+
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new ReportNotReadyException("Job " + jobId + " is " + job.getStatus());
+        }
+        return job;
+    }
+
+    /**
+     * Removes expired jobs and deletes their artifacts.
+     */
+    @Scheduled(fixedDelayString = "${report.cache.eviction-interval-ms:60000}")
+    public void evictExpired() {
+
+        final LocalDateTime now = LocalDateTime.now();
+
+        jobs.values().removeIf(job -> {
+            if (!job.isExpired(now)) {
+                return false;
+            }
+            currentJobs.remove(job.getType(), job);
+            Optional.ofNullable(job.getFile()).ifPresent(reportFileStore::delete);
+            return true;
+        });
+    }
+
+    private void run(final ReportJob job) {
+
+        final ReportGenerator generator = generators.get(job.getType());
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        job.markRunning();
+
+        try {
+            final Path file = reportFileStore.write(job.getId(), generator::generate);
+            job.complete(file, Files.size(file), expiresAt());
+            sample.stop(meterRegistry.timer("report.generation", "type", job.getType().name(), "outcome", "completed"));
+        } catch (Exception e) {
+            log.error("Report job {} ({}) failed: {}", job.getId(), job.getType(), e.getMessage(), e);
+            currentJobs.remove(job.getType(), job);
+            job.fail(e.getMessage(), expiresAt());
+            sample.stop(meterRegistry.timer("report.generation", "type", job.getType().name(), "outcome", "failed"));
+        }
+    }
+
+    private LocalDateTime expiresAt() {
+        return LocalDateTime.now().plus(configurationParameter.getTimeToLive());
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.nihatkerembora.libraryapp.report.storage;
+
+import com.nihatkerembora.libraryapp.report.config.ReportConfigurationParameter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.stream.Stream;
+
+/**
+ * Stores generated report artifacts as files in the configured local storage directory.
+ * <p>
+ * A report is written to a temporary file that is atomically moved into place once it is complete,
+ * so a readable artifact is never partial. Job state lives in memory only, therefore artifacts left
+ * over from a previous run are removed on startup.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportFileStore {
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final ReportConfigurationParameter configurationParameter;
+
+    /**
+     * Callback that writes the content of an artifact.
+     */
+    @FunctionalInterface
+    public interface ReportContent {
+
+        void writeTo(OutputStream outputStream) throws IOException;
+
+    }
+
+    /**
+     * Removes the artifacts of a previous run.
+     */
+    @PostConstruct
+    public void purge() {
+
+        final Path directory = configurationParameter.getStorageDirectory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(Files::isRegularFile).forEach(this::delete);
+        } catch (IOException e) {
+            log.warn("Report storage directory {} could not be cleaned: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the artifact of the given job.
+     *
+     * @param jobId   the id of the job, used as the file name
+     * @param content the callback writing the artifact
+     * @return the path of the written artifact
+     * @throws IOException if the artifact cannot be written
+     */
+    public Path write(final String jobId, final ReportContent content) throws IOException {
+
+        final Path target = configurationParameter.getStorageDirectory().resolve(jobId);
+        final Path temporary = target.resolveSibling(jobId + TEMPORARY_SUFFIX);
+
+        Files.createDirectories(target.getParent());
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(temporary)) {
+                content.writeTo(outputStream);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return target;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Deletes the given artifact if it exists.
+     *
+     * @param file the artifact to delete
+     */
+    public void delete(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Report artifact {} could not be deleted: {}", file, e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.nihatkerembora.libraryapp.auth.scheduler;
+
+import com.nihatkerembora.libraryapp.auth.config.TokenConfigurationParameter;
+import com.nihatkerembora.libraryapp.auth.repository.InvalidTokenRepository;
+import com.nihatkerembora.libraryapp.base.AbstractBaseServiceTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class InvalidTokenPurgeSchedulerTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private InvalidTokenRepository invalidTokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private InvalidTokenPurgeScheduler invalidTokenPurgeScheduler;
+
+    private int batchSize;
+
+    @BeforeEach
+    void setUp() {
+        TokenConfigurationParameter tokenConfigurationParameter = new TokenConfigurationParameter();
+        batchSize = tokenConfigurationParameter.getInvalidTokenPurgeBatchSize();
+        meterRegistry = new SimpleMeterRegistry();
+        invalidTokenPurgeScheduler = new InvalidTokenPurgeScheduler(
+                invalidTokenRepository,
+                tokenConfigurationParameter,
+                meterRegistry
+        );
+    }
+
+    @Test
+    void purgeExpiredTokens_ShouldDeleteInBatchesUntilNothingIsLeft() {
+
+        // When
+        when(invalidTokenRepository.deleteExpiredBatch(any(), any(), eq(batchSize)))
+                .thenReturn(batchSize, batchSize, 7);
+        when(invalidTokenRepository.count()).thenReturn(42L);
+
+        // Then
+        long purged = invalidTokenPurgeScheduler.purgeExpiredTokens();
+
+        assertEquals(2L * batchSize + 7, purged);
+        assertEquals(2.0 * batchSize + 7, meterRegistry.counter("auth.invalid_tokens.purged").count());
+        assertEquals(42.0, meterRegistry.get("auth.invalid_tokens.table_size").gauge().value());
+
+        // Verify
+        verify(invalidTokenRepository, times(3)).deleteExpiredBatch(any(), any(), eq(batchSize));
+
+    }
+
+    @Test
+    void purgeExpiredTokens_ShouldRunSingleBatchWhenNothingExpired() {
+
+        // When
+        when(invalidTokenRepository.deleteExpiredBatch(any(), any(), eq(batchSize))).thenReturn(0);
+
+        // Then
+        assertEquals(0L, invalidTokenPurgeScheduler.purgeExpiredTokens());
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).deleteExpiredBatch(any(), any(), eq(batchSize));
+
+    }
+
+}
@@ -2,7 +2,6 @@ package com.nihatkerembora.libraryapp.auth.security;
 
 
 import com.nihatkerembora.libraryapp.auth.service.InvalidTokenService;
-import com.nihatkerembora.libraryapp.auth.service.TokenService;
 import com.nihatkerembora.libraryapp.base.AbstractBaseServiceTest;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +14,7 @@ import org.mockito.Mock;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,7 +25,7 @@ class CustomBearerTokenAuthenticationFilterTest extends AbstractBaseServiceTest
     private CustomBearerTokenAuthenticationFilter customBearerTokenAuthenticationFilter;
 
     @Mock
-    private TokenService tokenService;
+    private VerifiedTokenCache verifiedTokenCache;
 
     @Mock
     private InvalidTokenService invalidTokenService;
@@ -50,21 +50,25 @@ class CustomBearerTokenAuthenticationFilterTest extends AbstractBaseServiceTest
         HttpServletResponse response = mock(HttpServletResponse.class);
         FilterChain filterChain = mock(FilterChain.class);
 
+        Jwt principal = Jwt.withTokenValue(validJwt)
+                .header("alg", "RS256")
+                .jti(tokenId)
+                .subject("user")
+                .build();
+
         // When
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + validJwt);
-        when(tokenService.getId(validJwt)).thenReturn(tokenId);
-        when(tokenService.getAuthentication(validJwt)).thenReturn(new UsernamePasswordAuthenticationToken("user", null));
+        when(verifiedTokenCache.getAuthentication(validJwt)).thenReturn(new UsernamePasswordAuthenticationToken(principal, null));
 
         // Then
         customBearerTokenAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
-        assertEquals("user", SecurityContextHolder.getContext().getAuthentication().getName());
+        assertEquals(principal, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
 
         // Verify
-        verify(tokenService).verifyAndValidate(validJwt);
+        verify(verifiedTokenCache).getAuthentication(validJwt);
         verify(invalidTokenService).checkForInvalidityOfToken(tokenId);
-        verify(tokenService).getAuthentication(validJwt);
         verify(filterChain).doFilter(request, response);
 
     }
@@ -86,9 +90,8 @@ class CustomBearerTokenAuthenticationFilterTest extends AbstractBaseServiceTest
         assertNull(SecurityContextHolder.getContext().getAuthentication());
 
         // Verify
-        verify(tokenService, never()).verifyAndValidate(anyString());
+        verify(verifiedTokenCache, never()).getAuthentication(any());
         verify(invalidTokenService, never()).checkForInvalidityOfToken(any());
-        verify(tokenService, never()).getAuthentication(any());
         verify(filterChain).doFilter(request, response);
 
     }
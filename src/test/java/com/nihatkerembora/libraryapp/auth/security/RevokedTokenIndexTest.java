@@ -0,0 +1,226 @@
+package com.nihatkerembora.libraryapp.auth.security;
+
+import com.nihatkerembora.libraryapp.auth.config.TokenConfigurationParameter;
+import com.nihatkerembora.libraryapp.auth.repository.InvalidTokenRepository;
+import com.nihatkerembora.libraryapp.base.AbstractBaseServiceTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RevokedTokenIndexTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private InvalidTokenRepository invalidTokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RevokedTokenIndex revokedTokenIndex;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        revokedTokenIndex = new RevokedTokenIndex(
+                invalidTokenRepository,
+                new TokenConfigurationParameter(),
+                meterRegistry
+        );
+    }
+
+    @Test
+    void isRevoked_ShouldQueryDatabaseBeforeWarmUp() {
+
+        // Given
+        String tokenId = "token-id";
+
+        // When
+        when(invalidTokenRepository.existsByTokenId(tokenId)).thenReturn(false);
+
+        // Then
+        assertFalse(revokedTokenIndex.isRevoked(tokenId));
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).existsByTokenId(tokenId);
+
+    }
+
+    @Test
+    void isRevoked_ShouldNotQueryDatabaseForUnknownTokenAfterWarmUp() {
+
+        // Given
+        String revokedTokenId = "revoked-token-id";
+        String validTokenId = "valid-token-id";
+
+        // When
+        when(invalidTokenRepository.streamAllTokenIds()).thenReturn(Stream.of(revokedTokenId));
+        revokedTokenIndex.warmUp();
+
+        // Then
+        assertFalse(revokedTokenIndex.isRevoked(validTokenId));
+        assertEquals(1.0, checks("hit"));
+
+        // Verify
+        verify(invalidTokenRepository, never()).existsByTokenId(anyString());
+
+    }
+
+    @Test
+    void isRevoked_ShouldConfirmPossiblyRevokedTokenOnceAgainstDatabase() {
+
+        // Given
+        String revokedTokenId = "revoked-token-id";
+
+        // When
+        when(invalidTokenRepository.streamAllTokenIds()).thenReturn(Stream.of(revokedTokenId));
+        when(invalidTokenRepository.existsByTokenId(revokedTokenId)).thenReturn(true);
+        revokedTokenIndex.warmUp();
+
+        // Then
+        assertTrue(revokedTokenIndex.isRevoked(revokedTokenId));
+        assertTrue(revokedTokenIndex.isRevoked(revokedTokenId));
+        assertEquals(1.0, checks("miss"));
+        assertEquals(1.0, checks("hit"));
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).existsByTokenId(revokedTokenId);
+
+    }
+
+    @Test
+    void addAll_ShouldAnswerNewlyRevokedTokensWithoutDatabase() {
+
+        // Given
+        String tokenId = "logged-out-token-id";
+
+        // When
+        when(invalidTokenRepository.streamAllTokenIds()).thenReturn(Stream.empty());
+        revokedTokenIndex.warmUp();
+        revokedTokenIndex.addAll(Set.of(tokenId));
+
+        // Then
+        assertTrue(revokedTokenIndex.isRevoked(tokenId));
+
+        // Verify
+        verify(invalidTokenRepository, never()).existsByTokenId(anyString());
+
+    }
+
+    @Test
+    void refresh_ShouldIndexTokensRevokedByOtherInstances() {
+
+        // Given
+        String tokenId = "revoked-elsewhere-token-id";
+
+        // When
+        when(invalidTokenRepository.streamAllTokenIds()).thenReturn(Stream.empty());
+        when(invalidTokenRepository.findTokenIdsCreatedSince(any())).thenReturn(List.of(tokenId));
+        when(invalidTokenRepository.existsByTokenId(tokenId)).thenReturn(true);
+        revokedTokenIndex.warmUp();
+        revokedTokenIndex.refresh();
+
+        // Then
+        assertTrue(revokedTokenIndex.isRevoked(tokenId));
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).findTokenIdsCreatedSince(any());
+        verify(invalidTokenRepository, times(1)).existsByTokenId(tokenId);
+
+    }
+
+    @Test
+    void rebuild_ShouldDropPurgedTokens_AndResetIndexedCount() {
+
+        // Given
+        String purgedTokenId = "purged-token-id";
+        String revokedTokenId = "revoked-token-id";
+
+        // When
+        when(invalidTokenRepository.streamAllTokenIds())
+                .thenReturn(Stream.of(purgedTokenId, revokedTokenId))
+                .thenReturn(Stream.of(revokedTokenId));
+        when(invalidTokenRepository.findTokenIdsCreatedSince(any())).thenReturn(List.of());
+        revokedTokenIndex.warmUp();
+        revokedTokenIndex.rebuild();
+
+        // Then
+        assertFalse(revokedTokenIndex.isRevoked(purgedTokenId));
+        assertEquals(1.0, meterRegistry.get("auth.revoked_tokens.indexed").gauge().value());
+
+        // Verify
+        verify(invalidTokenRepository, never()).existsByTokenId(anyString());
+
+    }
+
+    @Test
+    void rebuild_ShouldKeepTokensRevokedWhileTheFilterIsBeingSwapped() {
+
+        // Given
+        String revokedTokenId = "revoked-token-id";
+        String loggedOutTokenId = "logged-out-token-id";
+
+        // When
+        when(invalidTokenRepository.streamAllTokenIds())
+                .thenReturn(Stream.empty())
+                .thenReturn(Stream.of(revokedTokenId)
+                        .onClose(() -> revokedTokenIndex.addAll(Set.of(loggedOutTokenId))));
+        when(invalidTokenRepository.findTokenIdsCreatedSince(any())).thenReturn(List.of());
+        revokedTokenIndex.warmUp();
+        revokedTokenIndex.rebuild();
+
+        // Then
+        assertEquals(2.0, meterRegistry.get("auth.revoked_tokens.indexed").gauge().value());
+
+    }
+
+    @Test
+    void isRevoked_ShouldRejectLocallyRevokedToken_EvenIfTheFilterMissesIt() {
+
+        // Given
+        String tokenId = "logged-out-token-id";
+
+        // When
+        when(invalidTokenRepository.streamAllTokenIds()).thenReturn(Stream.empty(), Stream.empty());
+        when(invalidTokenRepository.findTokenIdsCreatedSince(any())).thenReturn(List.of());
+        revokedTokenIndex.warmUp();
+        revokedTokenIndex.addAll(Set.of(tokenId));
+        revokedTokenIndex.rebuild();
+
+        // Then
+        assertTrue(revokedTokenIndex.isRevoked(tokenId));
+
+        // Verify
+        verify(invalidTokenRepository, never()).existsByTokenId(anyString());
+
+    }
+
+    @Test
+    void indexedCount_ShouldNotCountTokensIndexedAgain() {
+
+        // Given
+        String tokenId = "logged-out-token-id";
+
+        // When
+        when(invalidTokenRepository.streamAllTokenIds()).thenReturn(Stream.empty());
+        when(invalidTokenRepository.findTokenIdsCreatedSince(any())).thenReturn(List.of(tokenId));
+        revokedTokenIndex.warmUp();
+        revokedTokenIndex.addAll(Set.of(tokenId));
+        revokedTokenIndex.refresh();
+        revokedTokenIndex.refresh();
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("auth.revoked_tokens.indexed").gauge().value());
+
+    }
+
+    private double checks(String result) {
+        return meterRegistry.counter("auth.revoked_tokens.checks", "result", result).count();
+    }
+
+}
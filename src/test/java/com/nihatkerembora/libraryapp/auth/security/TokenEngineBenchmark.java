@@ -0,0 +1,97 @@
+package com.nihatkerembora.libraryapp.auth.security;
+
+import com.nihatkerembora.libraryapp.auth.config.TokenConfigurationParameter;
+import com.nihatkerembora.libraryapp.auth.model.enums.TokenClaims;
+import com.nihatkerembora.libraryapp.auth.model.enums.TokenType;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing per-call JWT parser/builder construction (the former {@code TokenServiceImpl}
+ * behaviour) with the shared {@link TokenEngine}.
+ * <p>
+ * Runs single-threaded, so the reported scores are tokens per second per core.
+ * Run with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.nihatkerembora.libraryapp.auth.security.TokenEngineBenchmark}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class TokenEngineBenchmark {
+
+    private TokenConfigurationParameter tokenConfigurationParameter;
+    private TokenEngine tokenEngine;
+    private Map<String, Object> claims;
+    private String jwt;
+
+    @Setup
+    public void setUp() {
+        tokenConfigurationParameter = new TokenConfigurationParameter();
+        tokenEngine = new TokenEngine(tokenConfigurationParameter);
+        claims = Map.of(
+                TokenClaims.USER_ID.getValue(), UUID.randomUUID().toString(),
+                TokenClaims.USER_EMAIL.getValue(), "benchmark@libraryapp.com"
+        );
+        jwt = tokenEngine.issue(new Date(), new Date(System.currentTimeMillis() + 3_600_000L), claims);
+    }
+
+    @Benchmark
+    public String issuePerCallBuilder() {
+        final long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .header()
+                .type(TokenType.BEARER.getValue())
+                .and()
+                .id(UUID.randomUUID().toString())
+                .issuer(tokenConfigurationParameter.getIssuer())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + 1_800_000L))
+                .signWith(tokenConfigurationParameter.getPrivateKey())
+                .claims(claims)
+                .compact();
+    }
+
+    @Benchmark
+    public String issueTokenEngine() {
+        final long now = System.currentTimeMillis();
+        return tokenEngine.issue(new Date(now), new Date(now + 1_800_000L), claims);
+    }
+
+    @Benchmark
+    public Jws<Claims> verifyPerCallParser() {
+        return Jwts.parser()
+                .verifyWith(tokenConfigurationParameter.getPublicKey())
+                .build()
+                .parseSignedClaims(jwt);
+    }
+
+    @Benchmark
+    public Jws<Claims> verifyTokenEngine() {
+        return tokenEngine.parse(jwt);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                new OptionsBuilder()
+                        .include(TokenEngineBenchmark.class.getSimpleName())
+                        .build()
+        ).run();
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.nihatkerembora.libraryapp.auth.security;
+
+import com.nihatkerembora.libraryapp.auth.config.TokenConfigurationParameter;
+import com.nihatkerembora.libraryapp.auth.model.enums.TokenClaims;
+import com.nihatkerembora.libraryapp.auth.model.enums.TokenType;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenEngineTest {
+
+    private final TokenConfigurationParameter tokenConfigurationParameter = new TokenConfigurationParameter();
+
+    private final TokenEngine tokenEngine = new TokenEngine(tokenConfigurationParameter);
+
+    @Test
+    void issue_ShouldProduceTokenThatParsesBackToSameClaims() {
+        Date issuedAt = Date.from(Instant.now());
+        Date expiresAt = Date.from(Instant.now().plusSeconds(60));
+
+        String jwt = tokenEngine.issue(issuedAt, expiresAt, Map.of(TokenClaims.USER_ID.getValue(), "user-id"));
+        Jws<Claims> claimsJws = tokenEngine.parse(jwt);
+
+        assertEquals("RS256", claimsJws.getHeader().getAlgorithm());
+        assertEquals(TokenType.BEARER.getValue(), claimsJws.getHeader().getType());
+        assertEquals(tokenConfigurationParameter.getIssuer(), claimsJws.getPayload().getIssuer());
+        assertEquals("user-id", claimsJws.getPayload().get(TokenClaims.USER_ID.getValue()));
+        assertNotNull(claimsJws.getPayload().getId());
+    }
+
+    @Test
+    void issue_ShouldGenerateUniqueTokenIds() {
+        Date expiresAt = Date.from(Instant.now().plusSeconds(60));
+
+        String first = tokenEngine.issue(new Date(), expiresAt, Map.of());
+        String second = tokenEngine.issue(new Date(), expiresAt, Map.of());
+
+        assertNotEquals(tokenEngine.parse(first).getPayload().getId(), tokenEngine.parse(second).getPayload().getId());
+    }
+
+    @Test
+    void parse_ShouldRejectTamperedToken() {
+        String jwt = tokenEngine.issue(new Date(), Date.from(Instant.now().plusSeconds(60)), Map.of());
+        String tampered = jwt.substring(0, jwt.length() - 4) + (jwt.endsWith("AAAA") ? "BBBB" : "AAAA");
+
+        assertThrows(SignatureException.class, () -> tokenEngine.parse(tampered));
+    }
+
+    @Test
+    void parse_ShouldRejectExpiredToken() {
+        Instant now = Instant.now();
+        String jwt = tokenEngine.issue(Date.from(now.minusSeconds(120)), Date.from(now.minusSeconds(60)), Map.of());
+
+        assertThrows(ExpiredJwtException.class, () -> tokenEngine.parse(jwt));
+    }
+
+}
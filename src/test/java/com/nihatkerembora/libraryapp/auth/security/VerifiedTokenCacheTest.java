@@ -0,0 +1,104 @@
+package com.nihatkerembora.libraryapp.auth.security;
+
+import com.nihatkerembora.libraryapp.auth.config.TokenConfigurationParameter;
+import com.nihatkerembora.libraryapp.auth.service.TokenService;
+import com.nihatkerembora.libraryapp.base.AbstractBaseServiceTest;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private TokenService tokenService;
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        verifiedTokenCache = new VerifiedTokenCache(
+                tokenService,
+                new TokenConfigurationParameter(),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    void getAuthentication_ShouldVerifyTokenOnlyOnceWhileNotExpired() {
+
+        // Given
+        String jwt = "valid-jwt";
+        UsernamePasswordAuthenticationToken authentication = authenticationExpiringAt(jwt, Instant.now().plusSeconds(60));
+
+        // When
+        when(tokenService.getAuthentication(jwt)).thenReturn(authentication);
+
+        // Then
+        UsernamePasswordAuthenticationToken first = verifiedTokenCache.getAuthentication(jwt);
+        UsernamePasswordAuthenticationToken second = verifiedTokenCache.getAuthentication(jwt);
+
+        assertSame(authentication, first);
+        assertSame(first, second);
+
+        // Verify
+        verify(tokenService, times(1)).getAuthentication(jwt);
+
+    }
+
+    @Test
+    void getAuthentication_ShouldVerifyAgainWhenTokenAlreadyExpired() {
+
+        // Given
+        String jwt = "expiring-jwt";
+        UsernamePasswordAuthenticationToken authentication = authenticationExpiringAt(jwt, Instant.now().minusSeconds(1));
+
+        // When
+        when(tokenService.getAuthentication(jwt)).thenReturn(authentication);
+
+        // Then
+        verifiedTokenCache.getAuthentication(jwt);
+        verifiedTokenCache.getAuthentication(jwt);
+
+        // Verify
+        verify(tokenService, times(2)).getAuthentication(jwt);
+
+    }
+
+    @Test
+    void getAuthentication_ShouldNotCacheInvalidTokens() {
+
+        // Given
+        String jwt = "invalid-jwt";
+
+        // When
+        when(tokenService.getAuthentication(jwt)).thenThrow(new ExpiredJwtException(null, null, "expired"));
+
+        // Then
+        assertThrows(ExpiredJwtException.class, () -> verifiedTokenCache.getAuthentication(jwt));
+        assertThrows(ExpiredJwtException.class, () -> verifiedTokenCache.getAuthentication(jwt));
+
+        // Verify
+        verify(tokenService, times(2)).getAuthentication(jwt);
+
+    }
+
+    private UsernamePasswordAuthenticationToken authenticationExpiringAt(String jwt, Instant expiresAt) {
+        Jwt principal = Jwt.withTokenValue(jwt)
+                .header("alg", "RS256")
+                .jti("token-id")
+                .issuedAt(expiresAt.minusSeconds(120))
+                .expiresAt(expiresAt)
+                .build();
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null, null);
+    }
+
+}
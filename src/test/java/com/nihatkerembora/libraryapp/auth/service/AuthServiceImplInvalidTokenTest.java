@@ -4,18 +4,21 @@ package com.nihatkerembora.libraryapp.auth.service;
 import com.nihatkerembora.libraryapp.auth.exception.TokenAlreadyInvalidatedException;
 import com.nihatkerembora.libraryapp.auth.model.entity.InvalidTokenEntity;
 import com.nihatkerembora.libraryapp.auth.repository.InvalidTokenRepository;
+import com.nihatkerembora.libraryapp.auth.security.RevokedTokenIndex;
 import com.nihatkerembora.libraryapp.auth.service.impl.InvalidTokenServiceImpl;
 import com.nihatkerembora.libraryapp.base.AbstractBaseServiceTest;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.Optional;
+import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 
@@ -28,20 +31,30 @@ class AuthServiceImplInvalidTokenTest extends AbstractBaseServiceTest {
     @Mock
     private InvalidTokenRepository invalidTokenRepository;
 
+    @Mock
+    private RevokedTokenIndex revokedTokenIndex;
+
     @Test
     void invalidateTokens_ShouldSaveAllInvalidTokens() {
 
         // Given
-        Set<String> tokenIds = Set.of("token-id-1", "token-id-2");
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(30);
+        Map<String, LocalDateTime> tokenIdsWithExpiry = Map.of(
+                "token-id-1", expiresAt,
+                "token-id-2", expiresAt
+        );
 
         // When
         when(invalidTokenRepository.saveAll(any(Set.class))).thenReturn(Collections.emptyList());
 
         // Then
-        invalidTokenService.invalidateTokens(tokenIds);
+        invalidTokenService.invalidateTokens(tokenIdsWithExpiry);
 
         // Verify
-        verify(invalidTokenRepository, times(1)).saveAll(any(Set.class));
+        verify(invalidTokenRepository, times(1)).saveAll(argThat((Set<InvalidTokenEntity> entities) ->
+                entities.size() == 2 && entities.stream().allMatch(entity -> expiresAt.equals(entity.getExpiresAt()))
+        ));
+        verify(revokedTokenIndex, times(1)).addAll(tokenIdsWithExpiry.keySet());
 
     }
 
@@ -52,7 +65,7 @@ class AuthServiceImplInvalidTokenTest extends AbstractBaseServiceTest {
         String tokenId = "test-token-id";
 
         // When
-        when(invalidTokenRepository.findByTokenId(tokenId)).thenReturn(Optional.of(new InvalidTokenEntity()));
+        when(revokedTokenIndex.isRevoked(tokenId)).thenReturn(true);
 
         // Then
         assertThrows(TokenAlreadyInvalidatedException.class, () -> {
@@ -60,7 +73,7 @@ class AuthServiceImplInvalidTokenTest extends AbstractBaseServiceTest {
         });
 
         // Verify
-        verify(invalidTokenRepository, times(1)).findByTokenId(tokenId);
+        verify(revokedTokenIndex, times(1)).isRevoked(tokenId);
 
     }
 
@@ -71,13 +84,13 @@ class AuthServiceImplInvalidTokenTest extends AbstractBaseServiceTest {
         String tokenId = "test-token-id";
 
         // When
-        when(invalidTokenRepository.findByTokenId(tokenId)).thenReturn(Optional.empty());
+        when(revokedTokenIndex.isRevoked(tokenId)).thenReturn(false);
 
         // Then
         invalidTokenService.checkForInvalidityOfToken(tokenId);
 
         // Verify
-        verify(invalidTokenRepository, times(1)).findByTokenId(tokenId);
+        verify(revokedTokenIndex, times(1)).isRevoked(tokenId);
 
     }
 
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import java.util.Objects;
 import java.util.Set;
 
 import static org.mockito.Mockito.*;
@@ -61,7 +62,7 @@ class AuthServiceImplLogoutTest extends AbstractBaseServiceTest {
         doNothing().when(invalidTokenService).checkForInvalidityOfToken(mockAccessTokenId);
         when(tokenService.getPayload(refreshToken)).thenReturn(mockRefreshTokenClaims);
         doNothing().when(invalidTokenService).checkForInvalidityOfToken(mockRefreshTokenId);
-        doNothing().when(invalidTokenService).invalidateTokens(Set.of(mockAccessTokenId, mockRefreshTokenId));
+        doNothing().when(invalidTokenService).invalidateTokens(anyMap());
 
         // Then
         logoutService.logout(tokenInvalidateRequest);
@@ -70,7 +71,10 @@ class AuthServiceImplLogoutTest extends AbstractBaseServiceTest {
         verify(tokenService).verifyAndValidate(Set.of(accessToken, refreshToken));
         verify(tokenService, times(2)).getPayload(anyString());
         verify(invalidTokenService, times(2)).checkForInvalidityOfToken(anyString());
-        verify(invalidTokenService).invalidateTokens(anySet());
+        verify(invalidTokenService).invalidateTokens(argThat(tokenIdsWithExpiry ->
+                tokenIdsWithExpiry.keySet().equals(Set.of(mockAccessTokenId, mockRefreshTokenId))
+                        && tokenIdsWithExpiry.values().stream().allMatch(Objects::nonNull)
+        ));
 
     }
 
@@ -10,6 +10,7 @@ import com.nihatkerembora.libraryapp.auth.model.mapper.UserMapper;
 import com.nihatkerembora.libraryapp.auth.repository.UserRepository;
 import com.nihatkerembora.libraryapp.auth.service.impl.AuthServiceImpl;
 import com.nihatkerembora.libraryapp.base.AbstractBaseServiceTest;
+import com.nihatkerembora.libraryapp.common.cache.ListingCountCache;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -31,6 +32,9 @@ class AuthServiceImplRegisterTest extends AbstractBaseServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ListingCountCache countCache;
+
 
     @Test
     void givenAdminRegisterRequest_whenRegisterAdmin_thenReturnAdmin() {
@@ -9,6 +9,7 @@ import com.nihatkerembora.libraryapp.auth.model.entity.UserEntity;
 import com.nihatkerembora.libraryapp.auth.repository.UserRepository;
 import com.nihatkerembora.libraryapp.auth.service.impl.UserServiceImpl;
 import com.nihatkerembora.libraryapp.base.AbstractBaseServiceTest;
+import com.nihatkerembora.libraryapp.common.cache.ListingCountCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -31,6 +32,9 @@ class UserServiceImplTest extends AbstractBaseServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ListingCountCache countCache;
+
     /* ---------- getUserById ---------- */
 
     @Test
@@ -133,6 +137,7 @@ class UserServiceImplTest extends AbstractBaseServiceTest {
         ArgumentCaptor<UserEntity> captor = ArgumentCaptor.forClass(UserEntity.class);
         verify(userRepository).save(captor.capture());
         assertThat(captor.getValue().isDeleted()).isTrue();
+        verify(countCache).adjust("users", -1);
     }
 
     @Test
@@ -0,0 +1,42 @@
+package com.nihatkerembora.libraryapp.auth.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_ShouldReturnTrueForEveryAddedValue() {
+        BloomFilter bloomFilter = new BloomFilter(1_000, 0.01);
+
+        IntStream.range(0, 1_000).mapToObj(i -> "token-" + i).forEach(bloomFilter::put);
+
+        IntStream.range(0, 1_000).mapToObj(i -> "token-" + i)
+                .forEach(value -> assertTrue(bloomFilter.mightContain(value)));
+    }
+
+    @Test
+    void mightContain_ShouldKeepFalsePositiveRateNearConfiguredValue() {
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+
+        IntStream.range(0, 10_000).forEach(i -> bloomFilter.put(UUID.randomUUID().toString()));
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> bloomFilter.mightContain(UUID.randomUUID().toString()))
+                .count();
+
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.nihatkerembora.libraryapp.book.cache;
+
+import com.nihatkerembora.libraryapp.book.config.BookCacheConfigurationParameter;
+import com.nihatkerembora.libraryapp.book.exception.BookNotFoundException;
+import com.nihatkerembora.libraryapp.book.model.dto.response.BookResponse;
+import com.nihatkerembora.libraryapp.book.model.dto.response.GenreResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BookCatalogCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BookCatalogCache bookCatalogCache;
+
+    private AtomicInteger bookLoads;
+
+    private Function<String, BookResponse> bookLoader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookCatalogCache = new BookCatalogCache(new BookCacheConfigurationParameter(100, 100, 60_000), meterRegistry);
+        bookLoads = new AtomicInteger();
+        bookLoader = id -> {
+            bookLoads.incrementAndGet();
+            return BookResponse.builder().id(id).build();
+        };
+    }
+
+    @Test
+    void getBook_ShouldLoadOnceAndRecordHitsAndMisses() {
+
+        // When
+        bookCatalogCache.getBook("book-1", bookLoader);
+        bookCatalogCache.getBook("book-1", bookLoader);
+        bookCatalogCache.getBook("book-1", bookLoader);
+
+        // Then
+        assertEquals(1, bookLoads.get());
+        assertEquals(2.0, meterRegistry.get("cache.gets")
+                .tags("cache", BookCatalogCache.BOOK_CACHE_NAME, "result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tags("cache", BookCatalogCache.BOOK_CACHE_NAME, "result", "miss")
+                .functionCounter().count());
+
+    }
+
+    @Test
+    void getBook_ShouldNotCacheFailedLoads() {
+
+        // When
+        assertThrows(BookNotFoundException.class,
+                () -> bookCatalogCache.getBook("book-1", id -> {
+                    throw new BookNotFoundException(id);
+                }));
+        bookCatalogCache.getBook("book-1", bookLoader);
+
+        // Then
+        assertEquals(1, bookLoads.get());
+
+    }
+
+    @Test
+    void evictBook_ShouldForceReload() {
+
+        // Given
+        bookCatalogCache.getBook("book-1", bookLoader);
+
+        // When
+        bookCatalogCache.evictBook("book-1");
+        bookCatalogCache.getBook("book-1", bookLoader);
+
+        // Then
+        assertEquals(2, bookLoads.get());
+
+    }
+
+    @Test
+    void evictGenre_ShouldAlsoEvictBooksEmbeddingGenreNames() {
+
+        // Given
+        AtomicInteger genreLoads = new AtomicInteger();
+        Function<String, GenreResponse> genreLoader = id -> {
+            genreLoads.incrementAndGet();
+            return GenreResponse.builder().id(id).build();
+        };
+        bookCatalogCache.getBook("book-1", bookLoader);
+        bookCatalogCache.getGenre("genre-1", genreLoader);
+
+        // When
+        bookCatalogCache.evictGenre("genre-1");
+        bookCatalogCache.getBook("book-1", bookLoader);
+        bookCatalogCache.getGenre("genre-1", genreLoader);
+
+        // Then
+        assertEquals(2, bookLoads.get());
+        assertEquals(2, genreLoads.get());
+
+    }
+
+    @Test
+    void evictBook_ShouldEvictAgainAfterCommit() {
+
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookCatalogCache.evictBook("book-1");
+
+            // When
+            bookCatalogCache.getBook("book-1", bookLoader);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        bookCatalogCache.getBook("book-1", bookLoader);
+
+        // Then
+        assertEquals(2, bookLoads.get());
+
+    }
+
+}
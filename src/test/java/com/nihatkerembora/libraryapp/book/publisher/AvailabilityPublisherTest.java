@@ -0,0 +1,324 @@
+package com.nihatkerembora.libraryapp.book.publisher;
+
+import com.nihatkerembora.libraryapp.book.cache.BookCatalogCache;
+import com.nihatkerembora.libraryapp.book.config.AvailabilityStreamConfigurationParameter;
+import com.nihatkerembora.libraryapp.book.model.dto.event.AvailabilityChange;
+import com.nihatkerembora.libraryapp.book.model.dto.event.AvailabilityEvent;
+import com.nihatkerembora.libraryapp.book.model.dto.projection.BookGenreId;
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
+import com.nihatkerembora.libraryapp.book.repository.BookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+class AvailabilityPublisherTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final AvailabilityEvent SEED = new AvailabilityEvent("seed", "Title seed", Status.AVAILABLE);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final AvailabilityEventBus eventBus = mock(AvailabilityEventBus.class);
+    private final BookCatalogCache cache = mock(BookCatalogCache.class);
+    private final AvailabilityPublisher publisher = new AvailabilityPublisher(bookRepository, eventBus, cache,
+            new AvailabilityStreamConfigurationParameter(2, 3, AvailabilityEventBusType.LOCAL, "book_availability", 100, 50),
+            meterRegistry, 0);
+
+    @BeforeEach
+    void setUp() {
+        given(bookRepository.findAllAvailability()).willReturn(List.of(SEED));
+    }
+
+    @Test
+    void getFlux_ShouldServeSnapshotFromMemory_AndOnlyLaterChanges() {
+
+        // Given
+        publisher.publish(event("a", Status.BORROWED));
+
+        // When & Then
+        StepVerifier.create(events(null))
+                .expectNext(SEED.withVersion(1))
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        publisher.publish(event("a", Status.AVAILABLE));
+
+        StepVerifier.create(events(null))
+                .recordWith(ArrayList::new)
+                .expectNextCount(2)
+                .consumeRecordedWith(snapshot -> assertThat(snapshot).containsExactlyInAnyOrder(
+                        SEED.withVersion(1), event("a", Status.AVAILABLE).withVersion(2)))
+                .then(() -> publisher.publish(event("a", Status.BORROWED)))
+                .expectNext(event("a", Status.BORROWED).withVersion(3))
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        then(bookRepository).should(times(1)).findAllAvailability();
+        assertThat(meterRegistry.counter("availability.snapshot.loads").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("availability.subscribers").gauge().value()).isZero();
+    }
+
+    @Test
+    void publish_ShouldKeepOnlyLatestEventPerBook_WhenSubscriberLags() {
+        StepVerifier.create(events(null), 1)
+                .expectNext(SEED)
+                .then(() -> {
+                    publisher.publish(event("a", Status.BORROWED));
+                    publisher.publish(event("b", Status.BORROWED));
+                    publisher.publish(event("a", Status.AVAILABLE));
+                    assertThat(meterRegistry.get("availability.subscribers.lag").gauge().value()).isEqualTo(2);
+                })
+                .thenRequest(10)
+                .expectNext(event("b", Status.BORROWED).withVersion(2), event("a", Status.AVAILABLE).withVersion(3))
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        assertThat(meterRegistry.counter("availability.events.conflated").count()).isEqualTo(1);
+    }
+
+    @Test
+    void publish_ShouldDisconnectOnlyTheLaggingSubscriber_WhenItsBufferOverflows() throws Exception {
+
+        // Given
+        List<AvailabilityEvent> received = new CopyOnWriteArrayList<>();
+        CountDownLatch subscribed = new CountDownLatch(1);
+        Disposable fast = events(null).subscribe(event -> {
+            received.add(event);
+            subscribed.countDown();
+        });
+        assertThat(subscribed.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isTrue();
+
+        // When
+        StepVerifier.create(events(null), 1)
+                .expectNext(SEED)
+                .then(() -> {
+                    publisher.publish(event("a", Status.BORROWED));
+                    publisher.publish(event("b", Status.BORROWED));
+                    publisher.publish(event("c", Status.BORROWED));
+                })
+                .thenRequest(1)
+                .expectError(AvailabilityPublisher.SubscriberOverflowException.class)
+                .verify(TIMEOUT);
+
+        // Then
+        assertThat(received).extracting(AvailabilityEvent::bookId).containsExactly("seed", "a", "b", "c");
+        assertThat(meterRegistry.get("availability.subscribers").gauge().value()).isEqualTo(1);
+        fast.dispose();
+        assertThat(meterRegistry.counter("availability.events.failed", "reason", "overflow").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("availability.events.published").count()).isEqualTo(3);
+    }
+
+    @Test
+    void getFlux_ShouldReplayOnlyMissedEvents_WhenLastEventIdIsStillBuffered() {
+
+        // Given
+        publisher.publish(event("a", Status.BORROWED));
+        publisher.publish(event("b", Status.BORROWED));
+        publisher.publish(event("c", Status.BORROWED));
+
+        // When & Then
+        StepVerifier.create(publisher.getFlux(1L))
+                .assertNext(sse -> {
+                    assertThat(sse.id()).isEqualTo("2");
+                    assertThat(sse.data()).isEqualTo(event("b", Status.BORROWED).withVersion(2));
+                })
+                .assertNext(sse -> assertThat(sse.id()).isEqualTo("3"))
+                .then(() -> publisher.publish(event("a", Status.AVAILABLE)))
+                .assertNext(sse -> assertThat(sse.id()).isEqualTo("4"))
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        assertThat(meterRegistry.counter("availability.subscriptions.resumed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void getFlux_ShouldSendNothingBeforeNewChanges_WhenClientIsUpToDate() {
+
+        // Given
+        publisher.publish(event("a", Status.BORROWED));
+
+        // When & Then
+        StepVerifier.create(publisher.getFlux(1L))
+                .expectSubscription()
+                .then(() -> publisher.publish(event("a", Status.AVAILABLE)))
+                .assertNext(sse -> assertThat(sse.data()).isEqualTo(event("a", Status.AVAILABLE).withVersion(2)))
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void getFlux_ShouldFallBackToSnapshot_WhenGapExceedsReplayBuffer() {
+
+        // Given
+        given(bookRepository.findAllAvailability()).willReturn(List.of(
+                SEED, new AvailabilityEvent("other", "Title other", Status.BORROWED)));
+        for (int i = 0; i < 4; i++) {
+            publisher.publish(event("a", Status.BORROWED));
+        }
+
+        // When & Then
+        StepVerifier.create(publisher.getFlux(0L))
+                .assertNext(sse -> assertThat(sse.id()).isNull())
+                .assertNext(sse -> assertThat(sse.id()).isEqualTo("4"))
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        StepVerifier.create(publisher.getFlux(99L))
+                .expectNextCount(2)
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        assertThat(meterRegistry.counter("availability.subscriptions.resumed").count()).isZero();
+    }
+
+    @Test
+    void getFlux_ShouldOnlyStreamRequestedBooks_WhenFilteredByBookId() {
+
+        // Given
+        given(bookRepository.findAllAvailability()).willReturn(List.of(SEED, event("a", Status.BORROWED)));
+        AvailabilityFilter filter = new AvailabilityFilter(Set.of("a"), null, null);
+
+        // When & Then
+        StepVerifier.create(events(null, filter))
+                .expectNext(event("a", Status.BORROWED))
+                .then(() -> {
+                    publisher.publish(event("b", Status.BORROWED));
+                    publisher.publish(event("a", Status.AVAILABLE));
+                })
+                .expectNext(event("a", Status.AVAILABLE).withVersion(2))
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        assertThat(meterRegistry.get("availability.subscribers").gauge().value()).isZero();
+    }
+
+    @Test
+    void getFlux_ShouldFollowGenreChanges_WhenFilteredByGenre() {
+
+        // Given
+        given(bookRepository.findAllGenreIds()).willReturn(List.of(new BookGenreId("seed", "g1")));
+        AvailabilityFilter filter = new AvailabilityFilter(null, "g1", null);
+
+        // When & Then
+        StepVerifier.create(events(null, filter))
+                .expectNext(SEED)
+                .then(() -> {
+                    publisher.publish(event("other", Status.BORROWED));
+                    publisher.publish(event("new", Status.AVAILABLE), List.of("g1"));
+                    publisher.publish(event("new", Status.BORROWED));
+                    publisher.publish(event("seed", Status.AVAILABLE), List.of("g2"));
+                    publisher.publish(event("seed", Status.BORROWED));
+                })
+                .expectNext(
+                        event("new", Status.AVAILABLE).withVersion(2),
+                        event("new", Status.BORROWED).withVersion(3),
+                        event("seed", Status.AVAILABLE).withVersion(4))
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void getFlux_ShouldStreamBooksEnteringAndLeavingStatus_WhenFilteredByStatus() {
+
+        // Given
+        given(bookRepository.findAllAvailability()).willReturn(List.of(SEED, event("a", Status.BORROWED)));
+        AvailabilityFilter filter = new AvailabilityFilter(null, null, Set.of(Status.BORROWED));
+
+        // When & Then
+        StepVerifier.create(events(null, filter))
+                .expectNext(event("a", Status.BORROWED))
+                .then(() -> {
+                    publisher.publish(event("a", Status.AVAILABLE));
+                    publisher.publish(event("seed", Status.DELETED));
+                    publisher.publish(event("b", Status.BORROWED));
+                })
+                .expectNext(event("a", Status.AVAILABLE).withVersion(1), event("b", Status.BORROWED).withVersion(3))
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        StepVerifier.create(events(0L, filter))
+                .expectNext(event("a", Status.AVAILABLE).withVersion(1), event("b", Status.BORROWED).withVersion(3))
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void publish_ShouldSendChangeToBus_AndDispatchRemoteChangesWithoutResending_EvictingThemFromCache() {
+
+        // Given
+        ArgumentCaptor<AvailabilityEventBus.Listener> listener = ArgumentCaptor.forClass(AvailabilityEventBus.Listener.class);
+        then(eventBus).should().subscribe(listener.capture());
+
+        // When & Then
+        StepVerifier.create(events(null))
+                .expectNext(SEED)
+                .then(() -> {
+                    publisher.publish(event("a", Status.BORROWED), List.of("g1"));
+                    listener.getValue().onChange(new AvailabilityChange("b", "Title b", Status.BORROWED, null));
+                })
+                .expectNext(event("a", Status.BORROWED).withVersion(1), event("b", Status.BORROWED).withVersion(2))
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        then(eventBus).should().send(new AvailabilityChange("a", "Title a", Status.BORROWED, Set.of("g1")));
+        then(eventBus).shouldHaveNoMoreInteractions();
+        then(cache).should().evictBook("b");
+        then(cache).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    void onReconnect_ShouldDispatchOnlyBooksThatChangedInTheMeantime() {
+
+        // Given
+        ArgumentCaptor<AvailabilityEventBus.Listener> listener = ArgumentCaptor.forClass(AvailabilityEventBus.Listener.class);
+        then(eventBus).should().subscribe(listener.capture());
+
+        // When & Then
+        StepVerifier.create(events(null))
+                .expectNext(SEED)
+                .then(() -> {
+                    given(bookRepository.findAllAvailability()).willReturn(List.of(SEED, event("a", Status.BORROWED)));
+                    listener.getValue().onReconnect();
+                })
+                .expectNext(event("a", Status.BORROWED).withVersion(1))
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        assertThat(meterRegistry.counter("availability.snapshot.resynced").count()).isEqualTo(1);
+        then(cache).should().evictAllBooks();
+    }
+
+    private Flux<AvailabilityEvent> events(final Long lastEventId) {
+        return events(lastEventId, AvailabilityFilter.ALL);
+    }
+
+    private Flux<AvailabilityEvent> events(final Long lastEventId, final AvailabilityFilter filter) {
+        return publisher.getFlux(lastEventId, filter).map(ServerSentEvent::data);
+    }
+
+    private static AvailabilityEvent event(final String bookId, final Status status) {
+        return new AvailabilityEvent(bookId, "Title " + bookId, status);
+    }
+
+}
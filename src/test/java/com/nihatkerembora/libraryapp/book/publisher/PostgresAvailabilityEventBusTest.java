@@ -0,0 +1,229 @@
+package com.nihatkerembora.libraryapp.book.publisher;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nihatkerembora.libraryapp.book.config.AvailabilityStreamConfigurationParameter;
+import com.nihatkerembora.libraryapp.book.model.dto.event.AvailabilityChange;
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Runs two buses against an in-memory stand-in of PostgreSQL {@code LISTEN}/{@code NOTIFY}, which delivers every
+ * {@code pg_notify} payload to every listening connection, the sending one included.
+ */
+class PostgresAvailabilityEventBusTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<BlockingQueue<String>> listeningConnections = new CopyOnWriteArrayList<>();
+    private final List<String> notifications = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failingNotifications = new AtomicInteger();
+    private final AtomicInteger pooledListens = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<AvailabilityChange> receivedBySender = new CopyOnWriteArrayList<>();
+    private final List<AvailabilityChange> receivedByOther = new CopyOnWriteArrayList<>();
+
+    private PostgresAvailabilityEventBus sender;
+    private PostgresAvailabilityEventBus other;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sender = bus();
+        other = bus();
+        sender.subscribe(listener(receivedBySender));
+        other.subscribe(listener(receivedByOther));
+        sender.start();
+        other.start();
+        await(() -> listeningConnections.size() == 2);
+    }
+
+    @Test
+    void start_ShouldListenOnConnectionOutsideThePool() {
+        assertThat(pooledListens).hasValue(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.stop();
+        other.stop();
+    }
+
+    @Test
+    void send_ShouldNotifyOnlyLatestChangePerBook_InOneBatch() throws Exception {
+
+        // When
+        sender.send(change("a", Status.BORROWED, Set.of("g1")));
+        sender.send(change("b", Status.BORROWED, null));
+        sender.send(change("a", Status.AVAILABLE, null));
+
+        // Then
+        await(() -> receivedByOther.size() == 2);
+        assertThat(receivedByOther).containsExactly(
+                change("b", Status.BORROWED, null),
+                change("a", Status.AVAILABLE, Set.of("g1")));
+        assertThat(notifications).hasSize(1);
+        assertThat(receivedBySender).isEmpty();
+        assertThat(meterRegistry.counter("availability.bus.deduplicated").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("availability.bus.received").count()).isEqualTo(2);
+    }
+
+    @Test
+    void send_ShouldRetryBatch_WhenSendingFails() throws Exception {
+
+        // Given
+        failingNotifications.set(2);
+
+        // When
+        sender.send(change("a", Status.BORROWED, Set.of("g1")));
+        await(() -> failingNotifications.get() == 0);
+        sender.send(change("a", Status.AVAILABLE, null));
+        sender.send(change("b", Status.BORROWED, null));
+
+        // Then
+        await(() -> receivedByOther.size() == 2);
+        assertThat(receivedByOther).containsExactly(
+                change("a", Status.AVAILABLE, Set.of("g1")),
+                change("b", Status.BORROWED, null));
+        assertThat(meterRegistry.counter("availability.bus.retried").count()).isEqualTo(2);
+    }
+
+    @Test
+    void send_ShouldSplitBatch_WhenPayloadExceedsNotificationLimit() throws Exception {
+
+        // When
+        for (int i = 0; i < 40; i++) {
+            sender.send(new AvailabilityChange("book-" + i, "x".repeat(300), Status.BORROWED, null));
+        }
+
+        // Then
+        await(() -> receivedByOther.size() == 40);
+        assertThat(receivedByOther).extracting(AvailabilityChange::bookId).startsWith("book-0").endsWith("book-39");
+        assertThat(notifications).hasSizeGreaterThan(1).allSatisfy(payload -> assertThat(
+                payload.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(PostgresAvailabilityEventBus.MAX_PAYLOAD_BYTES));
+    }
+
+    private PostgresAvailabilityEventBus bus() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        given(dataSource.getConnection()).willAnswer(invocation -> connection(true));
+        DataSource listenerDataSource = mock(DataSource.class);
+        given(listenerDataSource.getConnection()).willAnswer(invocation -> connection(false));
+        return new PostgresAvailabilityEventBus(dataSource, listenerDataSource, new ObjectMapper(),
+                new AvailabilityStreamConfigurationParameter(2, 3, AvailabilityEventBusType.POSTGRES, "book_availability", 100, 200),
+                meterRegistry);
+    }
+
+    private Connection connection(final boolean pooled) throws SQLException {
+        Connection connection = mock(Connection.class, withSettings().extraInterfaces(PGConnection.class));
+        BlockingQueue<String> inbox = new LinkedBlockingQueue<>();
+
+        Statement listen = mock(Statement.class);
+        willAnswer(invocation -> {
+            if (pooled) {
+                pooledListens.incrementAndGet();
+            }
+            return listeningConnections.add(inbox);
+        }).given(listen).execute(startsWith("LISTEN "));
+        given(connection.createStatement()).willReturn(listen);
+
+        PreparedStatement notify = mock(PreparedStatement.class);
+        String[] payload = new String[1];
+        willAnswer(invocation -> payload[0] = invocation.getArgument(1)).given(notify).setString(eq(2), anyString());
+        willAnswer(invocation -> {
+            if (failingNotifications.getAndUpdate(failing -> Math.max(0, failing - 1)) > 0) {
+                throw new SQLException("Connection is not available, request timed out");
+            }
+            notifications.add(payload[0]);
+            listeningConnections.forEach(listening -> listening.add(payload[0]));
+            return true;
+        }).given(notify).execute();
+        given(connection.prepareStatement(anyString())).willReturn(notify);
+
+        given(connection.unwrap(PGConnection.class)).willReturn((PGConnection) connection);
+        given(((PGConnection) connection).getNotifications(anyInt())).willAnswer(invocation -> {
+            try {
+                String received = inbox.poll(invocation.getArgument(0, Integer.class), TimeUnit.MILLISECONDS);
+                return received == null ? new PGNotification[0] : new PGNotification[]{notification(received)};
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new PGNotification[0];
+            }
+        });
+        return connection;
+    }
+
+    private static PGNotification notification(final String payload) {
+        return new PGNotification() {
+            @Override
+            public String getName() {
+                return "book_availability";
+            }
+
+            @Override
+            public int getPID() {
+                return 0;
+            }
+
+            @Override
+            public String getParameter() {
+                return payload;
+            }
+        };
+    }
+
+    private static AvailabilityEventBus.Listener listener(final List<AvailabilityChange> received) {
+        return new AvailabilityEventBus.Listener() {
+            @Override
+            public void onChange(final AvailabilityChange change) {
+                received.add(change);
+            }
+
+            @Override
+            public void onReconnect() {
+            }
+        };
+    }
+
+    private static AvailabilityChange change(final String bookId, final Status status, final Set<String> genreIds) {
+        return new AvailabilityChange(bookId, "Title " + bookId, status, genreIds);
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+}
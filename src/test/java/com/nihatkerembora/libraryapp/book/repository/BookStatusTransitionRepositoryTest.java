@@ -0,0 +1,114 @@
+package com.nihatkerembora.libraryapp.book.repository;
+
+import com.nihatkerembora.libraryapp.book.model.dto.projection.BookTitle;
+import com.nihatkerembora.libraryapp.book.model.entity.Book;
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that a status transition returns the title of the book with a single statement.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookStatusTransitionRepositoryTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String bookId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        bookId = persist("Dune", "9780441013593", Status.AVAILABLE);
+        testEntityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void transitionStatus_ShouldReturnTitleWithOneStatement_WhenBookHasExpectedStatus() {
+
+        // When
+        Optional<String> title = bookRepository.transitionStatus(bookId, Status.AVAILABLE, Status.BORROWED);
+
+        // Then
+        assertThat(title).contains("Dune");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(bookRepository.findById(bookId)).get()
+                .extracting(Book::getStatus)
+                .isEqualTo(Status.BORROWED);
+    }
+
+    @Test
+    void transitionStatus_ShouldReturnEmptyAndKeepStatus_WhenBookHasOtherStatus() {
+
+        // When
+        Optional<String> title = bookRepository.transitionStatus(bookId, Status.BORROWED, Status.AVAILABLE);
+
+        // Then
+        assertThat(title).isEmpty();
+        assertThat(bookRepository.findById(bookId)).get()
+                .extracting(Book::getStatus)
+                .isEqualTo(Status.AVAILABLE);
+    }
+
+    @Test
+    void transitionStatus_ShouldReturnEmpty_WhenBookDoesNotExist() {
+        assertThat(bookRepository.transitionStatus("missing", Status.AVAILABLE, Status.BORROWED)).isEmpty();
+    }
+
+    @Test
+    void transitionStatuses_ShouldMoveOnlyBooksWithExpectedStatusInOneStatement() {
+
+        // Given
+        String secondId = persist("Emma", "9780141439587", Status.AVAILABLE);
+        String borrowedId = persist("Ulysses", "9780199535675", Status.BORROWED);
+        testEntityManager.clear();
+        statistics.clear();
+
+        // When
+        List<BookTitle> moved = bookRepository.transitionStatuses(
+                List.of(bookId, secondId, borrowedId, "missing"), Status.AVAILABLE, Status.BORROWED);
+
+        // Then
+        assertThat(moved).containsExactlyInAnyOrder(new BookTitle(bookId, "Dune"), new BookTitle(secondId, "Emma"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(bookRepository.findAllById(List.of(bookId, secondId, borrowedId)))
+                .extracting(Book::getStatus)
+                .containsOnly(Status.BORROWED);
+    }
+
+    private String persist(final String title, final String isbn, final Status status) {
+        return testEntityManager.persistFlushFind(Book.builder()
+                        .title(title)
+                        .author("Author")
+                        .isbn(isbn)
+                        .publicationDate(LocalDate.of(1965, 8, 1))
+                        .genres(Set.of())
+                        .status(status)
+                        .build())
+                .getId();
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.nihatkerembora.libraryapp.book.search;
+
+import com.nihatkerembora.libraryapp.base.AbstractBaseServiceTest;
+import com.nihatkerembora.libraryapp.book.model.dto.projection.BookSearchFields;
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
+import com.nihatkerembora.libraryapp.book.repository.BookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+class BookSearchIndexTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookSearchIndex = new BookSearchIndex(bookRepository, meterRegistry);
+
+        bookSearchIndex.index(new BookSearchDocument("hobbit", "The Hobbit", "J. R. R. Tolkien", List.of("Fantasy")));
+        bookSearchIndex.index(new BookSearchDocument("dune", "Dune", "Frank Herbert", List.of("Science Fiction")));
+        bookSearchIndex.index(new BookSearchDocument("tolkien-biography", "Tolkien", "Humphrey Carpenter", List.of("Biography")));
+        bookSearchIndex.index(new BookSearchDocument("lotr", "The Lord of the Rings", "J. R. R. Tolkien", List.of("Fantasy")));
+    }
+
+    @Test
+    void search_ShouldMatchExactTermsCaseAndAccentInsensitively() {
+
+        // When
+        List<String> result = bookIds(bookSearchIndex.search("DÛNE"));
+
+        // Then
+        assertThat(result).containsExactly("dune");
+
+    }
+
+    @Test
+    void search_ShouldMatchPrefixes() {
+
+        // When
+        List<String> result = bookIds(bookSearchIndex.search("hob"));
+
+        // Then
+        assertThat(result).containsExactly("hobbit");
+
+    }
+
+    @Test
+    void search_ShouldTolerateTypos() {
+
+        // When
+        List<String> result = bookIds(bookSearchIndex.search("tolkein"));
+
+        // Then
+        assertThat(result).containsExactlyInAnyOrder("hobbit", "lotr", "tolkien-biography");
+
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveAuthorMatches() {
+
+        // When
+        List<String> result = bookIds(bookSearchIndex.search("tolkien"));
+
+        // Then
+        assertThat(result).first().isEqualTo("tolkien-biography");
+        assertThat(result).containsExactlyInAnyOrder("hobbit", "lotr", "tolkien-biography");
+
+    }
+
+    @Test
+    void search_ShouldRequireEveryQueryTerm() {
+
+        // When
+        List<String> result = bookIds(bookSearchIndex.search("tolkien fantasy rings"));
+
+        // Then
+        assertThat(result).containsExactly("lotr");
+        assertThat(bookSearchIndex.search("tolkien dune")).isEmpty();
+        assertThat(bookSearchIndex.search("  ")).isEmpty();
+
+    }
+
+    @Test
+    void index_ShouldReplacePreviousVersionAndRemoveShouldDropBook() {
+
+        // When
+        bookSearchIndex.index(new BookSearchDocument("dune", "Dune Messiah", "Frank Herbert", List.of("Science Fiction")));
+        bookSearchIndex.remove("hobbit");
+
+        // Then
+        assertThat(bookIds(bookSearchIndex.search("messiah"))).containsExactly("dune");
+        assertThat(bookSearchIndex.search("hobbit")).isEmpty();
+        assertThat(meterRegistry.get("book.search.index.books").gauge().value()).isEqualTo(3.0);
+
+    }
+
+    @Test
+    void warmUp_ShouldIndexAllBooksThatAreNotDeleted() {
+
+        // Given
+        BookSearchIndex emptyIndex = new BookSearchIndex(bookRepository, new SimpleMeterRegistry());
+
+        // When
+        given(bookRepository.findSearchFieldsAfter(eq(""), eq(Status.DELETED), any(Pageable.class)))
+                .willReturn(List.of(new BookSearchFields("emma", "Emma", "Jane Austen")));
+        given(bookRepository.findGenreNamesGroupedByBookId(List.of("emma")))
+                .willReturn(Map.of("emma", List.of("Romance")));
+
+        emptyIndex.warmUp();
+
+        // Then
+        assertThat(bookIds(emptyIndex.search("austen romance"))).containsExactly("emma");
+
+    }
+
+    @Test
+    void rebuild_ShouldDropBooksChangedElsewhere_AndKeepLocalWritesMadeMeanwhile() {
+
+        // Given
+        given(bookRepository.findSearchFieldsAfter(eq(""), eq(Status.DELETED), any(Pageable.class)))
+                .willAnswer(invocation -> {
+                    bookSearchIndex.index(new BookSearchDocument("emma", "Emma", "Jane Austen", List.of("Romance")));
+                    bookSearchIndex.remove("lotr");
+                    return List.of(
+                            new BookSearchFields("lotr", "The Lord of the Rings", "J. R. R. Tolkien"),
+                            new BookSearchFields("dune", "Dune Messiah", "Frank Herbert"));
+                });
+
+        // When
+        bookSearchIndex.rebuild();
+
+        // Then
+        assertThat(bookIds(bookSearchIndex.search("messiah"))).containsExactly("dune");
+        assertThat(bookSearchIndex.search("hobbit")).isEmpty();
+        assertThat(bookSearchIndex.search("rings")).isEmpty();
+        assertThat(bookIds(bookSearchIndex.search("emma"))).containsExactly("emma");
+        assertThat(meterRegistry.get("book.search.index.books").gauge().value()).isEqualTo(2.0);
+
+    }
+
+    @Test
+    void editDistance_ShouldCountTranspositionAsSingleEdit() {
+        assertThat(SearchTokenizer.editDistance("tolkein", "tolkien", 1)).isEqualTo(1);
+        assertThat(SearchTokenizer.editDistance("dune", "dane", 1)).isEqualTo(1);
+        assertThat(SearchTokenizer.editDistance("dune", "hobbit", 1)).isEqualTo(2);
+    }
+
+    private static List<String> bookIds(final List<BookSearchIndex.Hit> hits) {
+        return hits.stream().map(BookSearchIndex.Hit::bookId).toList();
+    }
+
+}
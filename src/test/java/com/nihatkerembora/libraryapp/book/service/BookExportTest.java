@@ -0,0 +1,127 @@
+package com.nihatkerembora.libraryapp.book.service;
+
+import com.nihatkerembora.libraryapp.book.cache.BookCatalogCache;
+import com.nihatkerembora.libraryapp.book.model.entity.Book;
+import com.nihatkerembora.libraryapp.book.model.entity.Genre;
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
+import com.nihatkerembora.libraryapp.book.model.mapper.BookMapper;
+import com.nihatkerembora.libraryapp.book.publisher.AvailabilityPublisher;
+import com.nihatkerembora.libraryapp.book.search.BookSearchIndex;
+import com.nihatkerembora.libraryapp.book.service.impl.BookServiceImpl;
+import com.nihatkerembora.libraryapp.borrowing.port.out.BookAvailabilityPort;
+import com.nihatkerembora.libraryapp.common.cache.ListingCountCache;
+import com.nihatkerembora.libraryapp.common.export.ExportFormat;
+import com.nihatkerembora.libraryapp.common.repository.SliceQueryRepository;
+import com.nihatkerembora.libraryapp.common.repository.StreamQueryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that exporting books writes every matching book and loads genre names once per chunk, not per book.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BookServiceImpl.class, BookMapper.class, SliceQueryRepository.class, StreamQueryRepository.class,
+        ListingCountCache.class, JacksonAutoConfiguration.class})
+class BookExportTest {
+
+    private static final int BOOK_COUNT = 30;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private AvailabilityPublisher availabilityPublisher;
+
+    @MockitoBean
+    private BookCatalogCache bookCatalogCache;
+
+    @MockitoBean
+    private BookSearchIndex bookSearchIndex;
+
+    @MockitoBean
+    private BookAvailabilityPort bookAvailabilityPort;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Genre fiction = testEntityManager.persist(Genre.builder().name("Fiction").build());
+        Genre classic = testEntityManager.persist(Genre.builder().name("Classic").build());
+
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            testEntityManager.persist(Book.builder()
+                    .title(String.format("Book %02d", i))
+                    .author("Author " + i)
+                    .isbn(String.format("978%010d", i))
+                    .publicationDate(LocalDate.of(2000, 1, 1))
+                    .genres(i % 2 == 0 ? Set.of(fiction) : Set.of(fiction, classic))
+                    .status(i == 0 ? Status.DELETED : Status.AVAILABLE)
+                    .build());
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void export_ShouldWriteAllMatchingBooksAsCsv() throws IOException {
+
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        bookService.export(null, null, null, "class", ExportFormat.CSV, outputStream);
+
+        // Then
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines.getFirst()).isEqualTo("id,title,author,isbn,publicationDate,genres,status");
+        assertThat(lines).hasSize(1 + BOOK_COUNT / 2);
+        assertThat(lines.get(1)).contains(",Book 01,Author 1,9780000000001,2000-01-01,", ",AVAILABLE");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+    }
+
+    @Test
+    void export_ShouldSkipDeletedBooksAsNdjson() throws IOException {
+
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        bookService.export(null, null, null, null, ExportFormat.NDJSON, outputStream);
+
+        // Then
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(BOOK_COUNT - 1);
+        assertThat(lines.getFirst()).contains("\"title\":\"Book 01\"");
+        assertThat(lines).noneMatch(line -> line.contains("\"title\":\"Book 00\""));
+
+    }
+
+}
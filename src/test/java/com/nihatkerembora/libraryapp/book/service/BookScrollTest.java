@@ -0,0 +1,130 @@
+package com.nihatkerembora.libraryapp.book.service;
+
+import com.nihatkerembora.libraryapp.book.cache.BookCatalogCache;
+import com.nihatkerembora.libraryapp.book.model.dto.response.BookResponse;
+import com.nihatkerembora.libraryapp.book.model.entity.Book;
+import com.nihatkerembora.libraryapp.book.model.entity.Genre;
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
+import com.nihatkerembora.libraryapp.book.model.mapper.BookMapper;
+import com.nihatkerembora.libraryapp.book.publisher.AvailabilityPublisher;
+import com.nihatkerembora.libraryapp.book.search.BookSearchIndex;
+import com.nihatkerembora.libraryapp.book.service.impl.BookServiceImpl;
+import com.nihatkerembora.libraryapp.borrowing.port.out.BookAvailabilityPort;
+import com.nihatkerembora.libraryapp.common.cache.ListingCountCache;
+import com.nihatkerembora.libraryapp.common.model.CursorSlice;
+import com.nihatkerembora.libraryapp.common.repository.SliceQueryRepository;
+import com.nihatkerembora.libraryapp.common.repository.StreamQueryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that scrolling through books visits every book exactly once in title order,
+ * including books sharing a title, without issuing count queries.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BookServiceImpl.class, BookMapper.class, SliceQueryRepository.class, StreamQueryRepository.class,
+        ListingCountCache.class, JacksonAutoConfiguration.class})
+class BookScrollTest {
+
+    private static final int BOOK_COUNT = 30;
+
+    /**
+     * Slice query and one batched genre name query.
+     */
+    private static final long STATEMENTS_PER_SLICE = 2;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private AvailabilityPublisher availabilityPublisher;
+
+    @MockitoBean
+    private BookCatalogCache bookCatalogCache;
+
+    @MockitoBean
+    private BookSearchIndex bookSearchIndex;
+
+    @MockitoBean
+    private BookAvailabilityPort bookAvailabilityPort;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Genre fiction = testEntityManager.persist(Genre.builder().name("Fiction").build());
+
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            testEntityManager.persist(Book.builder()
+                    .title("Book " + (i % 10))
+                    .author("Author " + i)
+                    .isbn(String.format("978%010d", i))
+                    .publicationDate(LocalDate.of(2000, 1, 1))
+                    .genres(Set.of(fiction))
+                    .status(Status.AVAILABLE)
+                    .build());
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void scroll_ShouldVisitEveryBookOnceInTitleOrder() {
+
+        // Given
+        List<BookResponse> visited = new ArrayList<>();
+        String cursor = null;
+        int slices = 0;
+
+        // When
+        do {
+            testEntityManager.clear();
+            statistics.clear();
+
+            CursorSlice<BookResponse> slice = bookService.scroll(null, null, null, null, cursor, 7);
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(STATEMENTS_PER_SLICE);
+            assertThat(slice.getContent()).hasSizeLessThanOrEqualTo(7);
+            assertThat(slice.getContent())
+                    .allSatisfy(book -> assertThat(book.getGenres()).containsExactly("Fiction"));
+
+            visited.addAll(slice.getContent());
+            cursor = slice.getNextCursor();
+            slices++;
+        } while (cursor != null);
+
+        // Then
+        assertThat(slices).isEqualTo(5);
+        assertThat(visited).hasSize(BOOK_COUNT);
+        assertThat(visited).extracting(BookResponse::getId).doesNotHaveDuplicates();
+        assertThat(visited).isSortedAccordingTo(Comparator.comparing(BookResponse::getTitle)
+                .thenComparing(BookResponse::getId));
+
+    }
+
+}
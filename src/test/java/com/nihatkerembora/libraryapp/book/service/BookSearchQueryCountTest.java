@@ -0,0 +1,144 @@
+package com.nihatkerembora.libraryapp.book.service;
+
+import com.nihatkerembora.libraryapp.book.cache.BookCatalogCache;
+import com.nihatkerembora.libraryapp.book.model.dto.response.BookResponse;
+import com.nihatkerembora.libraryapp.book.model.entity.Book;
+import com.nihatkerembora.libraryapp.book.model.entity.Genre;
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
+import com.nihatkerembora.libraryapp.book.model.mapper.BookMapper;
+import com.nihatkerembora.libraryapp.book.publisher.AvailabilityPublisher;
+import com.nihatkerembora.libraryapp.book.search.BookSearchIndex;
+import com.nihatkerembora.libraryapp.book.service.impl.BookServiceImpl;
+import com.nihatkerembora.libraryapp.borrowing.port.out.BookAvailabilityPort;
+import com.nihatkerembora.libraryapp.common.cache.ListingCountCache;
+import com.nihatkerembora.libraryapp.common.repository.SliceQueryRepository;
+import com.nihatkerembora.libraryapp.common.repository.StreamQueryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that book search issues a constant number of SQL statements per page,
+ * independent of how many books the page contains, and no count query once the total is cached.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BookServiceImpl.class, BookMapper.class, SliceQueryRepository.class, StreamQueryRepository.class,
+        ListingCountCache.class, JacksonAutoConfiguration.class})
+class BookSearchQueryCountTest {
+
+    private static final int BOOK_COUNT = 30;
+
+    /**
+     * Page query and one batched genre name query; the total comes from the listing count cache.
+     */
+    private static final long STATEMENTS_PER_PAGE = 2;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private AvailabilityPublisher availabilityPublisher;
+
+    @MockitoBean
+    private BookCatalogCache bookCatalogCache;
+
+    @MockitoBean
+    private BookSearchIndex bookSearchIndex;
+
+    @MockitoBean
+    private BookAvailabilityPort bookAvailabilityPort;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Genre fiction = testEntityManager.persist(Genre.builder().name("Fiction").build());
+        Genre classic = testEntityManager.persist(Genre.builder().name("Classic").build());
+
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            testEntityManager.persist(Book.builder()
+                    .title("Book " + i)
+                    .author("Author " + i)
+                    .isbn(String.format("978%010d", i))
+                    .publicationDate(LocalDate.of(2000, 1, 1))
+                    .genres(Set.of(fiction, classic))
+                    .status(Status.AVAILABLE)
+                    .build());
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void search_ShouldIssueSameNumberOfStatementsForSmallAndLargePages() {
+
+        // Given
+        bookService.search(null, null, null, null, PageRequest.of(0, 5));
+
+        // When
+        long smallPageStatements = countStatements(5);
+        long largePageStatements = countStatements(20);
+
+        // Then
+        assertThat(smallPageStatements).isEqualTo(STATEMENTS_PER_PAGE);
+        assertThat(largePageStatements).isEqualTo(STATEMENTS_PER_PAGE);
+
+    }
+
+    @Test
+    void searchSlice_ShouldNotIssueCountQuery() {
+
+        // Given
+        testEntityManager.clear();
+        statistics.clear();
+
+        // When
+        Slice<BookResponse> slice = bookService.searchSlice(null, null, null, "fic", PageRequest.of(0, 5));
+
+        // Then
+        assertThat(slice.getContent()).hasSize(5);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(STATEMENTS_PER_PAGE);
+
+    }
+
+    private long countStatements(final int pageSize) {
+
+        testEntityManager.clear();
+        statistics.clear();
+
+        Page<BookResponse> page = bookService.search(null, null, null, null, PageRequest.of(0, pageSize));
+
+        assertThat(page.getContent()).hasSize(pageSize);
+        assertThat(page.getTotalElements()).isEqualTo(BOOK_COUNT);
+        assertThat(page.getContent())
+                .allSatisfy(book -> assertThat(book.getGenres()).containsExactlyInAnyOrder("Fiction", "Classic"));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+}
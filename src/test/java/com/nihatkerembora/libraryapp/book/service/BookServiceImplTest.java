@@ -1,6 +1,8 @@
 package com.nihatkerembora.libraryapp.book.service;
 
 import com.nihatkerembora.libraryapp.base.AbstractBaseServiceTest;
+import com.nihatkerembora.libraryapp.book.cache.BookCatalogCache;
+import com.nihatkerembora.libraryapp.book.config.BookCacheConfigurationParameter;
 import com.nihatkerembora.libraryapp.book.exception.BookAlreadyExistException;
 import com.nihatkerembora.libraryapp.book.exception.BookNotFoundException;
 import com.nihatkerembora.libraryapp.book.exception.GenreNotFoundException;
@@ -16,16 +18,25 @@ import com.nihatkerembora.libraryapp.book.model.mapper.BookMapper;
 import com.nihatkerembora.libraryapp.book.publisher.AvailabilityPublisher;
 import com.nihatkerembora.libraryapp.book.repository.BookRepository;
 import com.nihatkerembora.libraryapp.book.repository.GenreRepository;
+import com.nihatkerembora.libraryapp.book.search.BookSearchIndex;
 import com.nihatkerembora.libraryapp.book.service.impl.BookServiceImpl;
+import com.nihatkerembora.libraryapp.borrowing.port.out.BookAvailabilityPort;
+import com.nihatkerembora.libraryapp.common.cache.ListingCountCache;
+import com.nihatkerembora.libraryapp.common.repository.SliceQueryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -52,6 +63,19 @@ class BookServiceImplTest extends AbstractBaseServiceTest {
     private BookMapper mapper;
     @Mock
     private AvailabilityPublisher publisher;
+    @Mock
+    private BookSearchIndex searchIndex;
+    @Mock
+    private SliceQueryRepository sliceQueryRepository;
+    @Mock
+    private ListingCountCache countCache;
+    @Mock
+    private BookAvailabilityPort bookAvailabilityPort;
+    @Spy
+    private BookCatalogCache cache = new BookCatalogCache(
+            new BookCacheConfigurationParameter(100, 100, 60_000),
+            new SimpleMeterRegistry()
+    );
 
     private BookCreateRequest createReq;
     private Book entity;
@@ -113,6 +137,19 @@ class BookServiceImplTest extends AbstractBaseServiceTest {
         assertThat(res).isEqualTo(dto);
     }
 
+    @Test
+    void get_servesRepeatedReadsFromCache() {
+        given(bookRepo.findByIdAndStatusNot(entity.getId(), Status.DELETED))
+                .willReturn(Optional.of(entity));
+        given(mapper.toDto(entity)).willReturn(dto);
+
+        service.get(entity.getId());
+        BookResponse res = service.get(entity.getId());
+
+        assertThat(res).isEqualTo(dto);
+        then(bookRepo).should(times(1)).findByIdAndStatusNot(entity.getId(), Status.DELETED);
+    }
+
     @Test
     void get_notFound() {
         given(bookRepo.findByIdAndStatusNot(anyString(), any())).willReturn(Optional.empty());
@@ -121,6 +158,29 @@ class BookServiceImplTest extends AbstractBaseServiceTest {
                 .isInstanceOf(BookNotFoundException.class);
     }
 
+    @Test
+    void fullTextSearch_returnsBooksInRelevanceOrder() {
+        Book other = Book.builder()
+                .id(UUID.randomUUID().toString())
+                .title("Refactoring")
+                .status(Status.AVAILABLE)
+                .build();
+        BookResponse otherDto = BookResponse.builder().id(other.getId()).build();
+
+        given(searchIndex.search("code")).willReturn(List.of(
+                new BookSearchIndex.Hit(other.getId(), 2.0),
+                new BookSearchIndex.Hit(entity.getId(), 1.0)));
+        given(bookRepo.findAllById(List.of(other.getId(), entity.getId()))).willReturn(List.of(entity, other));
+        given(bookRepo.findGenreNamesGroupedByBookId(any())).willReturn(Map.of());
+        given(mapper.toDto(entity, List.of())).willReturn(dto);
+        given(mapper.toDto(other, List.of())).willReturn(otherDto);
+
+        Page<BookResponse> page = service.fullTextSearch("code", PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).containsExactly(otherDto, dto);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
     @Test
     void update_isbnConflict() {
         BookUpdateRequest upd = BookUpdateRequest.builder()
@@ -165,6 +225,24 @@ class BookServiceImplTest extends AbstractBaseServiceTest {
         service.delete(entity.getId().toString());
 
         then(bookRepo).should().save(argThat(b -> b.getStatus() == Status.DELETED));
+        then(cache).should().evictBook(entity.getId());
+        then(publisher).should()
+                .publishAfterCommit(new AvailabilityEvent(entity.getId(), entity.getTitle(), Status.DELETED));
+    }
+
+    @Test
+    void delete_evictsCachedBook() {
+        given(bookRepo.findByIdAndStatusNot(entity.getId(), Status.DELETED))
+                .willReturn(Optional.of(entity));
+        given(mapper.toDto(entity)).willReturn(dto);
+
+        service.get(entity.getId());
+        service.delete(entity.getId());
+        given(bookRepo.findByIdAndStatusNot(entity.getId(), Status.DELETED))
+                .willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.get(entity.getId()))
+                .isInstanceOf(BookNotFoundException.class);
     }
 
 
@@ -172,27 +250,43 @@ class BookServiceImplTest extends AbstractBaseServiceTest {
     class AvailabilityOps {
 
         @Test
-        void markBorrowed_updatesStatusAndPublishesEvent() {
-            given(bookRepo.findById(entity.getId().toString())).willReturn(Optional.of(entity));
-            // void method -> doNothing default
+        void markBorrowed_delegatesToAvailabilityPort() {
+            given(bookAvailabilityPort.markBorrowed(entity.getId())).willReturn(true);
 
-            boolean res = service.markBorrowed(entity.getId().toString());
+            boolean res = service.markBorrowed(entity.getId());
 
             assertThat(res).isTrue();
-            then(bookRepo).should().updateStatus(entity.getId().toString(), Status.BORROWED);
-            then(publisher).should()
-                    .publish(new AvailabilityEvent(entity.getId().toString(), entity.getTitle(), Status.BORROWED));
+            then(bookAvailabilityPort).should().markBorrowed(entity.getId());
+            then(bookRepo).shouldHaveNoInteractions();
+            then(publisher).shouldHaveNoInteractions();
         }
 
         @Test
-        void markAvailable_updatesStatusAndPublishesEvent() {
-            given(bookRepo.findById(entity.getId().toString())).willReturn(Optional.of(entity));
+        void markAvailable_delegatesToAvailabilityPort() {
+            given(bookAvailabilityPort.markAvailable(entity.getId())).willReturn(true);
 
-            service.markAvailable(entity.getId().toString());
+            service.markAvailable(entity.getId());
+
+            then(bookAvailabilityPort).should().markAvailable(entity.getId());
+            then(publisher).shouldHaveNoInteractions();
+        }
+
+        @Test
+        void markBorrowed_returnsFalse_whenBookIsNotAvailable() {
+            given(bookAvailabilityPort.markBorrowed(entity.getId())).willReturn(false);
+
+            boolean res = service.markBorrowed(entity.getId());
+
+            assertThat(res).isFalse();
+        }
+
+        @Test
+        void markBorrowed_throwsNotFound_whenBookDoesNotExist() {
+            given(bookAvailabilityPort.markBorrowed(entity.getId()))
+                    .willThrow(new BookNotFoundException(entity.getId()));
 
-            then(bookRepo).should().updateStatus(entity.getId().toString(), Status.AVAILABLE);
-            then(publisher).should()
-                    .publish(new AvailabilityEvent(entity.getId().toString(), entity.getTitle(), Status.AVAILABLE));
+            assertThatThrownBy(() -> service.markBorrowed(entity.getId()))
+                    .isInstanceOf(BookNotFoundException.class);
         }
     }
 
@@ -1,27 +1,38 @@
 package com.nihatkerembora.libraryapp.book.service;
 
 import com.nihatkerembora.libraryapp.base.AbstractBaseServiceTest;
+import com.nihatkerembora.libraryapp.book.cache.BookCatalogCache;
+import com.nihatkerembora.libraryapp.book.config.BookCacheConfigurationParameter;
 import com.nihatkerembora.libraryapp.book.exception.GenreInUseException;
 import com.nihatkerembora.libraryapp.book.exception.GenreNotFoundException;
 import com.nihatkerembora.libraryapp.book.model.dto.request.GenreCreateRequest;
 import com.nihatkerembora.libraryapp.book.model.dto.request.GenreUpdateRequest;
 import com.nihatkerembora.libraryapp.book.model.dto.response.GenreResponse;
+import com.nihatkerembora.libraryapp.book.model.entity.Book;
 import com.nihatkerembora.libraryapp.book.model.entity.Genre;
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
 import com.nihatkerembora.libraryapp.book.model.mapper.GenreMapper;
 import com.nihatkerembora.libraryapp.book.repository.BookRepository;
 import com.nihatkerembora.libraryapp.book.repository.GenreRepository;
+import com.nihatkerembora.libraryapp.book.search.BookSearchDocument;
+import com.nihatkerembora.libraryapp.book.search.BookSearchIndex;
 import com.nihatkerembora.libraryapp.book.service.impl.GenreServiceImpl;
+import com.nihatkerembora.libraryapp.common.cache.ListingCountCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -44,6 +55,18 @@ class GenreServiceImplTest extends AbstractBaseServiceTest {
     @Mock
     private BookRepository bookRepo;
 
+    @Mock
+    private BookSearchIndex searchIndex;
+
+    @Spy
+    private BookCatalogCache cache = new BookCatalogCache(
+            new BookCacheConfigurationParameter(100, 100, 60_000),
+            new SimpleMeterRegistry()
+    );
+
+    @Spy
+    private ListingCountCache countCache = new ListingCountCache();
+
     private String id;
     private Genre entity;
     private GenreResponse dto;
@@ -111,8 +134,7 @@ class GenreServiceImplTest extends AbstractBaseServiceTest {
     @Test
     void list_success() {
         PageRequest pageReq = PageRequest.of(0, 2);
-        Page<Genre> page = new PageImpl<>(List.of(entity), pageReq, 1);
-        given(repository.findAll(pageReq)).willReturn(page);
+        given(repository.findAllBy(pageReq)).willReturn(new SliceImpl<>(List.of(entity), pageReq, false));
         given(mapper.toDto(entity)).willReturn(dto);
 
         Page<GenreResponse> result = service.list(pageReq);
@@ -121,6 +143,33 @@ class GenreServiceImplTest extends AbstractBaseServiceTest {
         assertThat(result.getContent()).containsExactly(dto);
     }
 
+    @Test
+    void list_countsOnceForFullPages() {
+        PageRequest pageReq = PageRequest.of(0, 1);
+        given(repository.findAllBy(pageReq)).willReturn(new SliceImpl<>(List.of(entity), pageReq, true));
+        given(repository.count()).willReturn(5L);
+        given(mapper.toDto(entity)).willReturn(dto);
+
+        service.list(pageReq);
+        Page<GenreResponse> result = service.list(pageReq);
+
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        then(repository).should(times(1)).count();
+    }
+
+    @Test
+    void listSlice_doesNotCount() {
+        PageRequest pageReq = PageRequest.of(0, 1);
+        given(repository.findAllBy(pageReq)).willReturn(new SliceImpl<>(List.of(entity), pageReq, true));
+        given(mapper.toDto(entity)).willReturn(dto);
+
+        Slice<GenreResponse> result = service.listSlice(pageReq);
+
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.getContent()).containsExactly(dto);
+        then(repository).should(never()).count();
+    }
+
     @Nested
     class UpdateTests {
         @Test
@@ -135,6 +184,24 @@ class GenreServiceImplTest extends AbstractBaseServiceTest {
             assertThat(result).isEqualTo(dto);
             then(mapper).should().updateEntity(entity, updateReq);
             then(repository).should().save(entity);
+            then(cache).should().evictGenre(id);
+        }
+
+        @Test
+        void update_shouldReindexOnlyBooksThatAreNotDeleted() {
+            Book active = Book.builder().id("active").title("Dune").author("Herbert").status(Status.AVAILABLE).build();
+            given(repository.findById(id)).willReturn(Optional.of(entity));
+            given(repository.save(entity)).willReturn(entity);
+            given(mapper.toDto(entity)).willReturn(dto);
+            given(bookRepo.findAllByGenres_IdAndStatusNot(id, Status.DELETED)).willReturn(List.of(active));
+            given(bookRepo.findGenreNamesGroupedByBookId(List.of("active")))
+                    .willReturn(Map.of("active", List.of("Sci-Fi Updated")));
+
+            service.update(id, updateReq);
+
+            then(searchIndex).should().indexAfterCommit(
+                    new BookSearchDocument("active", "Dune", "Herbert", List.of("Sci-Fi Updated")));
+            then(searchIndex).shouldHaveNoMoreInteractions();
         }
 
         @Test
@@ -160,6 +227,7 @@ class GenreServiceImplTest extends AbstractBaseServiceTest {
             service.delete(id);
 
             then(repository).should().delete(entity);
+            then(cache).should().evictGenre(id);
         }
 
         @Test
@@ -170,7 +238,7 @@ class GenreServiceImplTest extends AbstractBaseServiceTest {
                     .isInstanceOf(GenreNotFoundException.class)
                     .hasMessageContaining(id.toString());
 
-            then(repository).should(never()).delete(any());
+            then(repository).should(never()).delete(any(Genre.class));
         }
 
         @Test
@@ -182,7 +250,7 @@ class GenreServiceImplTest extends AbstractBaseServiceTest {
                     .isInstanceOf(GenreInUseException.class)
                     .hasMessageContaining(id.toString());
 
-            then(repository).should(never()).delete(any());
+            then(repository).should(never()).delete(any(Genre.class));
         }
     }
 }
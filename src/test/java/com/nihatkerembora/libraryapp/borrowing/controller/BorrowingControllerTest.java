@@ -3,7 +3,10 @@ package com.nihatkerembora.libraryapp.borrowing.controller;
 
 import com.nihatkerembora.libraryapp.base.AbstractRestControllerTest;
 import com.nihatkerembora.libraryapp.borrowing.model.dto.request.BorrowRequest;
+import com.nihatkerembora.libraryapp.borrowing.model.dto.request.BulkBorrowRequest;
+import com.nihatkerembora.libraryapp.borrowing.model.dto.request.BulkReturnRequest;
 import com.nihatkerembora.libraryapp.borrowing.model.dto.response.BorrowingDto;
+import com.nihatkerembora.libraryapp.borrowing.model.dto.response.BulkItemResult;
 import com.nihatkerembora.libraryapp.borrowing.model.enums.BorrowStatus;
 import com.nihatkerembora.libraryapp.borrowing.service.BorrowService;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +20,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -77,6 +81,67 @@ class BorrowingControllerTest extends AbstractRestControllerTest {
         then(borrowService).shouldHaveNoInteractions();
     }
 
+    /* ---------- BULK ---------- */
+
+    @Test
+    @DisplayName("Bulk borrow – per-book results (ROLE_USER)")
+    void borrowBooks_asUser_ok() throws Exception {
+        // given
+        String bookId = UUID.randomUUID().toString();
+        BorrowingDto borrowing = BorrowingDto.builder()
+                .id(UUID.randomUUID().toString())
+                .bookId(bookId)
+                .status(BorrowStatus.BORROWED.toString())
+                .build();
+
+        given(borrowService.borrowBooks(List.of(bookId, "missing"))).willReturn(List.of(
+                BulkItemResult.success(bookId, borrowing),
+                BulkItemResult.failure("missing", "Book not found or not available")
+        ));
+
+        // when & then
+        mockMvc.perform(post("/api/v1/borrowings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkBorrowRequest(List.of(bookId, "missing"))))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockUserToken.getAccessToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].borrowing.bookId").value(bookId))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].error").value("Book not found or not available"));
+    }
+
+    @Test
+    @DisplayName("Bulk borrow – bad request when no book IDs are given")
+    void borrowBooks_empty_badRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/borrowings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkBorrowRequest(List.of())))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockUserToken.getAccessToken()))
+                .andExpect(status().isBadRequest());
+
+        then(borrowService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Bulk return – per-record results (ROLE_USER)")
+    void returnBooks_asUser_ok() throws Exception {
+        // given
+        String id = UUID.randomUUID().toString();
+        given(borrowService.returnBooks(List.of(id)))
+                .willReturn(List.of(BulkItemResult.failure(id, "Already returned")));
+
+        // when & then
+        mockMvc.perform(put("/api/v1/borrowings/batch/return")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkReturnRequest(List.of(id))))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockUserToken.getAccessToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(id))
+                .andExpect(jsonPath("$[0].error").value("Already returned"));
+    }
+
     /* ---------- RETURN ---------- */
 
     @Test
@@ -162,7 +227,10 @@ class BorrowingControllerTest extends AbstractRestControllerTest {
         @DisplayName("Download overdue PDF – success (ROLE_ADMIN)")
         void overduePdf_asAdmin_ok() throws Exception {
             byte[] pdfBytes = "dummy-pdf".getBytes();
-            given(borrowService.getOverdueBorrowingsPdf(any(Pageable.class))).willReturn(pdfBytes);
+            willAnswer(invocation -> {
+                invocation.<OutputStream>getArgument(0).write(pdfBytes);
+                return null;
+            }).given(borrowService).writeOverdueBorrowingsPdf(any(OutputStream.class));
 
             mockMvc.perform(get("/api/v1/borrowings/overdue")
                             .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken()))
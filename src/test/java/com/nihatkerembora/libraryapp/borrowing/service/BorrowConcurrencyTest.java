@@ -0,0 +1,206 @@
+package com.nihatkerembora.libraryapp.borrowing.service;
+
+import com.nihatkerembora.libraryapp.auth.model.enums.TokenClaims;
+import com.nihatkerembora.libraryapp.book.cache.BookCatalogCache;
+import com.nihatkerembora.libraryapp.book.model.entity.Book;
+import com.nihatkerembora.libraryapp.book.model.enums.Status;
+import com.nihatkerembora.libraryapp.book.publisher.AvailabilityPublisher;
+import com.nihatkerembora.libraryapp.book.repository.BookRepository;
+import com.nihatkerembora.libraryapp.borrowing.model.dto.response.BulkItemResult;
+import com.nihatkerembora.libraryapp.borrowing.model.entity.Borrowing;
+import com.nihatkerembora.libraryapp.borrowing.port.out.UserStatusPort;
+import com.nihatkerembora.libraryapp.borrowing.repository.BorrowingRepository;
+import com.nihatkerembora.libraryapp.borrowing.service.impl.BorrowServiceImpl;
+import com.nihatkerembora.libraryapp.common.repository.SliceQueryRepository;
+import com.nihatkerembora.libraryapp.common.repository.StreamQueryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+/**
+ * Fires many parallel borrow requests at the same books against a real database and verifies that every book
+ * is lent exactly once. Runs without a test transaction so that every request commits on its own.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BorrowServiceImpl.class, SliceQueryRepository.class, StreamQueryRepository.class,
+        JacksonAutoConfiguration.class, BorrowConcurrencyTest.BookPortConfiguration.class})
+class BorrowConcurrencyTest {
+
+    private static final int BORROWERS = 200;
+    private static final int THREADS = 32;
+
+    @TestConfiguration
+    @ComponentScan(basePackages = "com.nihatkerembora.libraryapp.book.port.in")
+    static class BookPortConfiguration {
+    }
+
+    @Autowired
+    private BorrowService borrowService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowingRepository borrowingRepository;
+
+    @MockitoBean
+    private UserStatusPort userStatusPort;
+
+    @MockitoBean
+    private AvailabilityPublisher availabilityPublisher;
+
+    @MockitoBean
+    private BookCatalogCache bookCatalogCache;
+
+    private String bookId;
+
+    @BeforeEach
+    void setUp() {
+        given(userStatusPort.isActive(any())).willReturn(true);
+
+        bookId = saveBook("Contested", "9780000000001");
+    }
+
+    @AfterEach
+    void tearDown() {
+        borrowingRepository.deleteAll();
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void borrowBook_ShouldLetExactlyOneOfManyConcurrentBorrowersWin() throws Exception {
+
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+
+        for (int i = 0; i < BORROWERS; i++) {
+            String patronId = "patron-" + i;
+            attempts.add(executor.submit(() -> {
+                authenticate(patronId);
+                start.await();
+                try {
+                    borrowService.borrowBook(bookId);
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+
+        // When
+        start.countDown();
+        int winners = 0;
+        for (Future<Boolean> attempt : attempts) {
+            if (attempt.get(30, TimeUnit.SECONDS)) {
+                winners++;
+            }
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(winners).isEqualTo(1);
+        assertThat(borrowingRepository.count()).isEqualTo(1);
+        assertThat(bookRepository.findById(bookId)).get()
+                .extracting(Book::getStatus)
+                .isEqualTo(Status.BORROWED);
+        then(availabilityPublisher).should(times(1)).publishAfterCommit(any());
+    }
+
+    @Test
+    void borrowBooks_ShouldLendEveryBookOnce_WhenBulkRequestsOverlap() throws Exception {
+
+        // Given
+        List<String> bookIds = new ArrayList<>(List.of(bookId));
+        IntStream.range(0, 9).forEach(i -> bookIds.add(saveBook("Stack " + i, "978000000010" + i)));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<BulkItemResult>>> attempts = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            String patronId = "patron-" + i;
+            attempts.add(executor.submit(() -> {
+                authenticate(patronId);
+                start.await();
+                try {
+                    return borrowService.borrowBooks(bookIds);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+
+        // When
+        start.countDown();
+        List<BulkItemResult> results = new ArrayList<>();
+        for (Future<List<BulkItemResult>> attempt : attempts) {
+            results.addAll(attempt.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(results).filteredOn(BulkItemResult::isSuccess)
+                .extracting(BulkItemResult::getId)
+                .containsExactlyInAnyOrderElementsOf(bookIds);
+        assertThat(borrowingRepository.findAll()).extracting(Borrowing::getBookId)
+                .containsExactlyInAnyOrderElementsOf(bookIds);
+        assertThat(bookRepository.findAllById(bookIds)).extracting(Book::getStatus)
+                .containsOnly(Status.BORROWED);
+        then(availabilityPublisher).should(times(bookIds.size())).publishAfterCommit(any());
+    }
+
+    private String saveBook(final String title, final String isbn) {
+        return bookRepository.save(Book.builder()
+                        .title(title)
+                        .author("Author")
+                        .isbn(isbn)
+                        .publicationDate(LocalDate.of(2000, 1, 1))
+                        .genres(Set.of())
+                        .status(Status.AVAILABLE)
+                        .build())
+                .getId();
+    }
+
+    private static void authenticate(final String patronId) {
+        Jwt jwt = Jwt.withTokenValue("t")
+                .claim(TokenClaims.USER_ID.getValue(), patronId)
+                .claim(TokenClaims.USER_EMAIL.getValue(), patronId + "@libraryapp.com")
+                .header("alg", "none")
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(jwt, null, "USER"));
+    }
+
+}
@@ -3,12 +3,14 @@ package com.nihatkerembora.libraryapp.borrowing.service;
 
 import com.nihatkerembora.libraryapp.base.AbstractBaseServiceTest;
 import com.nihatkerembora.libraryapp.borrowing.model.dto.response.BorrowingDto;
+import com.nihatkerembora.libraryapp.borrowing.model.dto.response.BulkItemResult;
 import com.nihatkerembora.libraryapp.borrowing.model.entity.Borrowing;
 import com.nihatkerembora.libraryapp.borrowing.model.enums.BorrowStatus;
 import com.nihatkerembora.libraryapp.borrowing.port.out.BookAvailabilityPort;
 import com.nihatkerembora.libraryapp.borrowing.port.out.UserStatusPort;
 import com.nihatkerembora.libraryapp.borrowing.repository.BorrowingRepository;
 import com.nihatkerembora.libraryapp.borrowing.service.impl.BorrowServiceImpl;
+import com.nihatkerembora.libraryapp.common.repository.SliceQueryRepository;
 import org.junit.jupiter.api.*;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
@@ -24,11 +26,13 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.*;
 
@@ -46,6 +50,8 @@ class BorrowServiceImplTest extends AbstractBaseServiceTest {
     private BookAvailabilityPort bookPort;
     @Mock
     private UserStatusPort userPort;
+    @Mock
+    private SliceQueryRepository sliceQueryRepository;
 
     private String patronId;
     private String bookId;
@@ -106,7 +112,7 @@ class BorrowServiceImplTest extends AbstractBaseServiceTest {
         @Test
         void bookUnavailable() {
             given(userPort.isActive(patronId)).willReturn(true);
-            given(bookPort.isAvailable(bookId)).willReturn(false);
+            given(bookPort.markBorrowed(bookId)).willReturn(false);
 
             assertThatThrownBy(() -> service.borrowBook(bookId))
                     .isInstanceOf(IllegalStateException.class);
@@ -117,7 +123,7 @@ class BorrowServiceImplTest extends AbstractBaseServiceTest {
         @Test
         void success() {
             given(userPort.isActive(patronId)).willReturn(true);
-            given(bookPort.isAvailable(bookId)).willReturn(true);
+            given(bookPort.markBorrowed(bookId)).willReturn(true);
 
             // repo.save(...) çağrısını yakala ve id ataması yap
             given(repo.save(any())).willAnswer(inv -> {
@@ -203,6 +209,95 @@ class BorrowServiceImplTest extends AbstractBaseServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("borrowBooks()")
+    class BorrowBooks {
+
+        @Test
+        void userInactive() {
+            given(userPort.isActive(patronId)).willReturn(false);
+
+            assertThatThrownBy(() -> service.borrowBooks(List.of(bookId)))
+                    .isInstanceOf(IllegalStateException.class);
+
+            then(bookPort).should(never()).markAllBorrowed(any());
+            then(repo).should(never()).saveAll(any());
+        }
+
+        @Test
+        void partialSuccess() {
+            String unavailableId = UUID.randomUUID().toString();
+            given(userPort.isActive(patronId)).willReturn(true);
+            given(bookPort.markAllBorrowed(Set.of(bookId, unavailableId))).willReturn(Set.of(bookId));
+            given(repo.saveAll(anyList())).willAnswer(inv -> {
+                List<Borrowing> borrowings = inv.getArgument(0);
+                borrowings.forEach(b -> b.setId(UUID.randomUUID().toString()));
+                return borrowings;
+            });
+
+            List<BulkItemResult> results = service.borrowBooks(List.of(unavailableId, bookId, unavailableId));
+
+            ArgumentCaptor<List<Borrowing>> captor = ArgumentCaptor.forClass(List.class);
+            then(repo).should().saveAll(captor.capture());
+            assertThat(captor.getValue())
+                    .singleElement()
+                    .satisfies(b -> {
+                        assertThat(b.getBookId()).isEqualTo(bookId);
+                        assertThat(b.getPatronId()).isEqualTo(patronId);
+                        assertThat(b.getStatus()).isEqualTo(BorrowStatus.BORROWED);
+                    });
+
+            assertThat(results).extracting(BulkItemResult::getId).containsExactly(unavailableId, bookId);
+            assertThat(results).extracting(BulkItemResult::isSuccess).containsExactly(false, true);
+            assertThat(results.get(0).getError()).isEqualTo("Book not found or not available");
+            assertThat(results.get(1).getBorrowing().getBookId()).isEqualTo(bookId);
+        }
+    }
+
+    @Nested
+    @DisplayName("returnBooks()")
+    class ReturnBooks {
+
+        @Test
+        void mixedResults() {
+            Borrowing foreign = Borrowing.builder()
+                    .id(UUID.randomUUID().toString())
+                    .bookId(UUID.randomUUID().toString())
+                    .patronId("someone-else")
+                    .status(BorrowStatus.BORROWED)
+                    .build();
+            Borrowing returned = Borrowing.builder()
+                    .id(UUID.randomUUID().toString())
+                    .bookId(UUID.randomUUID().toString())
+                    .patronId(patronId)
+                    .status(BorrowStatus.RETURNED)
+                    .build();
+            given(repo.findAllById(any())).willReturn(List.of(borrowing, foreign, returned));
+
+            List<BulkItemResult> results = service.returnBooks(
+                    List.of("no-id", foreign.getId(), returned.getId(), borrowing.getId()));
+
+            assertThat(results).extracting(BulkItemResult::getError).containsExactly(
+                    "Borrowing not found", "Not owner of this borrowing", "Already returned", null);
+            assertThat(results.get(3).getBorrowing().getStatus()).isEqualTo(BorrowStatus.RETURNED.toString());
+            assertThat(borrowing.getStatus()).isEqualTo(BorrowStatus.RETURNED);
+            assertThat(foreign.getStatus()).isEqualTo(BorrowStatus.BORROWED);
+            then(repo).should().saveAll(List.of(borrowing));
+            then(bookPort).should().markAllAvailable(List.of(bookId));
+        }
+
+        @Test
+        void nothingToReturn() {
+            given(repo.findAllById(any())).willReturn(List.of());
+
+            List<BulkItemResult> results = service.returnBooks(List.of("no-id"));
+
+            assertThat(results).extracting(BulkItemResult::isSuccess).containsExactly(false);
+            then(repo).should(never()).saveAll(any());
+            then(bookPort).should(never()).markAllAvailable(any());
+        }
+    }
+
 
     @Test
     void search_respectsCurrentUserWhenNotAdmin() {
@@ -4,6 +4,8 @@ import com.nihatkerembora.libraryapp.auth.model.enums.TokenClaims;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.impl.DefaultClaims;
 
+import java.time.Instant;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -15,6 +17,7 @@ public class TokenBuilder {
         claimsMap.put(TokenClaims.JWT_ID.getValue(), UUID.randomUUID().toString());
         claimsMap.put(TokenClaims.USER_ID.getValue(), userId);
         claimsMap.put(TokenClaims.USER_FIRST_NAME.getValue(), firstName);
+        claimsMap.put(TokenClaims.EXPIRES_AT.getValue(), Date.from(Instant.now().plusSeconds(1800)));
         return new DefaultClaims(claimsMap);
     }
 
@@ -0,0 +1,75 @@
+package com.nihatkerembora.libraryapp.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ListingCountCacheTest {
+
+    private final ListingCountCache listingCountCache = new ListingCountCache();
+
+    @Test
+    void get_ShouldCountOnlyOnce() {
+
+        // Given
+        AtomicInteger countQueries = new AtomicInteger();
+
+        // When
+        listingCountCache.get("books", () -> countQueries.incrementAndGet() * 10L);
+        long count = listingCountCache.get("books", () -> countQueries.incrementAndGet() * 10L);
+
+        // Then
+        assertThat(count).isEqualTo(10);
+        assertThat(countQueries).hasValue(1);
+
+    }
+
+    @Test
+    void adjust_ShouldUpdateLoadedCountsOnly() {
+
+        // Given
+        listingCountCache.get("books", () -> 10L);
+
+        // When
+        listingCountCache.adjust("books", 2);
+        listingCountCache.adjust("books", -1);
+        listingCountCache.adjust("genres", 5);
+
+        // Then
+        assertThat(listingCountCache.get("books", () -> 0L)).isEqualTo(11);
+        assertThat(listingCountCache.get("genres", () -> 3L)).isEqualTo(3);
+
+    }
+
+    @Test
+    void adjust_ShouldNotGoBelowZero() {
+
+        // Given
+        listingCountCache.get("books", () -> 1L);
+
+        // When
+        listingCountCache.adjust("books", -3);
+
+        // Then
+        assertThat(listingCountCache.get("books", () -> 10L)).isZero();
+
+    }
+
+    @Test
+    void resync_ShouldReloadCountsOnNextRead() {
+
+        // Given
+        listingCountCache.get("books", () -> 10L);
+        listingCountCache.adjust("books", 5);
+
+        // When
+        listingCountCache.resync();
+
+        // Then
+        assertThat(listingCountCache.get("books", () -> 12L)).isEqualTo(12);
+
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.nihatkerembora.libraryapp.common.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nihatkerembora.libraryapp.common.utils.ReportColumn;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * JMH benchmark of the {@link ExportWriter} formats, rendering a fixed set of borrowing-like rows
+ * to a discarding stream.
+ * <p>
+ * Every invocation writes {@link #ROWS} rows, so the scores are rows per second and, with the GC profiler
+ * enabled by {@link #main(String[])}, {@code gc.alloc.rate.norm} is the number of bytes allocated per row,
+ * including the per-document setup amortized over the rows.
+ * Run with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.nihatkerembora.libraryapp.common.export.ExportWriterBenchmark}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class ExportWriterBenchmark {
+
+    private static final int ROWS = 5_000;
+
+    private static final List<ReportColumn<Row>> COLUMNS = List.of(
+            new ReportColumn<>("ID", Row::id),
+            new ReportColumn<>("Title", Row::title),
+            new ReportColumn<>("Borrowed At", row -> row.borrowedAt().toString()),
+            new ReportColumn<>("Status", Row::status)
+    );
+
+    @Param({"NDJSON", "CSV", "PDF", "XLSX"})
+    private ExportFormat format;
+
+    private ObjectMapper objectMapper;
+    private List<Row> rows;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        final LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        rows = IntStream.range(0, ROWS)
+                .mapToObj(i -> new Row(
+                        UUID.randomUUID().toString(),
+                        "Book title number " + i,
+                        start.plusMinutes(i),
+                        i % 3 == 0 ? "RETURNED" : "BORROWED"
+                ))
+                .toList();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long render() throws IOException {
+        try (ExportWriter<Row> writer =
+                     ExportWriter.open(format, OutputStream.nullOutputStream(), "Benchmark", COLUMNS, objectMapper)) {
+            long written = writer.writeAll(rows.iterator());
+            writer.complete();
+            return written;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                new OptionsBuilder()
+                        .include(ExportWriterBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build()
+        ).run();
+    }
+
+    public record Row(String id, String title, LocalDateTime borrowedAt, String status) {
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.nihatkerembora.libraryapp.common.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nihatkerembora.libraryapp.common.utils.ReportColumn;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportWriterTest {
+
+    private static final List<ReportColumn<Row>> COLUMNS = List.of(
+            new ReportColumn<>("name", Row::name),
+            new ReportColumn<>("note", Row::note)
+    );
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void csv_ShouldWriteHeaderAndQuoteValuesWhenNeeded() throws IOException {
+
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        try (ExportWriter<Row> writer = ExportWriter.open(ExportFormat.CSV, outputStream, COLUMNS, objectMapper)) {
+            writer.write(new Row("Dune", "plain", LocalDate.of(1965, 8, 1)));
+            writer.write(new Row("Rings, The", "say \"hi\"\nbye", null));
+            writer.write(new Row("Emma", null, null));
+        }
+
+        // Then
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "name,note\r\n"
+                        + "Dune,plain\r\n"
+                        + "\"Rings, The\",\"say \"\"hi\"\"\nbye\"\r\n"
+                        + "Emma,\r\n"
+        );
+
+    }
+
+    @Test
+    void ndjson_ShouldWriteOneObjectPerLine() throws IOException {
+
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        try (ExportWriter<Row> writer = ExportWriter.open(ExportFormat.NDJSON, outputStream, COLUMNS, objectMapper)) {
+            writer.write(new Row("Dune", "line\nbreak", LocalDate.of(1965, 8, 1)));
+            writer.write(new Row("Emma", null, null));
+        }
+
+        // Then
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"name\":\"Dune\",\"note\":\"line\\nbreak\",\"published\":\"1965-08-01\"}\n"
+                        + "{\"name\":\"Emma\",\"note\":null,\"published\":null}\n"
+        );
+
+    }
+
+    @Test
+    void close_ShouldLeaveOutputStreamOpen() throws IOException {
+
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                throw new AssertionError("Output stream must not be closed");
+            }
+        };
+
+        // When
+        for (ExportFormat format : ExportFormat.values()) {
+            try (ExportWriter<Row> writer = ExportWriter.open(format, outputStream, COLUMNS, objectMapper)) {
+                writer.write(new Row("Dune", null, null));
+                writer.complete();
+            }
+        }
+
+        // Then
+        assertThat(outputStream.size()).isPositive();
+
+    }
+
+    @Test
+    void writeAll_ShouldWriteEveryRowOfTheStream() throws IOException {
+
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        long written;
+        try (ExportWriter<Row> writer = ExportWriter.open(ExportFormat.CSV, outputStream, COLUMNS, objectMapper)) {
+            written = writer.writeAll(Stream.of(new Row("Dune", null, null), new Row("Emma", null, null)));
+        }
+
+        // Then
+        assertThat(written).isEqualTo(2);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("name,note\r\nDune,\r\nEmma,\r\n");
+
+    }
+
+    private record Row(String name, String note, LocalDate published) {
+    }
+
+}
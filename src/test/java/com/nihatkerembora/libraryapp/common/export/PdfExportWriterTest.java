@@ -0,0 +1,145 @@
+package com.nihatkerembora.libraryapp.common.export;
+
+import com.nihatkerembora.libraryapp.common.utils.PdfUtil;
+import com.nihatkerembora.libraryapp.common.utils.ReportColumn;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PdfExportWriterTest {
+
+    private static final List<ReportColumn<Row>> COLUMNS = List.of(
+            new ReportColumn<>("Name", Row::name),
+            new ReportColumn<>("Count", row -> String.valueOf(row.count()))
+    );
+
+    @Test
+    void write_ShouldStartNewPagesAndRepeatHeaders_WhenRowsExceedOnePage() throws IOException {
+
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        try (ExportWriter<Row> writer = ExportWriter.open(ExportFormat.PDF, outputStream, "Report", COLUMNS, null)) {
+            writer.writeAll(IntStream.range(0, 100).mapToObj(i -> new Row("row-" + i, i)));
+            writer.complete();
+        }
+
+        // Then
+        try (PDDocument document = PDDocument.load(outputStream.toByteArray())) {
+            assertThat(document.getNumberOfPages()).isGreaterThan(1);
+
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(document.getNumberOfPages());
+            stripper.setEndPage(document.getNumberOfPages());
+            String lastPage = stripper.getText(document);
+
+            assertThat(lastPage).contains("Name", "row-99", "Page " + document.getNumberOfPages());
+            assertThat(lastPage).doesNotContain("Report");
+        }
+    }
+
+    @Test
+    void write_ShouldCutValuesLongerThanTheSampledColumnWidth() throws IOException {
+
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        String longName = "x".repeat(500);
+
+        // When
+        try (ExportWriter<Row> writer = ExportWriter.open(ExportFormat.PDF, outputStream, "Report", COLUMNS, null)) {
+            for (int i = 0; i < SampledExportWriter.SAMPLE_SIZE; i++) {
+                writer.write(new Row("short", i));
+            }
+            writer.write(new Row(longName, 1));
+            writer.complete();
+        }
+
+        // Then
+        try (PDDocument document = PDDocument.load(outputStream.toByteArray())) {
+            String text = new PDFTextStripper().getText(document);
+            assertThat(text).contains("...").doesNotContain(longName);
+        }
+    }
+
+    @Test
+    void close_ShouldWriteEmptyReport() throws IOException {
+
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        try (ExportWriter<Row> writer = ExportWriter.open(ExportFormat.PDF, outputStream, "Empty", COLUMNS, null)) {
+            writer.complete();
+        }
+
+        // Then
+        try (PDDocument document = PDDocument.load(outputStream.toByteArray())) {
+            assertThat(document.getNumberOfPages()).isEqualTo(1);
+            assertThat(new PDFTextStripper().getText(document)).contains("Empty", "Name", "Count");
+        }
+    }
+
+    @Test
+    void write_ShouldRenderTurkishAndMultiLineValues_WithCharactersTheFontCannotEncodeReplaced() throws IOException {
+
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        try (ExportWriter<Row> writer = ExportWriter.open(ExportFormat.PDF, outputStream, "Kitaplar", COLUMNS, null)) {
+            writer.write(new Row("Şeker Portakalı", 1));
+            writer.write(new Row("İnce\nMemed", 2));
+            writer.write(new Row("Çalıkuşu 日本", 3));
+            writer.complete();
+        }
+
+        // Then
+        try (PDDocument document = PDDocument.load(outputStream.toByteArray())) {
+            assertThat(new PDFTextStripper().getText(document))
+                    .contains("Seker Portakali", "Ince Memed", "Çalikusu ??");
+        }
+    }
+
+    @Test
+    void close_ShouldWriteNothing_WhenExportWasNotCompleted() {
+
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        assertThatThrownBy(() -> {
+            try (ExportWriter<Row> writer = ExportWriter.open(ExportFormat.PDF, outputStream, "Report", COLUMNS, null)) {
+                writer.writeAll(IntStream.range(0, 150).mapToObj(i -> new Row("row-" + i, i)));
+                throw new IllegalStateException("query failed");
+            }
+        }).isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(outputStream.size()).isZero();
+    }
+
+    @Test
+    void generatePdf_ShouldRenderAllItems() throws IOException {
+
+        // When
+        byte[] pdf = PdfUtil.generatePdf("Books", COLUMNS, List.of(new Row("Dune", 3), new Row("Emma", 1)));
+
+        // Then
+        try (PDDocument document = PDDocument.load(pdf)) {
+            assertThat(new PDFTextStripper().getText(document)).contains("Books", "Dune", "Emma");
+        }
+    }
+
+    private record Row(String name, int count) {
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.nihatkerembora.libraryapp.common.export;
+
+import com.nihatkerembora.libraryapp.common.utils.ReportColumn;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class XlsxExportWriterTest {
+
+    private static final String SHEET = "xl/worksheets/sheet1.xml";
+
+    private static final List<ReportColumn<Row>> COLUMNS = List.of(
+            new ReportColumn<>("Name", Row::name),
+            new ReportColumn<>("Note", Row::note)
+    );
+
+    @Test
+    void write_ShouldWriteWorkbookWithHeaderAndInlineStrings() throws Exception {
+
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        try (ExportWriter<Row> writer = ExportWriter.open(ExportFormat.XLSX, outputStream, COLUMNS, null)) {
+            writer.write(new Row("Tom & Jerry", "<b>"));
+            writer.write(new Row("Emma", null));
+            writer.complete();
+        }
+
+        // Then
+        Map<String, byte[]> parts = unzip(outputStream.toByteArray());
+        assertThat(parts).containsKeys("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+                "xl/_rels/workbook.xml.rels", "xl/styles.xml", SHEET);
+        parts.values().forEach(XlsxExportWriterTest::parse);
+
+        Document sheet = parse(parts.get(SHEET));
+        NodeList rows = sheet.getElementsByTagName("row");
+        assertThat(rows.getLength()).isEqualTo(3);
+        assertThat(cells(rows, 0)).containsExactly("Name", "Note");
+        assertThat(cells(rows, 1)).containsExactly("Tom & Jerry", "<b>");
+        assertThat(cells(rows, 2)).containsExactly("Emma", "");
+        assertThat(((Element) rows.item(0).getFirstChild()).getAttribute("s")).isEqualTo("1");
+    }
+
+    @Test
+    void write_ShouldTakeColumnWidthsFromTheSampleOnly() throws Exception {
+
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        try (ExportWriter<Row> writer = ExportWriter.open(ExportFormat.XLSX, outputStream, COLUMNS, null)) {
+            for (int i = 0; i < SampledExportWriter.SAMPLE_SIZE; i++) {
+                writer.write(new Row("a".repeat(10), "b".repeat(100)));
+            }
+            writer.write(new Row("c".repeat(30), null));
+            writer.complete();
+        }
+
+        // Then
+        Document sheet = parse(unzip(outputStream.toByteArray()).get(SHEET));
+        NodeList cols = sheet.getElementsByTagName("col");
+        assertThat(((Element) cols.item(0)).getAttribute("width")).isEqualTo("12");
+        assertThat(((Element) cols.item(1)).getAttribute("width"))
+                .isEqualTo(String.valueOf(ColumnWidths.MAX_CHARACTERS + 2));
+        assertThat(sheet.getElementsByTagName("row").getLength()).isEqualTo(SampledExportWriter.SAMPLE_SIZE + 2);
+    }
+
+    private static List<String> cells(final NodeList rows, final int row) {
+        NodeList cells = ((Element) rows.item(row)).getElementsByTagName("c");
+        return IntStream.range(0, cells.getLength())
+                .mapToObj(i -> cells.item(i).getTextContent())
+                .toList();
+    }
+
+    private static Map<String, byte[]> unzip(final byte[] workbook) throws Exception {
+        Map<String, byte[]> parts = new HashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(workbook))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                parts.put(entry.getName(), zipInputStream.readAllBytes());
+            }
+        }
+        return parts;
+    }
+
+    private static Document parse(final byte[] xml) {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+        } catch (Exception e) {
+            throw new AssertionError("Part is not well-formed XML", e);
+        }
+    }
+
+    private record Row(String name, String note) {
+    }
+
+}
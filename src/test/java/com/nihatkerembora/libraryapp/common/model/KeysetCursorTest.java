@@ -0,0 +1,55 @@
+package com.nihatkerembora.libraryapp.common.model;
+
+import com.nihatkerembora.libraryapp.common.exception.CursorNotValidException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void decode_ShouldReturnEncodedCursor() {
+
+        // Given
+        KeysetCursor cursor = new KeysetCursor("books.title", "Dune: Part 1", "c0ffee");
+
+        // When
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode(), "books.title");
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+
+    }
+
+    @Test
+    void decode_ShouldRejectCursorOfAnotherListing() {
+
+        // Given
+        String token = new KeysetCursor("genres.name", "Fiction", "1").encode();
+
+        // Then
+        assertThatThrownBy(() -> KeysetCursor.decode(token, "books.title"))
+                .isInstanceOf(CursorNotValidException.class);
+
+    }
+
+    @Test
+    void decode_ShouldRejectMalformedToken() {
+
+        // Given
+        String notBase64 = "%%%";
+        String missingParts = Base64.getUrlEncoder().encodeToString("books.title".getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertThatThrownBy(() -> KeysetCursor.decode(notBase64, "books.title"))
+                .isInstanceOf(CursorNotValidException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(missingParts, "books.title"))
+                .isInstanceOf(CursorNotValidException.class);
+
+    }
+
+}
@@ -9,6 +9,8 @@ import com.nihatkerembora.libraryapp.borrowing.exception.AlreadyReturnedExceptio
 import com.nihatkerembora.libraryapp.borrowing.exception.BookNotAvailableException;
 import com.nihatkerembora.libraryapp.borrowing.exception.BorrowingNotFoundException;
 import com.nihatkerembora.libraryapp.logging.entity.LogEntity;
+import com.nihatkerembora.libraryapp.logging.payload.AuditPayloadPolicy;
+import com.nihatkerembora.libraryapp.logging.sampling.AuditSampler;
 import com.nihatkerembora.libraryapp.logging.service.LogService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -43,6 +45,12 @@ class LoggerAspectJTest extends AbstractBaseServiceTest {
     @Mock
     private LogService logService;
 
+    @Mock
+    private AuditPayloadPolicy auditPayloadPolicy;
+
+    @Mock
+    private AuditSampler auditSampler;
+
     @Mock
     private HttpServletRequest httpServletRequest;
 
@@ -76,6 +84,8 @@ class LoggerAspectJTest extends AbstractBaseServiceTest {
         when(signature.getName()).thenReturn("testMethod");
         when(signature.getDeclaringTypeName()).thenReturn("LoggerAspectJ");
         when(signature.getDeclaringType()).thenReturn(LoggerAspectJ.class);
+
+        when(auditSampler.shouldAudit(any(JoinPoint.class), any())).thenReturn(true);
     }
 
     @Test
@@ -142,6 +152,22 @@ class LoggerAspectJTest extends AbstractBaseServiceTest {
 
     }
 
+    @Test
+    public void testLogAfterReturning_SampledOut() {
+
+        // When
+        when(httpServletRequest.getRequestURL()).thenReturn(new StringBuffer("http://localhost/api/test"));
+        when(httpServletRequest.getMethod()).thenReturn("GET");
+        when(auditSampler.shouldAudit(joinPoint, "GET")).thenReturn(false);
+
+        // Then
+        loggerAspectJ.logAfterReturning(joinPoint, "test response");
+
+        // Verify
+        verify(logService, never()).saveLogToDatabase(any(LogEntity.class));
+
+    }
+
     @Test
     public void testLogAfterReturning_WithJsonNode() throws IOException {
 
@@ -0,0 +1,76 @@
+package com.nihatkerembora.libraryapp.logging.payload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditPayloadSerializerTest {
+
+    private final AuditPayloadSerializer auditPayloadSerializer = new AuditPayloadSerializer(new ObjectMapper());
+
+    @Test
+    void serialize_ShouldReturnNullForNoneMode() {
+        assertNull(auditPayloadSerializer.serialize(Map.of("key", "value"), AuditPayloadMode.NONE, 100));
+    }
+
+    @Test
+    void serialize_ShouldDescribeTypeAndSizeInMetadataMode() {
+        ResponseEntity<byte[]> pdf = ResponseEntity.ok(new byte[4096]);
+
+        assertEquals("byte[][length=4096]", auditPayloadSerializer.serialize(pdf, AuditPayloadMode.METADATA, 100));
+        assertEquals("ListN[size=3]", auditPayloadSerializer.serialize(List.of(1, 2, 3), AuditPayloadMode.METADATA, 100));
+    }
+
+    @Test
+    void serialize_ShouldSerializeSmallBodyCompletelyInTruncatedMode() {
+        String payload = auditPayloadSerializer.serialize(ResponseEntity.ok(Map.of("key", "value")), AuditPayloadMode.TRUNCATED, 100);
+
+        assertEquals("{\"key\":\"value\"}", payload);
+    }
+
+    @Test
+    void serialize_ShouldCapLargeBodyAtMaxSizeInTruncatedMode() {
+        List<String> largeBody = IntStream.range(0, 100_000).mapToObj(i -> "item-" + i).toList();
+
+        String payload = auditPayloadSerializer.serialize(largeBody, AuditPayloadMode.TRUNCATED, 64);
+
+        assertEquals(64 + AuditPayloadSerializer.TRUNCATION_MARKER.length(), payload.length());
+        assertTrue(payload.startsWith("[\"item-0\",\"item-1\""));
+        assertTrue(payload.endsWith(AuditPayloadSerializer.TRUNCATION_MARKER));
+    }
+
+    @Test
+    void serialize_ShouldReturnStableDigestInHashedMode() {
+        String first = auditPayloadSerializer.serialize(Map.of("key", "value"), AuditPayloadMode.HASHED, 100);
+        String second = auditPayloadSerializer.serialize(Map.of("key", "value"), AuditPayloadMode.HASHED, 100);
+        String other = auditPayloadSerializer.serialize(Map.of("key", "other"), AuditPayloadMode.HASHED, 100);
+
+        assertTrue(first.startsWith("sha256:"));
+        assertEquals("sha256:".length() + 64, first.length());
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    void serialize_ShouldNotSerializeReactiveStreams() {
+        assertEquals("FluxJust", auditPayloadSerializer.serialize(Flux.just(1), AuditPayloadMode.FULL, 100));
+    }
+
+    @Test
+    void serialize_ShouldSerializeCompleteBodyInFullMode() {
+        List<String> body = IntStream.range(0, 1_000).mapToObj(i -> "item-" + i).toList();
+
+        String payload = auditPayloadSerializer.serialize(body, AuditPayloadMode.FULL, 10);
+
+        assertTrue(payload.length() > 10);
+        assertTrue(payload.endsWith("\"item-999\"]"));
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.nihatkerembora.libraryapp.logging.sampling;
+
+import com.nihatkerembora.libraryapp.base.AbstractBaseServiceTest;
+import com.nihatkerembora.libraryapp.logging.config.AuditLogConfigurationParameter;
+import com.nihatkerembora.libraryapp.logging.payload.AuditPayloadMode;
+import com.nihatkerembora.libraryapp.logging.writer.AuditOverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class AuditSamplerTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private JoinPoint joinPoint;
+
+    @Mock
+    private MethodSignature methodSignature;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldAudit_ShouldAlwaysAuditWriteRequests() {
+        AuditSampler auditSampler = sampler(0.0, 1);
+
+        assertTrue(IntStream.range(0, 50).allMatch(i -> auditSampler.shouldAudit(joinPoint, "POST")));
+        assertTrue(auditSampler.shouldAudit(joinPoint, "DELETE"));
+    }
+
+    @Test
+    void shouldAudit_ShouldSkipReadsWhenSampleRateIsZero() {
+        AuditSampler auditSampler = sampler(0.0, 100);
+
+        assertFalse(auditSampler.shouldAudit(joinPoint, "GET"));
+        assertEquals(1.0, meterRegistry.counter("audit.log.skipped", "reason", "sampled_out").count());
+    }
+
+    @Test
+    void shouldAudit_ShouldRateLimitSampledReads() {
+        AuditSampler auditSampler = sampler(1.0, 5);
+
+        long audited = IntStream.range(0, 50).filter(i -> auditSampler.shouldAudit(joinPoint, "GET")).count();
+
+        assertEquals(5, audited);
+        assertEquals(45.0, meterRegistry.counter("audit.log.skipped", "reason", "rate_limited").count());
+    }
+
+    @Test
+    void shouldAudit_ShouldUseAnnotatedSampleRate() throws NoSuchMethodException {
+        AuditSampler auditSampler = sampler(1.0, 100);
+
+        when(joinPoint.getSignature()).thenReturn(methodSignature);
+        when(methodSignature.getMethod()).thenReturn(SampledController.class.getDeclaredMethod("neverAudited"));
+
+        assertFalse(auditSampler.shouldAudit(joinPoint, "GET"));
+    }
+
+    private AuditSampler sampler(double readSampleRate, double readRateLimitPerSecond) {
+        AuditLogConfigurationParameter configurationParameter = new AuditLogConfigurationParameter(
+                10, 10, 1000, AuditOverflowPolicy.DROP, 10, "spill.ndjson",
+                AuditPayloadMode.TRUNCATED, 2048, readSampleRate, readRateLimitPerSecond,
+                30, false, "archive", 7
+        );
+        return new AuditSampler(configurationParameter, meterRegistry);
+    }
+
+    static class SampledController {
+
+        @AuditSampling(0.0)
+        void neverAudited() {
+        }
+
+    }
+
+}
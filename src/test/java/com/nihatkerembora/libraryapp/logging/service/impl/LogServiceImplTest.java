@@ -0,0 +1,95 @@
+package com.nihatkerembora.libraryapp.logging.service.impl;
+
+import com.nihatkerembora.libraryapp.base.AbstractBaseServiceTest;
+import com.nihatkerembora.libraryapp.logging.config.AuditLogConfigurationParameter;
+import com.nihatkerembora.libraryapp.logging.entity.LogEntity;
+import com.nihatkerembora.libraryapp.logging.exception.LogQueryWindowNotValidException;
+import com.nihatkerembora.libraryapp.logging.payload.AuditPayloadMode;
+import com.nihatkerembora.libraryapp.logging.repository.LogQueryRepository;
+import com.nihatkerembora.libraryapp.logging.writer.AuditLogWriter;
+import com.nihatkerembora.libraryapp.logging.writer.AuditOverflowPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class LogServiceImplTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private LogQueryRepository logQueryRepository;
+
+    private LogServiceImpl logService;
+
+    @BeforeEach
+    void setUp() {
+        AuditLogConfigurationParameter configurationParameter = new AuditLogConfigurationParameter(
+                10, 10, 1000, AuditOverflowPolicy.DROP, 10, "spill.ndjson",
+                AuditPayloadMode.TRUNCATED, 2048, 0.1, 100,
+                30, false, "archive", 7
+        );
+        logService = new LogServiceImpl(auditLogWriter, logQueryRepository, configurationParameter);
+    }
+
+    @Test
+    void getRecentLogs_ShouldQueryRepositoryWithinWindow() {
+
+        // Given
+        LocalDateTime to = LocalDateTime.now();
+        LocalDateTime from = to.minusDays(2);
+        List<LogEntity> logEntities = List.of(LogEntity.builder().id("log-1").build());
+
+        // When
+        when(logQueryRepository.findRecent(from, to, HttpStatus.OK, "user", 50)).thenReturn(logEntities);
+
+        // Then
+        assertEquals(logEntities, logService.getRecentLogs(from, to, HttpStatus.OK, "user", 50));
+
+        // Verify
+        verify(logQueryRepository).findRecent(from, to, HttpStatus.OK, "user", 50);
+
+    }
+
+    @Test
+    void getRecentLogs_ShouldRejectWindowLongerThanAllowed() {
+
+        // Given
+        LocalDateTime to = LocalDateTime.now();
+        LocalDateTime from = to.minusDays(8);
+
+        // Then
+        assertThrows(LogQueryWindowNotValidException.class,
+                () -> logService.getRecentLogs(from, to, null, null, 50));
+
+        // Verify
+        verify(logQueryRepository, never()).findRecent(any(), any(), any(), any(), anyInt());
+
+    }
+
+    @Test
+    void getRecentLogs_ShouldRejectEmptyWindow() {
+
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+
+        // Then
+        assertThrows(LogQueryWindowNotValidException.class,
+                () -> logService.getRecentLogs(now, now, null, null, 50));
+
+        // Verify
+        verifyNoInteractions(logQueryRepository);
+
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.nihatkerembora.libraryapp.logging.storage;
+
+import com.nihatkerembora.libraryapp.base.AbstractBaseServiceTest;
+import com.nihatkerembora.libraryapp.logging.config.AuditLogConfigurationParameter;
+import com.nihatkerembora.libraryapp.logging.payload.AuditPayloadMode;
+import com.nihatkerembora.libraryapp.logging.writer.AuditOverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LogRetentionSchedulerTest extends AbstractBaseServiceTest {
+
+    private static final int RETENTION_DAYS = 30;
+
+    @Mock
+    private LogBucketManager logBucketManager;
+
+    @Mock
+    private LogBucketExporter logBucketExporter;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final LocalDate today = LocalDate.now();
+    private final LocalDate expiredDay = today.minusDays(RETENTION_DAYS + 1);
+    private final LocalDate olderExpiredDay = today.minusDays(RETENTION_DAYS + 2);
+    private final LocalDate retainedDay = today.minusDays(RETENTION_DAYS);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void dropExpiredBuckets_ShouldDropOnlyBucketsOutsideRetentionWindow() {
+
+        // Given
+        LogRetentionScheduler logRetentionScheduler = scheduler(false);
+
+        // When
+        when(logBucketManager.findBucketDays()).thenReturn(List.of(olderExpiredDay, expiredDay, retainedDay, today));
+
+        // Then
+        assertEquals(2, logRetentionScheduler.dropExpiredBuckets());
+        assertEquals(2.0, meterRegistry.counter("audit.log.buckets.dropped").count());
+
+        // Verify
+        verify(logBucketManager).dropBucket(olderExpiredDay);
+        verify(logBucketManager).dropBucket(expiredDay);
+        verify(logBucketManager, never()).dropBucket(retainedDay);
+        verify(logBucketManager, never()).dropBucket(today);
+        verifyNoInteractions(logBucketExporter);
+
+    }
+
+    @Test
+    void dropExpiredBuckets_ShouldExportBeforeDroppingWhenEnabled() {
+
+        // Given
+        LogRetentionScheduler logRetentionScheduler = scheduler(true);
+
+        // When
+        when(logBucketManager.findBucketDays()).thenReturn(List.of(expiredDay, today));
+        when(logBucketExporter.export(expiredDay)).thenReturn(Path.of("archive", "LOGS.ndjson.gz"));
+
+        // Then
+        assertEquals(1, logRetentionScheduler.dropExpiredBuckets());
+        assertEquals(1.0, meterRegistry.counter("audit.log.buckets.exported").count());
+
+        // Verify
+        var inOrder = inOrder(logBucketExporter, logBucketManager);
+        inOrder.verify(logBucketExporter).export(expiredDay);
+        inOrder.verify(logBucketManager).dropBucket(expiredDay);
+
+    }
+
+    @Test
+    void dropExpiredBuckets_ShouldKeepBucketWhenExportFails() {
+
+        // Given
+        LogRetentionScheduler logRetentionScheduler = scheduler(true);
+
+        // When
+        when(logBucketManager.findBucketDays()).thenReturn(List.of(olderExpiredDay, expiredDay));
+        when(logBucketExporter.export(olderExpiredDay)).thenThrow(new IllegalStateException("disk full"));
+        when(logBucketExporter.export(expiredDay)).thenReturn(Path.of("archive", "LOGS.ndjson.gz"));
+
+        // Then
+        assertEquals(1, logRetentionScheduler.dropExpiredBuckets());
+
+        // Verify
+        verify(logBucketManager, never()).dropBucket(olderExpiredDay);
+        verify(logBucketManager).dropBucket(expiredDay);
+        verify(logBucketManager, times(1)).dropBucket(any());
+
+    }
+
+    private LogRetentionScheduler scheduler(final boolean exportEnabled) {
+        AuditLogConfigurationParameter configurationParameter = new AuditLogConfigurationParameter(
+                10, 10, 1000, AuditOverflowPolicy.DROP, 10, "spill.ndjson",
+                AuditPayloadMode.TRUNCATED, 2048, 0.1, 100,
+                RETENTION_DAYS, exportEnabled, "archive", 7
+        );
+        return new LogRetentionScheduler(logBucketManager, logBucketExporter, configurationParameter, meterRegistry);
+    }
+
+}
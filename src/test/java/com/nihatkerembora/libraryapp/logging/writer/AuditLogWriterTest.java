@@ -0,0 +1,191 @@
+package com.nihatkerembora.libraryapp.logging.writer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nihatkerembora.libraryapp.base.AbstractBaseServiceTest;
+import com.nihatkerembora.libraryapp.logging.config.AuditLogConfigurationParameter;
+import com.nihatkerembora.libraryapp.logging.entity.LogEntity;
+import com.nihatkerembora.libraryapp.logging.payload.AuditPayloadMode;
+import com.nihatkerembora.libraryapp.logging.repository.LogBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AuditLogWriterTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private LogBatchRepository logBatchRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AuditLogWriter auditLogWriter;
+
+    @AfterEach
+    void tearDown() {
+        auditLogWriter.stop();
+    }
+
+    @Test
+    void enqueue_ShouldWriteRecordsInBatchesOfConfiguredSize() {
+
+        // Given
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> batchSizes.add(invocation.<List<LogEntity>>getArgument(0).size()))
+                .when(logBatchRepository).insertAll(anyList());
+        auditLogWriter = writer(100, 5, 60_000, AuditOverflowPolicy.DROP);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            auditLogWriter.enqueue(logEntity(i));
+        }
+        auditLogWriter.start();
+
+        // Then
+        verify(logBatchRepository, timeout(5_000).times(2)).insertAll(anyList());
+        assertEquals(List.of(5, 5), batchSizes);
+        assertEquals(10.0, meterRegistry.counter("audit.log.written").count());
+
+    }
+
+    @Test
+    void enqueue_ShouldFlushPartialBatchAfterFlushInterval() {
+
+        // Given
+        auditLogWriter = writer(100, 50, 50, AuditOverflowPolicy.DROP);
+        auditLogWriter.start();
+
+        // When
+        auditLogWriter.enqueue(logEntity(1));
+
+        // Then
+        ArgumentCaptor<List<LogEntity>> captor = ArgumentCaptor.captor();
+        verify(logBatchRepository, timeout(5_000)).insertAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+
+    }
+
+    @Test
+    void enqueue_ShouldCountDroppedRecordsWhenQueueIsFull() {
+
+        // Given
+        auditLogWriter = writer(2, 10, 60_000, AuditOverflowPolicy.DROP);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            auditLogWriter.enqueue(logEntity(i));
+        }
+
+        // Then
+        assertEquals(3.0, meterRegistry.counter("audit.log.dropped", "reason", "overflow").count());
+        assertEquals(2.0, meterRegistry.get("audit.log.queue.depth").gauge().value());
+
+    }
+
+    @Test
+    void enqueue_ShouldSpillOverflowAndWriteItOnceIdle() throws Exception {
+
+        // Given
+        List<LogEntity> written = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> written.addAll(new ArrayList<>(invocation.<List<LogEntity>>getArgument(0))))
+                .when(logBatchRepository).insertAll(anyList());
+        auditLogWriter = writer(1, 10, 20, AuditOverflowPolicy.SPILL);
+
+        // When
+        auditLogWriter.enqueue(logEntity(1));
+        auditLogWriter.enqueue(logEntity(2));
+        auditLogWriter.enqueue(logEntity(3));
+
+        // Then
+        assertEquals(2.0, meterRegistry.counter("audit.log.spilled").count());
+        assertTrue(Files.exists(tempDir.resolve("spill.ndjson")));
+
+        auditLogWriter.start();
+
+        verify(logBatchRepository, timeout(5_000).times(2)).insertAll(anyList());
+        assertEquals(
+                List.of("operation-1", "operation-2", "operation-3"),
+                written.stream().map(LogEntity::getOperation).sorted().toList()
+        );
+        assertEquals(HttpStatus.OK, written.get(written.size() - 1).getStatus());
+        assertFalse(Files.exists(tempDir.resolve("spill.ndjson")));
+
+    }
+
+    @Test
+    void enqueue_ShouldReplaySpilledRecordsWithTheSameIds_WhenDrainFails() {
+
+        // Given
+        List<LogEntity> written = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> written.addAll(new ArrayList<>(invocation.<List<LogEntity>>getArgument(0))))
+                .doAnswer(invocation -> written.addAll(new ArrayList<>(invocation.<List<LogEntity>>getArgument(0))))
+                .doThrow(new IllegalStateException("connection refused"))
+                .doAnswer(invocation -> written.addAll(new ArrayList<>(invocation.<List<LogEntity>>getArgument(0))))
+                .when(logBatchRepository).insertAll(anyList());
+        auditLogWriter = writer(1, 1, 20, AuditOverflowPolicy.SPILL);
+
+        // When
+        auditLogWriter.enqueue(logEntity(1));
+        auditLogWriter.enqueue(logEntity(2));
+        auditLogWriter.enqueue(logEntity(3));
+        auditLogWriter.start();
+
+        // Then
+        verify(logBatchRepository, timeout(5_000).times(5)).insertAll(anyList());
+        List<LogEntity> spilled = written.stream().filter(logEntity -> !"operation-1".equals(logEntity.getOperation())).toList();
+        assertEquals(List.of("operation-2", "operation-2", "operation-3"),
+                spilled.stream().map(LogEntity::getOperation).sorted().toList());
+        assertTrue(spilled.stream().allMatch(logEntity -> logEntity.getId() != null));
+        assertEquals(2, spilled.stream().map(LogEntity::getId).distinct().count());
+
+    }
+
+    private AuditLogWriter writer(int capacity, int batchSize, long flushIntervalMillis, AuditOverflowPolicy policy) {
+        AuditLogConfigurationParameter configurationParameter = new AuditLogConfigurationParameter(
+                capacity,
+                batchSize,
+                flushIntervalMillis,
+                policy,
+                10,
+                tempDir.resolve("spill.ndjson").toString(),
+                AuditPayloadMode.TRUNCATED,
+                2048,
+                1.0,
+                100,
+                30,
+                false,
+                tempDir.resolve("archive").toString(),
+                7
+        );
+        return new AuditLogWriter(
+                logBatchRepository,
+                configurationParameter,
+                new ObjectMapper().findAndRegisterModules(),
+                meterRegistry
+        );
+    }
+
+    private LogEntity logEntity(int index) {
+        return LogEntity.builder()
+                .operation("operation-" + index)
+                .method("GET")
+                .status(HttpStatus.OK)
+                .build();
+    }
+
+}
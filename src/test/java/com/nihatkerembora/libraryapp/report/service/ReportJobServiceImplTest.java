@@ -0,0 +1,175 @@
+package com.nihatkerembora.libraryapp.report.service;
+
+import com.nihatkerembora.libraryapp.report.config.ReportConfigurationParameter;
+import com.nihatkerembora.libraryapp.report.exception.ReportJobNotFoundException;
+import com.nihatkerembora.libraryapp.report.exception.ReportNotReadyException;
+import com.nihatkerembora.libraryapp.report.generator.ReportGenerator;
+import com.nihatkerembora.libraryapp.report.model.ReportJob;
+import com.nihatkerembora.libraryapp.report.model.enums.ReportJobStatus;
+import com.nihatkerembora.libraryapp.report.model.enums.ReportType;
+import com.nihatkerembora.libraryapp.report.service.impl.ReportJobServiceImpl;
+import com.nihatkerembora.libraryapp.report.storage.ReportFileStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReportJobServiceImplTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @TempDir
+    Path storageDirectory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FakeGenerator generator = new FakeGenerator();
+    private ReportJobServiceImpl reportJobService;
+
+    @AfterEach
+    void tearDown() {
+        generator.release.countDown();
+        reportJobService.stop();
+    }
+
+    @Test
+    void submit_ShouldJoinInFlightJob_WhenIdenticalReportIsRequested() throws Exception {
+
+        // Given
+        reportJobService = service(600_000);
+
+        // When
+        ReportJob first = reportJobService.submit(ReportType.OVERDUE_BORROWINGS);
+        ReportJob second = reportJobService.submit(ReportType.OVERDUE_BORROWINGS);
+        generator.release.countDown();
+        ReportJob completed = reportJobService.awaitCompletion(first.getId()).block(TIMEOUT);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(completed.getStatus()).isEqualTo(ReportJobStatus.COMPLETED);
+        assertThat(generator.runs).hasValue(1);
+        assertThat(Files.readString(completed.getFile())).isEqualTo("report-1");
+        assertThat(completed.getSize()).isEqualTo("report-1".length());
+        assertThat(meterRegistry.counter("report.requests", "result", "joined").count()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_ShouldServeCachedArtifact_UntilItExpires() {
+
+        // Given
+        reportJobService = service(600_000);
+        generator.release.countDown();
+        ReportJob first = reportJobService.submit(ReportType.OVERDUE_BORROWINGS);
+        reportJobService.awaitCompletion(first.getId()).block(TIMEOUT);
+
+        // When
+        ReportJob second = reportJobService.submit(ReportType.OVERDUE_BORROWINGS);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(reportJobService.getCompletedJob(first.getId())).isSameAs(first);
+        assertThat(generator.runs).hasValue(1);
+        assertThat(meterRegistry.counter("report.requests", "result", "cached").count()).isEqualTo(1);
+    }
+
+    @Test
+    void evictExpired_ShouldDeleteArtifactAndStartNewJob() throws Exception {
+
+        // Given
+        reportJobService = service(0);
+        generator.release.countDown();
+        ReportJob first = reportJobService.submit(ReportType.OVERDUE_BORROWINGS);
+        // Expires as soon as it completes, so it can no longer be looked up by id.
+        first.getCompletion().get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+
+        // When
+        reportJobService.evictExpired();
+        ReportJob second = reportJobService.submit(ReportType.OVERDUE_BORROWINGS);
+        second.getCompletion().get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+
+        // Then
+        assertThat(first.getFile()).doesNotExist();
+        assertThatThrownBy(() -> reportJobService.getJob(first.getId()))
+                .isInstanceOf(ReportJobNotFoundException.class);
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(generator.runs).hasValue(2);
+    }
+
+    @Test
+    void submit_ShouldRetry_WhenPreviousJobFailed() {
+
+        // Given
+        reportJobService = service(600_000);
+        generator.release.countDown();
+        generator.failNext = true;
+        ReportJob failed = reportJobService.submit(ReportType.OVERDUE_BORROWINGS);
+        reportJobService.awaitCompletion(failed.getId()).block(TIMEOUT);
+
+        // When
+        ReportJob retried = reportJobService.submit(ReportType.OVERDUE_BORROWINGS);
+        reportJobService.awaitCompletion(retried.getId()).block(TIMEOUT);
+
+        // Then
+        assertThat(failed.getStatus()).isEqualTo(ReportJobStatus.FAILED);
+        assertThat(failed.getError()).isEqualTo("boom");
+        assertThatThrownBy(() -> reportJobService.getCompletedJob(failed.getId()))
+                .isInstanceOf(ReportNotReadyException.class);
+        assertThat(retried.getStatus()).isEqualTo(ReportJobStatus.COMPLETED);
+        assertThat(storageDirectory.resolve(failed.getId() + ".tmp")).doesNotExist();
+    }
+
+    private ReportJobServiceImpl service(final long timeToLiveMillis) {
+        ReportConfigurationParameter configurationParameter =
+                new ReportConfigurationParameter(storageDirectory.toString(), timeToLiveMillis, 2);
+        return new ReportJobServiceImpl(
+                List.of(generator),
+                new ReportFileStore(configurationParameter),
+                configurationParameter,
+                meterRegistry
+        );
+    }
+
+    private static final class FakeGenerator implements ReportGenerator {
+
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger runs = new AtomicInteger();
+        private volatile boolean failNext;
+
+        @Override
+        public ReportType getType() {
+            return ReportType.OVERDUE_BORROWINGS;
+        }
+
+        @Override
+        public void generate(OutputStream outputStream) throws IOException {
+            try {
+                release.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            int run = runs.incrementAndGet();
+            if (failNext) {
+                failNext = false;
+                outputStream.write("partial".getBytes(StandardCharsets.UTF_8));
+                throw new IOException("boom");
+            }
+            outputStream.write(("report-" + run).getBytes(StandardCharsets.UTF_8));
+        }
+
+    }
+
+}